@@ -29,14 +29,17 @@
  */
 package org.openimaj.feature;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openimaj.data.identity.Identifiable;
 
 /**
  * A simple wrapper for a feature extractor that caches the extracted feature to
- * a {@link HashMap}. If a feature has already been generated for a given
- * object, it will be re-read from the {@link HashMap}
+ * a {@link Map}. If a feature has already been generated for a given object,
+ * it will be re-read from the {@link Map}. The cache is unbounded; use a
+ * {@link TieredCachingFeatureExtractor} if the memory used by the cache needs
+ * to be limited.
  * 
  * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
  * 
@@ -52,10 +55,10 @@ public class CachingFeatureExtractor<FEATURE, OBJECT extends Identifiable>
 	private FeatureExtractor<FEATURE, OBJECT> extractor;
 	private boolean force;
 
-	private HashMap<String, FEATURE> cache;
+	private Map<String, FEATURE> cache;
 
 	/**
-	 * Construct the cache {@link HashMap}. The given extractor will be used to
+	 * Construct the cache {@link Map}. The given extractor will be used to
 	 * generate the features.
 	 * 
 	 * @param extractor
@@ -66,7 +69,7 @@ public class CachingFeatureExtractor<FEATURE, OBJECT extends Identifiable>
 	}
 
 	/**
-	 * Construct the cache {@link HashMap} The given extractor will be used to
+	 * Construct the cache {@link Map} The given extractor will be used to
 	 * generate the features. Optionally, all features can be regenerated.
 	 * 
 	 * @param extractor
@@ -76,7 +79,7 @@ public class CachingFeatureExtractor<FEATURE, OBJECT extends Identifiable>
 	 *            rather than being loaded.
 	 */
 	public CachingFeatureExtractor(FeatureExtractor<FEATURE, OBJECT> extractor, boolean force) {
-		this.cache = new HashMap<String, FEATURE>();
+		this.cache = new ConcurrentHashMap<String, FEATURE>();
 		this.extractor = extractor;
 		this.force = force;
 	}
@@ -94,7 +97,8 @@ public class CachingFeatureExtractor<FEATURE, OBJECT extends Identifiable>
 		}
 
 		feature = extractor.extractFeature(object);
-		this.cache.put(object.getID(), feature);
+		if (feature != null)
+			this.cache.put(object.getID(), feature);
 		return feature;
 	}
 
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.feature;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openimaj.io.IOUtils;
+import org.openimaj.io.ReadableBinary;
+import org.openimaj.io.WriteableBinary;
+
+/**
+ * A thread-safe, append-only log of features keyed by an identifier. All
+ * features are stored in a single file; an in-memory index maps each
+ * identifier to the position of its record so that features can be read back
+ * with a single positional read. Features that are both
+ * {@link WriteableBinary} and {@link ReadableBinary} are stored using their
+ * own binary format; all other features are serialised with
+ * {@link IOUtils#write(Object, java.io.DataOutput)}.
+ * <p>
+ * When an existing log is opened the index is rebuilt by scanning the file. A
+ * partially written record at the end of the file (for example caused by the
+ * JVM being killed) is discarded. If a feature is written more than once for
+ * the same identifier, the last record wins.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ *
+ * @param <FEATURE>
+ *            Type of feature
+ */
+public class FeatureCacheLog<FEATURE> implements Closeable {
+	private static final Logger logger = LogManager.getLogger(FeatureCacheLog.class);
+
+	private static final byte[] HEADER = "OIFLOG01".getBytes();
+	private static final byte SERIALISED_RECORD = 0;
+	private static final byte BINARY_RECORD = 1;
+
+	private static class Record {
+		final long offset;
+		final int length;
+		final String className;
+
+		Record(long offset, int length, String className) {
+			this.offset = offset;
+			this.length = length;
+			this.className = className;
+		}
+	}
+
+	private final File file;
+	private final RandomAccessFile raf;
+	private final FileChannel channel;
+	private final ConcurrentHashMap<String, Record> index = new ConcurrentHashMap<String, Record>();
+	private long end;
+
+	/**
+	 * Open (or create) the log in the given file.
+	 *
+	 * @param file
+	 *            the log file
+	 * @throws IOException
+	 *             if the file cannot be opened, or is not a feature log
+	 */
+	public FeatureCacheLog(File file) throws IOException {
+		this.file = file;
+
+		if (file.getParentFile() != null)
+			file.getParentFile().mkdirs();
+
+		this.raf = new RandomAccessFile(file, "rw");
+		this.channel = raf.getChannel();
+
+		if (channel.size() == 0) {
+			channel.write(ByteBuffer.wrap(HEADER), 0);
+			end = HEADER.length;
+		} else {
+			final byte[] header = new byte[HEADER.length];
+			if (channel.size() < HEADER.length || !readFully(header, 0) || !Arrays.equals(header, HEADER)) {
+				close();
+				throw new IOException(file + " is not a feature log");
+			}
+
+			end = rebuildIndex();
+		}
+	}
+
+	private long rebuildIndex() throws IOException {
+		final long size = channel.size();
+		long pos = HEADER.length;
+		final byte[] lengthBytes = new byte[4];
+
+		while (pos + 4 <= size) {
+			if (!readFully(lengthBytes, pos))
+				break;
+
+			final int recordLength = ByteBuffer.wrap(lengthBytes).getInt();
+			if (recordLength <= 0 || pos + 4 + recordLength > size)
+				break;
+
+			final byte[] recordBytes = new byte[recordLength];
+			if (!readFully(recordBytes, pos + 4))
+				break;
+
+			final DataInputStream dis = new DataInputStream(new ByteArrayInputStream(recordBytes));
+			final String id = dis.readUTF();
+			final byte type = dis.readByte();
+			final String className = type == BINARY_RECORD ? dis.readUTF() : null;
+			final int payloadLength = dis.available();
+			final long payloadOffset = pos + 4 + recordLength - payloadLength;
+
+			index.put(id, new Record(payloadOffset, payloadLength, className));
+
+			pos += 4 + recordLength;
+		}
+
+		if (pos != size) {
+			logger.warn("Discarding " + (size - pos) + " bytes of incomplete data at the end of " + file);
+			channel.truncate(pos);
+		}
+
+		return pos;
+	}
+
+	private boolean readFully(byte[] bytes, long position) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Test whether the log contains a feature for the given identifier.
+	 *
+	 * @param id
+	 *            the identifier
+	 * @return true if a feature has been stored; false otherwise
+	 */
+	public boolean contains(String id) {
+		return index.containsKey(id);
+	}
+
+	/**
+	 * Get the number of features in the log.
+	 *
+	 * @return the number of features
+	 */
+	public int size() {
+		return index.size();
+	}
+
+	/**
+	 * Read the feature with the given identifier.
+	 *
+	 * @param id
+	 *            the identifier
+	 * @return the feature, or null if the log doesn't contain the identifier
+	 * @throws IOException
+	 *             if an error occurs reading the feature
+	 */
+	@SuppressWarnings("unchecked")
+	public FEATURE get(String id) throws IOException {
+		final Record record = index.get(id);
+		if (record == null)
+			return null;
+
+		final byte[] payload = new byte[record.length];
+		if (!readFully(payload, record.offset))
+			throw new IOException("Unexpected end of file reading " + id + " from " + file);
+
+		final DataInputStream dis = new DataInputStream(new ByteArrayInputStream(payload));
+		if (record.className == null)
+			return IOUtils.<FEATURE> read(dis);
+
+		final ReadableBinary feature = IOUtils.<ReadableBinary> newInstance(record.className);
+		feature.readBinary(dis);
+		return (FEATURE) feature;
+	}
+
+	/**
+	 * Append a feature to the log.
+	 *
+	 * @param id
+	 *            the identifier
+	 * @param feature
+	 *            the feature
+	 * @throws IOException
+	 *             if an error occurs writing the feature
+	 */
+	public void put(String id, FEATURE feature) throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final DataOutputStream dos = new DataOutputStream(baos);
+
+		dos.writeInt(0); // placeholder for the record length
+		dos.writeUTF(id);
+		final int payloadStart;
+		String className = null;
+		if (feature instanceof WriteableBinary && feature instanceof ReadableBinary) {
+			className = feature.getClass().getName();
+			dos.writeByte(BINARY_RECORD);
+			dos.writeUTF(className);
+			payloadStart = dos.size();
+			((WriteableBinary) feature).writeBinary(dos);
+		} else {
+			dos.writeByte(SERIALISED_RECORD);
+			payloadStart = dos.size();
+			IOUtils.write(feature, dos);
+		}
+		dos.flush();
+
+		final byte[] bytes = baos.toByteArray();
+		ByteBuffer.wrap(bytes).putInt(bytes.length - 4);
+
+		synchronized (this) {
+			final long pos = end;
+			final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining())
+				channel.write(buffer, pos + buffer.position());
+			end += bytes.length;
+
+			index.put(id, new Record(pos + payloadStart, bytes.length - payloadStart, className));
+		}
+	}
+
+	/**
+	 * Force any written features to the storage device.
+	 *
+	 * @throws IOException
+	 *             if an error occurs
+	 */
+	public void flush() throws IOException {
+		channel.force(false);
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		raf.close();
+	}
+
+	/**
+	 * Get the file backing this log.
+	 *
+	 * @return the file
+	 */
+	public File getFile() {
+		return file;
+	}
+}
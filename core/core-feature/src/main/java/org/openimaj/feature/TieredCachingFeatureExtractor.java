@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.feature;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openimaj.data.identity.Identifiable;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A thread-safe wrapper for a feature extractor that caches extracted features
+ * in a bounded in-memory cache, optionally backed by a {@link FeatureCacheLog}
+ * on disk. Unlike {@link CachingFeatureExtractor}, the memory used by the
+ * cache is bounded: the least-recently used features are evicted once the
+ * total weight of the cached features exceeds a limit. Evicted features
+ * remain available from the disk tier (if there is one), which is written
+ * through as soon as a feature is extracted.
+ * <p>
+ * Concurrent requests for the same object only cause the feature to be
+ * extracted once, so this class can safely be used to wrap the extractor used
+ * by parallel training code (i.e. with
+ * {@link org.openimaj.util.parallel.Parallel}).
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ *
+ * @param <FEATURE>
+ *            Type of feature
+ * @param <OBJECT>
+ *            Type of object
+ */
+public class TieredCachingFeatureExtractor<FEATURE, OBJECT extends Identifiable>
+		implements
+		FeatureExtractor<FEATURE, OBJECT>, Closeable
+{
+	private static Logger logger = LogManager.getLogger(TieredCachingFeatureExtractor.class);
+
+	/**
+	 * A {@link Weigher} that estimates the number of bytes of memory used by a
+	 * feature. {@link FeatureVector}s and primitive arrays are weighed by the
+	 * size of their data; other objects are given a nominal weight of
+	 * {@value #DEFAULT_OBJECT_WEIGHT} bytes.
+	 */
+	public static final Weigher<Object, Object> MEMORY_WEIGHER = new Weigher<Object, Object>() {
+		@Override
+		public int weigh(Object key, Object value) {
+			return estimateSize(value);
+		}
+	};
+
+	/**
+	 * The weight assigned by {@link #MEMORY_WEIGHER} to objects whose size
+	 * cannot be estimated
+	 */
+	public static final int DEFAULT_OBJECT_WEIGHT = 64;
+
+	private FeatureExtractor<FEATURE, OBJECT> extractor;
+	private Cache<String, FEATURE> cache;
+	private FeatureCacheLog<FEATURE> diskTier;
+
+	private final AtomicLong diskHits = new AtomicLong();
+	private final AtomicLong extractions = new AtomicLong();
+
+	/**
+	 * Construct with a memory-only cache that holds features with an estimated
+	 * total size of no more than the given number of bytes.
+	 *
+	 * @param extractor
+	 *            the feature extractor
+	 * @param maxMemoryBytes
+	 *            the maximum (estimated) number of bytes of features to hold
+	 *            in memory
+	 */
+	public TieredCachingFeatureExtractor(FeatureExtractor<FEATURE, OBJECT> extractor, long maxMemoryBytes) {
+		this(extractor, maxMemoryBytes, MEMORY_WEIGHER, null);
+	}
+
+	/**
+	 * Construct with a memory cache that holds features with an estimated total
+	 * size of no more than the given number of bytes, backed by a
+	 * {@link FeatureCacheLog} in the given file.
+	 *
+	 * @param extractor
+	 *            the feature extractor
+	 * @param maxMemoryBytes
+	 *            the maximum (estimated) number of bytes of features to hold
+	 *            in memory
+	 * @param logFile
+	 *            the file in which to store the disk tier
+	 * @throws IOException
+	 *             if the log file cannot be opened
+	 */
+	public TieredCachingFeatureExtractor(FeatureExtractor<FEATURE, OBJECT> extractor, long maxMemoryBytes, File logFile)
+			throws IOException
+	{
+		this(extractor, maxMemoryBytes, MEMORY_WEIGHER, new FeatureCacheLog<FEATURE>(logFile));
+	}
+
+	/**
+	 * Construct with a memory cache with a custom {@link Weigher} and an
+	 * optional disk tier.
+	 *
+	 * @param extractor
+	 *            the feature extractor
+	 * @param maximumWeight
+	 *            the maximum total weight of features held in memory
+	 * @param weigher
+	 *            the weigher used to compute the weight of each feature
+	 * @param diskTier
+	 *            the disk tier; can be null
+	 */
+	public TieredCachingFeatureExtractor(FeatureExtractor<FEATURE, OBJECT> extractor, long maximumWeight,
+			Weigher<? super String, ? super FEATURE> weigher, FeatureCacheLog<FEATURE> diskTier)
+	{
+		this.extractor = extractor;
+		this.diskTier = diskTier;
+		this.cache = CacheBuilder.newBuilder()
+				.maximumWeight(maximumWeight)
+				.weigher(weigher)
+				.concurrencyLevel(Runtime.getRuntime().availableProcessors())
+				.recordStats()
+				.build();
+	}
+
+	@Override
+	public FEATURE extractFeature(final OBJECT object) {
+		final String id = object.getID();
+
+		try {
+			return cache.get(id, new Callable<FEATURE>() {
+				@Override
+				public FEATURE call() throws Exception {
+					final FEATURE feature = load(object);
+
+					if (feature == null)
+						throw new NullFeatureException();
+
+					return feature;
+				}
+			});
+		} catch (final ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} catch (final UncheckedExecutionException e) {
+			if (e.getCause() instanceof NullFeatureException)
+				return null;
+			throw (RuntimeException) e.getCause();
+		} catch (final ExecutionError e) {
+			throw (Error) e.getCause();
+		}
+	}
+
+	private static class NullFeatureException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private FEATURE load(OBJECT object) {
+		final String id = object.getID();
+
+		if (diskTier != null && diskTier.contains(id)) {
+			try {
+				final FEATURE feature = diskTier.get(id);
+				if (feature != null) {
+					diskHits.incrementAndGet();
+					return feature;
+				}
+			} catch (final Exception e) {
+				logger.warn("Error reading from cache. Feature will be regenerated.", e);
+			}
+		}
+
+		final FEATURE feature = extractor.extractFeature(object);
+		extractions.incrementAndGet();
+
+		if (diskTier != null && feature != null) {
+			try {
+				diskTier.put(id, feature);
+			} catch (final IOException e) {
+				logger.warn("Caching of the feature for the " + id + " object to disk failed", e);
+			}
+		}
+
+		return feature;
+	}
+
+	/**
+	 * Get the statistics of the in-memory tier. The statistics include the
+	 * number of hits, misses and evictions.
+	 *
+	 * @return the statistics of the memory cache
+	 */
+	public CacheStats getMemoryStats() {
+		return cache.stats();
+	}
+
+	/**
+	 * Get the number of memory-cache misses that were satisfied by reading
+	 * from the disk tier.
+	 *
+	 * @return the number of disk hits
+	 */
+	public long getDiskHitCount() {
+		return diskHits.get();
+	}
+
+	/**
+	 * Get the number of times a feature had to be extracted because it was
+	 * not present in either tier.
+	 *
+	 * @return the number of extractions
+	 */
+	public long getExtractionCount() {
+		return extractions.get();
+	}
+
+	/**
+	 * Get the number of features currently held in memory.
+	 *
+	 * @return the number of features in the memory tier
+	 */
+	public long getMemorySize() {
+		return cache.size();
+	}
+
+	/**
+	 * Remove all features from the memory tier. The disk tier is unaffected.
+	 */
+	public void invalidateMemory() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * Close the disk tier (if there is one).
+	 */
+	@Override
+	public void close() throws IOException {
+		if (diskTier != null)
+			diskTier.close();
+	}
+
+	/**
+	 * Estimate the number of bytes of memory used by the given feature.
+	 * {@link FeatureVector}s and primitive arrays are weighed by the size of
+	 * their data; other objects are given a nominal weight of
+	 * {@value #DEFAULT_OBJECT_WEIGHT} bytes.
+	 *
+	 * @param feature
+	 *            the feature
+	 * @return the estimated number of bytes
+	 */
+	public static int estimateSize(Object feature) {
+		if (feature instanceof FeatureVector)
+			feature = ((FeatureVector) feature).getVector();
+
+		if (feature != null && feature.getClass().isArray() && feature.getClass().getComponentType().isPrimitive()) {
+			final Class<?> type = feature.getClass().getComponentType();
+			final long length = Array.getLength(feature);
+
+			final int bytes;
+			if (type == byte.class || type == boolean.class)
+				bytes = 1;
+			else if (type == short.class || type == char.class)
+				bytes = 2;
+			else if (type == int.class || type == float.class)
+				bytes = 4;
+			else
+				bytes = 8;
+
+			return (int) Math.min(Integer.MAX_VALUE, 16 + length * bytes);
+		}
+
+		return DEFAULT_OBJECT_WEIGHT;
+	}
+
+	@Override
+	public String toString() {
+		return this.extractor.toString();
+	}
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.feature;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openimaj.data.identity.IdentifiableObject;
+
+/**
+ * Tests for {@link TieredCachingFeatureExtractor} and {@link FeatureCacheLog}.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class TieredCachingFeatureExtractorTest {
+	/**
+	 * Temporary folder for the disk tier
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static class CountingExtractor implements FeatureExtractor<DoubleFV, IdentifiableObject<Double>> {
+		final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public DoubleFV extractFeature(IdentifiableObject<Double> object) {
+			count.incrementAndGet();
+			return new DoubleFV(new double[] { object.data, object.data * 2, object.data * 3 });
+		}
+	}
+
+	private static IdentifiableObject<Double> obj(int i) {
+		return new IdentifiableObject<Double>("obj" + i, (double) i);
+	}
+
+	/**
+	 * Repeated requests should be served from memory without re-extraction
+	 */
+	@Test
+	public void testMemoryHit() {
+		final CountingExtractor extractor = new CountingExtractor();
+		final TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>> cache =
+				new TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>>(extractor, 1 << 20);
+
+		for (int r = 0; r < 3; r++)
+			for (int i = 0; i < 10; i++)
+				assertArrayEquals(new double[] { i, 2 * i, 3 * i }, cache.extractFeature(obj(i)).values, 0);
+
+		assertEquals(10, extractor.count.get());
+		assertEquals(10, cache.getExtractionCount());
+		assertEquals(10, cache.getMemoryStats().missCount());
+		assertEquals(20, cache.getMemoryStats().hitCount());
+		assertEquals(0, cache.getDiskHitCount());
+	}
+
+	/**
+	 * Features dropped from memory should be read back from the disk tier
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testDiskHitAfterInvalidation() throws IOException {
+		final CountingExtractor extractor = new CountingExtractor();
+		final TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>> cache =
+				new TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>>(extractor, 1 << 20,
+						folder.newFile("features.log"));
+
+		for (int i = 0; i < 10; i++)
+			cache.extractFeature(obj(i));
+
+		cache.invalidateMemory();
+		assertEquals(0, cache.getMemorySize());
+
+		for (int i = 0; i < 10; i++)
+			assertArrayEquals(new double[] { i, 2 * i, 3 * i }, cache.extractFeature(obj(i)).values, 0);
+
+		assertEquals(10, extractor.count.get());
+		assertEquals(10, cache.getDiskHitCount());
+		cache.close();
+	}
+
+	/**
+	 * A memory tier that is too small to hold everything should evict, and the
+	 * evicted features should come from disk rather than being re-extracted
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testEviction() throws IOException {
+		final CountingExtractor extractor = new CountingExtractor();
+		final int featureSize = TieredCachingFeatureExtractor.estimateSize(new DoubleFV(3));
+		final TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>> cache =
+				new TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>>(extractor, 4 * featureSize,
+						folder.newFile("features.log"));
+
+		for (int r = 0; r < 2; r++)
+			for (int i = 0; i < 50; i++)
+				assertArrayEquals(new double[] { i, 2 * i, 3 * i }, cache.extractFeature(obj(i)).values, 0);
+
+		assertTrue(cache.getMemorySize() <= 4);
+		assertTrue(cache.getMemoryStats().evictionCount() > 0);
+		assertEquals(50, extractor.count.get());
+		assertEquals(100, cache.getExtractionCount() + cache.getDiskHitCount() + cache.getMemoryStats().hitCount());
+		cache.close();
+	}
+
+	/**
+	 * The disk tier should survive being closed and reopened
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testReopenLog() throws IOException {
+		final File file = folder.newFile("features.log");
+
+		final FeatureCacheLog<Object> log = new FeatureCacheLog<Object>(file);
+		log.put("binary", new DoubleFV(new double[] { 1, 2, 3 }));
+		log.put("serialised", new double[] { 4, 5 });
+		log.close();
+
+		final FeatureCacheLog<Object> reopened = new FeatureCacheLog<Object>(file);
+		assertEquals(2, reopened.size());
+		assertTrue(reopened.contains("binary"));
+		assertArrayEquals(new double[] { 1, 2, 3 }, ((DoubleFV) reopened.get("binary")).values, 0);
+		assertArrayEquals(new double[] { 4, 5 }, (double[]) reopened.get("serialised"), 0);
+		reopened.close();
+
+		final CountingExtractor extractor = new CountingExtractor();
+		final TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>> cache =
+				new TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>>(extractor, 1 << 20, file);
+		cache.extractFeature(new IdentifiableObject<Double>("binary", 100.0));
+		assertEquals(0, extractor.count.get());
+		assertEquals(1, cache.getDiskHitCount());
+		cache.close();
+	}
+
+	/**
+	 * Concurrent requests should each be extracted once and all threads should
+	 * see the same values
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final CountingExtractor extractor = new CountingExtractor();
+		final TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>> cache =
+				new TieredCachingFeatureExtractor<DoubleFV, IdentifiableObject<Double>>(extractor, 1 << 20,
+						folder.newFile("features.log"));
+
+		final ExecutorService exec = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < 8; t++) {
+				results.add(exec.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						for (int r = 0; r < 5; r++) {
+							for (int i = 0; i < 100; i++) {
+								final double[] v = cache.extractFeature(obj(i)).values;
+								if (v[0] != i || v[1] != 2 * i || v[2] != 3 * i)
+									return false;
+							}
+						}
+						return true;
+					}
+				}));
+			}
+
+			for (final Future<Boolean> f : results)
+				assertTrue(f.get());
+		} finally {
+			exec.shutdown();
+		}
+
+		assertEquals(100, extractor.count.get());
+
+		cache.invalidateMemory();
+		for (int i = 0; i < 100; i++)
+			cache.extractFeature(obj(i));
+		assertEquals(100, extractor.count.get());
+		assertEquals(100, cache.getDiskHitCount());
+		cache.close();
+	}
+}
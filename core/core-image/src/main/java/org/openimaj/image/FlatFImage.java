@@ -0,0 +1,441 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * A single-band floating point image stored in a single contiguous
+ * <code>float[]</code>, rather than the array of rows used by {@link FImage}.
+ * Pixel (x, y) is stored at <code>data[offset + y * stride + x]</code>.
+ * <p>
+ * Because the layout is described by an offset and a stride, sub-images (see
+ * {@link #extractROI(int, int, int, int)}) and the bands of a planar
+ * multi-band image (see {@link #createPlanes(int, int, int)}) can be views on
+ * the same array without any copying. Rows can be accessed as
+ * {@link FloatBuffer} views with {@link #getRow(int)}, and a contiguous image
+ * can be passed directly to libraries expecting a packed row-major array (for
+ * example the real 2D transforms of JTransforms' <code>FloatFFT_2D</code>)
+ * through {@link #getPackedData()}.
+ * <p>
+ * Conversion to and from {@link FImage}s copies the data.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class FlatFImage implements Cloneable {
+	/** The pixel data */
+	public final float[] data;
+
+	/** The index of pixel (0, 0) in the data */
+	public final int offset;
+
+	/** The width of the image */
+	public final int width;
+
+	/** The height of the image */
+	public final int height;
+
+	/** The distance in the data between the starts of two consecutive rows */
+	public final int stride;
+
+	/**
+	 * Construct an empty image of the given size with a contiguous layout.
+	 * 
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 */
+	public FlatFImage(int width, int height) {
+		this(new float[width * height], 0, width, height, width);
+	}
+
+	/**
+	 * Construct an image backed by the given data. No copy of the data is
+	 * made.
+	 * 
+	 * @param data
+	 *            the data
+	 * @param offset
+	 *            the index of pixel (0, 0) in the data
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @param stride
+	 *            the distance between the starts of two consecutive rows
+	 */
+	public FlatFImage(float[] data, int offset, int width, int height, int stride) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Width and height must be non-negative");
+		if (stride < width)
+			throw new IllegalArgumentException("Stride must be at least the width");
+		if (offset < 0 || (height > 0 && offset + (height - 1) * stride + width > data.length))
+			throw new IllegalArgumentException("Data array is too small for the given layout");
+
+		this.data = data;
+		this.offset = offset;
+		this.width = width;
+		this.height = height;
+		this.stride = stride;
+	}
+
+	/**
+	 * Construct a contiguous image with a copy of the pixels of the given
+	 * {@link FImage}.
+	 * 
+	 * @param image
+	 *            the image to copy
+	 */
+	public FlatFImage(FImage image) {
+		this(image.width, image.height);
+		copyFrom(image);
+	}
+
+	/**
+	 * Create images for the bands of a planar multi-band image. All the bands
+	 * share a single contiguous array, with the bands stored one after the
+	 * other.
+	 * 
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @param numBands
+	 *            the number of bands
+	 * @return the bands
+	 */
+	public static FlatFImage[] createPlanes(int width, int height, int numBands) {
+		final float[] data = new float[width * height * numBands];
+		final FlatFImage[] planes = new FlatFImage[numBands];
+
+		for (int i = 0; i < numBands; i++)
+			planes[i] = new FlatFImage(data, i * width * height, width, height, width);
+
+		return planes;
+	}
+
+	/**
+	 * Create planar bands with a copy of the pixels of the given
+	 * {@link MBFImage}. The bands share a single contiguous array.
+	 * 
+	 * @param image
+	 *            the image to copy
+	 * @return the bands
+	 */
+	public static FlatFImage[] createPlanes(MBFImage image) {
+		final FlatFImage[] planes = createPlanes(image.getWidth(), image.getHeight(), image.numBands());
+
+		for (int i = 0; i < planes.length; i++)
+			planes[i].copyFrom(image.getBand(i));
+
+		return planes;
+	}
+
+	/**
+	 * Get the index of the given pixel in the data
+	 * 
+	 * @param x
+	 *            the x-ordinate
+	 * @param y
+	 *            the y-ordinate
+	 * @return the index
+	 */
+	public final int index(int x, int y) {
+		return offset + y * stride + x;
+	}
+
+	/**
+	 * Get the value of the given pixel
+	 * 
+	 * @param x
+	 *            the x-ordinate
+	 * @param y
+	 *            the y-ordinate
+	 * @return the value
+	 */
+	public final float getPixel(int x, int y) {
+		return data[offset + y * stride + x];
+	}
+
+	/**
+	 * Set the value of the given pixel
+	 * 
+	 * @param x
+	 *            the x-ordinate
+	 * @param y
+	 *            the y-ordinate
+	 * @param value
+	 *            the value
+	 */
+	public final void setPixel(int x, int y, float value) {
+		data[offset + y * stride + x] = value;
+	}
+
+	/**
+	 * @return the width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return the height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Does the image occupy a single unbroken region of the data (i.e. is
+	 * the stride equal to the width)?
+	 * 
+	 * @return true if the rows are stored without gaps
+	 */
+	public boolean isContiguous() {
+		return stride == width || height <= 1;
+	}
+
+	/**
+	 * Get a view on the given row. Changes to the buffer are reflected in the
+	 * image and vice-versa.
+	 * 
+	 * @param y
+	 *            the row
+	 * @return a buffer of length {@link #width} backed by the row
+	 */
+	public FloatBuffer getRow(int y) {
+		return FloatBuffer.wrap(data, offset + y * stride, width).slice();
+	}
+
+	/**
+	 * Copy the given row into an array
+	 * 
+	 * @param y
+	 *            the row
+	 * @param out
+	 *            the array to fill; if null or too small a new array is
+	 *            created
+	 * @return the array containing the row
+	 */
+	public float[] getRow(int y, float[] out) {
+		if (out == null || out.length < width)
+			out = new float[width];
+
+		System.arraycopy(data, offset + y * stride, out, 0, width);
+
+		return out;
+	}
+
+	/**
+	 * Get a view on the pixel data. The buffer starts at pixel (0, 0) and the
+	 * rows are {@link #stride} elements apart.
+	 * 
+	 * @return a buffer backed by the data
+	 */
+	public FloatBuffer asFloatBuffer() {
+		final int length = height == 0 ? 0 : (height - 1) * stride + width;
+		return FloatBuffer.wrap(data, offset, length).slice();
+	}
+
+	/**
+	 * Get the pixels as a packed row-major array of length
+	 * <code>width * height</code>. If the image is contiguous and occupies the
+	 * whole of its data array, then the data array itself is returned (and
+	 * changes to it will be reflected in the image); otherwise a packed copy
+	 * is made.
+	 * 
+	 * @return the packed pixel data
+	 */
+	public float[] getPackedData() {
+		if (offset == 0 && isContiguous() && data.length == width * height)
+			return data;
+
+		final float[] packed = new float[width * height];
+		for (int y = 0; y < height; y++)
+			System.arraycopy(data, offset + y * stride, packed, y * width, width);
+
+		return packed;
+	}
+
+	/**
+	 * Get a view on a rectangular region of this image. The view shares the
+	 * data of this image.
+	 * 
+	 * @param x
+	 *            the x-ordinate of the top-left of the region
+	 * @param y
+	 *            the y-ordinate of the top-left of the region
+	 * @param w
+	 *            the width of the region
+	 * @param h
+	 *            the height of the region
+	 * @return the view
+	 */
+	public FlatFImage extractROI(int x, int y, int w, int h) {
+		if (x < 0 || y < 0 || x + w > width || y + h > height)
+			throw new IllegalArgumentException("Region is outside of the image");
+
+		return new FlatFImage(data, index(x, y), w, h, stride);
+	}
+
+	/**
+	 * Copy the pixels of the given {@link FImage}, which must be the same size
+	 * as this image, into this image.
+	 * 
+	 * @param image
+	 *            the image to copy
+	 * @return this
+	 */
+	public FlatFImage copyFrom(FImage image) {
+		for (int y = 0; y < height; y++)
+			System.arraycopy(image.pixels[y], 0, data, offset + y * stride, width);
+
+		return this;
+	}
+
+	/**
+	 * Copy the pixels of this image into the given {@link FImage}, which must
+	 * be the same size as this image.
+	 * 
+	 * @param image
+	 *            the image to copy into
+	 * @return the image
+	 */
+	public FImage copyTo(FImage image) {
+		for (int y = 0; y < height; y++)
+			System.arraycopy(data, offset + y * stride, image.pixels[y], 0, width);
+
+		return image;
+	}
+
+	/**
+	 * Create an {@link FImage} with a copy of the pixels of this image.
+	 * 
+	 * @return the new image
+	 */
+	public FImage toFImage() {
+		return copyTo(new FImage(width, height));
+	}
+
+	/**
+	 * Create an {@link MBFImage} with a copy of the pixels of the given bands.
+	 * 
+	 * @param planes
+	 *            the bands, which must all be the same size
+	 * @return the new image
+	 */
+	public static MBFImage toMBFImage(FlatFImage... planes) {
+		final FImage[] bands = new FImage[planes.length];
+
+		for (int i = 0; i < planes.length; i++)
+			bands[i] = planes[i].toFImage();
+
+		return new MBFImage(bands);
+	}
+
+	/**
+	 * Copy the pixels into a two-dimensional array of doubles indexed by
+	 * [row][column], as used by a <code>Jama.Matrix</code> (which can wrap the
+	 * array without a further copy).
+	 * 
+	 * @param out
+	 *            the array to fill; if null or the wrong size a new array is
+	 *            created
+	 * @return the array
+	 */
+	public double[][] toDoubleArray(double[][] out) {
+		if (out == null || out.length != height || (height > 0 && out[0].length != width))
+			out = new double[height][width];
+
+		for (int y = 0; y < height; y++) {
+			final double[] row = out[y];
+			for (int x = 0, i = offset + y * stride; x < width; x++, i++)
+				row[x] = data[i];
+		}
+
+		return out;
+	}
+
+	/**
+	 * Copy the pixels into a column-major array of doubles, as used by
+	 * dense matrices such as MTJ's <code>DenseMatrix</code> (which can wrap
+	 * the array without a further copy).
+	 * 
+	 * @param out
+	 *            the array to fill; if null or too small a new array is
+	 *            created
+	 * @return the array
+	 */
+	public double[] toColumnMajor(double[] out) {
+		if (out == null || out.length < width * height)
+			out = new double[width * height];
+
+		for (int y = 0; y < height; y++)
+			for (int x = 0, i = offset + y * stride; x < width; x++, i++)
+				out[x * height + y] = data[i];
+
+		return out;
+	}
+
+	/**
+	 * Fill the image with the given value
+	 * 
+	 * @param value
+	 *            the value
+	 * @return this
+	 */
+	public FlatFImage fill(float value) {
+		for (int y = 0; y < height; y++) {
+			final int start = offset + y * stride;
+			Arrays.fill(data, start, start + width, value);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Create a contiguous copy of this image
+	 * 
+	 * @return the copy
+	 */
+	@Override
+	public FlatFImage clone() {
+		final float[] packed = getPackedData();
+
+		return new FlatFImage(packed == data ? data.clone() : packed, 0, width, height, width);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("FlatFImage(%d x %d, offset=%d, stride=%d)", width, height, offset, stride);
+	}
+}
@@ -30,9 +30,15 @@
 package org.openimaj.image;
 
 import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
 import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
 import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
@@ -287,6 +293,57 @@ public class ImageUtilities {
 		return new FImage(data, bimg.getWidth(), bimg.getHeight());
 	}
 
+	/**
+	 * Create a {@link FlatFImage} from a buffered image. If the buffered image
+	 * has a single band of float samples (for example one created by
+	 * {@link #createBufferedImage(FlatFImage)}), the returned image shares its
+	 * data; otherwise the image is converted to greyscale as in
+	 * {@link #createFImage(BufferedImage)}.
+	 * 
+	 * @param image
+	 *            the image
+	 * @return a {@link FlatFImage} representation of the input image
+	 */
+	public static FlatFImage createFlatFImage(final BufferedImage image) {
+		final WritableRaster raster = image.getRaster();
+
+		if (raster.getNumBands() == 1 && raster.getDataBuffer() instanceof DataBufferFloat
+				&& raster.getSampleModel() instanceof ComponentSampleModel
+				&& raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0)
+		{
+			final ComponentSampleModel sm = (ComponentSampleModel) raster.getSampleModel();
+			final DataBufferFloat db = (DataBufferFloat) raster.getDataBuffer();
+
+			if (sm.getPixelStride() == 1 && db.getNumBanks() == 1) {
+				return new FlatFImage(db.getData(), db.getOffset() + sm.getOffset(0, 0), raster.getWidth(),
+						raster.getHeight(), sm.getScanlineStride());
+			}
+		}
+
+		return new FlatFImage(createFImage(image));
+	}
+
+	/**
+	 * Create a single-band greyscale {@link BufferedImage} with float samples
+	 * that shares the data of the given image; no copy is made, so changes to
+	 * either image are reflected in the other. The samples are interpreted in
+	 * the range 0..1 in a linear grey colour space, so this is intended for
+	 * interoperability with Java2D-based code rather than for display.
+	 * 
+	 * @param img
+	 *            the image
+	 * @return a {@link BufferedImage} backed by the image data
+	 */
+	public static BufferedImage createBufferedImage(final FlatFImage img) {
+		final ComponentColorModel cm = new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_GRAY), false,
+				false, Transparency.OPAQUE, DataBuffer.TYPE_FLOAT);
+		final ComponentSampleModel sm = new ComponentSampleModel(DataBuffer.TYPE_FLOAT, img.width, img.height, 1,
+				img.stride, new int[] { 0 });
+		final DataBufferFloat db = new DataBufferFloat(img.data, img.data.length - img.offset, img.offset);
+
+		return new BufferedImage(cm, Raster.createWritableRaster(sm, db, null), false, null);
+	}
+
 	/**
 	 * Create an MBFImage from a buffered image.
 	 * 
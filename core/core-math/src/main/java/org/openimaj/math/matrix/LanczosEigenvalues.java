@@ -0,0 +1,545 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.math.matrix;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+import Jama.EigenvalueDecomposition;
+import ch.akuhn.matrix.SparseMatrix;
+import ch.akuhn.matrix.SparseVector;
+import ch.akuhn.matrix.Vector;
+import ch.akuhn.matrix.eigenvalues.Eigenvalues;
+import ch.akuhn.matrix.eigenvalues.FewEigenvalues;
+
+/**
+ * Compute a few eigenvalues and eigenvectors of a large sparse symmetric
+ * matrix using the thick-restart Lanczos method with full
+ * re-orthogonalisation.
+ * <p>
+ * This is a pure Java alternative to the ARPACK based {@link FewEigenvalues}.
+ * The matrix is copied into a compressed sparse row representation, and the
+ * sparse matrix-vector products, the re-orthogonalisation of the Lanczos
+ * vectors and the computation of the Ritz vectors are all performed in
+ * parallel over blocks of rows. Unlike the ARPACK implementation, this class
+ * is thread-safe, so several decompositions can be run at the same time.
+ * <p>
+ * As with {@link FewEigenvalues}, the eigenvalues are returned in ascending
+ * order, together with their corresponding eigenvectors.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class LanczosEigenvalues extends Eigenvalues {
+	private static final int MIN_PARALLEL_ROWS = 4096;
+	private static final double BREAKDOWN_EPS = 1e-12;
+
+	private enum Which {
+		LA, SA, LM
+	};
+
+	private final int[] rowPtr;
+	private final int[] colIdx;
+	private final double[] vals;
+
+	private Which which;
+	private int ncv = -1;
+	private double tolerance = 1e-10;
+	private int maxRestarts = 300;
+	private long seed = 1;
+	private ThreadPoolExecutor threadPool;
+
+	/**
+	 * Construct for the given square symmetric matrix. By default the 20
+	 * eigenvalues of largest magnitude will be computed.
+	 * 
+	 * @param matrix
+	 *            the matrix
+	 */
+	public LanczosEigenvalues(SparseMatrix matrix) {
+		super(matrix.columnCount());
+
+		// compress the rows
+		this.rowPtr = new int[n + 1];
+		int nnz = 0;
+		for (int r = 0; r < n; r++) {
+			nnz += ((SparseVector) matrix.row(r)).used();
+			rowPtr[r + 1] = nnz;
+		}
+
+		this.colIdx = new int[nnz];
+		this.vals = new double[nnz];
+		for (int r = 0; r < n; r++) {
+			final SparseVector row = (SparseVector) matrix.row(r);
+			final int used = row.used();
+			System.arraycopy(row.keys(), 0, colIdx, rowPtr[r], used);
+			System.arraycopy(row.values(), 0, vals, rowPtr[r], used);
+		}
+
+		this.greatest(20);
+	}
+
+	/**
+	 * Get an object that can compute a few eigenvalues/vectors of the given
+	 * square symmetric matrix.
+	 * 
+	 * @param matrix
+	 *            the matrix
+	 * @return the object to compute the eigen decomposition
+	 */
+	public static LanczosEigenvalues of(SparseMatrix matrix) {
+		return new LanczosEigenvalues(matrix);
+	}
+
+	private LanczosEigenvalues which(Which which, int nev) {
+		this.which = which;
+		this.nev = nev < n ? nev : n;
+		return this;
+	}
+
+	/**
+	 * Compute the largest algebraic eigenvalues.
+	 * 
+	 * @param nev
+	 *            the number of eigenvalues
+	 * @return this
+	 */
+	@Override
+	public LanczosEigenvalues largest(int nev) {
+		return which(Which.LA, nev);
+	}
+
+	/**
+	 * Compute the smallest algebraic eigenvalues.
+	 * 
+	 * @param nev
+	 *            the number of eigenvalues
+	 * @return this
+	 */
+	public LanczosEigenvalues smallest(int nev) {
+		return which(Which.SA, nev);
+	}
+
+	/**
+	 * Compute the largest eigenvalues in magnitude.
+	 * 
+	 * @param nev
+	 *            the number of eigenvalues
+	 * @return this
+	 */
+	public LanczosEigenvalues greatest(int nev) {
+		return which(Which.LM, nev);
+	}
+
+	/**
+	 * Set the number of Lanczos vectors held between restarts. Larger values
+	 * need more memory, but fewer restarts. The default is
+	 * <code>max(2 * nev + 1, nev + 20)</code>.
+	 * 
+	 * @param ncv
+	 *            the number of Lanczos vectors
+	 * @return this
+	 */
+	public LanczosEigenvalues setSubspaceSize(int ncv) {
+		this.ncv = ncv;
+		return this;
+	}
+
+	/**
+	 * Set the convergence tolerance. A Ritz pair is considered converged when
+	 * its residual norm is less than the tolerance multiplied by the largest
+	 * Ritz value in magnitude. The default is 1e-10.
+	 * 
+	 * @param tolerance
+	 *            the tolerance
+	 * @return this
+	 */
+	public LanczosEigenvalues setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of restarts. The default is 300.
+	 * 
+	 * @param maxRestarts
+	 *            the maximum number of restarts
+	 * @return this
+	 */
+	public LanczosEigenvalues setMaxRestarts(int maxRestarts) {
+		this.maxRestarts = maxRestarts;
+		return this;
+	}
+
+	/**
+	 * Set the seed of the random starting vector.
+	 * 
+	 * @param seed
+	 *            the seed
+	 * @return this
+	 */
+	public LanczosEigenvalues setSeed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * Set the thread pool used for the parallel operations. If null (the
+	 * default) the global pool is used.
+	 * 
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 * @return this
+	 */
+	public LanczosEigenvalues setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+		return this;
+	}
+
+	@Override
+	public Eigenvalues run() {
+		if (n == 0 || nev == 0) {
+			value = new double[0];
+			vector = new Vector[0];
+			return this;
+		}
+
+		final int m = Math.min(n, ncv > nev ? ncv : Math.max(2 * nev + 1, nev + 20));
+		final double[][] basis = new double[m + 1][];
+		final double[][] T = new double[m][m];
+
+		// random starting vector
+		final Random rng = new Random(seed);
+		basis[0] = new double[n];
+		for (int i = 0; i < n; i++)
+			basis[0][i] = rng.nextDouble() - 0.5;
+		scale(basis[0], 1 / norm(basis[0]));
+
+		int start = 0;
+		for (int restart = 0;; restart++) {
+			// extend the Lanczos factorisation to m vectors
+			int size = m;
+			double beta = 0;
+			for (int j = start; j < m; j++) {
+				final double[] w = multiply(basis[j]);
+				final double[] h = orthogonalise(basis, j + 1, w);
+
+				for (int i = 0; i <= j; i++)
+					T[i][j] = T[j][i] = h[i];
+
+				double hnorm = 0;
+				for (int i = 0; i <= j; i++)
+					hnorm += h[i] * h[i];
+
+				beta = norm(w);
+				if (beta <= BREAKDOWN_EPS * Math.sqrt(hnorm) || beta == 0) {
+					// invariant subspace found; continue with a random
+					// vector orthogonal to the basis if there's room
+					beta = 0;
+					if (j + 1 == n) {
+						size = j + 1;
+						break;
+					}
+
+					for (int i = 0; i < n; i++)
+						w[i] = rng.nextDouble() - 0.5;
+					orthogonalise(basis, j + 1, w);
+					scale(w, 1 / norm(w));
+				} else {
+					scale(w, 1 / beta);
+				}
+				basis[j + 1] = w;
+			}
+
+			// Rayleigh-Ritz
+			final double[][] Ts = new double[size][size];
+			for (int i = 0; i < size; i++)
+				System.arraycopy(T[i], 0, Ts[i], 0, size);
+
+			final EigenvalueDecomposition evd = new Jama.Matrix(Ts).eig();
+			final double[] theta = evd.getRealEigenvalues();
+			final double[][] S = evd.getV().getArray();
+			final Integer[] order = order(theta);
+
+			double anorm = 0;
+			for (final double t : theta)
+				anorm = Math.max(anorm, Math.abs(t));
+
+			final int nwanted = Math.min(nev, size);
+			boolean converged = true;
+			for (int i = 0; i < nwanted; i++) {
+				if (Math.abs(beta * S[size - 1][order[i]]) > tolerance * anorm) {
+					converged = false;
+					break;
+				}
+			}
+
+			if (converged || size < m || restart >= maxRestarts) {
+				// output the wanted pairs in ascending order of eigenvalue
+				final Integer[] wanted = Arrays.copyOf(order, nwanted);
+				Arrays.sort(wanted, new Comparator<Integer>() {
+					@Override
+					public int compare(Integer o1, Integer o2) {
+						return Double.compare(theta[o1], theta[o2]);
+					}
+				});
+
+				final double[][] ritz = ritzVectors(basis, size, S, wanted);
+				value = new double[nwanted];
+				vector = new Vector[nwanted];
+				for (int i = 0; i < nwanted; i++) {
+					value[i] = theta[wanted[i]];
+					vector[i] = Vector.wrap(ritz[i]);
+				}
+
+				return this;
+			}
+
+			// thick restart: keep the best Ritz vectors and the residual
+			// vector
+			final int keep = Math.min(nwanted + (m - nwanted) / 2, m - 1);
+			final Integer[] kept = Arrays.copyOf(order, keep);
+			final double[][] ritz = ritzVectors(basis, size, S, kept);
+
+			final double[] residual = basis[m];
+			Arrays.fill(basis, null);
+			for (int i = 0; i < keep; i++)
+				basis[i] = ritz[i];
+			basis[keep] = residual;
+
+			for (final double[] row : T)
+				Arrays.fill(row, 0);
+			for (int i = 0; i < keep; i++)
+				T[i][i] = theta[kept[i]];
+
+			start = keep;
+		}
+	}
+
+	/**
+	 * Order the Ritz values so the wanted ones come first
+	 */
+	private Integer[] order(final double[] theta) {
+		final Integer[] order = new Integer[theta.length];
+		for (int i = 0; i < order.length; i++)
+			order[i] = i;
+
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				switch (which) {
+				case LA:
+					return Double.compare(theta[o2], theta[o1]);
+				case SA:
+					return Double.compare(theta[o1], theta[o2]);
+				default:
+					return Double.compare(Math.abs(theta[o2]), Math.abs(theta[o1]));
+				}
+			}
+		});
+
+		return order;
+	}
+
+	/**
+	 * Compute A.x
+	 */
+	private double[] multiply(final double[] x) {
+		final double[] y = new double[n];
+
+		forRange(new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int r = start; r < stop; r++) {
+					double sum = 0;
+					for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++)
+						sum += vals[k] * x[colIdx[k]];
+					y[r] = sum;
+				}
+			}
+		});
+
+		return y;
+	}
+
+	/**
+	 * Orthogonalise w against the first count basis vectors with two passes
+	 * of classical Gram-Schmidt, returning the projection coefficients
+	 */
+	private double[] orthogonalise(final double[][] basis, final int count, final double[] w) {
+		final double[] h = new double[count];
+
+		for (int pass = 0; pass < 2; pass++) {
+			final double[] c = sum(new RangeOperationWithResult(count) {
+				@Override
+				void perform(int start, int stop, double[] result) {
+					for (int j = 0; j < count; j++) {
+						final double[] v = basis[j];
+						double dot = 0;
+						for (int i = start; i < stop; i++)
+							dot += v[i] * w[i];
+						result[j] = dot;
+					}
+				}
+			});
+
+			forRange(new RangeOperation() {
+				@Override
+				void perform(int start, int stop) {
+					for (int j = 0; j < count; j++) {
+						final double[] v = basis[j];
+						final double cj = c[j];
+						for (int i = start; i < stop; i++)
+							w[i] -= cj * v[i];
+					}
+				}
+			});
+
+			for (int j = 0; j < count; j++)
+				h[j] += c[j];
+		}
+
+		return h;
+	}
+
+	/**
+	 * Compute the Ritz vectors V.S(:, cols)
+	 */
+	private double[][] ritzVectors(final double[][] basis, final int size, final double[][] S, final Integer[] cols) {
+		final double[][] ritz = new double[cols.length][n];
+
+		forRange(new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int c = 0; c < cols.length; c++) {
+					final double[] y = ritz[c];
+					final int col = cols[c];
+					for (int j = 0; j < size; j++) {
+						final double[] v = basis[j];
+						final double s = S[j][col];
+						for (int i = start; i < stop; i++)
+							y[i] += s * v[i];
+					}
+				}
+			}
+		});
+
+		return ritz;
+	}
+
+	private double norm(final double[] x) {
+		return Math.sqrt(sum(new RangeOperationWithResult(1) {
+			@Override
+			void perform(int start, int stop, double[] result) {
+				double sum = 0;
+				for (int i = start; i < stop; i++)
+					sum += x[i] * x[i];
+				result[0] = sum;
+			}
+		})[0]);
+	}
+
+	private void scale(final double[] x, final double s) {
+		for (int i = 0; i < x.length; i++)
+			x[i] *= s;
+	}
+
+	private static abstract class RangeOperation {
+		abstract void perform(int start, int stop);
+	}
+
+	private static abstract class RangeOperationWithResult {
+		final int length;
+
+		RangeOperationWithResult(int length) {
+			this.length = length;
+		}
+
+		abstract void perform(int start, int stop, double[] result);
+	}
+
+	private void forRange(final RangeOperation op) {
+		if (n < MIN_PARALLEL_ROWS) {
+			op.perform(0, n);
+			return;
+		}
+
+		final Operation<IntRange> pop = new Operation<IntRange>() {
+			@Override
+			public void perform(IntRange range) {
+				op.perform(range.start, range.stop);
+			}
+		};
+
+		if (threadPool == null)
+			Parallel.forRange(0, n, 1, pop);
+		else
+			Parallel.forRange(0, n, 1, pop, threadPool);
+	}
+
+	/**
+	 * Compute partial results over blocks of rows and sum them. The partial
+	 * results are summed in row order so the result doesn't depend on the
+	 * scheduling.
+	 */
+	private double[] sum(final RangeOperationWithResult op) {
+		final double[] total = new double[op.length];
+
+		if (n < MIN_PARALLEL_ROWS) {
+			op.perform(0, n, total);
+			return total;
+		}
+
+		final TreeMap<Integer, double[]> partials = new TreeMap<Integer, double[]>();
+		forRange(new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				final double[] partial = new double[op.length];
+				op.perform(start, stop, partial);
+
+				synchronized (partials) {
+					partials.put(start, partial);
+				}
+			}
+		});
+
+		for (final double[] partial : partials.values())
+			for (int i = 0; i < total.length; i++)
+				total[i] += partial[i];
+
+		return total;
+	}
+}
@@ -222,7 +222,8 @@ public class MixtureOfGaussians extends AbstractMultivariateDistribution {
 
 	/**
 	 * Compute the log probability of the given data points belonging to each of
-	 * the gaussians
+	 * the gaussians. The points are scored in a single batch by a
+	 * {@link MixtureOfGaussiansScorer}.
 	 * 
 	 * @param x
 	 *            the points
@@ -230,20 +231,18 @@ public class MixtureOfGaussians extends AbstractMultivariateDistribution {
 	 *         distribution
 	 */
 	public double[][] logProbability(double[][] x) {
-		final int nmix = gaussians.length;
-		final int nsamples = x.length;
-
-		final double[][] log_prob = new double[nsamples][nmix];
-		for (int i = 0; i < nmix; i++) {
-			final double[] lp = gaussians[i].estimateLogProbability(x);
-
-			for (int j = 0; j < nsamples; j++) {
-				log_prob[j][i] = lp[j];
-			}
-		}
+		return new MixtureOfGaussiansScorer(gaussians, weights).logProbability(x);
+	}
 
-		return log_prob;
-		// return logProbability(x, gaussians);
+	/**
+	 * Create a {@link MixtureOfGaussiansScorer} for efficiently scoring blocks
+	 * of samples (optionally in parallel) against this mixture. The scorer
+	 * must be re-created if the mixture changes.
+	 * 
+	 * @return the scorer
+	 */
+	public MixtureOfGaussiansScorer createScorer() {
+		return new MixtureOfGaussiansScorer(this);
 	}
 
 	/**
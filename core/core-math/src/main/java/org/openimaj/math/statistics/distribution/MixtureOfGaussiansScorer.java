@@ -0,0 +1,504 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.math.statistics.distribution;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.pair.IndependentPair;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+import Jama.CholeskyDecomposition;
+import Jama.Matrix;
+
+/**
+ * Batch evaluation of the log-probabilities of blocks of samples under a
+ * {@link MixtureOfGaussians}. The scorer takes a snapshot of the mixture when
+ * it is constructed: the means, log-weights and normalising constants of all
+ * the components are cached, together with the inverse variances of
+ * {@link DiagonalMultivariateGaussian}s and
+ * {@link SphericalMultivariateGaussian}s, and the Cholesky factors of the
+ * covariance matrices of any other {@link MultivariateGaussian}s. Samples are
+ * then scored against all the components without allocating any objects per
+ * sample, and blocks of samples are scored in parallel if a thread pool has
+ * been set.
+ * <p>
+ * The scorer must be re-created if the mixture is changed.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class MixtureOfGaussiansScorer {
+	/** Number of samples scored together by each parallel task */
+	private static final int BLOCK_SIZE = 256;
+
+	/**
+	 * Access to the rows of a block of samples, which computes the difference
+	 * of a row from a mean
+	 */
+	private static abstract class Samples {
+		abstract int size();
+
+		abstract int numDims();
+
+		abstract void diff(int row, double[] mean, double[] out);
+	}
+
+	private static class DoubleSamples extends Samples {
+		final double[][] data;
+
+		DoubleSamples(double[][] data) {
+			this.data = data;
+		}
+
+		@Override
+		int size() {
+			return data.length;
+		}
+
+		@Override
+		int numDims() {
+			return data[0].length;
+		}
+
+		@Override
+		void diff(int row, double[] mean, double[] out) {
+			final double[] x = data[row];
+			for (int d = 0; d < mean.length; d++)
+				out[d] = x[d] - mean[d];
+		}
+	}
+
+	private static class FloatSamples extends Samples {
+		final float[][] data;
+
+		FloatSamples(float[][] data) {
+			this.data = data;
+		}
+
+		@Override
+		int size() {
+			return data.length;
+		}
+
+		@Override
+		int numDims() {
+			return data[0].length;
+		}
+
+		@Override
+		void diff(int row, double[] mean, double[] out) {
+			final float[] x = data[row];
+			for (int d = 0; d < mean.length; d++)
+				out[d] = x[d] - mean[d];
+		}
+	}
+
+	private static abstract class RangeOperation {
+		abstract void perform(int start, int stop);
+	}
+
+	private final int ndims;
+	private final int ncomponents;
+	private final double[][] means;
+	private final double[] logWeights;
+
+	/** Per component inverse variances for diagonal components; else null */
+	private final double[][] invVariances;
+
+	/** Per component lower Cholesky factors for full components; else null */
+	private final double[][][] cholesky;
+
+	/**
+	 * Per component inverse covariances for full components that are not
+	 * positive definite; else null
+	 */
+	private final double[][][] invCovariances;
+
+	/** Per component log of the normalising constant */
+	private final double[] logNorm;
+
+	private ThreadPoolExecutor threadPool;
+
+	/**
+	 * Construct a scorer for the given mixture.
+	 *
+	 * @param gmm
+	 *            the mixture
+	 */
+	public MixtureOfGaussiansScorer(MixtureOfGaussians gmm) {
+		this(gmm.gaussians, gmm.weights);
+	}
+
+	/**
+	 * Construct a scorer for the given gaussians and weights.
+	 *
+	 * @param gaussians
+	 *            the gaussians
+	 * @param weights
+	 *            the weight of each gaussian; can be null if only the
+	 *            unweighted {@link #logProbability(double[][])} is required
+	 */
+	public MixtureOfGaussiansScorer(MultivariateGaussian[] gaussians, double[] weights) {
+		this.ncomponents = gaussians.length;
+		this.ndims = gaussians[0].getMean().getColumnDimension();
+
+		means = new double[ncomponents][];
+		logWeights = new double[ncomponents];
+		invVariances = new double[ncomponents][];
+		cholesky = new double[ncomponents][][];
+		invCovariances = new double[ncomponents][][];
+		logNorm = new double[ncomponents];
+
+		final double log2pi = ndims * Math.log(2 * Math.PI);
+		for (int c = 0; c < ncomponents; c++) {
+			final MultivariateGaussian g = gaussians[c];
+
+			means[c] = g.getMean().getArray()[0].clone();
+			logWeights[c] = weights == null ? 0 : Math.log(weights[c]);
+
+			if (g instanceof DiagonalMultivariateGaussian || g instanceof SphericalMultivariateGaussian) {
+				invVariances[c] = new double[ndims];
+
+				double logDet = 0;
+				for (int d = 0; d < ndims; d++) {
+					final double var = g.getCovariance(d, d);
+					invVariances[c][d] = 1.0 / var;
+					logDet += Math.log(var);
+				}
+				logNorm[c] = -0.5 * (log2pi + logDet);
+			} else {
+				final Matrix cv = g.getCovariance();
+				final CholeskyDecomposition chol = cv.chol();
+
+				if (chol.isSPD()) {
+					cholesky[c] = chol.getL().getArray();
+
+					double logDet = 0;
+					for (int d = 0; d < ndims; d++)
+						logDet += Math.log(cholesky[c][d][d]);
+					logNorm[c] = -0.5 * (log2pi + 2 * logDet);
+				} else {
+					// same as the direct computation in
+					// AbstractMultivariateGaussian
+					invCovariances[c] = cv.inverse().getArray();
+					logNorm[c] = Math.log(1.0 / Math.sqrt((Math.pow((2 * Math.PI), ndims) * cv.det())));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Set the thread pool used to score blocks of samples in parallel. The
+	 * default is null, in which case the samples are scored sequentially.
+	 *
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
+	/**
+	 * @return the number of gaussians in the mixture
+	 */
+	public int numComponents() {
+		return ncomponents;
+	}
+
+	/**
+	 * @return the dimensionality of the mixture
+	 */
+	public int numDims() {
+		return ndims;
+	}
+
+	/**
+	 * Compute the (unweighted) log probability of each sample under each of
+	 * the gaussians. This gives the same results as
+	 * {@link MixtureOfGaussians#logProbability(double[][])}.
+	 *
+	 * @param samples
+	 *            the samples
+	 * @return the log probability of each sample under each gaussian
+	 */
+	public double[][] logProbability(double[][] samples) {
+		return logProbability(new DoubleSamples(samples));
+	}
+
+	/**
+	 * Compute the (unweighted) log probability of each sample under each of
+	 * the gaussians.
+	 *
+	 * @see #logProbability(double[][])
+	 *
+	 * @param samples
+	 *            the samples
+	 * @return the log probability of each sample under each gaussian
+	 */
+	public double[][] logProbability(float[][] samples) {
+		return logProbability(new FloatSamples(samples));
+	}
+
+	/**
+	 * Compute the log probability of each sample under the mixture. This gives
+	 * the same results as
+	 * {@link MixtureOfGaussians#estimateLogProbability(double[][])}.
+	 *
+	 * @param samples
+	 *            the samples
+	 * @return the log probability of each sample
+	 */
+	public double[] estimateLogProbability(double[][] samples) {
+		return estimateLogProbability(new DoubleSamples(samples));
+	}
+
+	/**
+	 * Compute the log probability of each sample under the mixture.
+	 *
+	 * @see #estimateLogProbability(double[][])
+	 *
+	 * @param samples
+	 *            the samples
+	 * @return the log probability of each sample
+	 */
+	public double[] estimateLogProbability(float[][] samples) {
+		return estimateLogProbability(new FloatSamples(samples));
+	}
+
+	/**
+	 * Compute the log-posterior of each sample belonging to each of the
+	 * gaussians. This gives the same results as
+	 * {@link MixtureOfGaussians#predictLogPosterior(double[][])}.
+	 *
+	 * @param samples
+	 *            the samples
+	 * @return the log-posterior of each sample for each gaussian
+	 */
+	public double[][] predictLogPosterior(double[][] samples) {
+		return predictLogPosterior(new DoubleSamples(samples));
+	}
+
+	/**
+	 * Compute the log-posterior of each sample belonging to each of the
+	 * gaussians.
+	 *
+	 * @see #predictLogPosterior(double[][])
+	 *
+	 * @param samples
+	 *            the samples
+	 * @return the log-posterior of each sample for each gaussian
+	 */
+	public double[][] predictLogPosterior(float[][] samples) {
+		return predictLogPosterior(new FloatSamples(samples));
+	}
+
+	/**
+	 * Compute the posterior distribution of the samples, and the overall log
+	 * probability of each sample under the mixture. This gives the same
+	 * results as {@link MixtureOfGaussians#scoreSamples(double[][])}.
+	 *
+	 * @param samples
+	 *            the samples
+	 * @return a pair of (log probabilities, posterior probabilities)
+	 */
+	public IndependentPair<double[], double[][]> scoreSamples(double[][] samples) {
+		return scoreSamples(new DoubleSamples(samples));
+	}
+
+	/**
+	 * Compute the posterior distribution of the samples, and the overall log
+	 * probability of each sample under the mixture.
+	 *
+	 * @see #scoreSamples(double[][])
+	 *
+	 * @param samples
+	 *            the samples
+	 * @return a pair of (log probabilities, posterior probabilities)
+	 */
+	public IndependentPair<double[], double[][]> scoreSamples(float[][] samples) {
+		return scoreSamples(new FloatSamples(samples));
+	}
+
+	private double[][] logProbability(final Samples samples) {
+		checkDims(samples);
+
+		final double[][] lpr = new double[samples.size()][ncomponents];
+		forRange(samples.size(), new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				final double[] work = new double[ndims];
+				for (int i = start; i < stop; i++)
+					componentLogProbabilities(samples, i, false, work, lpr[i]);
+			}
+		});
+		return lpr;
+	}
+
+	private double[] estimateLogProbability(final Samples samples) {
+		checkDims(samples);
+
+		final double[] logprob = new double[samples.size()];
+		forRange(samples.size(), new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				final double[] work = new double[ndims];
+				final double[] row = new double[ncomponents];
+				for (int i = start; i < stop; i++) {
+					componentLogProbabilities(samples, i, true, work, row);
+					logprob[i] = logsumexp(row);
+				}
+			}
+		});
+		return logprob;
+	}
+
+	private double[][] predictLogPosterior(final Samples samples) {
+		checkDims(samples);
+
+		final double[][] lpr = new double[samples.size()][ncomponents];
+		forRange(samples.size(), new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				final double[] work = new double[ndims];
+				for (int i = start; i < stop; i++) {
+					final double[] row = lpr[i];
+					componentLogProbabilities(samples, i, true, work, row);
+
+					final double logprob = logsumexp(row);
+					for (int c = 0; c < ncomponents; c++)
+						row[c] -= logprob;
+				}
+			}
+		});
+		return lpr;
+	}
+
+	private IndependentPair<double[], double[][]> scoreSamples(final Samples samples) {
+		checkDims(samples);
+
+		final double[] logprob = new double[samples.size()];
+		final double[][] responsibilities = new double[samples.size()][ncomponents];
+		forRange(samples.size(), new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				final double[] work = new double[ndims];
+				for (int i = start; i < stop; i++) {
+					final double[] row = responsibilities[i];
+					componentLogProbabilities(samples, i, true, work, row);
+
+					logprob[i] = logsumexp(row);
+					for (int c = 0; c < ncomponents; c++)
+						row[c] = Math.exp(row[c] - logprob[i]);
+				}
+			}
+		});
+		return IndependentPair.pair(logprob, responsibilities);
+	}
+
+	private void checkDims(Samples samples) {
+		if (samples.size() > 0 && samples.numDims() != ndims) {
+			throw new IllegalArgumentException(
+					"The number of dimensions of the given data is not compatible with the model");
+		}
+	}
+
+	/**
+	 * Compute the log probability of a sample under every component,
+	 * optionally adding the log-weights. The work array is used to hold the
+	 * difference of the sample from the mean.
+	 */
+	private void componentLogProbabilities(Samples samples, int row, boolean weighted, double[] work, double[] out) {
+		for (int c = 0; c < ncomponents; c++) {
+			samples.diff(row, means[c], work);
+
+			double v = 0;
+			if (invVariances[c] != null) {
+				final double[] iv = invVariances[c];
+				for (int d = 0; d < ndims; d++)
+					v += work[d] * work[d] * iv[d];
+			} else if (cholesky[c] != null) {
+				// solve L z = (x - mu) in place by forward substitution
+				final double[][] L = cholesky[c];
+				for (int d = 0; d < ndims; d++) {
+					final double[] Ld = L[d];
+					double s = work[d];
+					for (int j = 0; j < d; j++)
+						s -= Ld[j] * work[j];
+					work[d] = s / Ld[d];
+					v += work[d] * work[d];
+				}
+			} else {
+				final double[][] ic = invCovariances[c];
+				for (int d = 0; d < ndims; d++) {
+					final double[] icd = ic[d];
+					double s = 0;
+					for (int j = 0; j < ndims; j++)
+						s += icd[j] * work[j];
+					v += work[d] * s;
+				}
+			}
+
+			out[c] = logNorm[c] - 0.5 * v;
+			if (weighted)
+				out[c] += logWeights[c];
+		}
+	}
+
+	private static double logsumexp(double[] row) {
+		double max = Double.NEGATIVE_INFINITY;
+		for (final double v : row)
+			if (v > max)
+				max = v;
+
+		if (Double.isInfinite(max))
+			return max;
+
+		double sum = 0;
+		for (final double v : row)
+			sum += Math.exp(v - max);
+		return max + Math.log(sum);
+	}
+
+	private void forRange(final int n, final RangeOperation op) {
+		final int nblocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+		if (threadPool == null || nblocks < 2) {
+			op.perform(0, n);
+		} else {
+			Parallel.forRange(0, nblocks, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					op.perform(range.start * BLOCK_SIZE, Math.min(n, range.stop * BLOCK_SIZE));
+				}
+			}, threadPool);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.math.matrix;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ch.akuhn.matrix.SparseMatrix;
+import ch.akuhn.matrix.Vector;
+
+/**
+ * Test {@link LanczosEigenvalues}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class LanczosEigenvaluesTest {
+	private static final double EPS = 1e-8;
+
+	private SparseMatrix randomSymmetric(int n, Random rng) {
+		final SparseMatrix m = new SparseMatrix(n, n);
+
+		for (int i = 0; i < n; i++) {
+			m.add(i, i, rng.nextDouble());
+			for (int k = 0; k < 3; k++) {
+				final int j = rng.nextInt(n);
+				final double v = rng.nextGaussian();
+				m.add(i, j, v);
+				m.add(j, i, v);
+			}
+		}
+
+		return m;
+	}
+
+	private double[] denseEigenvalues(SparseMatrix m) {
+		final double[] vals = new Jama.Matrix(m.asDenseDoubleDouble()).eig().getRealEigenvalues();
+		Arrays.sort(vals);
+		return vals;
+	}
+
+	private void checkVectors(SparseMatrix m, LanczosEigenvalues eig) {
+		for (int i = 0; i < eig.value.length; i++) {
+			final Vector x = eig.vector[i];
+			final Vector ax = m.mult(x);
+
+			assertEquals(1, x.norm(), EPS);
+			for (int j = 0; j < x.size(); j++)
+				assertEquals(eig.value[i] * x.get(j), ax.get(j), EPS);
+		}
+	}
+
+	/**
+	 * Test the largest and smallest eigenvalues against a dense decomposition
+	 */
+	@Test
+	public void testLargestSmallest() {
+		final Random rng = new Random(1);
+		final SparseMatrix m = randomSymmetric(200, rng);
+		final double[] expected = denseEigenvalues(m);
+
+		final LanczosEigenvalues largest = LanczosEigenvalues.of(m).largest(5);
+		largest.run();
+		for (int i = 0; i < 5; i++)
+			assertEquals(expected[200 - 5 + i], largest.value[i], EPS);
+		checkVectors(m, largest);
+
+		final LanczosEigenvalues smallest = LanczosEigenvalues.of(m).smallest(5);
+		smallest.run();
+		for (int i = 0; i < 5; i++)
+			assertEquals(expected[i], smallest.value[i], EPS);
+		checkVectors(m, smallest);
+	}
+
+	/**
+	 * Test that all the eigenvalues of a small matrix can be found
+	 */
+	@Test
+	public void testAll() {
+		final Random rng = new Random(2);
+		final SparseMatrix m = randomSymmetric(12, rng);
+		final double[] expected = denseEigenvalues(m);
+
+		final LanczosEigenvalues all = LanczosEigenvalues.of(m).greatest(12);
+		all.run();
+		for (int i = 0; i < 12; i++)
+			assertEquals(expected[i], all.value[i], EPS);
+		checkVectors(m, all);
+	}
+}
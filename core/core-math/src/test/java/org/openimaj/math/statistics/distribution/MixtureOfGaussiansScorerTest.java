@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.math.statistics.distribution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Jama.Matrix;
+
+/**
+ * Tests for the {@link MixtureOfGaussiansScorer}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class MixtureOfGaussiansScorerTest {
+	private static final int NDIMS = 8;
+	private static final int NSAMPLES = 1000;
+
+	private ThreadPoolExecutor pool;
+	private MultivariateGaussian[] gaussians;
+	private double[] weights;
+	private double[][] samples;
+	private float[][] floatSamples;
+
+	/**
+	 * Create a mixture with diagonal, spherical and full components, and some
+	 * samples to score
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+		final Random rng = new Random(5);
+		gaussians = new MultivariateGaussian[6];
+		for (int c = 0; c < gaussians.length; c++) {
+			final Matrix mean = new Matrix(1, NDIMS);
+			final double[] variances = new double[NDIMS];
+			final Matrix a = new Matrix(NDIMS, NDIMS);
+			for (int d = 0; d < NDIMS; d++) {
+				mean.set(0, d, 3 * rng.nextGaussian());
+				variances[d] = 0.5 + rng.nextDouble();
+				for (int e = 0; e < NDIMS; e++)
+					a.set(d, e, rng.nextDouble());
+			}
+			final Matrix covar = a.times(a.transpose()).plus(Matrix.identity(NDIMS, NDIMS).times(0.1));
+
+			switch (c % 3) {
+			case 0:
+				gaussians[c] = new DiagonalMultivariateGaussian(mean, variances);
+				break;
+			case 1:
+				gaussians[c] = new SphericalMultivariateGaussian(mean, 0.5 + rng.nextDouble());
+				break;
+			default:
+				gaussians[c] = new FullMultivariateGaussian(mean, covar);
+			}
+		}
+
+		weights = new double[gaussians.length];
+		for (int c = 0; c < weights.length; c++)
+			weights[c] = (c + 1.0) / (gaussians.length * (gaussians.length + 1) / 2);
+
+		samples = new double[NSAMPLES][NDIMS];
+		floatSamples = new float[NSAMPLES][NDIMS];
+		for (int i = 0; i < NSAMPLES; i++) {
+			for (int d = 0; d < NDIMS; d++) {
+				floatSamples[i][d] = (float) (3 * rng.nextGaussian());
+				samples[i][d] = floatSamples[i][d];
+			}
+		}
+	}
+
+	/**
+	 * Shutdown the thread pool
+	 */
+	@After
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	private static void assertRelativeEquals(double expected, double actual) {
+		assertFalse(Double.isNaN(actual));
+		assertEquals(expected, actual, 1e-9 * Math.max(1, Math.abs(expected)));
+	}
+
+	private static void assertRelativeEquals(double[][] expected, double[][] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i].length, actual[i].length);
+			for (int j = 0; j < expected[i].length; j++)
+				assertRelativeEquals(expected[i][j], actual[i][j]);
+		}
+	}
+
+	/**
+	 * Test the per-component log probabilities against
+	 * {@link MixtureOfGaussians#logProbability(double[][], MultivariateGaussian[])}
+	 * for double and float samples, sequentially and in parallel
+	 */
+	@Test
+	public void testLogProbability() {
+		final double[][] expected = MixtureOfGaussians.logProbability(samples, gaussians);
+		final MixtureOfGaussiansScorer scorer = new MixtureOfGaussiansScorer(gaussians, weights);
+
+		for (final ThreadPoolExecutor tp : new ThreadPoolExecutor[] { null, pool }) {
+			scorer.setThreadPool(tp);
+			assertRelativeEquals(expected, scorer.logProbability(samples));
+			assertRelativeEquals(expected, scorer.logProbability(floatSamples));
+		}
+	}
+
+	/**
+	 * Test the mixture log probabilities and posteriors against the weighted
+	 * component log probabilities, sequentially and in parallel
+	 */
+	@Test
+	public void testEstimateLogProbability() {
+		final double[][] logProb = MixtureOfGaussians.logProbability(samples, gaussians);
+		final double[] expected = new double[NSAMPLES];
+		final double[][] expectedPosterior = new double[NSAMPLES][gaussians.length];
+		for (int i = 0; i < NSAMPLES; i++) {
+			double max = Double.NEGATIVE_INFINITY;
+			for (int c = 0; c < gaussians.length; c++)
+				max = Math.max(max, logProb[i][c] + Math.log(weights[c]));
+
+			double sum = 0;
+			for (int c = 0; c < gaussians.length; c++)
+				sum += Math.exp(logProb[i][c] + Math.log(weights[c]) - max);
+			expected[i] = max + Math.log(sum);
+
+			for (int c = 0; c < gaussians.length; c++)
+				expectedPosterior[i][c] = logProb[i][c] + Math.log(weights[c]) - expected[i];
+		}
+
+		final MixtureOfGaussiansScorer scorer = new MixtureOfGaussiansScorer(new MixtureOfGaussians(gaussians, weights));
+		for (final ThreadPoolExecutor tp : new ThreadPoolExecutor[] { null, pool }) {
+			scorer.setThreadPool(tp);
+
+			final double[] actual = scorer.estimateLogProbability(samples);
+			for (int i = 0; i < NSAMPLES; i++)
+				assertRelativeEquals(expected[i], actual[i]);
+
+			assertRelativeEquals(expectedPosterior, scorer.predictLogPosterior(samples));
+		}
+	}
+
+	/**
+	 * A full covariance that is not positive definite should be scored in the
+	 * same way as {@link FullMultivariateGaussian#estimateLogProbability(double[][])}
+	 */
+	@Test
+	public void testNonPositiveDefinite() {
+		final Matrix covar = Matrix.identity(NDIMS, NDIMS);
+		covar.set(1, 1, -1);
+		covar.set(3, 3, -2);
+		final MultivariateGaussian gaussian = new FullMultivariateGaussian(new Matrix(1, NDIMS), covar);
+
+		final double[] expected = gaussian.estimateLogProbability(samples);
+		final MixtureOfGaussiansScorer scorer = new MixtureOfGaussiansScorer(new MultivariateGaussian[] { gaussian }, null);
+		for (final ThreadPoolExecutor tp : new ThreadPoolExecutor[] { null, pool }) {
+			scorer.setThreadPool(tp);
+
+			final double[][] actual = scorer.logProbability(samples);
+			for (int i = 0; i < NSAMPLES; i++)
+				assertRelativeEquals(expected[i], actual[i][0]);
+		}
+	}
+}
@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.video.processor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.image.Image;
+import org.openimaj.util.function.Function;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.GlobalExecutorPool;
+import org.openimaj.video.Video;
+
+/**
+ * Apply a per-frame function to the frames of a video using a pool of threads,
+ * delivering the results in frame order. Frames are read sequentially from the
+ * video on the calling thread, copied into a recycled buffer (videos generally
+ * reuse their frame buffers) and handed to the pool; at most a fixed number of
+ * frames are in flight at any one time so memory use is bounded regardless of
+ * the length of the video.
+ * <p>
+ * The function must be stateless (or at least thread-safe) and must not retain
+ * a reference to the frame it is given, as the frame buffer will be reused
+ * once the function returns. Stateful processing that depends on previous
+ * frames should use a {@link SegmentedVideoProcessor} instead.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ *
+ * @param <I>
+ *            The type of video frame
+ * @param <O>
+ *            The type of result produced for each frame
+ */
+public class ParallelVideoFrameProcessor<I extends Image<?, I>, O> {
+	/**
+	 * The result of processing a single frame.
+	 *
+	 * @param <O>
+	 *            The type of result
+	 */
+	public static class FrameResult<O> {
+		/** The index of the frame within the video */
+		public int frameIndex;
+
+		/** The timestamp of the frame in milliseconds */
+		public long timestamp;
+
+		/** The result of applying the function to the frame */
+		public O result;
+
+		FrameResult(int frameIndex, long timestamp, O result) {
+			this.frameIndex = frameIndex;
+			this.timestamp = timestamp;
+			this.result = result;
+		}
+	}
+
+	private static class Pending<O> {
+		int frameIndex;
+		long timestamp;
+		Future<O> future;
+	}
+
+	private final Function<I, O> function;
+	private final int maxInFlight;
+	private final ThreadPoolExecutor pool;
+
+	/**
+	 * Construct with the given function, using the global executor pool and
+	 * allowing two frames per thread to be in flight.
+	 *
+	 * @param function
+	 *            the function to apply to each frame
+	 */
+	public ParallelVideoFrameProcessor(Function<I, O> function) {
+		this(function, GlobalExecutorPool.getPool());
+	}
+
+	/**
+	 * Construct with the given function and pool, allowing two frames per
+	 * thread to be in flight.
+	 *
+	 * @param function
+	 *            the function to apply to each frame
+	 * @param pool
+	 *            the pool to process frames with
+	 */
+	public ParallelVideoFrameProcessor(Function<I, O> function, ThreadPoolExecutor pool) {
+		this(function, 2 * pool.getMaximumPoolSize(), pool);
+	}
+
+	/**
+	 * Construct with the given function, pool and limit on the number of
+	 * frames being processed at any one time.
+	 *
+	 * @param function
+	 *            the function to apply to each frame
+	 * @param maxInFlight
+	 *            the maximum number of frames that can be queued or being
+	 *            processed
+	 * @param pool
+	 *            the pool to process frames with
+	 */
+	public ParallelVideoFrameProcessor(Function<I, O> function, int maxInFlight, ThreadPoolExecutor pool) {
+		if (maxInFlight < 1)
+			throw new IllegalArgumentException("maxInFlight must be positive");
+
+		this.function = function;
+		this.maxInFlight = maxInFlight;
+		this.pool = pool;
+	}
+
+	/**
+	 * Process the remaining frames of the video, passing each result to the
+	 * given operation in frame order. The operation is always called from the
+	 * thread that called this method.
+	 *
+	 * @param video
+	 *            the video to process
+	 * @param output
+	 *            the operation to receive the results
+	 */
+	public void process(Video<I> video, Operation<FrameResult<O>> output) {
+		final ConcurrentLinkedQueue<I> buffers = new ConcurrentLinkedQueue<I>();
+		final Deque<Pending<O>> pending = new ArrayDeque<Pending<O>>();
+
+		try {
+			I frame;
+			while ((frame = video.getNextFrame()) != null) {
+				I copy = buffers.poll();
+				if (copy == null || copy.getWidth() != frame.getWidth() || copy.getHeight() != frame.getHeight())
+					copy = frame.clone();
+				else
+					copy.internalCopy(frame);
+
+				final I work = copy;
+				final Pending<O> p = new Pending<O>();
+				p.frameIndex = video.getCurrentFrameIndex();
+				p.timestamp = video.getTimeStamp();
+				p.future = pool.submit(new Callable<O>() {
+					@Override
+					public O call() throws Exception {
+						try {
+							return function.apply(work);
+						} finally {
+							buffers.offer(work);
+						}
+					}
+				});
+				pending.addLast(p);
+
+				// deliver everything that's ready, blocking only if the window
+				// is full
+				while (!pending.isEmpty() && (pending.size() >= maxInFlight || pending.peekFirst().future.isDone()))
+					deliver(pending.pollFirst(), output);
+			}
+
+			while (!pending.isEmpty())
+				deliver(pending.pollFirst(), output);
+		} finally {
+			for (final Pending<O> p : pending)
+				p.future.cancel(true);
+		}
+	}
+
+	/**
+	 * Process the remaining frames of the video and return the results in
+	 * frame order.
+	 *
+	 * @param video
+	 *            the video to process
+	 * @return the result for each frame
+	 */
+	public List<O> process(Video<I> video) {
+		final List<O> results = new ArrayList<O>();
+		process(video, new Operation<FrameResult<O>>() {
+			@Override
+			public void perform(FrameResult<O> object) {
+				results.add(object.result);
+			}
+		});
+		return results;
+	}
+
+	private void deliver(Pending<O> p, Operation<FrameResult<O>> output) {
+		final O result;
+		try {
+			result = p.future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (final ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+
+		output.perform(new FrameResult<O>(p.frameIndex, p.timestamp, result));
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.video.processor;
+
+import org.openimaj.image.Image;
+
+/**
+ * Interface for stateful video analysers that can be run over independent
+ * segments of a video and have the per-segment results stitched back
+ * together. This is the hook used by the {@link SegmentedVideoProcessor} to
+ * process a file-backed video concurrently.
+ * <p>
+ * Each segment is processed by its own analyser instance. Before the first
+ * frame of a segment is analysed, the frames immediately preceding it (the
+ * overlap) are passed to {@link #warmUp(Image)} so that any inter-frame state
+ * (for example the previous frame's histogram) is the same as it would have
+ * been had the video been processed sequentially. The results of adjacent
+ * segments are then combined in order with {@link #stitch(Object, Object)}.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ *
+ * @param <I>
+ *            The type of video frame
+ * @param <R>
+ *            The type of the analysis result
+ */
+public interface SegmentableVideoAnalyser<I extends Image<?, I>, R> {
+	/**
+	 * Prepare to analyse a segment that starts at the given frame index.
+	 * Frames passed to {@link #analyseFrame(Image)} after this call are
+	 * numbered consecutively from this index.
+	 *
+	 * @param startFrame
+	 *            the index of the first frame of the segment
+	 */
+	public void beginSegment(int startFrame);
+
+	/**
+	 * Update the internal state of the analyser with a frame that precedes the
+	 * segment. No results should be generated for the frame.
+	 *
+	 * @param frame
+	 *            the overlap frame
+	 */
+	public void warmUp(I frame);
+
+	/**
+	 * Analyse a frame of the segment.
+	 *
+	 * @param frame
+	 *            the frame
+	 */
+	public void analyseFrame(I frame);
+
+	/**
+	 * Finish the current segment and return its result.
+	 *
+	 * @return the result of analysing the segment
+	 */
+	public R endSegment();
+
+	/**
+	 * Combine the results of two adjacent segments. The earlier result may be
+	 * modified and returned.
+	 *
+	 * @param earlier
+	 *            the (possibly already stitched) result of the earlier
+	 *            segments
+	 * @param later
+	 *            the result of the segment immediately following
+	 * @return the combined result
+	 */
+	public R stitch(R earlier, R later);
+}
@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.video.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.image.Image;
+import org.openimaj.util.parallel.GlobalExecutorPool;
+import org.openimaj.video.Video;
+
+/**
+ * Process a file-backed video by splitting it into a number of contiguous
+ * segments that are analysed concurrently, each with its own {@link Video}
+ * instance and its own {@link SegmentableVideoAnalyser}. The per-segment
+ * results are stitched together in order to give the final result.
+ * <p>
+ * Each worker seeks its video to just before the start of its segment. For
+ * compressed videos the seek lands on the preceding keyframe, so decoding of
+ * each segment always begins at a keyframe; frames between the keyframe and
+ * the overlap window are decoded but ignored. The frames in the overlap window
+ * immediately preceding the segment are passed to
+ * {@link SegmentableVideoAnalyser#warmUp(Image)} so that the analyser's
+ * inter-frame state matches sequential processing. If a video cannot seek
+ * (or a seek overshoots the start of the video), the segment is decoded from
+ * the beginning of a freshly created video, which is slower but gives the same
+ * result.
+ * <p>
+ * If the number of frames in the video is unknown, the whole video is
+ * processed as a single segment.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ *
+ * @param <I>
+ *            The type of video frame
+ * @param <R>
+ *            The type of the analysis result
+ */
+public abstract class SegmentedVideoProcessor<I extends Image<?, I>, R> {
+	private final int numSegments;
+	private final int overlap;
+	private final ThreadPoolExecutor pool;
+
+	/**
+	 * Construct using the global executor pool with one segment per thread.
+	 *
+	 * @param overlap
+	 *            the number of frames before each segment used to warm-up the
+	 *            analyser
+	 */
+	public SegmentedVideoProcessor(int overlap) {
+		this(GlobalExecutorPool.getPool().getMaximumPoolSize(), overlap, GlobalExecutorPool.getPool());
+	}
+
+	/**
+	 * Construct with the given number of segments, overlap and pool.
+	 *
+	 * @param numSegments
+	 *            the maximum number of segments to split the video into
+	 * @param overlap
+	 *            the number of frames before each segment used to warm-up the
+	 *            analyser
+	 * @param pool
+	 *            the pool to process the segments with
+	 */
+	public SegmentedVideoProcessor(int numSegments, int overlap, ThreadPoolExecutor pool) {
+		if (numSegments < 1)
+			throw new IllegalArgumentException("numSegments must be positive");
+		if (overlap < 0)
+			throw new IllegalArgumentException("overlap must not be negative");
+
+		this.numSegments = numSegments;
+		this.overlap = overlap;
+		this.pool = pool;
+	}
+
+	/**
+	 * Create a new, independent, instance of the video being processed. This
+	 * will be called once per segment (plus once to determine the length of
+	 * the video), potentially from different threads.
+	 *
+	 * @return a new video instance
+	 */
+	protected abstract Video<I> createVideo();
+
+	/**
+	 * Create a new analyser to process a single segment.
+	 *
+	 * @return a new analyser
+	 */
+	protected abstract SegmentableVideoAnalyser<I, R> createAnalyser();
+
+	/**
+	 * Process the video and return the stitched result.
+	 *
+	 * @return the result of analysing the whole video
+	 */
+	public R process() {
+		final Video<I> probe = createVideo();
+		final long nFrames;
+		try {
+			nFrames = probe.countFrames();
+		} finally {
+			probe.close();
+		}
+
+		final int n = (int) Math.min(numSegments, Math.max(1, nFrames));
+		if (nFrames <= 0 || n == 1)
+			return processSegment(0, Integer.MAX_VALUE);
+
+		final List<Future<R>> futures = new ArrayList<Future<R>>(n);
+		for (int i = 0; i < n; i++) {
+			final int start = (int) (i * nFrames / n);
+			// the last segment is open-ended as frame counts are often estimates
+			final int end = i == n - 1 ? Integer.MAX_VALUE : (int) ((i + 1) * nFrames / n);
+
+			futures.add(pool.submit(new Callable<R>() {
+				@Override
+				public R call() throws Exception {
+					return processSegment(start, end);
+				}
+			}));
+		}
+
+		try {
+			final SegmentableVideoAnalyser<I, R> stitcher = createAnalyser();
+			R result = null;
+			for (int i = 0; i < n; i++) {
+				final R r = futures.get(i).get();
+				result = i == 0 ? r : stitcher.stitch(result, r);
+			}
+			return result;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (final ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			for (final Future<R> f : futures)
+				f.cancel(true);
+		}
+	}
+
+	/**
+	 * Process the frames in the range [start, end) with a new analyser.
+	 *
+	 * @param start
+	 *            the first frame of the segment
+	 * @param end
+	 *            the frame after the last frame of the segment
+	 * @return the result for the segment
+	 */
+	protected R processSegment(int start, int end) {
+		final SegmentableVideoAnalyser<I, R> analyser = createAnalyser();
+		analyser.beginSegment(start);
+
+		final int warmStart = Math.max(0, start - overlap);
+		Video<I> video = createVideo();
+		try {
+			I frame = null;
+			int index = 0;
+
+			if (warmStart > 0) {
+				final double fps = video.getFPS();
+				double time = warmStart / fps;
+
+				while (time > 0) {
+					video.seek(time);
+					frame = video.getCurrentFrame();
+					index = video.getCurrentFrameIndex();
+
+					if (frame == null || index <= 0)
+						break; // seeking isn't supported
+
+					if (index <= warmStart)
+						break; // landed at or before the overlap
+
+					// overshot; step back further and try again
+					time = Math.max(0, time - 1 - (index - warmStart) / fps);
+				}
+
+				if (frame == null || index <= 0 || index > warmStart) {
+					video.close();
+					video = createVideo();
+					frame = null;
+				}
+			}
+
+			if (frame == null) {
+				frame = video.getNextFrame();
+				index = 0;
+			}
+
+			while (frame != null && index < end) {
+				if (index >= start)
+					analyser.analyseFrame(frame);
+				else if (index >= warmStart)
+					analyser.warmUp(frame);
+
+				frame = video.getNextFrame();
+				index++;
+			}
+		} finally {
+			video.close();
+		}
+
+		return analyser.endSegment();
+	}
+}
@@ -29,11 +29,15 @@
  */
 package org.openimaj.data.dataset;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
@@ -41,9 +45,15 @@ import org.apache.commons.vfs2.FileSystemManager;
 import org.apache.commons.vfs2.FileType;
 import org.apache.commons.vfs2.FileTypeSelector;
 import org.apache.commons.vfs2.VFS;
+import org.openimaj.data.dataset.prefetch.PrefetchingIterator;
+import org.openimaj.data.dataset.prefetch.ReadAheadIterator;
 import org.openimaj.data.identity.Identifiable;
+import org.openimaj.data.identity.IdentifiableObject;
 import org.openimaj.io.InputStreamObjectReader;
 import org.openimaj.io.ObjectReader;
+import org.openimaj.util.function.Function;
+import org.openimaj.util.pair.IndependentPair;
+import org.openimaj.util.parallel.GlobalExecutorPool;
 
 /**
  * A {@link GroupedDataset} of {@link VFSListDataset}s backed by directories of
@@ -180,6 +190,90 @@ public class VFSGroupDataset<INSTANCE>
 		return directoryInfo.get(key);
 	}
 
+	/**
+	 * Get an iterator over all the instances in the dataset, paired with the
+	 * group they belong to, that reads the files ahead of the consumer on a
+	 * background thread and decodes them in parallel using the
+	 * {@link GlobalExecutorPool}. If the dataset is backed by a zip or tar
+	 * archive, the archive is read once sequentially, and the instances are
+	 * returned in the order they appear in the archive. Each file is only
+	 * returned once, paired with the most deeply nested group that contains
+	 * it.
+	 * <p>
+	 * <strong>The iterator must be closed if it is not consumed to the
+	 * end</strong>; otherwise its background threads and buffered files are
+	 * only released after its idle timeout (see
+	 * {@link PrefetchingIterator#setIdleTimeout(long)}).
+	 * 
+	 * @param readAhead
+	 *            the maximum number of files to read and decode ahead of the
+	 *            consumer
+	 * @return the iterator
+	 */
+	public PrefetchingIterator<IndependentPair<String, INSTANCE>> prefetchingIterator(int readAhead) {
+		return prefetchingIterator(readAhead, GlobalExecutorPool.getPool());
+	}
+
+	/**
+	 * Get an iterator over all the instances in the dataset, paired with the
+	 * group they belong to, that reads the files ahead of the consumer on a
+	 * background thread and decodes them in parallel using the given pool.
+	 * 
+	 * @see #prefetchingIterator(int)
+	 * 
+	 * @param readAhead
+	 *            the maximum number of files to read and decode ahead of the
+	 *            consumer
+	 * @param pool
+	 *            the pool on which to decode
+	 * @return the iterator
+	 */
+	public PrefetchingIterator<IndependentPair<String, INSTANCE>> prefetchingIterator(int readAhead,
+			ExecutorService pool)
+	{
+		final Map<String, String> fileGroups = new HashMap<String, String>();
+		final List<FileObject> allFiles = new ArrayList<FileObject>();
+		Function<IdentifiableObject<byte[]>, INSTANCE> listDecoder = null;
+
+		try {
+			for (final Entry<String, VFSListDataset<INSTANCE>> group : files.entrySet()) {
+				for (final FileObject file : group.getValue().getFileObjects()) {
+					if (fileGroups.put(base.getName().getRelativeName(file.getName()), group.getKey()) == null)
+						allFiles.add(file);
+				}
+
+				if (listDecoder == null)
+					listDecoder = group.getValue().getByteDecoder();
+			}
+		} catch (final FileSystemException e) {
+			throw new RuntimeException(e);
+		}
+
+		final FileObject[] fileArray = allFiles.toArray(new FileObject[allFiles.size()]);
+		final ReadAheadIterator source;
+		if (ReadAheadIterator.isStreamableArchive(base))
+			source = ReadAheadIterator.forArchive(base, fileArray, readAhead);
+		else
+			source = ReadAheadIterator.forFiles(base, fileArray, readAhead);
+
+		final Function<IdentifiableObject<byte[]>, INSTANCE> decoder = listDecoder;
+		return new PrefetchingIterator<IndependentPair<String, INSTANCE>>(source,
+				new Function<IdentifiableObject<byte[]>, IndependentPair<String, INSTANCE>>() {
+					@Override
+					public IndependentPair<String, INSTANCE> apply(IdentifiableObject<byte[]> in) {
+						final String group = fileGroups.get(in.identity);
+						if (group == null)
+							return null;
+
+						final INSTANCE instance = decoder.apply(in);
+						if (instance == null)
+							return null;
+
+						return new IndependentPair<String, INSTANCE>(group, instance);
+					}
+				}, readAhead, pool);
+	}
+
 	@Override
 	public String toString() {
 		return String.format("%s(%d groups with a total of %d instances)", this.getClass().getName(), this.size(),
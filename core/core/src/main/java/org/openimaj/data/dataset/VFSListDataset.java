@@ -30,8 +30,10 @@
 package org.openimaj.data.dataset;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.vfs2.FileContent;
 import org.apache.commons.vfs2.FileObject;
@@ -41,11 +43,18 @@ import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemManager;
 import org.apache.commons.vfs2.FileType;
 import org.apache.commons.vfs2.VFS;
+import org.openimaj.data.dataset.prefetch.PrefetchingIterator;
+import org.openimaj.data.dataset.prefetch.PrefetchingPartitioner;
+import org.openimaj.data.dataset.prefetch.ReadAheadIterator;
 import org.openimaj.data.identity.Identifiable;
+import org.openimaj.data.identity.IdentifiableObject;
 import org.openimaj.io.IOUtils;
 import org.openimaj.io.InputStreamObjectReader;
 import org.openimaj.io.ObjectReader;
 import org.openimaj.util.array.ArrayIterator;
+import org.openimaj.util.function.Function;
+import org.openimaj.util.parallel.GlobalExecutorPool;
+import org.openimaj.util.parallel.partition.Partitioner;
 
 /**
  * A {@link ListDataset} backed by a directory of items (either locally or
@@ -72,6 +81,12 @@ import org.openimaj.util.array.ArrayIterator;
  * ListDataset&lt;FImage&gt; dataset = new VFSListDataset&lt;FImage&gt;(
  * 		&quot;zip:http://localhost/&tilde;jsh2/thumbnails.zip&quot;, ImageUtilities.FIMAGE_READER);
  * </pre>
+ * <p>
+ * For large datasets, the {@link #prefetchingIterator(int)} and
+ * {@link #prefetchingPartitioner(int, int)} methods can be used to overlap the
+ * reading of the files with their decoding (which is performed in parallel)
+ * and processing. If the dataset is backed by a zip or tar archive, the
+ * archive is read sequentially in these modes rather than by random access.
  * 
  * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
  * 
@@ -102,6 +117,15 @@ public class VFSListDataset<INSTANCE> extends ReadableListDataset<INSTANCE, File
 			this.streamReader = reader;
 		}
 
+		/**
+		 * Get the underlying {@link InputStreamObjectReader}
+		 * 
+		 * @return the {@link InputStreamObjectReader}
+		 */
+		public InputStreamObjectReader<INSTANCE> getStreamReader() {
+			return streamReader;
+		}
+
 		@Override
 		public INSTANCE read(FileObject source) throws IOException {
 			FileContent content = null;
@@ -264,6 +288,117 @@ public class VFSListDataset<INSTANCE> extends ReadableListDataset<INSTANCE, File
 		};
 	}
 
+	/**
+	 * Get a {@link ReadAheadIterator} that reads the raw bytes of the files in
+	 * this dataset on a background thread. If the dataset is backed by a zip or
+	 * tar archive, the archive is read sequentially; in this case the order of
+	 * the items is the order in which they appear in the archive, and any
+	 * entries of the archive that aren't in the dataset are skipped.
+	 * <p>
+	 * <strong>The iterator must be closed if it is not consumed to the
+	 * end</strong>; otherwise its background thread and buffered files are
+	 * only released after its idle timeout (see
+	 * {@link ReadAheadIterator#setIdleTimeout(long)}).
+	 * 
+	 * @param readAhead
+	 *            the maximum number of files to buffer ahead of the consumer
+	 * @return the {@link ReadAheadIterator}
+	 */
+	public ReadAheadIterator readAheadIterator(int readAhead) {
+		if (ReadAheadIterator.isStreamableArchive(base))
+			return ReadAheadIterator.forArchive(base, files, readAhead);
+
+		return ReadAheadIterator.forFiles(base, files, readAhead);
+	}
+
+	/**
+	 * Get a thread-safe {@link Function} that decodes raw file data into
+	 * instances using the dataset's reader. The function returns null for data
+	 * that cannot be read. This only works if the dataset was constructed with
+	 * an {@link InputStreamObjectReader}.
+	 * 
+	 * @return the decoding function
+	 * @throws UnsupportedOperationException
+	 *             if the dataset's reader cannot read from a stream
+	 */
+	public Function<IdentifiableObject<byte[]>, INSTANCE> getByteDecoder() {
+		if (!(reader instanceof FileObjectISReader))
+			throw new UnsupportedOperationException(
+					"Prefetching requires the dataset to have been constructed with an InputStreamObjectReader");
+
+		final InputStreamObjectReader<INSTANCE> streamReader = ((FileObjectISReader<INSTANCE>) reader).getStreamReader();
+
+		return new Function<IdentifiableObject<byte[]>, INSTANCE>() {
+			@Override
+			public INSTANCE apply(IdentifiableObject<byte[]> in) {
+				try {
+					final BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(in.data));
+					if (!IOUtils.canRead(streamReader, bis, in.identity))
+						return null;
+
+					return streamReader.read(bis);
+				} catch (final IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Get an {@link Iterator} over the instances of the dataset that reads the
+	 * files ahead of the consumer on a background thread and decodes them in
+	 * parallel using the {@link GlobalExecutorPool}. The instances are
+	 * returned in order (see {@link #readAheadIterator(int)} for the order
+	 * when the dataset is backed by an archive).
+	 * <p>
+	 * <strong>The iterator must be closed if it is not consumed to the
+	 * end</strong>; otherwise its background threads and buffered files are
+	 * only released after its idle timeout (see
+	 * {@link PrefetchingIterator#setIdleTimeout(long)}).
+	 * 
+	 * @param readAhead
+	 *            the maximum number of files to read and decode ahead of the
+	 *            consumer
+	 * @return the iterator
+	 */
+	public PrefetchingIterator<INSTANCE> prefetchingIterator(int readAhead) {
+		return prefetchingIterator(readAhead, GlobalExecutorPool.getPool());
+	}
+
+	/**
+	 * Get an {@link Iterator} over the instances of the dataset that reads the
+	 * files ahead of the consumer on a background thread and decodes them in
+	 * parallel using the given pool. The instances are returned in order (see
+	 * {@link #readAheadIterator(int)} for the order when the dataset is backed
+	 * by an archive).
+	 * 
+	 * @param readAhead
+	 *            the maximum number of files to read and decode ahead of the
+	 *            consumer
+	 * @param pool
+	 *            the pool on which to decode
+	 * @return the iterator
+	 */
+	public PrefetchingIterator<INSTANCE> prefetchingIterator(int readAhead, ExecutorService pool) {
+		return new PrefetchingIterator<INSTANCE>(readAheadIterator(readAhead), getByteDecoder(), readAhead, pool);
+	}
+
+	/**
+	 * Get a {@link Partitioner} for use with
+	 * {@link org.openimaj.util.parallel.Parallel} that reads the files ahead of
+	 * the consumer on a background thread, and decodes them on the threads
+	 * that process each chunk.
+	 * 
+	 * @param readAhead
+	 *            the maximum number of files to read ahead of the consumer
+	 * @param chunkSize
+	 *            the number of instances in each chunk
+	 * @return the partitioner
+	 */
+	public Partitioner<INSTANCE> prefetchingPartitioner(int readAhead, int chunkSize) {
+		return new PrefetchingPartitioner<INSTANCE>(readAheadIterator(readAhead), getByteDecoder(), chunkSize);
+	}
+
 	@Override
 	public String getID(int index) {
 		try {
@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.data.dataset.prefetch;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.openimaj.data.identity.IdentifiableObject;
+import org.openimaj.util.function.Function;
+
+/**
+ * An {@link Iterator} that decodes the raw data produced by a
+ * {@link ReadAheadIterator} in parallel on a thread pool, whilst still
+ * returning the decoded objects in their original order. A background thread
+ * submits decoding tasks for up to a fixed number of items ahead of the
+ * consumer, so that I/O, decoding and consumption of the data all overlap.
+ * <p>
+ * Items for which the decoder returns <code>null</code> are skipped.
+ * Instances of this class are not thread-safe.
+ * <p>
+ * <strong>Consumers that stop iterating before the end must call
+ * {@link #close()}</strong>; otherwise the background threads and the
+ * buffered items are only released once the consumer has taken no items for
+ * the idle timeout (see {@link #setIdleTimeout(long)}). After that, reading
+ * has stopped and {@link #hasNext()} throws an {@link IllegalStateException}.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ *
+ * @param <T>
+ *            Type of decoded object
+ */
+public class PrefetchingIterator<T> implements Iterator<T>, Closeable {
+	private final ReadAheadIterator source;
+	private final Function<IdentifiableObject<byte[]>, T> decoder;
+	private final ExecutorService pool;
+	private final BlockingQueue<Future<T>> pending;
+	private final Future<T> end = new FutureTask<T>(new Callable<T>() {
+		@Override
+		public T call() throws Exception {
+			return null;
+		}
+	});
+	private final Future<T> abandonedMarker = new FutureTask<T>(new Callable<T>() {
+		@Override
+		public T call() throws Exception {
+			return null;
+		}
+	});
+
+	private Thread thread;
+	private volatile boolean closed;
+	private volatile Throwable error;
+	private volatile boolean abandoned;
+	private volatile long idleTimeout = ReadAheadIterator.DEFAULT_IDLE_TIMEOUT;
+	private volatile long lastTake;
+	private Future<T> nextFuture;
+	private T next;
+
+	/**
+	 * Construct the iterator.
+	 *
+	 * @param source
+	 *            the source of raw data
+	 * @param decoder
+	 *            the decoder that converts the raw data into objects; must be
+	 *            thread-safe
+	 * @param window
+	 *            the maximum number of items being decoded or waiting to be
+	 *            consumed at any one time
+	 * @param pool
+	 *            the pool on which to perform decoding
+	 */
+	public PrefetchingIterator(ReadAheadIterator source, Function<IdentifiableObject<byte[]>, T> decoder, int window,
+			ExecutorService pool)
+	{
+		this.source = source;
+		this.decoder = decoder;
+		this.pool = pool;
+		this.pending = new ArrayBlockingQueue<Future<T>>(Math.max(1, window));
+	}
+
+	/**
+	 * Set the idle timeout. If the window is full and the consumer hasn't
+	 * taken an item for this long, the consumer is assumed to have stopped
+	 * iterating without calling {@link #close()}: reading and decoding stop,
+	 * and the source and any pending items are discarded. The default is
+	 * {@link ReadAheadIterator#DEFAULT_IDLE_TIMEOUT}.
+	 *
+	 * @param idleTimeout
+	 *            the timeout in milliseconds; zero or negative to wait for the
+	 *            consumer forever
+	 */
+	public void setIdleTimeout(long idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+	/**
+	 * Add a future to the queue, blocking whilst it is full. Returns false
+	 * without adding it if the iterator is closed or the consumer is idle for
+	 * longer than the timeout.
+	 */
+	private boolean offer(Future<T> future) throws InterruptedException {
+		while (!closed) {
+			final long timeout = idleTimeout;
+			if (timeout <= 0) {
+				pending.put(future);
+				return true;
+			}
+
+			final long remaining = lastTake + timeout - System.currentTimeMillis();
+			if (remaining <= 0) {
+				abandoned = true;
+				return false;
+			}
+
+			if (pending.offer(future, remaining, TimeUnit.MILLISECONDS))
+				return true;
+		}
+
+		return false;
+	}
+
+	private synchronized void start() {
+		if (thread != null)
+			return;
+
+		lastTake = System.currentTimeMillis();
+		thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					while (!closed && source.hasNext()) {
+						final IdentifiableObject<byte[]> item = source.next();
+
+						final Future<T> future = pool.submit(new Callable<T>() {
+							@Override
+							public T call() throws Exception {
+								return decoder.apply(item);
+							}
+						});
+
+						if (!offer(future)) {
+							future.cancel(false);
+							break;
+						}
+					}
+				} catch (final InterruptedException e) {
+					// closed
+				} catch (final Throwable t) {
+					error = t;
+				} finally {
+					try {
+						if (!abandoned && !closed)
+							offer(end);
+
+						if (abandoned) {
+							source.close();
+
+							Future<T> f;
+							while ((f = pending.poll()) != null)
+								f.cancel(false);
+							pending.put(abandonedMarker);
+						}
+					} catch (final InterruptedException e) {
+						// closed
+					}
+				}
+			}
+		}, "PrefetchingIterator");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (next == null) {
+			if (closed || nextFuture == end)
+				return false;
+
+			if (nextFuture == abandonedMarker)
+				throw abandonedException();
+
+			start();
+			try {
+				nextFuture = pending.take();
+				lastTake = System.currentTimeMillis();
+
+				if (nextFuture == abandonedMarker)
+					throw abandonedException();
+
+				if (nextFuture == end) {
+					if (error != null)
+						throw new RuntimeException(error);
+					return false;
+				}
+
+				next = nextFuture.get();
+				lastTake = System.currentTimeMillis();
+			} catch (final InterruptedException e) {
+				throw new RuntimeException(e);
+			} catch (final ExecutionException e) {
+				throw new RuntimeException(e.getCause());
+			}
+		}
+
+		return true;
+	}
+
+	private IllegalStateException abandonedException() {
+		return new IllegalStateException("Reading was stopped because no items were taken for " + idleTimeout
+				+ "ms; the iterator should be closed if it is not consumed to the end");
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		final T item = next;
+		next = null;
+		return item;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Not supported");
+	}
+
+	/**
+	 * Stop reading and decoding. Any pending decoding tasks are cancelled.
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+		source.close();
+
+		if (thread != null)
+			thread.interrupt();
+
+		Future<T> f;
+		while ((f = pending.poll()) != null)
+			f.cancel(false);
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.data.dataset.prefetch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.openimaj.data.identity.IdentifiableObject;
+import org.openimaj.util.function.Function;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.partition.Partitioner;
+
+/**
+ * A {@link Partitioner} that splits the raw data produced by a
+ * {@link ReadAheadIterator} into fixed size chunks that are decoded lazily by
+ * the thread that processes each chunk. When used with
+ * {@link Parallel#forEach(Partitioner, org.openimaj.util.function.Operation)}
+ * the I/O is performed by the background thread of the
+ * {@link ReadAheadIterator}, whilst decoding is spread across the threads of
+ * the pool along with the processing of the decoded objects.
+ * <p>
+ * Items for which the decoder returns <code>null</code> are skipped.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ *
+ * @param <T>
+ *            Type of decoded object
+ */
+public class PrefetchingPartitioner<T> implements Partitioner<T> {
+	private final ReadAheadIterator source;
+	private final Function<IdentifiableObject<byte[]>, T> decoder;
+	private final int chunkSize;
+
+	/**
+	 * Construct the partitioner.
+	 *
+	 * @param source
+	 *            the source of raw data
+	 * @param decoder
+	 *            the decoder that converts the raw data into objects; must be
+	 *            thread-safe
+	 * @param chunkSize
+	 *            the number of items in each chunk
+	 */
+	public PrefetchingPartitioner(ReadAheadIterator source, Function<IdentifiableObject<byte[]>, T> decoder,
+			int chunkSize)
+	{
+		this.source = source;
+		this.decoder = decoder;
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public Iterator<Iterator<T>> getPartitions() {
+		return new Iterator<Iterator<T>>() {
+			@Override
+			public boolean hasNext() {
+				synchronized (source) {
+					return source.hasNext();
+				}
+			}
+
+			@Override
+			public Iterator<T> next() {
+				final List<IdentifiableObject<byte[]>> chunk = new ArrayList<IdentifiableObject<byte[]>>(chunkSize);
+
+				synchronized (source) {
+					while (chunk.size() < chunkSize && source.hasNext())
+						chunk.add(source.next());
+				}
+
+				return new DecodingIterator(chunk.iterator());
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("Not supported");
+			}
+		};
+	}
+
+	private class DecodingIterator implements Iterator<T> {
+		private final Iterator<IdentifiableObject<byte[]>> raw;
+		private T next;
+
+		DecodingIterator(Iterator<IdentifiableObject<byte[]>> raw) {
+			this.raw = raw;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null && raw.hasNext())
+				next = decoder.apply(raw.next());
+
+			return next != null;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			final T item = next;
+			next = null;
+			return item;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Not supported");
+		}
+	}
+}
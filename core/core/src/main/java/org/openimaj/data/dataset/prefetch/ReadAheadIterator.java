@@ -0,0 +1,442 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.data.dataset.prefetch;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.vfs2.FileContent;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.tools.tar.TarEntry;
+import org.apache.tools.tar.TarInputStream;
+import org.openimaj.data.identity.IdentifiableObject;
+
+/**
+ * An {@link Iterator} over the raw bytes of a sequence of files that performs
+ * all of its I/O on a background thread. The background thread reads ahead of
+ * the consumer, holding at most a fixed number of files in memory.
+ * <p>
+ * Instances can be created for an array of {@link FileObject}s (which are read
+ * in order), or for an array of files within a zip or (optionally gzipped) tar
+ * archive, in which case the archive is read sequentially from start to finish
+ * rather than by random access through the virtual file system. Each item is returned as an {@link IdentifiableObject}
+ * whose identifier is the path of the file relative to a base directory.
+ * <p>
+ * Instances of this class are not thread-safe; they are intended to be
+ * consumed by a single thread (or with external synchronisation, as performed
+ * by the {@link org.openimaj.util.parallel.partition.Partitioner}s).
+ * <p>
+ * <strong>Consumers that stop iterating before the end must call
+ * {@link #close()}</strong>; otherwise the background thread and the buffered
+ * files are only released once the consumer has taken no items for the idle
+ * timeout (see {@link #setIdleTimeout(long)}). After that, reading has stopped
+ * and {@link #hasNext()} throws an {@link IllegalStateException}.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public abstract class ReadAheadIterator implements Iterator<IdentifiableObject<byte[]>>, Closeable {
+	/**
+	 * The default idle timeout in milliseconds
+	 */
+	public static final long DEFAULT_IDLE_TIMEOUT = 60000;
+
+	private static final IdentifiableObject<byte[]> END = new IdentifiableObject<byte[]>(null, null);
+	private static final IdentifiableObject<byte[]> ABANDONED = new IdentifiableObject<byte[]>(null, null);
+
+	private final BlockingQueue<IdentifiableObject<byte[]>> queue;
+	private Thread thread;
+	private volatile boolean closed;
+	private volatile Throwable error;
+	private volatile boolean abandoned;
+	private volatile long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+	private volatile long lastTake;
+	private IdentifiableObject<byte[]> next;
+
+	/**
+	 * Construct with the given read-ahead window.
+	 *
+	 * @param readAhead
+	 *            the maximum number of files to buffer ahead of the consumer
+	 */
+	protected ReadAheadIterator(int readAhead) {
+		this.queue = new ArrayBlockingQueue<IdentifiableObject<byte[]>>(Math.max(1, readAhead));
+	}
+
+	/**
+	 * Set the idle timeout. If the read-ahead buffer is full and the consumer
+	 * hasn't taken an item for this long, the consumer is assumed to have
+	 * stopped iterating without calling {@link #close()}: the background
+	 * thread stops reading and discards the buffered files. The default is
+	 * {@link #DEFAULT_IDLE_TIMEOUT}.
+	 *
+	 * @param idleTimeout
+	 *            the timeout in milliseconds; zero or negative to wait for the
+	 *            consumer forever
+	 */
+	public void setIdleTimeout(long idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+	/**
+	 * Read all the entries from the underlying source, calling
+	 * {@link #emit(String, byte[])} for each one. This is called from the
+	 * background thread.
+	 *
+	 * @throws IOException
+	 *             if an error occurs reading
+	 * @throws InterruptedException
+	 *             if the iterator is closed whilst reading
+	 */
+	protected abstract void readEntries() throws IOException, InterruptedException;
+
+	/**
+	 * Pass a file to the consumer, blocking whilst the read-ahead buffer is
+	 * full.
+	 *
+	 * @param id
+	 *            the identifier of the file
+	 * @param data
+	 *            the content of the file
+	 * @return false if the iterator has been closed or the consumer has been
+	 *         idle for longer than the idle timeout, and reading should stop;
+	 *         true otherwise.
+	 * @throws InterruptedException
+	 *             if the iterator is closed whilst waiting
+	 */
+	protected final boolean emit(String id, byte[] data) throws InterruptedException {
+		return offer(new IdentifiableObject<byte[]>(id, data)) && !closed;
+	}
+
+	/**
+	 * Add an item to the queue, blocking whilst it is full. Returns false
+	 * without adding the item if the iterator is closed or the consumer is
+	 * idle for longer than the timeout.
+	 */
+	private boolean offer(IdentifiableObject<byte[]> item) throws InterruptedException {
+		while (!closed) {
+			final long timeout = idleTimeout;
+			if (timeout <= 0) {
+				queue.put(item);
+				return true;
+			}
+
+			final long remaining = lastTake + timeout - System.currentTimeMillis();
+			if (remaining <= 0) {
+				abandoned = true;
+				return false;
+			}
+
+			if (queue.offer(item, remaining, TimeUnit.MILLISECONDS))
+				return true;
+		}
+
+		return false;
+	}
+
+	private synchronized void start() {
+		if (thread != null)
+			return;
+
+		lastTake = System.currentTimeMillis();
+		thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					readEntries();
+				} catch (final InterruptedException e) {
+					// closed
+				} catch (final Throwable t) {
+					error = t;
+				} finally {
+					try {
+						if (!abandoned && !closed)
+							offer(END);
+
+						if (abandoned) {
+							queue.clear();
+							queue.put(ABANDONED);
+						}
+					} catch (final InterruptedException e) {
+						// closed
+					}
+				}
+			}
+		}, "ReadAheadIterator");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null) {
+			if (closed)
+				return false;
+
+			start();
+			try {
+				next = queue.take();
+				lastTake = System.currentTimeMillis();
+			} catch (final InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		if (next == ABANDONED)
+			throw new IllegalStateException("Reading was stopped because no items were taken for " + idleTimeout
+					+ "ms; the iterator should be closed if it is not consumed to the end");
+
+		if (next == END) {
+			if (error != null)
+				throw new RuntimeException(error);
+
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public IdentifiableObject<byte[]> next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		final IdentifiableObject<byte[]> item = next;
+		next = null;
+		return item;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Not supported");
+	}
+
+	/**
+	 * Stop reading and discard any buffered data.
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+		next = END;
+
+		if (thread != null)
+			thread.interrupt();
+
+		queue.clear();
+	}
+
+	/**
+	 * Create a {@link ReadAheadIterator} over the given files. The identifier
+	 * of each file is its name relative to the given base.
+	 *
+	 * @param base
+	 *            the base directory
+	 * @param files
+	 *            the files to read
+	 * @param readAhead
+	 *            the maximum number of files to buffer ahead of the consumer
+	 * @return the iterator
+	 */
+	public static ReadAheadIterator forFiles(final FileObject base, final FileObject[] files, int readAhead) {
+		return new ReadAheadIterator(readAhead) {
+			@Override
+			protected void readEntries() throws IOException, InterruptedException {
+				for (final FileObject file : files) {
+					final FileContent content = file.getContent();
+					final byte[] data;
+					try {
+						data = readFully(content.getInputStream(), content.getSize());
+					} finally {
+						content.close();
+					}
+
+					if (!emit(base.getName().getRelativeName(file.getName()), data))
+						return;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Test whether the given {@link FileObject} lies within an archive that
+	 * can be read sequentially by
+	 * {@link #forArchive(FileObject, FileObject[], int)}.
+	 *
+	 * @param base
+	 *            the directory within the archive
+	 * @return true if the archive can be streamed; false otherwise
+	 */
+	public static boolean isStreamableArchive(FileObject base) {
+		final String scheme = base.getName().getScheme();
+
+		return ("zip".equals(scheme) || "jar".equals(scheme) || "tar".equals(scheme) || "tgz".equals(scheme))
+				&& getArchive(base) != null;
+	}
+
+	private static FileObject getArchive(FileObject base) {
+		try {
+			return base.getFileSystem().getParentLayer();
+		} catch (final FileSystemException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Create a {@link ReadAheadIterator} that sequentially reads the given
+	 * files from a zip, jar, tar or gzipped tar archive (i.e. the files must
+	 * have a <code>zip:</code>, <code>jar:</code>, <code>tar:</code> or
+	 * <code>tgz:</code> URI within the same archive as the base directory).
+	 * Rather than opening each file by random access, the archive is read once
+	 * from start to finish and the entries that don't correspond to one of the
+	 * given files are skipped. The files are returned in the order they appear
+	 * in the archive, and the identifier of each file is its path relative to
+	 * the given directory.
+	 *
+	 * @see #isStreamableArchive(FileObject)
+	 *
+	 * @param base
+	 *            the directory within the archive
+	 * @param files
+	 *            the files to read
+	 * @param readAhead
+	 *            the maximum number of files to buffer ahead of the consumer
+	 * @return the iterator
+	 * @throws IllegalArgumentException
+	 *             if the base isn't within a supported archive
+	 */
+	public static ReadAheadIterator forArchive(FileObject base, FileObject[] files, int readAhead) {
+		if (!isStreamableArchive(base))
+			throw new IllegalArgumentException("Unsupported archive type: " + base.getName().getURI());
+
+		final FileObject archive = getArchive(base);
+		final String scheme = base.getName().getScheme();
+		final boolean isZip = "zip".equals(scheme) || "jar".equals(scheme);
+		final boolean isGzip = "tgz".equals(scheme);
+
+		String path = base.getName().getPath();
+		if (path.startsWith("/"))
+			path = path.substring(1);
+		if (path.length() > 0 && !path.endsWith("/"))
+			path += "/";
+		final String prefix = path;
+
+		final Set<String> wanted = new HashSet<String>();
+		try {
+			for (final FileObject file : files)
+				wanted.add(base.getName().getRelativeName(file.getName()));
+		} catch (final FileSystemException e) {
+			throw new IllegalArgumentException(e);
+		}
+
+		return new ReadAheadIterator(readAhead) {
+			@Override
+			protected void readEntries() throws IOException, InterruptedException {
+				if (wanted.isEmpty())
+					return;
+
+				final FileContent content = archive.getContent();
+				try {
+					InputStream is = new BufferedInputStream(content.getInputStream());
+					if (isGzip)
+						is = new GZIPInputStream(is);
+
+					if (isZip)
+						readZip(is);
+					else
+						readTar(is);
+				} finally {
+					content.close();
+				}
+			}
+
+			private String wantedName(String name) {
+				if (name.startsWith("/"))
+					name = name.substring(1);
+
+				if (!name.startsWith(prefix))
+					return null;
+
+				name = name.substring(prefix.length());
+				return wanted.remove(name) ? name : null;
+			}
+
+			private void readZip(InputStream is) throws IOException, InterruptedException {
+				final ZipInputStream zis = new ZipInputStream(is);
+				ZipEntry entry;
+				while (!wanted.isEmpty() && (entry = zis.getNextEntry()) != null) {
+					if (entry.isDirectory())
+						continue;
+
+					final String name = wantedName(entry.getName());
+					if (name != null && !emit(name, readFully(zis, entry.getSize())))
+						return;
+				}
+			}
+
+			private void readTar(InputStream is) throws IOException, InterruptedException {
+				final TarInputStream tis = new TarInputStream(is);
+				TarEntry entry;
+				while (!wanted.isEmpty() && (entry = tis.getNextEntry()) != null) {
+					if (entry.isDirectory())
+						continue;
+
+					final String name = wantedName(entry.getName());
+					if (name != null && !emit(name, readFully(tis, entry.getSize())))
+						return;
+				}
+			}
+		};
+	}
+
+	private static byte[] readFully(InputStream is, long sizeHint) throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream(sizeHint > 0 && sizeHint < Integer.MAX_VALUE
+				? (int) sizeHint : 8192);
+
+		final byte[] buffer = new byte[8192];
+		int r;
+		while ((r = is.read(buffer)) >= 0)
+			baos.write(buffer, 0, r);
+
+		return baos.toByteArray();
+	}
+}
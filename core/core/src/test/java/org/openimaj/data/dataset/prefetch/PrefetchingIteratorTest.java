@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.data.dataset.prefetch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.data.identity.IdentifiableObject;
+import org.openimaj.util.function.Function;
+
+/**
+ * Tests for {@link PrefetchingIterator}
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class PrefetchingIteratorTest {
+	private ExecutorService pool;
+
+	/**
+	 * Decodes the identifier as an integer, skipping multiples of 5
+	 */
+	static final Function<IdentifiableObject<byte[]>, Integer> DECODER = new Function<IdentifiableObject<byte[]>, Integer>() {
+		@Override
+		public Integer apply(IdentifiableObject<byte[]> in) {
+			assertEquals(new String(ReadAheadIteratorTest.content(in.identity)), new String(in.data));
+
+			final int i = Integer.parseInt(in.identity);
+			return i % 5 == 0 ? null : i;
+		}
+	};
+
+	/**
+	 * Create the pool
+	 */
+	@Before
+	public void setup() {
+		pool = Executors.newFixedThreadPool(4);
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void teardown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Test that all the items are decoded and returned in order
+	 */
+	@Test
+	public void testOrder() {
+		for (final int window : new int[] { 1, 3, 16 }) {
+			final PrefetchingIterator<Integer> iter = new PrefetchingIterator<Integer>(
+					ReadAheadIteratorTest.numbers(1000, window), DECODER, window, pool);
+
+			int expected = 1;
+			while (iter.hasNext()) {
+				assertEquals(expected, (int) iter.next());
+
+				expected++;
+				if (expected % 5 == 0)
+					expected++;
+			}
+			assertEquals(1001, expected);
+			iter.close();
+		}
+	}
+
+	/**
+	 * Test that errors in decoding are passed to the consumer
+	 */
+	@Test(expected = RuntimeException.class)
+	public void testDecodingError() {
+		final PrefetchingIterator<Integer> iter = new PrefetchingIterator<Integer>(
+				ReadAheadIteratorTest.numbers(10, 2), new Function<IdentifiableObject<byte[]>, Integer>() {
+					@Override
+					public Integer apply(IdentifiableObject<byte[]> in) {
+						if (in.identity.equals("5"))
+							throw new IllegalArgumentException();
+						return 0;
+					}
+				}, 2, pool);
+
+		while (iter.hasNext())
+			iter.next();
+	}
+
+	/**
+	 * Test closing the iterator before it has been fully consumed
+	 */
+	@Test
+	public void testEarlyClose() {
+		final ReadAheadIterator source = ReadAheadIteratorTest.numbers(100000, 4);
+		final PrefetchingIterator<Integer> iter = new PrefetchingIterator<Integer>(source, DECODER, 4, pool);
+
+		assertEquals(1, (int) iter.next());
+		assertEquals(2, (int) iter.next());
+
+		iter.close();
+		assertFalse(iter.hasNext());
+		assertFalse(source.hasNext());
+	}
+
+	/**
+	 * Test that reading stops if the consumer stops taking items without
+	 * closing the iterator
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testIdleConsumer() throws InterruptedException {
+		final CountDownLatch finished = new CountDownLatch(1);
+		final ReadAheadIterator source = ReadAheadIteratorTest.numbers(100000, 4, finished);
+		source.setIdleTimeout(0);
+		final PrefetchingIterator<Integer> iter = new PrefetchingIterator<Integer>(source, DECODER, 4, pool);
+		iter.setIdleTimeout(100);
+
+		assertEquals(1, (int) iter.next());
+		assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+		try {
+			iter.hasNext();
+			fail();
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+	}
+}
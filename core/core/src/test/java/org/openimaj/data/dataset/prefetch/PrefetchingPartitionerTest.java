@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.data.dataset.prefetch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+
+/**
+ * Tests for {@link PrefetchingPartitioner}
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class PrefetchingPartitionerTest {
+	/**
+	 * Test that the partitions cover all the decoded items in order
+	 */
+	@Test
+	public void testPartitions() {
+		final PrefetchingPartitioner<Integer> partitioner = new PrefetchingPartitioner<Integer>(
+				ReadAheadIteratorTest.numbers(103, 8), PrefetchingIteratorTest.DECODER, 10);
+
+		final List<Integer> seen = new ArrayList<Integer>();
+		final Iterator<Iterator<Integer>> partitions = partitioner.getPartitions();
+		int count = 0;
+		while (partitions.hasNext()) {
+			final Iterator<Integer> partition = partitions.next();
+			while (partition.hasNext())
+				seen.add(partition.next());
+			count++;
+		}
+
+		assertEquals(11, count);
+		assertEquals(expected(103), seen);
+	}
+
+	/**
+	 * Test the partitioner with {@link Parallel#forEach}
+	 */
+	@Test
+	public void testParallel() {
+		final ThreadPoolExecutor pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>());
+
+		try {
+			final List<Integer> seen = Collections.synchronizedList(new ArrayList<Integer>());
+			Parallel.forEach(new PrefetchingPartitioner<Integer>(ReadAheadIteratorTest.numbers(1000, 16),
+					PrefetchingIteratorTest.DECODER, 7), new Operation<Integer>() {
+				@Override
+				public void perform(Integer object) {
+					seen.add(object);
+				}
+			}, pool);
+
+			Collections.sort(seen);
+			assertEquals(expected(1000), seen);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test closing the source whilst partitions are being consumed
+	 */
+	@Test
+	public void testEarlyClose() {
+		final ReadAheadIterator source = ReadAheadIteratorTest.numbers(100000, 4);
+		final PrefetchingPartitioner<Integer> partitioner = new PrefetchingPartitioner<Integer>(source,
+				PrefetchingIteratorTest.DECODER, 10);
+
+		final Iterator<Iterator<Integer>> partitions = partitioner.getPartitions();
+		final Iterator<Integer> first = partitions.next();
+		source.close();
+
+		// the first partition was already read
+		int count = 0;
+		while (first.hasNext()) {
+			first.next();
+			count++;
+		}
+		assertEquals(8, count);
+		assertFalse(partitions.hasNext());
+	}
+
+	private static List<Integer> expected(int n) {
+		final List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < n; i++)
+			if (i % 5 != 0)
+				expected.add(i);
+		return expected;
+	}
+}
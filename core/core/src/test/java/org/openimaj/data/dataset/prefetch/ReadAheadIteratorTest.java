@@ -0,0 +1,387 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.data.dataset.prefetch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemManager;
+import org.apache.commons.vfs2.VFS;
+import org.apache.tools.tar.TarEntry;
+import org.apache.tools.tar.TarOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openimaj.data.identity.IdentifiableObject;
+
+/**
+ * Tests for {@link ReadAheadIterator}
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class ReadAheadIteratorTest {
+	/**
+	 * Temporary folder for the test data
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<String> names;
+	private FileSystemManager fsManager;
+
+	/**
+	 * Setup the names of the test files
+	 *
+	 * @throws IOException
+	 */
+	@Before
+	public void setup() throws IOException {
+		fsManager = VFS.getManager();
+
+		names = new ArrayList<String>();
+		for (int i = 0; i < 20; i++)
+			names.add("dir" + (i % 3) + "/file" + i + ".txt");
+
+		// longer than the 100 characters allowed in a plain tar header
+		final StringBuilder sb = new StringBuilder("dir0/");
+		while (sb.length() < 150)
+			sb.append("long");
+		names.add(sb.append(".txt").toString());
+	}
+
+	static byte[] content(String name) {
+		return ("content of " + name).getBytes();
+	}
+
+	/**
+	 * Create a {@link ReadAheadIterator} over in-memory data, where each item
+	 * has an identifier given by its index and the content of the item is the
+	 * content of the identifier.
+	 *
+	 * @param n
+	 *            the number of items
+	 * @param readAhead
+	 *            the read-ahead window
+	 * @return the iterator
+	 */
+	static ReadAheadIterator numbers(final int n, int readAhead) {
+		return numbers(n, readAhead, null);
+	}
+
+	/**
+	 * Create a {@link ReadAheadIterator} over in-memory data, as
+	 * {@link #numbers(int, int)}, that counts down the given latch when its
+	 * background thread stops reading.
+	 *
+	 * @param n
+	 *            the number of items
+	 * @param readAhead
+	 *            the read-ahead window
+	 * @param finished
+	 *            the latch; can be null
+	 * @return the iterator
+	 */
+	static ReadAheadIterator numbers(final int n, int readAhead, final CountDownLatch finished) {
+		return new ReadAheadIterator(readAhead) {
+			@Override
+			protected void readEntries() throws IOException, InterruptedException {
+				try {
+					for (int i = 0; i < n; i++) {
+						if (!emit(Integer.toString(i), content(Integer.toString(i))))
+							return;
+					}
+				} finally {
+					if (finished != null)
+						finished.countDown();
+				}
+			}
+		};
+	}
+
+	private File createDirectory() throws IOException {
+		final File dir = folder.newFolder("files");
+		for (final String name : names) {
+			final File f = new File(dir, name);
+			f.getParentFile().mkdirs();
+			final OutputStream os = new FileOutputStream(f);
+			os.write(content(name));
+			os.close();
+		}
+		return dir;
+	}
+
+	private File createZip() throws IOException {
+		final File file = new File(folder.getRoot(), "files.zip");
+		final ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file));
+		zos.putNextEntry(new ZipEntry("base/"));
+		zos.putNextEntry(new ZipEntry("other.txt"));
+		zos.write(content("other.txt"));
+		for (final String name : names) {
+			zos.putNextEntry(new ZipEntry("base/" + name));
+			zos.write(content(name));
+		}
+		zos.close();
+		return file;
+	}
+
+	private File createTar(boolean gzip) throws IOException {
+		final File file = new File(folder.getRoot(), gzip ? "files.tgz" : "files.tar");
+		OutputStream os = new FileOutputStream(file);
+		if (gzip)
+			os = new GZIPOutputStream(os);
+
+		final TarOutputStream tos = new TarOutputStream(os);
+		tos.setLongFileMode(TarOutputStream.LONGFILE_GNU);
+		tos.putNextEntry(new TarEntry("base/"));
+		tos.closeEntry();
+		writeTarEntry(tos, "other.txt");
+		for (final String name : names)
+			writeTarEntry(tos, "base/" + name);
+		tos.close();
+		return file;
+	}
+
+	private void writeTarEntry(TarOutputStream tos, String name) throws IOException {
+		final byte[] data = content(name.substring(name.indexOf('/') + 1));
+		final TarEntry entry = new TarEntry(name);
+		entry.setSize(data.length);
+		tos.putNextEntry(entry);
+		tos.write(data);
+		tos.closeEntry();
+	}
+
+	private FileObject[] resolve(FileObject base, List<String> files) throws IOException {
+		final FileObject[] fos = new FileObject[files.size()];
+		for (int i = 0; i < fos.length; i++)
+			fos[i] = base.resolveFile(files.get(i));
+		return fos;
+	}
+
+	private static void checkAll(ReadAheadIterator iter, List<String> expected, boolean ordered) {
+		final List<String> seen = new ArrayList<String>();
+		while (iter.hasNext()) {
+			final IdentifiableObject<byte[]> item = iter.next();
+			assertEquals(new String(content(item.identity)), new String(item.data));
+			seen.add(item.identity);
+		}
+
+		if (ordered) {
+			assertEquals(expected, seen);
+		} else {
+			assertEquals(expected.size(), seen.size());
+			assertEquals(new HashSet<String>(expected), new HashSet<String>(seen));
+		}
+
+		iter.close();
+	}
+
+	/**
+	 * Test reading files from a directory
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testFiles() throws IOException {
+		final FileObject base = fsManager.resolveFile(createDirectory().getAbsolutePath());
+
+		checkAll(ReadAheadIterator.forFiles(base, resolve(base, names), 2), names, true);
+	}
+
+	/**
+	 * Test streaming a zip archive
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testZip() throws IOException {
+		final FileObject base = fsManager.resolveFile("zip:" + createZip().getAbsolutePath() + "!/base");
+
+		assertEquals(true, ReadAheadIterator.isStreamableArchive(base));
+		checkAll(ReadAheadIterator.forArchive(base, resolve(base, names), 2), names, true);
+	}
+
+	/**
+	 * Test streaming a tar archive
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testTar() throws IOException {
+		final FileObject base = fsManager.resolveFile("tar:" + createTar(false).getAbsolutePath() + "!/base");
+
+		assertEquals(true, ReadAheadIterator.isStreamableArchive(base));
+		checkAll(ReadAheadIterator.forArchive(base, resolve(base, names), 2), names, true);
+	}
+
+	/**
+	 * Test streaming a gzipped tar archive
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testTgz() throws IOException {
+		final FileObject base = fsManager.resolveFile("tgz:" + createTar(true).getAbsolutePath() + "!/base");
+
+		assertEquals(true, ReadAheadIterator.isStreamableArchive(base));
+		checkAll(ReadAheadIterator.forArchive(base, resolve(base, names), 2), names, true);
+	}
+
+	/**
+	 * Test that only the requested files are read from an archive
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testArchiveFileList() throws IOException {
+		final File tar = createTar(false);
+		final File zip = createZip();
+
+		final List<String> subset = new ArrayList<String>();
+		for (int i = 0; i < names.size(); i += 3)
+			subset.add(names.get(i));
+
+		for (final String uri : new String[] { "tar:" + tar.getAbsolutePath() + "!/base",
+				"zip:" + zip.getAbsolutePath() + "!/base" })
+		{
+			final FileObject base = fsManager.resolveFile(uri);
+			checkAll(ReadAheadIterator.forArchive(base, resolve(base, subset), 2), subset, true);
+
+			// a subdirectory of the archive
+			final FileObject sub = base.resolveFile("dir1");
+			final List<String> subNames = new ArrayList<String>();
+			final List<String> relative = new ArrayList<String>();
+			for (final String name : names) {
+				if (name.startsWith("dir1/")) {
+					subNames.add(name);
+					relative.add(name.substring(5));
+				}
+			}
+
+			final ReadAheadIterator iter = ReadAheadIterator.forArchive(sub, resolve(sub, relative), 1);
+			final Set<String> seen = new HashSet<String>();
+			while (iter.hasNext()) {
+				final IdentifiableObject<byte[]> item = iter.next();
+				assertEquals(new String(content("dir1/" + item.identity)), new String(item.data));
+				seen.add(item.identity);
+			}
+			assertEquals(new HashSet<String>(relative), seen);
+		}
+	}
+
+	/**
+	 * Test closing the iterator before it has been fully consumed
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testEarlyClose() throws IOException {
+		final FileObject dir = fsManager.resolveFile(createDirectory().getAbsolutePath());
+		final FileObject tar = fsManager.resolveFile("tar:" + createTar(false).getAbsolutePath() + "!/base");
+
+		for (final ReadAheadIterator iter : new ReadAheadIterator[] {
+				ReadAheadIterator.forFiles(dir, resolve(dir, names), 1),
+				ReadAheadIterator.forArchive(tar, resolve(tar, names), 1) })
+		{
+			assertEquals(names.get(0), iter.next().identity);
+			assertEquals(names.get(1), iter.next().identity);
+
+			iter.close();
+			assertFalse(iter.hasNext());
+
+			try {
+				iter.next();
+				throw new AssertionError("expected NoSuchElementException");
+			} catch (final NoSuchElementException e) {
+				// expected
+			}
+		}
+	}
+
+	/**
+	 * Test that the background thread stops if the consumer stops taking
+	 * items without closing the iterator
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testIdleConsumer() throws InterruptedException {
+		final CountDownLatch finished = new CountDownLatch(1);
+		final ReadAheadIterator iter = numbers(100000, 4, finished);
+		iter.setIdleTimeout(100);
+
+		assertEquals("0", iter.next().identity);
+		assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+		try {
+			iter.hasNext();
+			fail();
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Test that a consumer that keeps taking items isn't affected by the idle
+	 * timeout, even if it takes longer than the timeout in total
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testSlowConsumer() throws InterruptedException {
+		final ReadAheadIterator iter = numbers(20, 2);
+		iter.setIdleTimeout(100);
+
+		int count = 0;
+		while (iter.hasNext()) {
+			assertEquals(Integer.toString(count++), iter.next().identity);
+			Thread.sleep(20);
+		}
+		assertEquals(20, count);
+	}
+}
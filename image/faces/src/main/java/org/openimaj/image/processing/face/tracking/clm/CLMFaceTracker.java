@@ -31,6 +31,7 @@ package org.openimaj.image.processing.face.tracking.clm;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.image.FImage;
 import org.openimaj.image.MBFImage;
@@ -515,4 +516,27 @@ public class CLMFaceTracker {
 	{
 		this.fpd = nFrames;
 	}
+
+	/**
+	 * Set the thread pool used to fit the face models. Multiple faces are
+	 * fitted in parallel; if only a single face is being tracked, the
+	 * responses of its landmarks are computed in parallel instead. Set to
+	 * <code>null</code> to disable multi-threading.
+	 *
+	 * @param pool
+	 *            the thread pool
+	 */
+	public void setThreadPool(final ThreadPoolExecutor pool)
+	{
+		this.model.setThreadPool(pool);
+	}
+
+	/**
+	 * @return the thread pool used to fit the face models; can be
+	 *         <code>null</code>
+	 */
+	public ThreadPoolExecutor getThreadPool()
+	{
+		return this.model.getThreadPool();
+	}
 }
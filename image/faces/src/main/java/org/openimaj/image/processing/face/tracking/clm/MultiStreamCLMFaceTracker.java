@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.processing.face.tracking.clm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.image.FImage;
+import org.openimaj.image.MBFImage;
+import org.openimaj.time.NanoTimer;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+/**
+ * An engine for tracking faces in many video streams at once. Each stream has
+ * its own {@link CLMFaceTracker} (and thus its own models and working memory).
+ * If a thread pool is set, frames from all the streams are tracked together on
+ * it: if more than one stream is being tracked, the streams are processed in
+ * parallel; if there is only a single stream, the pool is used by its tracker
+ * to fit the faces (or the landmarks of a single face) in parallel instead.
+ * The pools of the individual trackers are only replaced while a batch of
+ * frames is being tracked, and are restored afterwards.
+ * <p>
+ * The latency of each stream and of each batch of frames is recorded and can
+ * be obtained through {@link #getLatency(int)} and {@link #getBatchLatency()}.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class MultiStreamCLMFaceTracker {
+	/**
+	 * Running statistics about the time taken to process frames.
+	 *
+	 * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+	 */
+	public static class LatencyStatistics {
+		private long count;
+		private long last;
+		private long total;
+		private long max;
+
+		synchronized void record(long nanos) {
+			this.count++;
+			this.last = nanos;
+			this.total += nanos;
+			if (nanos > this.max)
+				this.max = nanos;
+		}
+
+		/**
+		 * @return the number of frames that have been recorded
+		 */
+		public synchronized long getCount() {
+			return count;
+		}
+
+		/**
+		 * @return the time taken for the last frame in milliseconds
+		 */
+		public synchronized double getLastMillis() {
+			return last / 1e6;
+		}
+
+		/**
+		 * @return the mean time per frame in milliseconds
+		 */
+		public synchronized double getMeanMillis() {
+			return count == 0 ? 0 : (total / 1e6) / count;
+		}
+
+		/**
+		 * @return the maximum time taken for a frame in milliseconds
+		 */
+		public synchronized double getMaxMillis() {
+			return max / 1e6;
+		}
+
+		/**
+		 * Reset the statistics
+		 */
+		public synchronized void reset() {
+			this.count = 0;
+			this.last = 0;
+			this.total = 0;
+			this.max = 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("count=%d, last=%.2fms, mean=%.2fms, max=%.2fms", getCount(), getLastMillis(),
+					getMeanMillis(), getMaxMillis());
+		}
+	}
+
+	private final List<CLMFaceTracker> trackers = new ArrayList<CLMFaceTracker>();
+	private final List<LatencyStatistics> latencies = new ArrayList<LatencyStatistics>();
+	private final LatencyStatistics batchLatency = new LatencyStatistics();
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Construct without a thread pool; all processing is performed in the
+	 * calling thread.
+	 */
+	public MultiStreamCLMFaceTracker() {
+		this(null);
+	}
+
+	/**
+	 * Construct with the given thread pool. If the pool is <code>null</code>
+	 * all processing is performed in the calling thread.
+	 *
+	 * @param pool
+	 *            the thread pool
+	 */
+	public MultiStreamCLMFaceTracker(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Add a new stream with a default {@link CLMFaceTracker}.
+	 *
+	 * @return the index of the stream
+	 */
+	public int addStream() {
+		return addStream(new CLMFaceTracker());
+	}
+
+	/**
+	 * Add a new stream that will be tracked with the given tracker. The
+	 * tracker must not be shared with any other stream.
+	 *
+	 * @param tracker
+	 *            the tracker
+	 * @return the index of the stream
+	 */
+	public synchronized int addStream(CLMFaceTracker tracker) {
+		trackers.add(tracker);
+		latencies.add(new LatencyStatistics());
+		return trackers.size() - 1;
+	}
+
+	/**
+	 * @return the number of streams
+	 */
+	public synchronized int getNumStreams() {
+		return trackers.size();
+	}
+
+	/**
+	 * Get the tracker for the given stream
+	 *
+	 * @param stream
+	 *            the index of the stream
+	 * @return the tracker
+	 */
+	public synchronized CLMFaceTracker getTracker(int stream) {
+		return trackers.get(stream);
+	}
+
+	/**
+	 * Get the latency statistics for the given stream
+	 *
+	 * @param stream
+	 *            the index of the stream
+	 * @return the latency statistics
+	 */
+	public synchronized LatencyStatistics getLatency(int stream) {
+		return latencies.get(stream);
+	}
+
+	/**
+	 * Get the latency statistics for processing complete batches of frames
+	 * (i.e. calls to {@link #track(FImage...)} or {@link #track(MBFImage...)}).
+	 *
+	 * @return the latency statistics
+	 */
+	public LatencyStatistics getBatchLatency() {
+		return batchLatency;
+	}
+
+	/**
+	 * Set the thread pool. If the pool is <code>null</code> all processing is
+	 * performed in the calling thread.
+	 *
+	 * @param pool
+	 *            the thread pool
+	 */
+	public synchronized void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Track the faces in the next frame of each stream. The i-th frame is
+	 * given to the i-th stream; a <code>null</code> frame means that the
+	 * corresponding stream has no new frame and is skipped.
+	 *
+	 * @param frames
+	 *            the frames, one per stream
+	 */
+	public void track(MBFImage... frames) {
+		final FImage[] grey = new FImage[frames.length];
+		for (int i = 0; i < frames.length; i++)
+			grey[i] = frames[i] == null ? null : frames[i].flatten();
+
+		track(grey);
+	}
+
+	/**
+	 * Track the faces in the next frame of each stream. The i-th frame is
+	 * given to the i-th stream; a <code>null</code> frame means that the
+	 * corresponding stream has no new frame and is skipped.
+	 *
+	 * @param frames
+	 *            the frames, one per stream
+	 */
+	public synchronized void track(final FImage... frames) {
+		if (frames.length > trackers.size())
+			throw new IllegalArgumentException("More frames than streams were provided");
+
+		final NanoTimer batchTimer = NanoTimer.timer();
+
+		final int[] active = new int[frames.length];
+		int nActive = 0;
+		for (int i = 0; i < frames.length; i++)
+			if (frames[i] != null)
+				active[nActive++] = i;
+
+		// a single stream can use the pool itself, but parallel loops
+		// shouldn't be nested on the same pool
+		final boolean parallelStreams = pool != null && nActive >= 2;
+		final ThreadPoolExecutor[] trackerPools = new ThreadPoolExecutor[nActive];
+		for (int i = 0; i < nActive; i++) {
+			final CLMFaceTracker tracker = trackers.get(active[i]);
+			trackerPools[i] = tracker.getThreadPool();
+			tracker.setThreadPool(parallelStreams ? null : pool);
+		}
+
+		try {
+			if (!parallelStreams) {
+				for (int i = 0; i < nActive; i++)
+					trackStream(active[i], frames[active[i]]);
+			} else {
+				Parallel.forRange(0, nActive, 1, new Operation<IntRange>() {
+					@Override
+					public void perform(IntRange range) {
+						for (int i = range.start; i < range.stop; i += range.incr)
+							trackStream(active[i], frames[active[i]]);
+					}
+				}, pool);
+			}
+		} finally {
+			for (int i = 0; i < nActive; i++)
+				trackers.get(active[i]).setThreadPool(trackerPools[i]);
+		}
+
+		batchTimer.stop();
+		batchLatency.record(batchTimer.duration());
+	}
+
+	private void trackStream(int stream, FImage frame) {
+		final NanoTimer timer = NanoTimer.timer();
+		trackers.get(stream).track(frame);
+		timer.stop();
+		latencies.get(stream).record(timer.duration());
+	}
+
+	/**
+	 * Reset the trackers of all the streams, forcing redetection of the
+	 * faces, and clear the latency statistics.
+	 */
+	public synchronized void reset() {
+		for (final CLMFaceTracker t : trackers)
+			t.reset();
+		for (final LatencyStatistics l : latencies)
+			l.reset();
+		batchLatency.reset();
+	}
+}
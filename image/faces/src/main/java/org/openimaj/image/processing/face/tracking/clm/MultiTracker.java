@@ -39,12 +39,16 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.image.FImage;
 import org.openimaj.image.analysis.algorithm.FourierTemplateMatcher;
 import org.openimaj.image.processing.face.detection.DetectedFace;
 import org.openimaj.image.processing.resize.ResizeProcessor;
 import org.openimaj.math.geometry.shape.Rectangle;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 import Jama.Matrix;
 
@@ -166,6 +170,8 @@ public class MultiTracker {
 
 	private FImage small_;
 
+	private ThreadPoolExecutor pool;
+
 	/**
 	 * Create a tracker using the given model, face detector, failure checker,
 	 * reference shape and similarity measures. These values will be copied into
@@ -289,7 +295,9 @@ public class MultiTracker {
 			return -1;
 
 		boolean resize = true;
+		final List<Boolean> resizeTemplate = new ArrayList<Boolean>();
 
+		// Initialise the models of the faces
 		for (final Iterator<TrackedFace> iterator = this.trackedFaces.iterator(); iterator.hasNext();) {
 			final TrackedFace f = iterator.next();
 
@@ -315,8 +323,17 @@ public class MultiTracker {
 				resize = false;
 			}
 
-			f.clm.fit(this.currentFrame, wSize, nIter, clamp, fTol);
-			f.clm._pdm.calcShape2D(f.shape, f.clm._plocal, f.clm._pglobl);
+			resizeTemplate.add(resize);
+		}
+
+		// Fit the models; each face has its own model and working memory, so
+		// the faces can be fitted independently
+		this.fitFaces(this.currentFrame, wSize, nIter, clamp, fTol);
+
+		// Check for failure and update the templates
+		int i = 0;
+		for (final Iterator<TrackedFace> iterator = this.trackedFaces.iterator(); iterator.hasNext(); i++) {
+			final TrackedFace f = iterator.next();
 
 			if (fcheck) {
 				if (!this.initialTracker.failureCheck.check(f.clm.getViewIdx(),
@@ -329,7 +346,7 @@ public class MultiTracker {
 			}
 
 			f.lastMatchBounds = this.updateTemplate(f, this.currentFrame, f.shape,
-					resize);
+					resizeTemplate.get(i));
 
 			if ((f.lastMatchBounds.width == 0)
 					|| (f.lastMatchBounds.height == 0))
@@ -350,6 +367,59 @@ public class MultiTracker {
 		return 0;
 	}
 
+	/**
+	 * Fit the models of all the tracked faces to the image. If a thread pool
+	 * has been set, multiple faces are fitted in parallel; a single face has
+	 * the responses of its points computed in parallel instead.
+	 */
+	private void fitFaces(final FImage im, final int[] wSize, final int nIter, final double clamp,
+			final double fTol)
+	{
+		final int nFaces = this.trackedFaces.size();
+
+		if (this.pool == null || nFaces < 2) {
+			for (final TrackedFace f : this.trackedFaces) {
+				f.clm.setThreadPool(this.pool);
+				f.clm.fit(im, wSize, nIter, clamp, fTol);
+				f.clm._pdm.calcShape2D(f.shape, f.clm._plocal, f.clm._pglobl);
+			}
+		} else {
+			Parallel.forRange(0, nFaces, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					for (int i = range.start; i < range.stop; i += range.incr) {
+						final TrackedFace f = MultiTracker.this.trackedFaces.get(i);
+
+						// don't nest parallel loops on the same pool
+						f.clm.setThreadPool(null);
+						f.clm.fit(im, wSize, nIter, clamp, fTol);
+						f.clm._pdm.calcShape2D(f.shape, f.clm._plocal, f.clm._pglobl);
+					}
+				}
+			}, this.pool);
+		}
+	}
+
+	/**
+	 * Set the pool used to fit the models of the tracked faces in parallel.
+	 * If the pool is <code>null</code> (the default), faces are fitted
+	 * sequentially.
+	 *
+	 * @param pool
+	 *            the pool
+	 */
+	public void setThreadPool(final ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * @return the pool used to fit the models of the tracked faces in
+	 *         parallel; can be <code>null</code>
+	 */
+	public ThreadPoolExecutor getThreadPool() {
+		return this.pool;
+	}
+
 	/**
 	 * Initialise the shape within the given rectangle based on the given
 	 * reference shape.
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.processing.face.tracking.clm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.image.FImage;
+import org.openimaj.image.ImageUtilities;
+import org.openimaj.image.processing.face.tracking.clm.MultiTracker.TrackedFace;
+
+/**
+ * Tests that fitting faces and landmarks in parallel with the
+ * {@link CLMFaceTracker} and {@link MultiStreamCLMFaceTracker} gives the same
+ * shapes as sequential fitting.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class CLMFaceTrackerTest {
+	private static final int NFRAMES = 4;
+
+	private ThreadPoolExecutor pool;
+	private FImage face;
+
+	/**
+	 * Create the pool and load the face
+	 * 
+	 * @throws IOException
+	 */
+	@Before
+	public void setup() throws IOException {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+		face = ImageUtilities.readF(this.getClass().getResourceAsStream("/org/openimaj/image/data/face/ss.jpg"));
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Create a sequence in which the given number of copies of the face,
+	 * spaced apart so they are detected separately, move by a few pixels each
+	 * frame
+	 */
+	private FImage[] createFrames(int copies) {
+		final FImage[] frames = new FImage[NFRAMES];
+		for (int t = 0; t < NFRAMES; t++) {
+			frames[t] = new FImage(copies * (face.width + 40) + 20, face.height + 20);
+			for (int i = 0; i < copies; i++)
+				frames[t].drawImage(face, 10 + i * (face.width + 40) + 2 * t, 10 + t);
+		}
+		return frames;
+	}
+
+	private static List<double[]> shapes(CLMFaceTracker tracker) {
+		final List<double[]> shapes = new ArrayList<double[]>();
+		for (final TrackedFace f : tracker.getModelTracker().trackedFaces)
+			shapes.add(f.shape.getColumnPackedCopy());
+		return shapes;
+	}
+
+	private static void assertShapesEqual(List<double[]> expected, List<double[]> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).length, actual.get(i).length);
+			for (int j = 0; j < expected.get(i).length; j++)
+				assertEquals(expected.get(i)[j], actual.get(i)[j], 0);
+		}
+	}
+
+	private static List<List<double[]>> track(FImage[] frames, ThreadPoolExecutor pool) {
+		final CLMFaceTracker tracker = new CLMFaceTracker();
+		tracker.setThreadPool(pool);
+
+		final List<List<double[]>> shapes = new ArrayList<List<double[]>>();
+		for (final FImage frame : frames) {
+			tracker.track(frame);
+			shapes.add(shapes(tracker));
+		}
+		return shapes;
+	}
+
+	private void checkTracker(int copies) {
+		final FImage[] frames = createFrames(copies);
+
+		final List<List<double[]>> expected = track(frames, null);
+		final List<List<double[]>> actual = track(frames, pool);
+
+		assertEquals(copies, expected.get(NFRAMES - 1).size());
+		for (int t = 0; t < NFRAMES; t++)
+			assertShapesEqual(expected.get(t), actual.get(t));
+	}
+
+	/**
+	 * Test that computing the landmark responses of a single face in
+	 * parallel gives the same shapes
+	 */
+	@Test
+	public void testParallelLandmarks() {
+		checkTracker(1);
+	}
+
+	/**
+	 * Test that fitting multiple faces in parallel gives the same shapes
+	 */
+	@Test
+	public void testParallelFaces() {
+		checkTracker(2);
+	}
+
+	/**
+	 * Test that tracking multiple streams in parallel gives the same shapes
+	 * as tracking each stream on its own, and that the pools of the trackers
+	 * of the streams are left as they were
+	 */
+	@Test
+	public void testMultiStream() {
+		final FImage[][] frames = { createFrames(1), createFrames(2), createFrames(1) };
+
+		final MultiStreamCLMFaceTracker multi = new MultiStreamCLMFaceTracker(pool);
+		for (int s = 0; s < frames.length - 1; s++)
+			multi.addStream();
+
+		final ThreadPoolExecutor trackerPool = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>());
+		final CLMFaceTracker last = new CLMFaceTracker();
+		last.setThreadPool(trackerPool);
+		multi.addStream(last);
+
+		final List<List<List<double[]>>> actual = new ArrayList<List<List<double[]>>>();
+		for (int s = 0; s < frames.length; s++)
+			actual.add(new ArrayList<List<double[]>>());
+
+		for (int t = 0; t < NFRAMES; t++) {
+			// the last stream skips alternate frames
+			multi.track(frames[0][t], frames[1][t], t % 2 == 0 ? frames[2][t] : null);
+
+			for (int s = 0; s < frames.length; s++)
+				actual.get(s).add(shapes(multi.getTracker(s)));
+
+			assertSame(trackerPool, last.getThreadPool());
+		}
+		trackerPool.shutdownNow();
+
+		for (int s = 0; s < frames.length; s++) {
+			final CLMFaceTracker tracker = new CLMFaceTracker();
+			for (int t = 0; t < NFRAMES; t++) {
+				if (s < 2 || t % 2 == 0)
+					tracker.track(frames[s][t]);
+
+				assertShapesEqual(shapes(tracker), actual.get(s).get(t));
+			}
+		}
+
+		assertTrue(multi.getLatency(0).getCount() == NFRAMES);
+		assertTrue(multi.getLatency(2).getCount() == NFRAMES / 2);
+	}
+}
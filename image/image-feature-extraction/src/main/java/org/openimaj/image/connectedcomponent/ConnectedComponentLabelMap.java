@@ -0,0 +1,352 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.connectedcomponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openimaj.image.pixel.ConnectedComponent;
+import org.openimaj.math.geometry.point.Point2dImpl;
+import org.openimaj.math.geometry.shape.Rectangle;
+
+/**
+ * The result of labelling the connected components of an image. Each pixel
+ * of the image is assigned an integer label in a flat row-major array; the
+ * background has label 0 and the components are labelled from 1 to
+ * {@link #getNumComponents()} in the raster order in which they are first
+ * encountered.
+ * <p>
+ * The area, bounding box and moments up to second order of every component
+ * are accumulated during labelling, so they can be queried without touching
+ * the pixels again. {@link ConnectedComponent} objects are only constructed
+ * (and then cached) when they are explicitly requested.
+ *
+ * @see RunLengthConnectedComponentLabeler
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class ConnectedComponentLabelMap {
+	private final int width;
+	private final int height;
+	private final int numComponents;
+	private final int[] labels;
+
+	// per-component statistics, indexed by label
+	final int[] area;
+	final int[] minX;
+	final int[] minY;
+	final int[] maxX;
+	final int[] maxY;
+	final long[] sumX;
+	final long[] sumY;
+	final long[] sumXX;
+	final long[] sumYY;
+	final long[] sumXY;
+
+	private ConnectedComponent[] components;
+
+	/**
+	 * Construct an empty label map with space for the given number of
+	 * components. The statistics are filled in by the labeler.
+	 *
+	 * @param width
+	 *            the width of the labelled image
+	 * @param height
+	 *            the height of the labelled image
+	 * @param numComponents
+	 *            the number of components
+	 */
+	ConnectedComponentLabelMap(int width, int height, int numComponents) {
+		this.width = width;
+		this.height = height;
+		this.numComponents = numComponents;
+		this.labels = new int[width * height];
+
+		final int n = numComponents + 1;
+		area = new int[n];
+		minX = new int[n];
+		minY = new int[n];
+		maxX = new int[n];
+		maxY = new int[n];
+		sumX = new long[n];
+		sumY = new long[n];
+		sumXX = new long[n];
+		sumYY = new long[n];
+		sumXY = new long[n];
+
+		for (int i = 1; i < n; i++) {
+			minX[i] = Integer.MAX_VALUE;
+			minY[i] = Integer.MAX_VALUE;
+			maxX[i] = -1;
+			maxY[i] = -1;
+		}
+	}
+
+	/**
+	 * Accumulate the statistics of a horizontal run of pixels belonging to
+	 * the given component.
+	 *
+	 * @param label
+	 *            the component label
+	 * @param y
+	 *            the row of the run
+	 * @param start
+	 *            the first x-ordinate of the run
+	 * @param end
+	 *            the last x-ordinate of the run (inclusive)
+	 */
+	void addRun(int label, int y, int start, int end) {
+		final long n = end - start + 1;
+		final long sx = (long) (start + end) * n / 2;
+		final long sxx = sumOfSquares(end) - sumOfSquares(start - 1);
+
+		area[label] += n;
+		sumX[label] += sx;
+		sumY[label] += n * y;
+		sumXX[label] += sxx;
+		sumYY[label] += n * y * y;
+		sumXY[label] += sx * y;
+
+		if (start < minX[label])
+			minX[label] = start;
+		if (end > maxX[label])
+			maxX[label] = end;
+		if (y < minY[label])
+			minY[label] = y;
+		if (y > maxY[label])
+			maxY[label] = y;
+	}
+
+	private static long sumOfSquares(long k) {
+		if (k <= 0)
+			return 0;
+		return k * (k + 1) * (2 * k + 1) / 6;
+	}
+
+	/**
+	 * @return the width of the labelled image
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return the height of the labelled image
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return the number of components (not including the background)
+	 */
+	public int getNumComponents() {
+		return numComponents;
+	}
+
+	/**
+	 * Get the underlying label array. The array is in row-major order, so the
+	 * label of pixel (x, y) is at index <code>y * width + x</code>. The array
+	 * is not copied, so modifications will be reflected in this object.
+	 *
+	 * @return the labels
+	 */
+	public int[] getLabels() {
+		return labels;
+	}
+
+	/**
+	 * Get the label of the given pixel.
+	 *
+	 * @param x
+	 *            the x-ordinate
+	 * @param y
+	 *            the y-ordinate
+	 * @return the label, or 0 if the pixel is background
+	 */
+	public int getLabel(int x, int y) {
+		return labels[y * width + x];
+	}
+
+	/**
+	 * Get the number of pixels in the given component.
+	 *
+	 * @param label
+	 *            the component label
+	 * @return the area
+	 */
+	public int getArea(int label) {
+		checkLabel(label);
+		return area[label];
+	}
+
+	/**
+	 * Get the bounding box of the given component. The box is computed in the
+	 * same way as {@link ConnectedComponent#calculateRegularBoundingBox()}.
+	 *
+	 * @param label
+	 *            the component label
+	 * @return the bounding box
+	 */
+	public Rectangle getBounds(int label) {
+		checkLabel(label);
+		return new Rectangle(minX[label], minY[label], maxX[label] - minX[label], maxY[label] - minY[label]);
+	}
+
+	/**
+	 * Get the centroid of the given component.
+	 *
+	 * @param label
+	 *            the component label
+	 * @return the centroid
+	 */
+	public Point2dImpl getCentroid(int label) {
+		checkLabel(label);
+		return new Point2dImpl((float) ((double) sumX[label] / area[label]),
+				(float) ((double) sumY[label] / area[label]));
+	}
+
+	/**
+	 * Get the raw moment M<sub>pq</sub> of the given component. Moments up to
+	 * second order (<code>p + q &lt;= 2</code>) are available.
+	 *
+	 * @param label
+	 *            the component label
+	 * @param p
+	 *            the order in x
+	 * @param q
+	 *            the order in y
+	 * @return the moment
+	 * @throws IllegalArgumentException
+	 *             if the order of the moment is greater than two
+	 */
+	public double getRawMoment(int label, int p, int q) {
+		checkLabel(label);
+
+		if (p == 0 && q == 0)
+			return area[label];
+		if (p == 1 && q == 0)
+			return sumX[label];
+		if (p == 0 && q == 1)
+			return sumY[label];
+		if (p == 2 && q == 0)
+			return sumXX[label];
+		if (p == 0 && q == 2)
+			return sumYY[label];
+		if (p == 1 && q == 1)
+			return sumXY[label];
+
+		throw new IllegalArgumentException("Only moments up to second order are available");
+	}
+
+	/**
+	 * Get the central moment &mu;<sub>pq</sub> of the given component. Moments
+	 * up to second order (<code>p + q &lt;= 2</code>) are available. The
+	 * values match those from {@link ConnectedComponent#calculateMoment(int, int)}.
+	 *
+	 * @param label
+	 *            the component label
+	 * @param p
+	 *            the order in x
+	 * @param q
+	 *            the order in y
+	 * @return the moment
+	 * @throws IllegalArgumentException
+	 *             if the order of the moment is greater than two
+	 */
+	public double getCentralMoment(int label, int p, int q) {
+		checkLabel(label);
+
+		final double m00 = area[label];
+		if (p == 0 && q == 0)
+			return m00;
+		if ((p == 1 && q == 0) || (p == 0 && q == 1))
+			return 0;
+		if (p == 2 && q == 0)
+			return sumXX[label] - (double) sumX[label] * sumX[label] / m00;
+		if (p == 0 && q == 2)
+			return sumYY[label] - (double) sumY[label] * sumY[label] / m00;
+		if (p == 1 && q == 1)
+			return sumXY[label] - (double) sumX[label] * sumY[label] / m00;
+
+		throw new IllegalArgumentException("Only moments up to second order are available");
+	}
+
+	/**
+	 * Get the {@link ConnectedComponent} with the given label. The component
+	 * is built from the label map the first time it is requested and cached
+	 * thereafter.
+	 *
+	 * @param label
+	 *            the component label
+	 * @return the component
+	 */
+	public synchronized ConnectedComponent getComponent(int label) {
+		checkLabel(label);
+
+		if (components == null)
+			components = new ConnectedComponent[numComponents + 1];
+
+		if (components[label] == null) {
+			final ConnectedComponent cc = new ConnectedComponent();
+
+			for (int y = minY[label]; y <= maxY[label]; y++) {
+				final int row = y * width;
+				for (int x = minX[label]; x <= maxX[label]; x++) {
+					if (labels[row + x] == label)
+						cc.addPixel(x, y);
+				}
+			}
+
+			components[label] = cc;
+		}
+
+		return components[label];
+	}
+
+	/**
+	 * Get all the components in label order. This forces all the components
+	 * to be built; if only statistics are required, it is much cheaper to
+	 * use the accessors of this class directly.
+	 *
+	 * @return the components
+	 */
+	public List<ConnectedComponent> getComponents() {
+		final List<ConnectedComponent> list = new ArrayList<ConnectedComponent>(numComponents);
+		for (int i = 1; i <= numComponents; i++)
+			list.add(getComponent(i));
+		return list;
+	}
+
+	private void checkLabel(int label) {
+		if (label < 1 || label > numComponents)
+			throw new IllegalArgumentException("Invalid component label: " + label);
+	}
+}
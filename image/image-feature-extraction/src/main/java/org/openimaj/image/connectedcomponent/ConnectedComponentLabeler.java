@@ -289,6 +289,18 @@ public class ConnectedComponentLabeler implements ImageAnalyser<FImage> {
 				// 13. Return.
 				return cc;
 			}
+		},
+		/**
+		 * Union-find labelling of horizontal runs of pixels. See
+		 * {@link RunLengthConnectedComponentLabeler}.
+		 *
+		 * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+		 */
+		RUN_LENGTH {
+			@Override
+			public List<ConnectedComponent> findComponents(FImage image, float bgThreshold, ConnectMode mode) {
+				return new RunLengthConnectedComponentLabeler(bgThreshold, mode).label(image).getComponents();
+			}
 		};
 
 		/**
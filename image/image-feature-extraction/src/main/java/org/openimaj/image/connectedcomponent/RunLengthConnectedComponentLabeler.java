@@ -0,0 +1,326 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.connectedcomponent;
+
+import gnu.trove.list.array.TIntArrayList;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.image.FImage;
+import org.openimaj.image.analyser.ImageAnalyser;
+import org.openimaj.image.pixel.ConnectedComponent;
+import org.openimaj.image.pixel.ConnectedComponent.ConnectMode;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+/**
+ * A connected component labeler that works on horizontal runs of foreground
+ * pixels rather than individual pixels. The runs of each row are extracted
+ * and unioned with the overlapping runs of the previous row using a
+ * union-find structure; the resolved labels are then written into a flat
+ * <code>int[]</code> label map, and the area, bounding box and moments of
+ * each component are accumulated directly from the runs.
+ * <p>
+ * Unlike {@link ConnectedComponentLabeler}, no per-pixel objects are created;
+ * the result is a {@link ConnectedComponentLabelMap} from which
+ * {@link ConnectedComponent}s can be built on demand.
+ * <p>
+ * If a thread pool is provided, the image is split into horizontal strips
+ * that are labelled independently and then merged across the strip
+ * boundaries. The result is identical to the sequential labelling.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class RunLengthConnectedComponentLabeler implements ImageAnalyser<FImage> {
+	private static final int MIN_STRIP_HEIGHT = 64;
+
+	protected float bgThreshold = 0;
+	protected ConnectMode mode;
+	private ThreadPoolExecutor pool;
+	private ConnectedComponentLabelMap labelMap;
+
+	/**
+	 * Construct with background pixels having a value of 0 or less, and the
+	 * given {@link ConnectMode}.
+	 *
+	 * @param mode
+	 *            the connection mode.
+	 */
+	public RunLengthConnectedComponentLabeler(ConnectMode mode) {
+		this.mode = mode;
+	}
+
+	/**
+	 * Construct using the given background pixel threshold and
+	 * {@link ConnectMode}.
+	 *
+	 * @param bgThreshold
+	 *            threshold at which pixels with lower values are considered to
+	 *            be the background
+	 * @param mode
+	 *            the connection mode.
+	 */
+	public RunLengthConnectedComponentLabeler(float bgThreshold, ConnectMode mode) {
+		this.bgThreshold = bgThreshold;
+		this.mode = mode;
+	}
+
+	/**
+	 * Set the pool used to label strips of the image in parallel. If the pool
+	 * is <code>null</code> (the default), the image is labelled sequentially.
+	 *
+	 * @param pool
+	 *            the pool
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Syntactic sugar for calling {@link #analyseImage(FImage)} followed by
+	 * {@link #getLabelMap()}.
+	 *
+	 * @param image
+	 *            the image to label
+	 * @return the label map
+	 */
+	public ConnectedComponentLabelMap label(FImage image) {
+		analyseImage(image);
+		return labelMap;
+	}
+
+	/**
+	 * @return the label map computed by the last call to
+	 *         {@link #analyseImage(FImage)}.
+	 */
+	public ConnectedComponentLabelMap getLabelMap() {
+		return labelMap;
+	}
+
+	/**
+	 * The runs of a horizontal strip of the image, together with their local
+	 * union-find forest.
+	 */
+	private static class Strip {
+		final int y0;
+		final int y1;
+		final TIntArrayList starts = new TIntArrayList();
+		final TIntArrayList ends = new TIntArrayList();
+		final int[] rowPtr;
+		int[] parent;
+
+		Strip(int y0, int y1) {
+			this.y0 = y0;
+			this.y1 = y1;
+			this.rowPtr = new int[y1 - y0 + 1];
+		}
+
+		void label(FImage image, float bgThreshold, int off) {
+			final float[][] pix = image.pixels;
+			final int width = image.width;
+
+			for (int y = y0; y < y1; y++) {
+				final float[] row = pix[y];
+				rowPtr[y - y0] = starts.size();
+
+				int x = 0;
+				while (x < width) {
+					while (x < width && !(row[x] > bgThreshold))
+						x++;
+					if (x == width)
+						break;
+
+					starts.add(x);
+					while (x < width && row[x] > bgThreshold)
+						x++;
+					ends.add(x - 1);
+				}
+			}
+			rowPtr[y1 - y0] = starts.size();
+
+			final int n = starts.size();
+			parent = new int[n];
+			for (int i = 0; i < n; i++)
+				parent[i] = i;
+
+			final int[] s = starts.toArray();
+			final int[] e = ends.toArray();
+			for (int r = 1; r < rowPtr.length - 1; r++)
+				linkRows(s, e, parent, rowPtr[r - 1], rowPtr[r], rowPtr[r], rowPtr[r + 1], off);
+		}
+	}
+
+	@Override
+	public void analyseImage(final FImage image) {
+		final int width = image.width;
+		final int height = image.height;
+		final int off = mode == ConnectMode.CONNECT_8 ? 1 : 0;
+
+		// split the image into strips and label each independently
+		final int nStrips;
+		if (pool == null || height < 2 * MIN_STRIP_HEIGHT)
+			nStrips = 1;
+		else
+			nStrips = Math.max(1, Math.min(pool.getMaximumPoolSize(), height / MIN_STRIP_HEIGHT));
+
+		final Strip[] strips = new Strip[nStrips];
+		for (int i = 0; i < nStrips; i++)
+			strips[i] = new Strip(i * height / nStrips, (i + 1) * height / nStrips);
+
+		if (nStrips == 1) {
+			strips[0].label(image, bgThreshold, off);
+		} else {
+			Parallel.forRange(0, nStrips, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					for (int i = range.start; i < range.stop; i += range.incr)
+						strips[i].label(image, bgThreshold, off);
+				}
+			}, pool);
+		}
+
+		// concatenate the strips into global run tables
+		int nRuns = 0;
+		for (final Strip st : strips)
+			nRuns += st.starts.size();
+
+		final int[] starts = new int[nRuns];
+		final int[] ends = new int[nRuns];
+		final int[] parent = new int[nRuns];
+		final int[] rowPtr = new int[height + 1];
+
+		int base = 0;
+		for (final Strip st : strips) {
+			final int n = st.starts.size();
+			st.starts.toArray(starts, 0, base, n);
+			st.ends.toArray(ends, 0, base, n);
+			for (int i = 0; i < n; i++)
+				parent[base + i] = st.parent[i] + base;
+			for (int y = st.y0; y < st.y1; y++)
+				rowPtr[y] = st.rowPtr[y - st.y0] + base;
+			base += n;
+		}
+		rowPtr[height] = nRuns;
+
+		// merge across the strip boundaries
+		for (int i = 1; i < nStrips; i++) {
+			final int y = strips[i].y0;
+			if (y > 0)
+				linkRows(starts, ends, parent, rowPtr[y - 1], rowPtr[y], rowPtr[y], rowPtr[y + 1], off);
+		}
+
+		// resolve the labels; every root is the first run of its component
+		// in raster order, so labels are assigned in that order too
+		final int[] runLabels = new int[nRuns];
+		int nComponents = 0;
+		for (int i = 0; i < nRuns; i++) {
+			final int root = find(parent, i);
+			if (root == i)
+				runLabels[i] = ++nComponents;
+			else
+				runLabels[i] = runLabels[root];
+		}
+
+		final ConnectedComponentLabelMap map = new ConnectedComponentLabelMap(width, height, nComponents);
+		for (int y = 0; y < height; y++) {
+			for (int i = rowPtr[y]; i < rowPtr[y + 1]; i++)
+				map.addRun(runLabels[i], y, starts[i], ends[i]);
+		}
+
+		final int[] labels = map.getLabels();
+		if (nStrips == 1) {
+			fill(labels, width, rowPtr, starts, ends, runLabels, 0, height);
+		} else {
+			Parallel.forRange(0, nStrips, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					for (int i = range.start; i < range.stop; i += range.incr)
+						fill(labels, width, rowPtr, starts, ends, runLabels, strips[i].y0, strips[i].y1);
+				}
+			}, pool);
+		}
+
+		this.labelMap = map;
+	}
+
+	private static void fill(int[] labels, int width, int[] rowPtr, int[] starts, int[] ends, int[] runLabels, int y0,
+			int y1)
+	{
+		for (int y = y0; y < y1; y++) {
+			final int row = y * width;
+			for (int i = rowPtr[y]; i < rowPtr[y + 1]; i++) {
+				final int label = runLabels[i];
+				for (int x = starts[i], e = ends[i]; x <= e; x++)
+					labels[row + x] = label;
+			}
+		}
+	}
+
+	/**
+	 * Union the overlapping runs of two adjacent rows. Runs overlap if they
+	 * share a column, or (for 8-connectivity) are diagonally adjacent.
+	 */
+	private static void linkRows(int[] starts, int[] ends, int[] parent, int a0, int a1, int b0, int b1, int off) {
+		int i = a0, j = b0;
+
+		while (i < a1 && j < b1) {
+			if (starts[j] <= ends[i] + off && starts[i] <= ends[j] + off)
+				union(parent, i, j);
+
+			if (ends[i] < ends[j])
+				i++;
+			else
+				j++;
+		}
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	/**
+	 * Union two sets, always making the smaller index the root so that the
+	 * root of each set is its first run in raster order.
+	 */
+	private static void union(int[] parent, int a, int b) {
+		final int ra = find(parent, a);
+		final int rb = find(parent, b);
+
+		if (ra < rb)
+			parent[rb] = ra;
+		else if (rb < ra)
+			parent[ra] = rb;
+	}
+}
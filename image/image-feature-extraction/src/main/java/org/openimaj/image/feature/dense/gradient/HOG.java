@@ -153,4 +153,24 @@ public class HOG implements ImageAnalyser<FImage> {
 	public Histogram getFeatureVector(Rectangle rectangle) {
 		return currentHist = strategy.extract(extractor, rectangle, currentHist);
 	}
+
+	/**
+	 * Get the underlying gradient orientation histogram extractor. After
+	 * {@link #analyseImage(FImage)} has been called, this can be used to
+	 * compute the histogram of any window of the analysed image.
+	 *
+	 * @return the gradient orientation histogram extractor
+	 */
+	public GradientOrientationHistogramExtractor getExtractor() {
+		return extractor;
+	}
+
+	/**
+	 * Get the spatial binning strategy used to build the features.
+	 *
+	 * @return the spatial binning strategy
+	 */
+	public SpatialBinningStrategy getStrategy() {
+		return strategy;
+	}
 }
@@ -189,6 +189,120 @@ public class FlexibleHOGStrategy implements SpatialBinningStrategy {
 		return output;
 	}
 
+	/**
+	 * Compute the normalised blocks of a dense grid of cells of a fixed size.
+	 * The top-left cell of the grid is at the given position, and cells are
+	 * laid out contiguously. Element <code>[y][x]</code> of the returned array
+	 * is the normalised block whose top-left cell is cell <code>(x, y)</code>
+	 * of the grid.
+	 * <p>
+	 * The descriptor of any window of {@link #getNumCellsX()} by
+	 * {@link #getNumCellsY()} grid cells is the concatenation of the blocks at
+	 * <code>[wy + j * blockStepY][wx + i * blockStepX]</code> (in row-major
+	 * order of <code>(i, j)</code>), where <code>(wx, wy)</code> is the
+	 * window's top-left cell. This is identical to the output of
+	 * {@link #extract(WindowedHistogramExtractor, Rectangle, Histogram)} for
+	 * the corresponding window, but each block is only computed once however
+	 * many windows contain it.
+	 * <p>
+	 * Unlike {@link #extract(WindowedHistogramExtractor, Rectangle, Histogram)}
+	 * this method does not use any internal state, so it can be called
+	 * concurrently.
+	 *
+	 * @param binnedData
+	 *            the binned data
+	 * @param x
+	 *            the x-ordinate of the top-left of the grid
+	 * @param y
+	 *            the y-ordinate of the top-left of the grid
+	 * @param cellWidth
+	 *            the width of each cell
+	 * @param cellHeight
+	 *            the height of each cell
+	 * @param gridWidth
+	 *            the number of cells in the x direction
+	 * @param gridHeight
+	 *            the number of cells in the y direction
+	 * @return the grid of normalised blocks
+	 */
+	public Histogram[][] extractBlockGrid(WindowedHistogramExtractor binnedData, int x, int y, int cellWidth,
+			int cellHeight, int gridWidth, int gridHeight)
+	{
+		final int nbins = binnedData.getNumBins();
+		final int area = cellsPerBlockX * cellsPerBlockY;
+
+		final Histogram[][] gridCells = new Histogram[gridHeight][gridWidth];
+		for (int j = 0, yy = y; j < gridHeight; j++, yy += cellHeight) {
+			for (int i = 0, xx = x; i < gridWidth; i++, xx += cellWidth) {
+				gridCells[j][i] = new Histogram(nbins);
+				binnedData.computeHistogram(xx, yy, cellWidth, cellHeight, gridCells[j][i]);
+				gridCells[j][i].normaliseL2();
+			}
+		}
+
+		final int blocksX = Math.max(0, gridWidth - cellsPerBlockX + 1);
+		final int blocksY = Math.max(0, gridHeight - cellsPerBlockY + 1);
+		final Histogram[][] gridBlocks = new Histogram[blocksY][blocksX];
+		for (int by = 0; by < blocksY; by++) {
+			for (int bx = 0; bx < blocksX; bx++) {
+				final Histogram block = new Histogram(nbins * area);
+
+				for (int j = 0, k = 0; j < cellsPerBlockY; j++) {
+					for (int i = 0; i < cellsPerBlockX; i++, k += nbins) {
+						System.arraycopy(gridCells[by + j][bx + i].values, 0, block.values, k, nbins);
+					}
+				}
+
+				norm.normalise(block, area);
+				gridBlocks[by][bx] = block;
+			}
+		}
+
+		return gridBlocks;
+	}
+
+	/**
+	 * @return the number of cells per window in the x direction
+	 */
+	public int getNumCellsX() {
+		return numCellsX;
+	}
+
+	/**
+	 * @return the number of cells per window in the y direction
+	 */
+	public int getNumCellsY() {
+		return numCellsY;
+	}
+
+	/**
+	 * @return the number of blocks per window in the x direction
+	 */
+	public int getNumBlocksX() {
+		return numBlocksX;
+	}
+
+	/**
+	 * @return the number of blocks per window in the y direction
+	 */
+	public int getNumBlocksY() {
+		return numBlocksY;
+	}
+
+	/**
+	 * @return the amount each block is shifted in the x direction (in cells)
+	 */
+	public int getBlockStepX() {
+		return blockStepX;
+	}
+
+	/**
+	 * @return the amount each block is shifted in the y direction (in cells)
+	 */
+	public int getBlockStepY() {
+		return blockStepY;
+	}
+
 	private void computeBlocks(Histogram[][] cells) {
 		for (int y = 0; y < numBlocksY; y++) {
 			for (int x = 0; x < numBlocksX; x++) {
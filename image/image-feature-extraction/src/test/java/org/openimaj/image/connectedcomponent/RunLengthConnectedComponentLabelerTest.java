@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.connectedcomponent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.image.FImage;
+import org.openimaj.image.pixel.ConnectedComponent;
+import org.openimaj.image.pixel.ConnectedComponent.ConnectMode;
+import org.openimaj.image.pixel.Pixel;
+import org.openimaj.math.geometry.shape.Rectangle;
+
+/**
+ * Tests for {@link RunLengthConnectedComponentLabeler}
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class RunLengthConnectedComponentLabelerTest {
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Create the pool
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void teardown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Create a random binary image with the given density of foreground
+	 * pixels, plus a snake-like component that crosses every strip
+	 */
+	private static FImage randomImage(int width, int height, double density, long seed) {
+		final Random rng = new Random(seed);
+		final FImage image = new FImage(width, height);
+
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				image.pixels[y][x] = rng.nextDouble() < density ? 1 : 0;
+
+		// a diagonal staircase, which is only connected with 8-connectivity
+		for (int y = 0; y < height; y++)
+			image.pixels[y][(y / 2) % width] = 1;
+
+		return image;
+	}
+
+	/**
+	 * Test that the run-length labeler finds exactly the same components as
+	 * the {@link ConnectedComponentLabeler}, with the same areas, bounds and
+	 * moments, for both connectivities, with and without strip-parallel
+	 * labelling.
+	 */
+	@Test
+	public void testMatchesConnectedComponentLabeler() {
+		final double[] densities = { 0.2, 0.45, 0.6 };
+		final int[][] sizes = { { 50, 40 }, { 97, 300 }, { 300, 517 } };
+
+		for (final ConnectMode mode : ConnectMode.values()) {
+			for (final int[] size : sizes) {
+				for (final double density : densities) {
+					final FImage image = randomImage(size[0], size[1], density, size[1]);
+					final List<ConnectedComponent> expected = new ConnectedComponentLabeler(
+							ConnectedComponentLabeler.Algorithm.TWO_PASS, mode).findComponents(image);
+
+					final RunLengthConnectedComponentLabeler labeler = new RunLengthConnectedComponentLabeler(mode);
+					check(expected, labeler.label(image), image);
+
+					labeler.setThreadPool(pool);
+					check(expected, labeler.label(image), image);
+				}
+			}
+		}
+	}
+
+	private static void check(List<ConnectedComponent> expected, ConnectedComponentLabelMap map, FImage image) {
+		assertEquals(expected.size(), map.getNumComponents());
+
+		// every pixel must be labelled consistently with the reference
+		final Map<Integer, ConnectedComponent> labelToComponent = new HashMap<Integer, ConnectedComponent>();
+		for (final ConnectedComponent cc : expected) {
+			Integer label = null;
+			for (final Pixel p : cc.pixels) {
+				final int l = map.getLabel(p.x, p.y);
+				if (label == null)
+					label = l;
+				assertEquals(label.intValue(), l);
+			}
+			assertEquals(null, labelToComponent.put(label, cc));
+		}
+
+		// the labels are assigned in raster order of first appearance
+		int background = 0;
+		int maxLabel = 0;
+		for (int y = 0; y < image.height; y++) {
+			for (int x = 0; x < image.width; x++) {
+				final int l = map.getLabel(x, y);
+				if (l == 0)
+					background++;
+				else if (l > maxLabel)
+					assertEquals(++maxLabel, l);
+			}
+		}
+
+		int foreground = 0;
+		for (final ConnectedComponent cc : expected)
+			foreground += cc.calculateArea();
+		assertEquals(image.width * image.height - foreground, background);
+
+		for (int label = 1; label <= map.getNumComponents(); label++) {
+			final ConnectedComponent cc = labelToComponent.get(label);
+			assertNotNull(cc);
+
+			assertEquals(cc.calculateArea(), map.getArea(label));
+			assertEquals(cc.pixels, map.getComponent(label).pixels);
+
+			final Rectangle expBounds = cc.calculateRegularBoundingBox();
+			final Rectangle bounds = map.getBounds(label);
+			assertEquals(expBounds.x, bounds.x, 0);
+			assertEquals(expBounds.y, bounds.y, 0);
+			assertEquals(expBounds.width, bounds.width, 0);
+			assertEquals(expBounds.height, bounds.height, 0);
+
+			final double[] centroid = cc.calculateCentroid();
+			assertEquals(centroid[0], map.getCentroid(label).x, 1e-4);
+			assertEquals(centroid[1], map.getCentroid(label).y, 1e-4);
+
+			for (int p = 0; p <= 2; p++) {
+				for (int q = 0; p + q <= 2; q++) {
+					final double raw = cc.calculateMoment(p, q, 0, 0);
+					assertEquals(raw, map.getRawMoment(label, p, q), 1e-9 * Math.max(1, Math.abs(raw)));
+
+					final double central = cc.calculateMoment(p, q);
+					assertEquals(central, map.getCentralMoment(label, p, q), 1e-6 * Math.max(1, Math.abs(raw)));
+				}
+			}
+		}
+	}
+}
@@ -41,7 +41,10 @@ import org.openimaj.image.processor.SinglebandImageProcessor;
 
 /**
  * A DoGOctave is capable of processing an octave of Gaussian blurred
- * images to produce an octave of difference-of-Gaussian images.
+ * images to produce an octave of difference-of-Gaussian images. If the
+ * options of the pyramid have a buffer pool, the difference-of-Gaussian
+ * images are drawn from it and can be returned to it with
+ * {@link #releaseImages()}.
  * 
  * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
  * 
@@ -75,7 +78,10 @@ public class DoGOctave<
 		
 		//compute DoG by subtracting adjacent levels 
 		for (int i = 0; i < images.length; i++) {
-			images[i] = octave.images[i].clone();
+			if (options.getBufferPool() != null)
+				images[i] = options.getBufferPool().acquireCopy(octave.images[i]);
+			else
+				images[i] = octave.images[i].clone();
 			images[i].subtractInplace(octave.images[i + 1]);
 		}
 	}
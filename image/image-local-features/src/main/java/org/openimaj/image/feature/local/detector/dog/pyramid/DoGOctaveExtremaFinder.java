@@ -95,6 +95,9 @@ public class DoGOctaveExtremaFinder
 		dogOctave.process(octave);
 		
 		innerFinder.process(dogOctave);
+		
+		// the DoG octave is discarded, so its images can be reused
+		dogOctave.releaseImages();
 	}
 
 	@Override
@@ -104,7 +107,9 @@ public class DoGOctaveExtremaFinder
 	
 	/**
 	 * Get the difference-of-Gaussian octave corresponding to
-	 * the current Gaussian octave.
+	 * the current Gaussian octave. If the pyramid has a buffer
+	 * pool, the images of the octave are only available while
+	 * the inner finder is processing it.
 	 * @return the difference-of-Gaussian octave
 	 */
 	public GaussianOctave<FImage> getDoGOctave() {
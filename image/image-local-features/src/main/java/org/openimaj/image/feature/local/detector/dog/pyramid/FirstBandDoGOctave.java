@@ -39,7 +39,10 @@ import org.openimaj.image.analysis.pyramid.gaussian.GaussianPyramid;
 /**
  * A {@link FirstBandDoGOctave} works like a {@link DoGOctave},
  * but with an {@link MBFImage}, however, only the first band of 
- * the {@link MBFImage} is used to build the DoG pyramid.
+ * the {@link MBFImage} is used to build the DoG pyramid. If the
+ * options of the pyramid have a buffer pool, the difference-of-Gaussian
+ * images are drawn from it and can be returned to it with
+ * {@link #releaseImages()}.
  * 
  * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
  *
@@ -70,7 +73,10 @@ public class FirstBandDoGOctave
 		
 		//compute DoG by subtracting adjacent levels 
 		for (int i = 0; i < images.length; i++) {
-			images[i] = octave.images[i].bands.get(0).clone();
+			if (options.getBufferPool() != null)
+				images[i] = options.getBufferPool().acquireCopy(octave.images[i].bands.get(0));
+			else
+				images[i] = octave.images[i].bands.get(0).clone();
 			images[i].subtractInplace(octave.images[i + 1].bands.get(0));
 		}
 	}
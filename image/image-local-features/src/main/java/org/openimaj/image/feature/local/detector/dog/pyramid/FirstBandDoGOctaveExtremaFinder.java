@@ -31,6 +31,7 @@ package org.openimaj.image.feature.local.detector.dog.pyramid;
 
 import org.openimaj.image.FImage;
 import org.openimaj.image.MBFImage;
+import org.openimaj.image.analysis.pyramid.ImageBufferPool;
 import org.openimaj.image.analysis.pyramid.gaussian.GaussianOctave;
 import org.openimaj.image.analysis.pyramid.gaussian.GaussianPyramid;
 import org.openimaj.image.analysis.pyramid.gaussian.GaussianPyramidOptions;
@@ -56,6 +57,7 @@ public class FirstBandDoGOctaveExtremaFinder
 	FirstBandDoGOctave dogOctave;	//a difference-of-Gaussian octave constructed from the Gaussian one
 	OctaveInterestPointFinder<GaussianOctave<FImage>, FImage> innerFinder; //the finder that is applied to the DoG
 	OctaveInterestPointListener<GaussianOctave<MBFImage>, MBFImage> listener; //a listener that is fired as interest points are detected
+	ImageBufferPool<FImage> bufferPool; //pool for the DoG images if the Gaussian octaves are pooled
 	
 	/**
 	 * Construct with the given finder.
@@ -77,6 +79,16 @@ public class FirstBandDoGOctaveExtremaFinder
 		this.listener = listener;
 	}
 
+	/**
+	 * Set the pool from which the single-band difference-of-Gaussian
+	 * images are drawn when the Gaussian pyramid has a buffer pool. If
+	 * no pool is set, one is created when it is first needed.
+	 * @param bufferPool the pool
+	 */
+	public void setBufferPool(ImageBufferPool<FImage> bufferPool) {
+		this.bufferPool = bufferPool;
+	}
+	
 	@Override
 	public void setOctaveInterestPointListener(OctaveInterestPointListener<GaussianOctave<MBFImage>, MBFImage> listener) {
 		this.listener = listener;
@@ -92,12 +104,24 @@ public class FirstBandDoGOctaveExtremaFinder
 		gaussianOctave = octave;
 		
 		GaussianPyramidOptions<FImage> opts = new GaussianPyramidOptions<FImage>(octave.options);
+		
+		// the DoG images are single band, so can't share the pool of
+		// the colour pyramid
+		if (octave.options.getBufferPool() != null) {
+			if (bufferPool == null)
+				bufferPool = new ImageBufferPool<FImage>();
+			opts.setBufferPool(bufferPool);
+		}
+		
 		GaussianPyramid<FImage> gp = new GaussianPyramid<FImage>(opts);
 		
 		dogOctave = new FirstBandDoGOctave(gp, octave.octaveSize);
 		dogOctave.process(octave);
 		
 		innerFinder.process(dogOctave);
+		
+		// the DoG octave is discarded, so its images can be reused
+		dogOctave.releaseImages();
 	}
 
 	@Override
@@ -107,7 +131,9 @@ public class FirstBandDoGOctaveExtremaFinder
 	
 	/**
 	 * Get the difference-of-Gaussian octave corresponding to
-	 * the current Gaussian octave.
+	 * the current Gaussian octave. If the pyramid has a buffer
+	 * pool, the images of the octave are only available while
+	 * the inner finder is processing it.
 	 * @return the difference-of-Gaussian octave
 	 */
 	public GaussianOctave<FImage> getDoGOctave() {
@@ -35,6 +35,7 @@ import org.openimaj.citation.annotation.References;
 import org.openimaj.feature.local.list.LocalFeatureList;
 import org.openimaj.image.FImage;
 import org.openimaj.image.MBFImage;
+import org.openimaj.image.analysis.pyramid.ImageBufferPool;
 import org.openimaj.image.analysis.pyramid.gaussian.GaussianOctave;
 import org.openimaj.image.analysis.pyramid.gaussian.GaussianPyramid;
 import org.openimaj.image.colour.ColourSpace;
@@ -46,7 +47,6 @@ import org.openimaj.image.feature.local.detector.dog.extractor.DominantOrientati
 import org.openimaj.image.feature.local.detector.dog.extractor.OrientationHistogramExtractor;
 import org.openimaj.image.feature.local.detector.dog.pyramid.FirstBandDoGOctaveExtremaFinder;
 import org.openimaj.image.feature.local.detector.pyramid.BasicOctaveExtremaFinder;
-import org.openimaj.image.feature.local.detector.pyramid.OctaveInterestPointFinder;
 import org.openimaj.image.feature.local.keypoints.Keypoint;
 
 /**
@@ -97,6 +97,7 @@ import org.openimaj.image.feature.local.keypoints.Keypoint;
 })
 public class DoGColourSIFTEngine implements Engine<Keypoint, MBFImage> {
 	DoGSIFTEngineOptions<MBFImage> options;
+	ImageBufferPool<FImage> dogBufferPool;
 
 	/**
 	 * Construct with the default values for the {@link DoGSIFTEngineOptions}.
@@ -141,7 +142,7 @@ public class DoGColourSIFTEngine implements Engine<Keypoint, MBFImage> {
 	}
 
 	protected LocalFeatureList<Keypoint> findFeaturesInternal(MBFImage image) {
-		final OctaveInterestPointFinder<GaussianOctave<MBFImage>, MBFImage> finder =
+		final FirstBandDoGOctaveExtremaFinder finder =
 				new FirstBandDoGOctaveExtremaFinder(new BasicOctaveExtremaFinder(options.magnitudeThreshold,
 						options.eigenvalueRatio));
 
@@ -168,6 +169,14 @@ public class DoGColourSIFTEngine implements Engine<Keypoint, MBFImage> {
 
 		finder.setOctaveInterestPointListener(collector);
 
+		// keep the pool of difference-of-Gaussian images between calls if
+		// the colour images are pooled
+		if (options.getBufferPool() != null) {
+			if (dogBufferPool == null)
+				dogBufferPool = new ImageBufferPool<FImage>();
+			finder.setBufferPool(dogBufferPool);
+		}
+
 		options.setOctaveProcessor(finder);
 
 		final GaussianPyramid<MBFImage> pyr = new GaussianPyramid<MBFImage>(options);
@@ -29,6 +29,7 @@
  */
 package org.openimaj.image.feature.local.engine;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -37,6 +38,7 @@ import org.openimaj.feature.local.list.LocalFeatureList;
 import org.openimaj.feature.local.matcher.BasicMatcher;
 import org.openimaj.image.FImage;
 import org.openimaj.image.MBFImage;
+import org.openimaj.image.analysis.pyramid.ImageBufferPool;
 import org.openimaj.image.feature.local.keypoints.Keypoint;
 import org.openimaj.math.geometry.shape.Circle;
 
@@ -113,4 +115,28 @@ public class DoGColourSIFTEngineTest {
 		assertEquals(0, bm.getMatches().size());
 		
 	}
+	
+	/**
+	 * Test that drawing the images from a buffer pool gives the same features
+	 */
+	@Test
+	public void testPooled() {
+		DoGColourSIFTEngine engine = new DoGColourSIFTEngine();
+		DoGColourSIFTEngine pooled = new DoGColourSIFTEngine();
+		pooled.getOptions().setBufferPool(new ImageBufferPool<MBFImage>());
+		
+		for (MBFImage image : new MBFImage[] { im1, im2, im3, im1 }) {
+			LocalFeatureList<Keypoint> expected = engine.findFeatures(image);
+			LocalFeatureList<Keypoint> actual = pooled.findFeatures(image);
+			
+			assertTrue(expected.size() > 0);
+			assertEquals(expected.size(), actual.size());
+			for (int i=0; i<expected.size(); i++) {
+				assertEquals(expected.get(i).x, actual.get(i).x, 0f);
+				assertEquals(expected.get(i).y, actual.get(i).y, 0f);
+				assertEquals(expected.get(i).scale, actual.get(i).scale, 0f);
+				assertArrayEquals(expected.get(i).ivec, actual.get(i).ivec);
+			}
+		}
+	}
 }
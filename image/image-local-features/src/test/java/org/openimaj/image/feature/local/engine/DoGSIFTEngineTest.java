@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.feature.local.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.openimaj.feature.local.list.LocalFeatureList;
+import org.openimaj.image.FImage;
+import org.openimaj.image.analysis.pyramid.ImageBufferPool;
+import org.openimaj.image.feature.local.keypoints.Keypoint;
+import org.openimaj.math.geometry.shape.Circle;
+
+/**
+ * Tests for {@link DoGSIFTEngine}.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class DoGSIFTEngineTest {
+	/**
+	 * Counts the images acquired from the pool that it hasn't handed out
+	 * before, and the images released to the pool that were created
+	 * elsewhere
+	 */
+	static class CountingBufferPool extends ImageBufferPool<FImage> {
+		Set<FImage> seen = Collections.newSetFromMap(new IdentityHashMap<FImage, Boolean>());
+		int created;
+		int foreign;
+
+		@Override
+		public FImage acquire(FImage template, int width, int height) {
+			final FImage image = super.acquire(template, width, height);
+			if (seen.add(image))
+				created++;
+			return image;
+		}
+
+		@Override
+		public void release(FImage image) {
+			if (seen.add(image))
+				foreign++;
+			super.release(image);
+		}
+	}
+
+	private static FImage[] createImages() {
+		final Random rng = new Random(0);
+		final FImage[] images = new FImage[3];
+		for (int i = 0; i < images.length; i++) {
+			images[i] = new FImage(160, 120);
+			for (int j = 0; j < 5; j++)
+				images[i].drawShapeFilled(new Circle(rng.nextInt(160), rng.nextInt(120), 5 + rng.nextInt(20)),
+						rng.nextFloat());
+		}
+		return images;
+	}
+
+	private static void assertFeaturesEqual(LocalFeatureList<Keypoint> expected, LocalFeatureList<Keypoint> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).x, actual.get(i).x, 0f);
+			assertEquals(expected.get(i).y, actual.get(i).y, 0f);
+			assertEquals(expected.get(i).scale, actual.get(i).scale, 0f);
+			assertEquals(expected.get(i).ori, actual.get(i).ori, 0f);
+			assertArrayEquals(expected.get(i).ivec, actual.get(i).ivec);
+		}
+	}
+
+	/**
+	 * Test that drawing the Gaussian and difference-of-Gaussian images from a
+	 * buffer pool gives the same features, and that once the first image has
+	 * been processed no more images are created
+	 */
+	@Test
+	public void testPooled() {
+		final FImage[] images = createImages();
+
+		final CountingBufferPool bufferPool = new CountingBufferPool();
+		final DoGSIFTEngine pooled = new DoGSIFTEngine();
+		pooled.getOptions().setDoubleInitialImage(false);
+		pooled.getOptions().setBufferPool(bufferPool);
+
+		final DoGSIFTEngine engine = new DoGSIFTEngine();
+		engine.getOptions().setDoubleInitialImage(false);
+
+		for (int i = 0; i < images.length; i++) {
+			if (i == 1) {
+				bufferPool.created = 0;
+				bufferPool.foreign = 0;
+			}
+
+			final LocalFeatureList<Keypoint> expected = engine.findFeatures(images[i]);
+			assertTrue(expected.size() > 0);
+			assertFeaturesEqual(expected, pooled.findFeatures(images[i]));
+		}
+
+		assertEquals(0, bufferPool.created);
+		assertEquals(0, bufferPool.foreign);
+	}
+}
@@ -0,0 +1,466 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.analysis.algorithm;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.image.FImage;
+import org.openimaj.image.analyser.ImageAnalyser;
+import org.openimaj.image.analysis.algorithm.TemplateMatcher.Mode;
+import org.openimaj.image.pixel.FValuePixel;
+import org.openimaj.image.processing.algorithm.FourierCorrelation;
+import org.openimaj.math.geometry.shape.Rectangle;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+/**
+ * Template matching for {@link FImage}s that combines the spatial
+ * {@link TemplateMatcher} and the frequency-domain
+ * {@link FourierTemplateMatcher}. The raw correlation between the template
+ * and the image is computed either directly or with an FFT, depending on
+ * which is estimated to be cheaper for the size of the template and the
+ * search region. The per-window sums and energies needed by the normalised
+ * modes are read from summed area tables (as in {@link SummedSqAreaTable})
+ * rather than being recomputed for every candidate position. The tables are
+ * held in double precision, as single precision tables lose too much
+ * accuracy over large search regions for the window variances to be
+ * reliable.
+ * <p>
+ * The scores produced for each {@link Mode} are the same as those produced
+ * by the {@link TemplateMatcher} (up to floating point rounding), and the
+ * search bounds and response offsets are interpreted in the same way, so
+ * this class can be used as a drop-in replacement. If a thread pool is set,
+ * rows of the response map are computed in parallel when the amount of work
+ * is large enough to warrant it.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class AdaptiveTemplateMatcher implements ImageAnalyser<FImage> {
+	/**
+	 * The domain in which the correlation is computed.
+	 *
+	 * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+	 */
+	public enum Domain {
+		/**
+		 * Choose the cheapest domain based on the size of the template and
+		 * the search region
+		 */
+		AUTO,
+		/**
+		 * Always correlate in the spatial domain
+		 */
+		SPATIAL,
+		/**
+		 * Always correlate in the frequency domain using an FFT
+		 */
+		FREQUENCY
+	}
+
+	/**
+	 * Approximate cost of the FFT-based correlation, relative to a single
+	 * multiply-add of the spatial correlation, per pixel per
+	 * <code>log2(pixels)</code> of the search region.
+	 */
+	private static final double FFT_COST_FACTOR = 8;
+
+	/**
+	 * Minimum number of multiply-adds before the rows of the response are
+	 * computed in parallel.
+	 */
+	private static final long MIN_PARALLEL_WORK = 1 << 18;
+
+	private final Mode mode;
+	private final FImage template;
+	private final double templateSumSq;
+	private Domain domain = Domain.AUTO;
+	private Rectangle searchBounds;
+	private ThreadPoolExecutor pool;
+
+	private FImage responseMap;
+	private int scanX;
+	private int scanY;
+	private boolean lastUsedFFT;
+
+	/**
+	 * Construct with the template to match and the mode with which to estimate
+	 * template responses. When matching is performed by
+	 * {@link #analyseImage(FImage)}, the whole image will be searched.
+	 *
+	 * @param template
+	 *            The template
+	 * @param mode
+	 *            The mode.
+	 */
+	public AdaptiveTemplateMatcher(FImage template, Mode mode) {
+		this.mode = mode;
+
+		if (mode == Mode.CORRELATION_COEFFICIENT || mode == Mode.NORM_CORRELATION_COEFFICIENT) {
+			// correlating with the mean-centred template is the same as
+			// correlating mean-centred patches with it
+			final float mean = template.sum() / (template.width * template.height);
+			this.template = template.subtract(mean);
+		} else {
+			this.template = template.clone();
+		}
+
+		double sumsq = 0;
+		for (int y = 0; y < this.template.height; y++)
+			for (int x = 0; x < this.template.width; x++)
+				sumsq += this.template.pixels[y][x] * this.template.pixels[y][x];
+		this.templateSumSq = sumsq;
+	}
+
+	/**
+	 * Construct with the template to match, the mode with which to estimate
+	 * template responses and the bounds rectangle in which to search. The
+	 * search bounds rectangle is defined with respect to the centre of the
+	 * template.
+	 *
+	 * @param template
+	 *            The template
+	 * @param mode
+	 *            The mode.
+	 * @param bounds
+	 *            The bounding box for search.
+	 */
+	public AdaptiveTemplateMatcher(FImage template, Mode mode, Rectangle bounds) {
+		this(template, mode);
+		this.searchBounds = bounds;
+	}
+
+	/**
+	 * @return the search bound rectangle
+	 */
+	public Rectangle getSearchBounds() {
+		return searchBounds;
+	}
+
+	/**
+	 * Set the search bounds rectangle. The search bounds rectangle is defined
+	 * with respect to the centre of the template. Setting to <code>null</code>
+	 * results in the entire image being searched.
+	 *
+	 * @param searchBounds
+	 *            the search bounds to set
+	 */
+	public void setSearchBounds(Rectangle searchBounds) {
+		this.searchBounds = searchBounds;
+	}
+
+	/**
+	 * @return the domain in which the correlation is computed
+	 */
+	public Domain getDomain() {
+		return domain;
+	}
+
+	/**
+	 * Set the domain in which the correlation is computed. The default is
+	 * {@link Domain#AUTO}.
+	 *
+	 * @param domain
+	 *            the domain
+	 */
+	public void setDomain(Domain domain) {
+		this.domain = domain;
+	}
+
+	/**
+	 * Set the pool used to compute rows of the response map in parallel. If
+	 * the pool is <code>null</code> (the default), the response is computed
+	 * sequentially.
+	 *
+	 * @param pool
+	 *            the pool
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Perform template matching. If a bounds rectangle is has not been set or
+	 * is null, then the whole image will be searched. Otherwise the area of
+	 * the image which lies in the previously set search bounds will be
+	 * searched.
+	 *
+	 * @see org.openimaj.image.analyser.ImageAnalyser#analyseImage(org.openimaj.image.Image)
+	 */
+	@Override
+	public void analyseImage(FImage image) {
+		final int tw = template.width;
+		final int th = template.height;
+
+		int scanWidth, scanHeight;
+		if (searchBounds != null) {
+			final int halfWidth = tw / 2;
+			final int halfHeight = th / 2;
+
+			float x = Math.max(searchBounds.x - halfWidth, 0);
+			x = Math.min(x, image.width - tw);
+			float width = searchBounds.width;
+			if (searchBounds.x - halfWidth < 0)
+				width += (searchBounds.x - halfWidth);
+			if (x + width > image.width - tw)
+				width += (image.width - tw) - (x + width);
+
+			float y = Math.max(searchBounds.y - halfHeight, 0);
+			y = Math.min(y, image.height - th);
+			float height = searchBounds.height;
+			if (searchBounds.y - halfHeight < 0)
+				height += (searchBounds.y - halfHeight);
+			if (y + height > image.height - th)
+				height += (image.height - th) - (y + height);
+
+			scanX = (int) x;
+			scanY = (int) y;
+			scanWidth = (int) width;
+			scanHeight = (int) height;
+		} else {
+			scanX = 0;
+			scanY = 0;
+			scanWidth = image.width - tw + 1;
+			scanHeight = image.height - th + 1;
+		}
+
+		scanWidth = Math.max(scanWidth, 0);
+		scanHeight = Math.max(scanHeight, 0);
+
+		final FImage response = new FImage(scanWidth, scanHeight);
+		this.responseMap = response;
+		if (scanWidth == 0 || scanHeight == 0)
+			return;
+
+		// the part of the image covered by the search
+		final FImage region;
+		if (scanX == 0 && scanY == 0 && scanWidth + tw - 1 == image.width && scanHeight + th - 1 == image.height)
+			region = image;
+		else
+			region = image.extractROI(scanX, scanY, scanWidth + tw - 1, scanHeight + th - 1);
+
+		final double[][][] sat = (mode == Mode.CORRELATION || mode == Mode.CORRELATION_COEFFICIENT) ? null
+				: computeTables(region);
+
+		lastUsedFFT = useFFT(region.width, region.height, scanWidth, scanHeight);
+		if (lastUsedFFT) {
+			final FImage corr = FourierCorrelation.correlate(region, template, false);
+			for (int y = 0; y < scanHeight; y++)
+				System.arraycopy(corr.pixels[y], 0, response.pixels[y], 0, scanWidth);
+		}
+
+		final boolean spatial = !lastUsedFFT;
+		final long work = (long) scanWidth * scanHeight * (spatial ? tw * th : 1);
+
+		if (pool == null || work < MIN_PARALLEL_WORK || scanHeight < 2) {
+			processRows(region, sat, response, spatial, 0, scanHeight);
+		} else {
+			Parallel.forRange(0, scanHeight, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					processRows(region, sat, response, spatial, range.start, range.stop);
+				}
+			}, pool);
+		}
+	}
+
+	/**
+	 * Compute the summed area tables of the pixel values and the squared pixel
+	 * values of the given image.
+	 */
+	private static double[][][] computeTables(FImage image) {
+		final double[][] sum = new double[image.height + 1][image.width + 1];
+		final double[][] sqSum = new double[image.height + 1][image.width + 1];
+
+		for (int y = 0; y < image.height; y++) {
+			final float[] row = image.pixels[y];
+			double rowSum = 0;
+			double rowSqSum = 0;
+
+			for (int x = 0; x < image.width; x++) {
+				final double p = row[x];
+				rowSum += p;
+				rowSqSum += p * p;
+
+				sum[y + 1][x + 1] = sum[y][x + 1] + rowSum;
+				sqSum[y + 1][x + 1] = sqSum[y][x + 1] + rowSqSum;
+			}
+		}
+
+		return new double[][][] { sum, sqSum };
+	}
+
+	private static double area(double[][] table, int x1, int y1, int x2, int y2) {
+		return table[y1][x1] + table[y2][x2] - table[y1][x2] - table[y2][x1];
+	}
+
+	private boolean useFFT(int regionWidth, int regionHeight, int scanWidth, int scanHeight) {
+		switch (domain) {
+		case SPATIAL:
+			return false;
+		case FREQUENCY:
+			return true;
+		default:
+			final double spatialCost = (double) scanWidth * scanHeight * template.width * template.height;
+			final double n = (double) regionWidth * regionHeight;
+			final double fftCost = FFT_COST_FACTOR * n * Math.log(n) / Math.log(2);
+
+			return fftCost < spatialCost;
+		}
+	}
+
+	/**
+	 * Compute the response for a range of rows. If <code>spatial</code> is
+	 * true the raw correlation is computed first; otherwise the response
+	 * already holds the correlation from the FFT.
+	 */
+	private void processRows(FImage region, double[][][] sat, FImage response, boolean spatial, int y0, int y1) {
+		final float[][] img = region.pixels;
+		final float[][] tpl = template.pixels;
+		final int tw = template.width;
+		final int th = template.height;
+		final int width = response.width;
+		final double area = tw * th;
+		final double[][] sum = sat == null ? null : sat[0];
+		final double[][] sqSum = sat == null ? null : sat[1];
+
+		for (int y = y0; y < y1; y++) {
+			final float[] out = response.pixels[y];
+
+			if (spatial) {
+				for (int x = 0; x < width; x++) {
+					float score = 0;
+					for (int j = 0; j < th; j++) {
+						final float[] irow = img[y + j];
+						final float[] trow = tpl[j];
+						for (int i = 0; i < tw; i++)
+							score += irow[x + i] * trow[i];
+					}
+					out[x] = score;
+				}
+			}
+
+			switch (mode) {
+			case SUM_SQUARED_DIFFERENCE:
+				for (int x = 0; x < width; x++) {
+					final double wndSumSq = area(sqSum, x, y, x + tw, y + th);
+					out[x] = (float) (wndSumSq - 2 * out[x] + templateSumSq);
+				}
+				break;
+			case NORM_SUM_SQUARED_DIFFERENCE:
+				for (int x = 0; x < width; x++) {
+					final double wndSumSq = area(sqSum, x, y, x + tw, y + th);
+					final double ssd = wndSumSq - 2 * out[x] + templateSumSq;
+					out[x] = (float) (ssd / Math.sqrt(wndSumSq * templateSumSq));
+				}
+				break;
+			case NORM_CORRELATION:
+				for (int x = 0; x < width; x++) {
+					final double wndSumSq = area(sqSum, x, y, x + tw, y + th);
+					out[x] = (float) (out[x] / Math.sqrt(wndSumSq * templateSumSq));
+				}
+				break;
+			case NORM_CORRELATION_COEFFICIENT:
+				for (int x = 0; x < width; x++) {
+					final double wndSum = area(sum, x, y, x + tw, y + th);
+					final double wndSumSq = area(sqSum, x, y, x + tw, y + th);
+					final double wndVar = Math.max(wndSumSq - wndSum * wndSum / area, 0);
+					final double norm = Math.sqrt(wndVar * templateSumSq);
+
+					out[x] = norm == 0 ? 0 : (float) (out[x] / norm);
+				}
+				break;
+			default:
+				// CORRELATION and CORRELATION_COEFFICIENT are the raw
+				// correlation with the (centred) template
+				break;
+			}
+		}
+	}
+
+	/**
+	 * @return true if the last call to {@link #analyseImage(FImage)} computed
+	 *         the correlation with an FFT; false if it was computed in the
+	 *         spatial domain.
+	 */
+	public boolean lastUsedFFT() {
+		return lastUsedFFT;
+	}
+
+	/**
+	 * Get the top-N "best" responses found by the template matcher.
+	 *
+	 * @param numResponses
+	 *            The number of responses
+	 * @return the best responses found
+	 */
+	public FValuePixel[] getBestResponses(int numResponses) {
+		final Comparator<FValuePixel> comparator = mode.scoresAscending() ? FValuePixel.ReverseValueComparator.INSTANCE
+				: FValuePixel.ValueComparator.INSTANCE;
+
+		return TemplateMatcher.getBestResponses(numResponses, responseMap, getXOffset(), getYOffset(), comparator);
+	}
+
+	/**
+	 * @return The x-offset of the top-left of the response map returned by
+	 *         {@link #getResponseMap()} to the original image analysed by
+	 *         {@link #analyseImage(FImage)}.
+	 */
+	public int getXOffset() {
+		return scanX + template.width / 2;
+	}
+
+	/**
+	 * @return The y-offset of the top-left of the response map returned by
+	 *         {@link #getResponseMap()} to the original image analysed by
+	 *         {@link #analyseImage(FImage)}.
+	 */
+	public int getYOffset() {
+		return scanY + template.height / 2;
+	}
+
+	/**
+	 * @return The responseMap generated from the last call to
+	 *         {@link #analyseImage(FImage)}
+	 */
+	public FImage getResponseMap() {
+		return responseMap;
+	}
+
+	/**
+	 * @return the template held by the matcher; this might be different to
+	 *         the image used in construction as it might have been
+	 *         mean-centred.
+	 */
+	public FImage getTemplate() {
+		return template;
+	}
+}
@@ -38,12 +38,16 @@ import static java.lang.Math.sqrt;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.image.FImage;
 import org.openimaj.image.analyser.ImageAnalyser;
 import org.openimaj.image.pixel.FValuePixel;
 import org.openimaj.math.geometry.line.Line2d;
 import org.openimaj.math.geometry.point.Point2dImpl;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 /**
  *	Implementation of the Hough Transform for lines as an {@link ImageAnalyser}.
@@ -106,6 +110,9 @@ public class HoughLines implements
 
 	private float onValue;
 	
+	/** The pool used for voting; null for sequential voting */
+	private ThreadPoolExecutor pool;
+	
 	/**
 	 * 	Default constructor that creates an accumulator space for 360 degrees with a "on value" of 0.0f
 	 */
@@ -142,35 +149,93 @@ public class HoughLines implements
 	 *  @see org.openimaj.image.analyser.ImageAnalyser#analyseImage(org.openimaj.image.Image)
 	 */
 	@Override
-	public void analyseImage(FImage image) 
+	public void analyseImage(final FImage image) 
 	{
-		int amax = (int) round(sqrt((image.getHeight()*image.getHeight()) + (image.getWidth()*image.getWidth())));
+		final int amax = (int) round(sqrt((image.getHeight()*image.getHeight()) + (image.getWidth()*image.getWidth())));
+		final int nSegments = getNumberOfSegments();
 
 		if( accum == null || 
 			accum.height != amax || 
-			accum.width != getNumberOfSegments() )
-				accum = new FImage( getNumberOfSegments(), amax );
+			accum.width != nSegments )
+				accum = new FImage( nSegments, amax );
 		else	accum.zero();
 		
-		for( int y = 0; y < image.getHeight(); y++ ) 
+		final double[] cosTable = new double[nSegments];
+		final double[] sinTable = new double[nSegments];
+		for( int m = 0; m < nSegments; m++ ) 
+		{
+			double mm = ((double)m / (double)nSegments) * (2 * PI);
+			cosTable[m] = cos(mm);
+			sinTable[m] = sin(mm);
+		}
+		
+		if( pool == null )
+		{
+			vote( image, 0, image.getHeight(), cosTable, sinTable, accum.pixels );
+			return;
+		}
+		
+		// Each task votes into its own accumulator, which is merged
+		// into the shared one once the task has finished
+		Parallel.forRange( 0, image.getHeight(), 1, new Operation<IntRange>() 
+		{
+			@Override
+			public void perform( IntRange range )
+			{
+				final float[][] local = new float[amax][nSegments];
+				vote( image, range.start, range.stop, cosTable, sinTable, local );
+				
+				synchronized( accum )
+				{
+					for( int a = 0; a < amax; a++ )
+						for( int m = 0; m < nSegments; m++ )
+							accum.pixels[a][m] += local[a][m];
+				}
+			}
+		}, pool );
+	}
+	
+	/**
+	 * 	Vote for the lines through the "on" pixels in the given rows of the
+	 * 	image.
+	 */
+	private void vote( FImage image, int startY, int stopY, double[] cosTable, 
+			double[] sinTable, float[][] acc )
+	{
+		final int amax = acc.length;
+		final int nSegments = cosTable.length;
+		
+		for( int y = startY; y < stopY; y++ ) 
 		{
+			final float[] row = image.pixels[y];
 			for( int x = 0; x < image.getWidth(); x++ ) 
 			{
-				if( image.getPixel(x,y) == onValue ) 
+				if( row[x] == onValue ) 
 				{
-					for( int m = 0; m < getNumberOfSegments(); m++ ) 
+					for( int m = 0; m < nSegments; m++ ) 
 					{
-//						double mm = PI*m*360d/getNumberOfSegments()/180d;
-						double mm = ((double)m / (double)getNumberOfSegments()) * (2 * PI);
-						int a = (int) round( x * cos(mm) +	y * sin(mm) );
+						int a = (int) round( x * cosTable[m] + y * sinTable[m] );
 						if( a < amax && a >= 0) 
-							accum.pixels[a][m]++;
+							acc[a][m]++;
 					}
 				}
 			}
 		}
 	}
 	
+	/**
+	 * 	Set the thread pool used to vote in parallel. Each thread votes
+	 * 	into its own accumulator space, and these are merged once all the
+	 * 	votes have been cast. If the pool is <code>null</code> (the default), 
+	 * 	voting is performed in the calling thread.
+	 * 
+	 *	@param pool The thread pool
+	 */
+	public void setThreadPool( ThreadPoolExecutor pool )
+	{
+		this.pool = pool;
+	}
+	
 	/**
 	 * 	Returns the accumulator space.
 	 *  @return The accumulator space {@link FImage}
@@ -0,0 +1,312 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.analysis.algorithm;
+
+import static java.lang.Math.PI;
+import static java.lang.Math.cos;
+import static java.lang.Math.round;
+import static java.lang.Math.sin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.image.FImage;
+import org.openimaj.image.analyser.ImageAnalyser;
+import org.openimaj.image.analysis.algorithm.HoughCircles.WeightedCircle;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+import org.openimaj.util.queue.BoundedPriorityQueue;
+
+/**
+ * A bounded-memory implementation of the Hough transform for circles. Unlike
+ * {@link HoughCircles}, which holds the accumulator for every radius until the
+ * analysis is complete, the accumulator is computed one radius slice at a
+ * time. Only three slices (the current radius and its two neighbours) are held
+ * in memory at once; local maxima are found by non-maximum suppression over
+ * the 3x3x3 neighbourhood of each cell, and the strongest of these are kept in
+ * a bounded queue.
+ * <p>
+ * If a thread pool is set, the votes for each slice are cast in parallel, with
+ * each thread voting into its own band of rows of the slice.
+ * <p>
+ * As with {@link HoughCircles}, the input image should be an edge map with the
+ * edge pixels set to 1. Only circles with centres within the image are
+ * detected.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class StreamingHoughCircles implements ImageAnalyser<FImage> {
+	protected int minRad;
+	protected int radIncr;
+	protected int nRadius;
+	protected int nDegree;
+	protected int maxCircles;
+
+	private ThreadPoolExecutor pool;
+	private List<WeightedCircle> circles = new ArrayList<WeightedCircle>();
+
+	/**
+	 * Construct with the given parameters. At most 100 circles will be
+	 * retained.
+	 *
+	 * @param minRad
+	 *            minimum search radius
+	 * @param maxRad
+	 *            maximum search radius
+	 * @param radIncrement
+	 *            amount to increment search radius by between min and max.
+	 * @param nDegree
+	 *            number of degree increments
+	 */
+	public StreamingHoughCircles(int minRad, int maxRad, int radIncrement, int nDegree) {
+		this(minRad, maxRad, radIncrement, nDegree, 100);
+	}
+
+	/**
+	 * Construct with the given parameters.
+	 *
+	 * @param minRad
+	 *            minimum search radius
+	 * @param maxRad
+	 *            maximum search radius
+	 * @param radIncrement
+	 *            amount to increment search radius by between min and max.
+	 * @param nDegree
+	 *            number of degree increments
+	 * @param maxCircles
+	 *            the maximum number of circles to retain
+	 */
+	public StreamingHoughCircles(int minRad, int maxRad, int radIncrement, int nDegree, int maxCircles) {
+		this.minRad = minRad;
+		if (this.minRad <= 0)
+			this.minRad = 1;
+		this.radIncr = radIncrement;
+		this.nRadius = (maxRad - minRad) / this.radIncr;
+		this.nDegree = nDegree;
+		this.maxCircles = maxCircles;
+	}
+
+	/**
+	 * Set the thread pool used to vote in parallel. If the pool is
+	 * <code>null</code> (the default), voting is performed in the calling
+	 * thread.
+	 *
+	 * @param pool
+	 *            the thread pool
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public void analyseImage(FImage image) {
+		final int width = image.width;
+		final int height = image.height;
+
+		// extract the edge points
+		int nPoints = 0;
+		int[] points = new int[256];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				if (image.pixels[y][x] == 1) {
+					if (nPoints * 2 == points.length)
+						points = Arrays.copyOf(points, points.length * 2);
+					points[nPoints * 2] = x;
+					points[nPoints * 2 + 1] = y;
+					nPoints++;
+				}
+			}
+		}
+
+		final BoundedPriorityQueue<WeightedCircle> bpq = new BoundedPriorityQueue<WeightedCircle>(maxCircles);
+
+		if (nRadius > 0) {
+			int[] prev = null;
+			int[] curr = new int[width * height];
+			int[] next = nRadius > 1 ? new int[width * height] : null;
+
+			vote(points, nPoints, 0, width, height, curr);
+			if (next != null)
+				vote(points, nPoints, 1, width, height, next);
+
+			for (int r = 0; r < nRadius; r++) {
+				findPeaks(prev, curr, next, r, width, height, bpq);
+
+				// slide the window, reusing the oldest slice for the next
+				// radius
+				final int[] tmp = prev;
+				prev = curr;
+				curr = next;
+				next = null;
+				if (r + 2 < nRadius) {
+					next = tmp == null ? new int[width * height] : tmp;
+					Arrays.fill(next, 0);
+					vote(points, nPoints, r + 2, width, height, next);
+				}
+			}
+		}
+
+		this.circles = bpq.toOrderedList();
+	}
+
+	/**
+	 * Cast the votes of all points for the given radius index into the slice
+	 */
+	private void vote(final int[] points, final int nPoints, int radIndex, final int width, final int height,
+			final int[] slice)
+	{
+		final double rad = minRad + (radIndex * this.radIncr);
+		final int[] dx = new int[nDegree];
+		final int[] dy = new int[nDegree];
+		for (int angIndex = 0; angIndex < nDegree; angIndex++) {
+			final double ang = angIndex * (2 * PI / nDegree);
+			dx[angIndex] = round((float) (rad * cos(ang)));
+			dy[angIndex] = round((float) (rad * sin(ang)));
+		}
+
+		if (pool == null || height < 2) {
+			vote(points, nPoints, dx, dy, width, 0, height, slice);
+			return;
+		}
+
+		// each partition votes into its own band of rows of the slice, so no
+		// synchronisation or per-thread accumulators are needed
+		Parallel.forRange(0, height, 1, new Operation<IntRange>() {
+			@Override
+			public void perform(IntRange range) {
+				vote(points, nPoints, dx, dy, width, range.start, range.stop, slice);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Cast the votes that fall in rows [y0Start, y0Stop) of the slice. The
+	 * points are in raster order, so only the points within the vertical
+	 * extent of the circle of the band need to be considered.
+	 */
+	private static void vote(int[] points, int nPoints, int[] dx, int[] dy, int width, int y0Start, int y0Stop,
+			int[] acc)
+	{
+		int minDy = 0, maxDy = 0;
+		for (int ang = 0; ang < dy.length; ang++) {
+			minDy = Math.min(minDy, dy[ang]);
+			maxDy = Math.max(maxDy, dy[ang]);
+		}
+
+		final int start = firstPointInRow(points, nPoints, y0Start - maxDy);
+		final int stop = firstPointInRow(points, nPoints, y0Stop - minDy);
+
+		for (int i = start; i < stop; i++) {
+			final int x = points[i * 2];
+			final int y = points[i * 2 + 1];
+
+			for (int ang = 0; ang < dx.length; ang++) {
+				final int x0 = x + dx[ang];
+				final int y0 = y + dy[ang];
+
+				if (x0 >= 0 && x0 < width && y0 >= y0Start && y0 < y0Stop)
+					acc[y0 * width + x0]++;
+			}
+		}
+	}
+
+	/**
+	 * Find the index of the first point with a y-coordinate of at least y
+	 */
+	private static int firstPointInRow(int[] points, int nPoints, int y) {
+		int lo = 0, hi = nPoints;
+		while (lo < hi) {
+			final int mid = (lo + hi) >>> 1;
+			if (points[mid * 2 + 1] < y)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
+	/**
+	 * Find the local maxima of the current slice. Cells that are equal to a
+	 * neighbour are only considered to be a maximum if they are the first in
+	 * raster order (radius, then y, then x), so that plateaus give rise to a
+	 * single peak.
+	 */
+	private void findPeaks(int[] prev, int[] curr, int[] next, int radIndex, int width, int height,
+			BoundedPriorityQueue<WeightedCircle> bpq)
+	{
+		final float radius = minRad + (radIndex * this.radIncr);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				final int v = curr[y * width + x];
+
+				if (v == 0 || !isPeak(v, prev, curr, next, x, y, width, height))
+					continue;
+
+				bpq.offer(new WeightedCircle(x, y, radius, (float) v / nDegree));
+			}
+		}
+	}
+
+	private static boolean isPeak(int v, int[] prev, int[] curr, int[] next, int x, int y, int width, int height) {
+		for (int yy = Math.max(0, y - 1); yy <= Math.min(height - 1, y + 1); yy++) {
+			for (int xx = Math.max(0, x - 1); xx <= Math.min(width - 1, x + 1); xx++) {
+				final int idx = yy * width + xx;
+
+				if (prev != null && prev[idx] >= v)
+					return false;
+				if (next != null && next[idx] > v)
+					return false;
+
+				if (yy < y || (yy == y && xx < x)) {
+					if (curr[idx] >= v)
+						return false;
+				} else if (curr[idx] > v) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the n-best detected circles.
+	 *
+	 * @param n
+	 *            the number of circles to return
+	 * @return the n best detected circles.
+	 */
+	public List<WeightedCircle> getBest(int n) {
+		return new ArrayList<WeightedCircle>(circles.subList(0, Math.min(n, circles.size())));
+	}
+}
@@ -30,6 +30,7 @@
 package org.openimaj.image.analysis.algorithm;
 
 import org.openimaj.image.FImage;
+import org.openimaj.image.FlatFImage;
 import org.openimaj.image.analyser.ImageAnalyser;
 import org.openimaj.math.geometry.shape.Rectangle;
 
@@ -67,6 +68,30 @@ public class SummedAreaTable implements ImageAnalyser<FImage> {
 		computeTable(image);
 	}
 
+	/**
+	 * Construct a new {@link SummedAreaTable} from the given image.
+	 * 
+	 * @param image
+	 *            the image
+	 */
+	public SummedAreaTable(FlatFImage image) {
+		computeTable(image);
+	}
+
+	protected void computeTable(FlatFImage image) {
+		data = new FImage(image.width + 1, image.height + 1);
+
+		final float[] pix = image.data;
+		for (int y = 0; y < image.height; y++) {
+			final float[] prev = data.pixels[y];
+			final float[] curr = data.pixels[y + 1];
+
+			for (int x = 0, i = image.offset + y * image.stride; x < image.width; x++, i++) {
+				curr[x + 1] = pix[i] + curr[x] + prev[x + 1] - prev[x];
+			}
+		}
+	}
+
 	protected void computeTable(FImage image) {
 		data = new FImage(image.width + 1, image.height + 1);
 
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.analysis.pyramid;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openimaj.image.Image;
+import org.openimaj.image.MultiBandImage;
+
+/**
+ * A pool of reusable image buffers. Images are grouped by their size and
+ * number of bands; {@link #acquire(Image, int, int)} returns a previously
+ * released image of the requested size with the same number of bands as the
+ * template if one is available, and creates a new one otherwise. The contents
+ * of an acquired image are undefined.
+ * <p>
+ * The number of images retained for each size is bounded, so releasing images
+ * that were not acquired from the pool cannot cause it to grow without limit.
+ * The pool is thread-safe and can be shared by pyramids being built
+ * concurrently.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ * 
+ * @param <I>
+ *            Type of image
+ */
+public class ImageBufferPool<I extends Image<?, I>> {
+	private static final class Key {
+		final int width;
+		final int height;
+		final int bands;
+
+		Key(int width, int height, int bands) {
+			this.width = width;
+			this.height = height;
+			this.bands = bands;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+
+			final Key k = (Key) obj;
+			return width == k.width && height == k.height && bands == k.bands;
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * width + height) * 31 + bands;
+		}
+	}
+
+	private final Map<Key, Deque<I>> free = new HashMap<Key, Deque<I>>();
+	private final int maxPerSize;
+
+	/**
+	 * Construct a pool that retains at most 16 images of each size.
+	 */
+	public ImageBufferPool() {
+		this(16);
+	}
+
+	/**
+	 * Construct a pool that retains at most the given number of images of each
+	 * size.
+	 * 
+	 * @param maxPerSize
+	 *            the maximum number of images of each size to retain
+	 */
+	public ImageBufferPool(int maxPerSize) {
+		this.maxPerSize = maxPerSize;
+	}
+
+	private static Key key(Image<?, ?> image, int width, int height) {
+		final int bands = image instanceof MultiBandImage ? ((MultiBandImage<?, ?, ?>) image).numBands() : 1;
+
+		return new Key(width, height, bands);
+	}
+
+	/**
+	 * Get an image of the given size with the same number of bands as the
+	 * template. If no such image is available, a new one is created from the
+	 * template image.
+	 * 
+	 * @param template
+	 *            the image used to create new instances
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @return an image of the given size with undefined content
+	 */
+	public I acquire(I template, int width, int height) {
+		synchronized (free) {
+			final Deque<I> images = free.get(key(template, width, height));
+
+			if (images != null && !images.isEmpty())
+				return images.pollFirst();
+		}
+
+		return template.newInstance(width, height);
+	}
+
+	/**
+	 * Get a copy of the given image, using a buffer from the pool if possible.
+	 * 
+	 * @param image
+	 *            the image to copy
+	 * @return the copy
+	 */
+	public I acquireCopy(I image) {
+		return acquire(image, image.getWidth(), image.getHeight()).internalCopy(image);
+	}
+
+	/**
+	 * Return an image to the pool. The image must not be used by the caller
+	 * after it has been released.
+	 * 
+	 * @param image
+	 *            the image
+	 */
+	public void release(I image) {
+		final Key key = key(image, image.getWidth(), image.getHeight());
+
+		synchronized (free) {
+			Deque<I> images = free.get(key);
+			if (images == null)
+				free.put(key, images = new ArrayDeque<I>());
+
+			if (images.size() < maxPerSize)
+				images.addFirst(image);
+		}
+	}
+
+	/**
+	 * Remove all the images from the pool.
+	 */
+	public void clear() {
+		synchronized (free) {
+			free.clear();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.analysis.pyramid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.image.FImage;
+import org.openimaj.image.Image;
+import org.openimaj.image.processor.SinglebandImageProcessor;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+
+/**
+ * An {@link OctaveProcessor} that applies a number of other
+ * {@link OctaveProcessor}s to each octave. This allows a single pyramid to be
+ * shared by several detectors, rather than each detector building its own.
+ * The processors must treat the octave as read-only.
+ * <p>
+ * If a thread pool is set, the processors are applied to each octave in
+ * parallel; in this case the processors must not share any mutable state.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ * 
+ * @param <OCTAVE>
+ *            Type of octave
+ * @param <IMAGE>
+ *            Type of image
+ */
+public class MultiOctaveProcessor<
+		OCTAVE extends Octave<?, ?, IMAGE>,
+		IMAGE extends Image<?, IMAGE> & SinglebandImageProcessor.Processable<Float, FImage, IMAGE>>
+		implements
+		OctaveProcessor<OCTAVE, IMAGE>
+{
+	protected List<OctaveProcessor<OCTAVE, IMAGE>> processors = new ArrayList<OctaveProcessor<OCTAVE, IMAGE>>();
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Construct with the given processors.
+	 * 
+	 * @param processors
+	 *            the processors
+	 */
+	public MultiOctaveProcessor(OctaveProcessor<OCTAVE, IMAGE>... processors) {
+		this.processors.addAll(Arrays.asList(processors));
+	}
+
+	/**
+	 * Add a processor
+	 * 
+	 * @param processor
+	 *            the processor
+	 */
+	public void add(OctaveProcessor<OCTAVE, IMAGE> processor) {
+		processors.add(processor);
+	}
+
+	/**
+	 * Get the processors
+	 * 
+	 * @return the processors
+	 */
+	public List<OctaveProcessor<OCTAVE, IMAGE>> getProcessors() {
+		return processors;
+	}
+
+	/**
+	 * Set the thread pool used to apply the processors in parallel. If the pool
+	 * is <code>null</code> (the default), the processors are applied in turn
+	 * in the calling thread.
+	 * 
+	 * @param pool
+	 *            the thread pool
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public void process(final OCTAVE octave) {
+		if (pool == null || processors.size() < 2) {
+			for (final OctaveProcessor<OCTAVE, IMAGE> p : processors)
+				p.process(octave);
+		} else {
+			Parallel.forEach(processors, new Operation<OctaveProcessor<OCTAVE, IMAGE>>() {
+				@Override
+				public void perform(OctaveProcessor<OCTAVE, IMAGE> p) {
+					p.process(octave);
+				}
+			}, pool);
+		}
+	}
+}
@@ -95,7 +95,10 @@ public class GaussianOctave<IMAGE extends Image<?, IMAGE> & SinglebandImageProce
 		float prevSigma = options.initialSigma;
 
 		for (int i = 1; i < options.scales + options.extraScaleSteps + 1; i++) {
-			images[i] = images[i - 1].clone();
+			if (options.bufferPool != null)
+				images[i] = options.bufferPool.acquireCopy(images[i - 1]);
+			else
+				images[i] = images[i - 1].clone();
 
 			// compute the amount to increase from prevSigma to prevSigma*k
 			final float increase = prevSigma * (float) Math.sqrt(k * k - 1.0);
@@ -120,4 +123,18 @@ public class GaussianOctave<IMAGE extends Image<?, IMAGE> & SinglebandImageProce
 	public IMAGE getNextOctaveImage() {
 		return images[options.scales];
 	}
+
+	/**
+	 * Return the images of this octave to the buffer pool of the options (if
+	 * there is one). The octave must not be used afterwards.
+	 */
+	public void releaseImages() {
+		if (options.bufferPool == null || images == null)
+			return;
+
+		for (final IMAGE image : images)
+			options.bufferPool.release(image);
+
+		images = null;
+	}
 }
@@ -31,7 +31,9 @@ package org.openimaj.image.analysis.pyramid.gaussian;
 
 import org.openimaj.image.FImage;
 import org.openimaj.image.Image;
+import org.openimaj.image.MBFImage;
 import org.openimaj.image.analyser.ImageAnalyser;
+import org.openimaj.image.analysis.pyramid.MultiOctaveProcessor;
 import org.openimaj.image.analysis.pyramid.Pyramid;
 import org.openimaj.image.processing.resize.ResizeProcessor;
 import org.openimaj.image.processor.SinglebandImageProcessor;
@@ -50,6 +52,12 @@ import org.openimaj.image.processor.SinglebandImageProcessor;
  * Pyramids are Iterable for easy access to the octaves; however this will only
  * work if the pyramid has already been populated with the octaves retained.
  * 
+ * If a buffer pool is set in the options, the images of each octave are drawn
+ * from the pool and returned to it once the octave has been processed (and is
+ * not being retained). The blurring can be performed in parallel by setting a
+ * thread pool in the options. Several detectors can share a single pyramid by
+ * using a {@link MultiOctaveProcessor} as the octave processor.
+ * 
  * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
  * 
  * @param <I>
@@ -94,6 +102,8 @@ public class GaussianPyramid<I extends Image<?, I> & SinglebandImageProcessor.Pr
 		if (options.doubleInitialImage) {
 			image = ResizeProcessor.doubleSize(img);
 			octaveSize *= 0.5;
+		} else if (options.bufferPool != null) {
+			image = options.bufferPool.acquireCopy(img);
 		} else
 			image = img.clone();
 
@@ -127,20 +137,48 @@ public class GaussianPyramid<I extends Image<?, I> & SinglebandImageProcessor.Pr
 
 			// get the image with 2*sigma from the octave and
 			// half its size ready for the next octave
-			image = ResizeProcessor.halfSize(currentOctave.getNextOctaveImage());
+			image = halfSize(currentOctave.getNextOctaveImage());
 
 			octaveSize *= 2.0; // the size of the octave increases by a factor
 								// of two each iteration
 
-			// if the octaves array is not null we want to retain each octave.
+			// if the octaves array is not null we want to retain each octave;
+			// otherwise the images can be reused.
 			if (octaves != null)
 				octaves.add(currentOctave);
+			else
+				currentOctave.releaseImages();
 		}
 
+		// the final image is too small to start an octave, so can be reused
+		if (options.bufferPool != null)
+			options.bufferPool.release(image);
+
 		// if a PyramidProcessor was specified in the options it should
 		// be applied now all the octaves are complete.
 		if (options.getPyramidProcessor() != null) {
 			options.getPyramidProcessor().process(this);
 		}
 	}
+
+	/**
+	 * Halve the size of the image, using a buffer from the pool of the options
+	 * if there is one.
+	 */
+	private I halfSize(I image) {
+		if (options.bufferPool != null) {
+			if (image instanceof FImage) {
+				final I half = options.bufferPool.acquire(image, image.getWidth() / 2, image.getHeight() / 2);
+				ResizeProcessor.halfSize((FImage) image, (FImage) half);
+				return half;
+			} else if (image instanceof MBFImage) {
+				final I half = options.bufferPool.acquire(image, image.getWidth() / 2, image.getHeight() / 2);
+				for (int b = 0; b < ((MBFImage) image).numBands(); b++)
+					ResizeProcessor.halfSize(((MBFImage) image).getBand(b), ((MBFImage) half).getBand(b));
+				return half;
+			}
+		}
+
+		return ResizeProcessor.halfSize(image);
+	}
 }
@@ -29,8 +29,11 @@
  */
 package org.openimaj.image.analysis.pyramid.gaussian;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 import org.openimaj.image.FImage;
 import org.openimaj.image.Image;
+import org.openimaj.image.analysis.pyramid.ImageBufferPool;
 import org.openimaj.image.analysis.pyramid.PyramidOptions;
 import org.openimaj.image.processing.convolution.FGaussianConvolve;
 import org.openimaj.image.processor.SinglebandImageProcessor;
@@ -77,6 +80,19 @@ public class GaussianPyramidOptions<IMAGE extends Image<?, IMAGE> & SinglebandIm
 	 */
 	protected int scales = 3;
 
+	/**
+	 * Pool from which the images of the pyramid are drawn and to which they
+	 * are returned once the octaves have been processed. If null, new images
+	 * are created for every scale of every octave.
+	 */
+	protected ImageBufferPool<IMAGE> bufferPool;
+
+	/**
+	 * Thread pool used for blurring. If null the blurring is performed in the
+	 * calling thread.
+	 */
+	protected ThreadPoolExecutor threadPool;
+
 	/**
 	 * Default constructor.
 	 */
@@ -98,6 +114,7 @@ public class GaussianPyramidOptions<IMAGE extends Image<?, IMAGE> & SinglebandIm
 		this.initialSigma = options.initialSigma;
 		this.keepOctaves = options.keepOctaves;
 		this.scales = options.scales;
+		this.threadPool = options.threadPool;
 	}
 
 	/**
@@ -222,6 +239,52 @@ public class GaussianPyramidOptions<IMAGE extends Image<?, IMAGE> & SinglebandIm
 	 * @return the image processor to apply the blur
 	 */
 	public SinglebandImageProcessor<Float, FImage> createGaussianBlur(float sigma) {
-		return new FGaussianConvolve(sigma);
+		return new FGaussianConvolve(sigma).setThreadPool(threadPool);
+	}
+
+	/**
+	 * Get the pool from which the images of the pyramid are drawn.
+	 * 
+	 * @return the buffer pool; may be null
+	 */
+	public ImageBufferPool<IMAGE> getBufferPool() {
+		return bufferPool;
+	}
+
+	/**
+	 * Set the pool from which the images of the pyramid are drawn. When a
+	 * pool is set, the images of each octave are returned to the pool once the
+	 * {@link #getOctaveProcessor() octave processor} has been applied (unless
+	 * the octaves are being kept), so processors must not hold on to the
+	 * images after they have processed an octave. Sharing a pool between
+	 * pyramids that process images of the same size removes almost all
+	 * allocation of images.
+	 * 
+	 * @param bufferPool
+	 *            the buffer pool; may be null
+	 */
+	public void setBufferPool(ImageBufferPool<IMAGE> bufferPool) {
+		this.bufferPool = bufferPool;
+	}
+
+	/**
+	 * Get the thread pool used for blurring.
+	 * 
+	 * @return the thread pool; may be null
+	 */
+	public ThreadPoolExecutor getThreadPool() {
+		return threadPool;
+	}
+
+	/**
+	 * Set the thread pool used to perform the blurring in parallel. If the
+	 * pool is null (the default), the blurring is performed in the calling
+	 * thread. The blurred images are identical in either case.
+	 * 
+	 * @param threadPool
+	 *            the thread pool; may be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
 	}
 }
@@ -0,0 +1,313 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.processing.algorithm;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.citation.annotation.Reference;
+import org.openimaj.citation.annotation.ReferenceType;
+import org.openimaj.image.FImage;
+import org.openimaj.image.processor.SinglebandImageProcessor;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+/**
+ * Rank filter (of which the median filter is a special case) over a
+ * rectangular window, implemented with the constant-time histogram algorithm
+ * of Perreault and Hébert. Pixel values are quantised into a fixed number of
+ * levels (256 by default, which is exact for 8-bit images with values in
+ * [0,1]), and a histogram is maintained for every column of the image and
+ * for the window as a whole. As the window slides, only the columns entering
+ * and leaving it are added to and subtracted from the window histogram, so the
+ * cost per pixel is independent of the window size. A two-level (coarse and
+ * fine) histogram is used to keep the per-pixel cost low.
+ * <p>
+ * The window is clipped to the image at the borders. The output at each pixel
+ * is the value of the <code>floor(rank * (n - 1))</code>th smallest (zero
+ * based) quantised value in the window of <code>n</code> pixels; a rank of 0.5
+ * gives the (lower) median, 0 the minimum and 1 the maximum. Horizontal bands
+ * of rows can be processed in parallel (see
+ * {@link #setThreadPool(ThreadPoolExecutor)}).
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+@Reference(
+		type = ReferenceType.Article,
+		author = { "Perreault, S.", "H\\'ebert, P." },
+		title = "Median Filtering in Constant Time",
+		year = "2007",
+		journal = "IEEE Transactions on Image Processing",
+		pages = { "2389", "2394" },
+		month = "September",
+		number = "9",
+		volume = "16",
+		url = "http://dx.doi.org/10.1109/TIP.2007.902329")
+public class HistogramRankFilter implements SinglebandImageProcessor<Float, FImage> {
+	private final int radiusX;
+	private final int radiusY;
+	private final float rank;
+	private final int nLevels;
+	private final int fineSize;
+	private final int nCoarse;
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Construct a median filter with a square window of the given radius and
+	 * 256 quantisation levels.
+	 *
+	 * @param radius
+	 *            the radius of the window; the window is
+	 *            <code>2 * radius + 1</code> pixels square
+	 */
+	public HistogramRankFilter(int radius) {
+		this(radius, radius, 0.5f, 256);
+	}
+
+	/**
+	 * Construct a rank filter with a square window of the given radius and 256
+	 * quantisation levels.
+	 *
+	 * @param radius
+	 *            the radius of the window; the window is
+	 *            <code>2 * radius + 1</code> pixels square
+	 * @param rank
+	 *            the rank in the range [0, 1]; 0.5 is the median
+	 */
+	public HistogramRankFilter(int radius, float rank) {
+		this(radius, radius, rank, 256);
+	}
+
+	/**
+	 * Construct a rank filter with a rectangular window.
+	 *
+	 * @param radiusX
+	 *            the horizontal radius of the window
+	 * @param radiusY
+	 *            the vertical radius of the window
+	 * @param rank
+	 *            the rank in the range [0, 1]; 0.5 is the median
+	 * @param nLevels
+	 *            the number of levels to quantise pixel values in the range
+	 *            [0, 1] to
+	 */
+	public HistogramRankFilter(int radiusX, int radiusY, float rank, int nLevels) {
+		if (radiusX < 0 || radiusY < 0)
+			throw new IllegalArgumentException("radius must not be negative");
+		if (rank < 0 || rank > 1)
+			throw new IllegalArgumentException("rank must be in the range [0, 1]");
+		if (nLevels < 2)
+			throw new IllegalArgumentException("At least two levels are required");
+
+		this.radiusX = radiusX;
+		this.radiusY = radiusY;
+		this.rank = rank;
+		this.nLevels = nLevels;
+		this.fineSize = (int) Math.ceil(Math.sqrt(nLevels));
+		this.nCoarse = (nLevels + fineSize - 1) / fineSize;
+	}
+
+	/**
+	 * Set the pool used to process bands of rows in parallel. The default is
+	 * null, in which case the image is processed on the calling thread.
+	 *
+	 * @param pool
+	 *            the pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public void processImage(FImage image) {
+		final int width = image.width;
+		final int height = image.height;
+		final float scale = nLevels - 1;
+
+		// quantise the image once
+		final short[][] levels = new short[height][width];
+		for (int y = 0; y < height; y++) {
+			final float[] row = image.pixels[y];
+			final short[] lrow = levels[y];
+			for (int x = 0; x < width; x++) {
+				int l = Math.round(row[x] * scale);
+				if (l < 0)
+					l = 0;
+				else if (l >= nLevels)
+					l = nLevels - 1;
+				lrow[x] = (short) l;
+			}
+		}
+
+		final FImage output = new FImage(width, height);
+
+		if (pool == null) {
+			filterRows(levels, output.pixels, 0, height);
+		} else {
+			// bands need to be reasonably tall to amortise the initialisation
+			// of the column histograms
+			final int minBand = Math.max(16, 2 * radiusY + 1);
+			final int nBands = Math.max(1, Math.min(pool.getMaximumPoolSize(), height / minBand));
+
+			Parallel.forRange(0, nBands, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					for (int b = range.start; b < range.stop; b += range.incr)
+						filterRows(levels, output.pixels, b * height / nBands, (b + 1) * height / nBands);
+				}
+			}, pool);
+		}
+
+		image.internalAssign(output);
+	}
+
+	/**
+	 * Filter the rows [startRow, endRow) of the quantised image.
+	 */
+	private void filterRows(short[][] levels, float[][] out, int startRow, int endRow) {
+		final int width = levels[0].length;
+		final int height = levels.length;
+		final int fs = fineSize;
+		final float scale = nLevels - 1;
+
+		// column histograms (coarse and fine), stored flat
+		final int[] colCoarse = new int[width * nCoarse];
+		final int[] colFine = new int[width * nCoarse * fs];
+
+		// window histograms; the fine histogram of each coarse bin is updated
+		// lazily and covers the columns [fineLo[c], fineHi[c]]
+		final int[] kCoarse = new int[nCoarse];
+		final int[] kFine = new int[nCoarse * fs];
+		final int[] fineLo = new int[nCoarse];
+		final int[] fineHi = new int[nCoarse];
+
+		// initialise the column histograms for the first row
+		int top = Math.max(0, startRow - radiusY);
+		int bottom = Math.min(height - 1, startRow + radiusY);
+		for (int y = top; y <= bottom; y++)
+			for (int x = 0; x < width; x++)
+				addPixel(colCoarse, colFine, x, levels[y][x], 1);
+
+		for (int y = startRow; y < endRow; y++) {
+			// slide the column histograms down
+			if (y > startRow) {
+				final int newTop = Math.max(0, y - radiusY);
+				final int newBottom = Math.min(height - 1, y + radiusY);
+				if (newTop > top) {
+					final short[] row = levels[top];
+					for (int x = 0; x < width; x++)
+						addPixel(colCoarse, colFine, x, row[x], -1);
+				}
+				if (newBottom > bottom) {
+					final short[] row = levels[newBottom];
+					for (int x = 0; x < width; x++)
+						addPixel(colCoarse, colFine, x, row[x], 1);
+				}
+				top = newTop;
+				bottom = newBottom;
+			}
+			final int rows = bottom - top + 1;
+
+			// initialise the window histogram for the first column
+			Arrays.fill(kCoarse, 0);
+			Arrays.fill(fineLo, 0);
+			Arrays.fill(fineHi, -1);
+			int left = 0;
+			int right = Math.min(width - 1, radiusX);
+			for (int x = left; x <= right; x++)
+				for (int c = 0, off = x * nCoarse; c < nCoarse; c++)
+					kCoarse[c] += colCoarse[off + c];
+
+			final float[] outRow = out[y];
+			for (int x = 0; x < width; x++) {
+				// slide the window histogram right
+				if (x > 0) {
+					final int newLeft = Math.max(0, x - radiusX);
+					final int newRight = Math.min(width - 1, x + radiusX);
+					if (newLeft > left)
+						for (int c = 0, off = left * nCoarse; c < nCoarse; c++)
+							kCoarse[c] -= colCoarse[off + c];
+					if (newRight > right)
+						for (int c = 0, off = newRight * nCoarse; c < nCoarse; c++)
+							kCoarse[c] += colCoarse[off + c];
+					left = newLeft;
+					right = newRight;
+				}
+
+				// find the coarse bin containing the target rank
+				final int target = (int) (rank * (rows * (right - left + 1) - 1));
+				int cum = 0;
+				int c = 0;
+				while (cum + kCoarse[c] <= target)
+					cum += kCoarse[c++];
+
+				// bring the fine histogram of the coarse bin up to date
+				updateFine(colFine, kFine, fineLo, fineHi, c, left, right);
+
+				// and find the fine bin
+				int f = c * fs;
+				while (cum + kFine[f] <= target)
+					cum += kFine[f++];
+
+				outRow[x] = f / scale;
+			}
+		}
+	}
+
+	private void addPixel(int[] colCoarse, int[] colFine, int x, int level, int delta) {
+		colCoarse[x * nCoarse + level / fineSize] += delta;
+		colFine[x * nCoarse * fineSize + level] += delta;
+	}
+
+	private void updateFine(int[] colFine, int[] kFine, int[] fineLo, int[] fineHi, int c, int left, int right) {
+		final int fs = fineSize;
+		final int stride = nCoarse * fs;
+		final int base = c * fs;
+
+		if (fineHi[c] < left) {
+			// no overlap with the previous columns; rebuild
+			Arrays.fill(kFine, base, base + fs, 0);
+			for (int x = left; x <= right; x++)
+				for (int i = 0, off = x * stride + base; i < fs; i++)
+					kFine[base + i] += colFine[off + i];
+		} else {
+			for (int x = fineLo[c]; x < left; x++)
+				for (int i = 0, off = x * stride + base; i < fs; i++)
+					kFine[base + i] -= colFine[off + i];
+			for (int x = fineHi[c] + 1; x <= right; x++)
+				for (int i = 0, off = x * stride + base; i < fs; i++)
+					kFine[base + i] += colFine[off + i];
+		}
+
+		fineLo[c] = left;
+		fineHi[c] = right;
+	}
+}
@@ -68,8 +68,9 @@ public class MaxFilter implements SinglebandImageProcessor<Float, FImage> {
 	@Override
 	public void processImage(FImage image) {
 		if (blockWidth >= 1 && blockHeight >= 1) {
-			maxHorizontalSym(image, blockWidth);
-			maxVerticalSym(image, blockWidth);
+			final RectangularMinMaxFilter filter = new RectangularMinMaxFilter(
+					RectangularMinMaxFilter.Mode.MAX, blockWidth, blockHeight);
+			filter.processImage(image);
 		} else {
 			final FImage tmpImage = new FImage(image.width, image.height);
 
@@ -93,58 +94,6 @@ public class MaxFilter implements SinglebandImageProcessor<Float, FImage> {
 		}
 	}
 
-	private static void maxHorizontalSym(FImage image, int width) {
-		final int halfsize = width / 2;
-		final float buffer[] = new float[image.width + width];
-
-		for (int r = 0; r < image.height; r++) {
-			for (int i = 0; i < halfsize; i++)
-				buffer[i] = image.pixels[r][0];
-			for (int i = 0; i < image.width; i++)
-				buffer[halfsize + i] = image.pixels[r][i];
-			for (int i = 0; i < halfsize; i++)
-				buffer[halfsize + image.width + i] = image.pixels[r][image.width - 1];
-
-			final int l = buffer.length - width;
-			for (int i = 0; i < l; i++) {
-				float max = -Float.MAX_VALUE;
-
-				for (int j = 0; j < width; j++)
-					max = Math.max(buffer[i + j], max);
-
-				image.pixels[r][i] = max;
-			}
-		}
-	}
-
-	private static void maxVerticalSym(FImage image, int width) {
-		final int halfsize = width / 2;
-
-		final float buffer[] = new float[image.height + width];
-
-		for (int c = 0; c < image.width; c++) {
-			for (int i = 0; i < halfsize; i++)
-				buffer[i] = image.pixels[0][c];
-			for (int i = 0; i < image.height; i++)
-				buffer[halfsize + i] = image.pixels[i][c];
-			for (int i = 0; i < halfsize; i++)
-				buffer[halfsize + image.height + i] = image.pixels[image.height - 1][c];
-
-			final int l = buffer.length - width;
-			for (int i = 0; i < l; i++) {
-				float max = -Float.MAX_VALUE;
-
-				for (int j = 0; j < width; j++)
-					max = Math.max(buffer[i + j], max);
-
-				buffer[i] = max;
-			}
-
-			for (int r = 0; r < image.height; r++)
-				image.pixels[r][c] = buffer[r];
-		}
-	}
-
 	/**
 	 * Apply the filter some number of times to an image with the default 3x3
 	 * block support
@@ -29,7 +29,10 @@
  */
 package org.openimaj.image.processing.convolution;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 import org.openimaj.image.FImage;
+import org.openimaj.image.FlatFImage;
 import org.openimaj.image.processor.SinglebandImageProcessor;
 
 /**
@@ -46,6 +49,8 @@ public class FGaussianConvolve implements SinglebandImageProcessor<Float, FImage
 
 	protected float[] kernel;
 
+	private ThreadPoolExecutor pool;
+
 	/**
 	 * Construct an {@link FGaussianConvolve} with a Gaussian of standard
 	 * deviation sigma.
@@ -126,7 +131,32 @@ public class FGaussianConvolve implements SinglebandImageProcessor<Float, FImage
 	 */
 	@Override
 	public void processImage(FImage image) {
+		FImageConvolveSeparable.convolveHorizontal(image, kernel, pool);
+		FImageConvolveSeparable.convolveVertical(image, kernel, pool);
+	}
+
+	/**
+	 * Convolve the given {@link FlatFImage} in place with the Gaussian.
+	 * 
+	 * @param image
+	 *            the image
+	 */
+	public void processImage(FlatFImage image) {
 		FImageConvolveSeparable.convolveHorizontal(image, kernel);
 		FImageConvolveSeparable.convolveVertical(image, kernel);
 	}
+
+	/**
+	 * Set the thread pool used to convolve blocks of rows and columns in
+	 * parallel. If the pool is <code>null</code> (the default), the
+	 * convolution is performed in the calling thread.
+	 * 
+	 * @param pool
+	 *            the thread pool
+	 * @return this
+	 */
+	public FGaussianConvolve setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+		return this;
+	}
 }
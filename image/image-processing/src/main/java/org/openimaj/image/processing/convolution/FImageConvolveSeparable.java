@@ -29,8 +29,15 @@
  */
 package org.openimaj.image.processing.convolution;
 
+import java.util.Arrays;
+import java.util.concurrent.ThreadPoolExecutor;
+
 import org.openimaj.image.FImage;
+import org.openimaj.image.FlatFImage;
 import org.openimaj.image.processor.SinglebandImageProcessor;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 /**
  * Image processor for separable convolution of an FImage. Capable of doing
@@ -110,11 +117,43 @@ public class FImageConvolveSeparable implements SinglebandImageProcessor<Float,
 	 *            the convolution kernel.
 	 */
 	public static void convolveHorizontal(FImage image, float[] kernel) {
+		convolveRows(image, kernel, 0, image.height);
+	}
+
+	/**
+	 * Convolve the image in the horizontal direction with the kernel, using
+	 * the given thread pool to process blocks of rows in parallel. Edge effects
+	 * are handled by duplicating the edge pixels. The result is identical to
+	 * {@link #convolveHorizontal(FImage, float[])}.
+	 * 
+	 * @param image
+	 *            the image to convolve.
+	 * @param kernel
+	 *            the convolution kernel.
+	 * @param pool
+	 *            the thread pool; if <code>null</code> the convolution is
+	 *            performed in the calling thread.
+	 */
+	public static void convolveHorizontal(final FImage image, final float[] kernel, ThreadPoolExecutor pool) {
+		if (pool == null) {
+			convolveRows(image, kernel, 0, image.height);
+			return;
+		}
+
+		Parallel.forRange(0, image.height, 1, new Operation<IntRange>() {
+			@Override
+			public void perform(IntRange range) {
+				convolveRows(image, kernel, range.start, range.stop);
+			}
+		}, pool);
+	}
+
+	private static void convolveRows(FImage image, float[] kernel, int startRow, int stopRow) {
 		final int halfsize = kernel.length / 2;
 
 		final float buffer[] = new float[image.width + kernel.length];
 
-		for (int r = 0; r < image.height; r++) {
+		for (int r = startRow; r < stopRow; r++) {
 			for (int i = 0; i < halfsize; i++)
 				buffer[i] = image.pixels[r][0];
 			for (int i = 0; i < image.width; i++)
@@ -149,11 +188,43 @@ public class FImageConvolveSeparable implements SinglebandImageProcessor<Float,
 	 *            the convolution kernel.
 	 */
 	public static void convolveVertical(FImage image, float[] kernel) {
+		convolveColumns(image, kernel, 0, image.width);
+	}
+
+	/**
+	 * Convolve the image in the vertical direction with the kernel, using the
+	 * given thread pool to process blocks of columns in parallel. Edge effects
+	 * are handled by duplicating the edge pixels. The result is identical to
+	 * {@link #convolveVertical(FImage, float[])}.
+	 * 
+	 * @param image
+	 *            the image to convolve.
+	 * @param kernel
+	 *            the convolution kernel.
+	 * @param pool
+	 *            the thread pool; if <code>null</code> the convolution is
+	 *            performed in the calling thread.
+	 */
+	public static void convolveVertical(final FImage image, final float[] kernel, ThreadPoolExecutor pool) {
+		if (pool == null) {
+			convolveColumns(image, kernel, 0, image.width);
+			return;
+		}
+
+		Parallel.forRange(0, image.width, 1, new Operation<IntRange>() {
+			@Override
+			public void perform(IntRange range) {
+				convolveColumns(image, kernel, range.start, range.stop);
+			}
+		}, pool);
+	}
+
+	private static void convolveColumns(FImage image, float[] kernel, int startCol, int stopCol) {
 		final int halfsize = kernel.length / 2;
 
 		final float buffer[] = new float[image.height + kernel.length];
 
-		for (int c = 0; c < image.width; c++) {
+		for (int c = startCol; c < stopCol; c++) {
 			for (int i = 0; i < halfsize; i++)
 				buffer[i] = image.pixels[0][c];
 			for (int i = 0; i < image.height; i++)
@@ -178,6 +249,88 @@ public class FImageConvolveSeparable implements SinglebandImageProcessor<Float,
 		}
 	}
 
+	/**
+	 * Convolve the image in the horizontal direction with the kernel. Edge
+	 * effects are handled by duplicating the edge pixels. The result is
+	 * identical to {@link #convolveHorizontal(FImage, float[])}.
+	 * 
+	 * @param image
+	 *            the image to convolve.
+	 * @param kernel
+	 *            the convolution kernel.
+	 */
+	public static void convolveHorizontal(FlatFImage image, float[] kernel) {
+		final int halfsize = kernel.length / 2;
+		final float[] data = image.data;
+		final int width = image.width;
+
+		final float buffer[] = new float[width + kernel.length];
+
+		for (int r = 0; r < image.height; r++) {
+			final int row = image.offset + r * image.stride;
+
+			for (int i = 0; i < halfsize; i++)
+				buffer[i] = data[row];
+			System.arraycopy(data, row, buffer, halfsize, width);
+			for (int i = 0; i < halfsize; i++)
+				buffer[halfsize + width + i] = data[row + width - 1];
+
+			for (int c = 0; c < width; c++) {
+				float sum = 0.0f;
+
+				for (int j = 0, jj = kernel.length - 1; j < kernel.length; j++, jj--)
+					sum += buffer[c + j] * kernel[jj];
+
+				data[row + c] = sum;
+			}
+		}
+	}
+
+	/**
+	 * Convolve the image in the vertical direction with the kernel. Edge
+	 * effects are handled by duplicating the edge pixels. Rather than
+	 * processing each column in turn, whole rows are accumulated, which makes
+	 * the memory access sequential. The result is identical to
+	 * {@link #convolveVertical(FImage, float[])}.
+	 * 
+	 * @param image
+	 *            the image to convolve.
+	 * @param kernel
+	 *            the convolution kernel.
+	 */
+	public static void convolveVertical(FlatFImage image, float[] kernel) {
+		final int halfsize = kernel.length / 2;
+		final float[] data = image.data;
+		final int width = image.width;
+		final int height = image.height;
+
+		// output row r can be written back once no later output needs input
+		// row r, so only halfsize + 1 output rows need to be buffered.
+		final int ringSize = halfsize + 1;
+		final float[][] ring = new float[ringSize][width];
+
+		for (int r = 0; r < height + ringSize; r++) {
+			final int done = r - ringSize;
+			if (done >= 0)
+				System.arraycopy(ring[done % ringSize], 0, data, image.offset + done * image.stride, width);
+
+			if (r >= height)
+				continue;
+
+			final float[] acc = ring[r % ringSize];
+			Arrays.fill(acc, 0f);
+
+			for (int j = 0, jj = kernel.length - 1; j < kernel.length; j++, jj--) {
+				final int y = Math.max(0, Math.min(height - 1, r + j - halfsize));
+				final int row = image.offset + y * image.stride;
+				final float k = kernel[jj];
+
+				for (int c = 0; c < width; c++)
+					acc[c] += data[row + c] * k;
+			}
+		}
+	}
+
 	/**
 	 * Fast convolution for separated 3x3 kernels. Only valid pixels are
 	 * considered, so the output image bounds will be two pixels smaller than
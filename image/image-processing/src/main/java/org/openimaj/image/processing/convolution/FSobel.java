@@ -76,4 +76,13 @@ public class FSobel implements ImageAnalyser<FImage> {
 		dx = tmp.process(new FSobelX());
 		dy = tmp.process(new FSobelY());
 	}
+
+	/**
+	 * Get the standard deviation of the initial Gaussian blurring
+	 * 
+	 * @return the standard deviation of the Gaussian blur
+	 */
+	public float getSigma() {
+		return sigma;
+	}
 }
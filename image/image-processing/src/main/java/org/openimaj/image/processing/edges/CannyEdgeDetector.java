@@ -31,13 +31,20 @@ package org.openimaj.image.processing.edges;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.image.FImage;
 import org.openimaj.image.analysis.algorithm.histogram.HistogramAnalyser;
 import org.openimaj.image.pixel.Pixel;
+import org.openimaj.image.processing.convolution.FGaussianConvolve;
 import org.openimaj.image.processing.convolution.FSobel;
+import org.openimaj.image.processing.convolution.FSobelX;
+import org.openimaj.image.processing.convolution.FSobelY;
 import org.openimaj.image.processor.SinglebandImageProcessor;
 import org.openimaj.math.statistics.distribution.Histogram;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 /**
  * Canny edge detector. Performs the following steps:
@@ -51,6 +58,14 @@ import org.openimaj.math.statistics.distribution.Histogram;
  * The upper and lower thresholds for the hysteresis thresholding can be
  * specified manually or automatically chosen based on the histogram of the edge
  * magnitudes.
+ * <p>
+ * If a thread pool is set with {@link #setThreadPool(ThreadPoolExecutor)}, the
+ * image is split into tiles of rows which are processed in parallel. Each tile
+ * is extended by a halo that is large enough for the blurring, gradient and
+ * non-maximum suppression stages to compute exactly the same values as they
+ * would on the whole image. The hysteresis thresholding is performed with a
+ * parallel union-find over the tiles. The output is identical to the
+ * sequential implementation.
  * 
  * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
  * @author Sina Samangooei (ss@ecs.soton.ac.uk)
@@ -62,6 +77,11 @@ public class CannyEdgeDetector implements SinglebandImageProcessor<Float, FImage
 	float highThresh = -1;
 	float sigma = 1;
 
+	/** The number of rows in each tile when processing in parallel */
+	static final int TILE_HEIGHT = 64;
+
+	private ThreadPoolExecutor pool;
+
 	/**
 	 * Default constructor. Sigma is set to 1.0, and the thresholds are chosen
 	 * automatically.
@@ -135,10 +155,100 @@ public class CannyEdgeDetector implements SinglebandImageProcessor<Float, FImage
 	 *            the computed gradients
 	 */
 	public void processImage(FImage image, FSobel sobel) {
-		image.analyseWith(sobel);
+		if (pool == null)
+			image.analyseWith(sobel);
+		else
+			computeGradients(image, sobel);
+
 		processImage(image, sobel.dx, sobel.dy);
 	}
 
+	/**
+	 * Compute the gradients of the image in tiles in parallel, storing the
+	 * results in the given {@link FSobel}.
+	 */
+	private void computeGradients(final FImage image, FSobel sobel) {
+		final float sobelSigma = sobel.getSigma();
+		final int halo = (sobelSigma == 0 ? 0 : FGaussianConvolve.makeKernel(sobelSigma).length / 2) + 1;
+		final FImage dx = new FImage(image.width, image.height);
+		final FImage dy = new FImage(image.width, image.height);
+
+		forEachTile(image.height, new TileOperation() {
+			@Override
+			void perform(int start, int stop) {
+				final int y0 = Math.max(0, start - halo);
+				final int y1 = Math.min(image.height, stop + halo);
+
+				FImage tmp = image.extractROI(0, y0, image.width, y1 - y0);
+				if (sobelSigma != 0)
+					tmp = tmp.processInplace(new FGaussianConvolve(sobelSigma));
+
+				copyRows(tmp.process(new FSobelX()), dx, y0, start, stop);
+				copyRows(tmp.process(new FSobelY()), dy, y0, start, stop);
+			}
+		});
+
+		sobel.dx = dx;
+		sobel.dy = dy;
+	}
+
+	/**
+	 * Perform non-maximum suppression in tiles in parallel.
+	 */
+	private FImage computeSuppressed(final FImage dx, final FImage dy, final FImage tmpMags) {
+		final FImage magnitudes = new FImage(dx.width, dx.height);
+
+		forEachTile(dx.height, new TileOperation() {
+			@Override
+			void perform(int start, int stop) {
+				final int y0 = Math.max(0, start - 1);
+				final int y1 = Math.min(dx.height, stop + 1);
+
+				final FImage tdx = dx.extractROI(0, y0, dx.width, y1 - y0);
+				final FImage tdy = dy.extractROI(0, y0, dy.width, y1 - y0);
+				final FImage tmags = new FImage(dx.width, y1 - y0);
+
+				copyRows(NonMaximumSuppressionTangent.computeSuppressed(tdx, tdy, tmags), magnitudes, y0, start, stop);
+				copyRows(tmags, tmpMags, y0, start, stop);
+			}
+		});
+
+		return magnitudes;
+	}
+
+	/**
+	 * Copy the rows of the tile from an image that starts at row y0 of the
+	 * destination.
+	 */
+	private static void copyRows(FImage src, FImage dest, int y0, int start, int stop) {
+		for (int y = start; y < stop; y++)
+			System.arraycopy(src.pixels[y - y0], 0, dest.pixels[y], 0, dest.width);
+	}
+
+	/**
+	 * Apply the operation to each tile of rows in parallel.
+	 */
+	private void forEachTile(final int height, final TileOperation op) {
+		final int nTiles = (height + TILE_HEIGHT - 1) / TILE_HEIGHT;
+
+		Parallel.forRange(0, nTiles, 1, new Operation<IntRange>() {
+			@Override
+			public void perform(IntRange range) {
+				for (int t = range.start; t < range.stop; t += range.incr) {
+					final int y0 = t * TILE_HEIGHT;
+					op.perform(y0, Math.min(height, y0 + TILE_HEIGHT));
+				}
+			}
+		}, pool);
+	}
+
+	/**
+	 * An operation on a tile covering a range of rows
+	 */
+	private static abstract class TileOperation {
+		abstract void perform(int start, int stop);
+	}
+
 	/**
 	 * Apply non-max suppression and hysteresis thresholding based on the given
 	 * (Sobel) gradient maps and write the result to the given output image.
@@ -154,7 +264,9 @@ public class CannyEdgeDetector implements SinglebandImageProcessor<Float, FImage
 		// tmpMags will hold the magnitudes BEFORE suppression
 		final FImage tmpMags = new FImage(dx.width, dx.height);
 		// magnitudes holds the suppressed magnitude image
-		final FImage magnitudes = NonMaximumSuppressionTangent.computeSuppressed(dx, dy, tmpMags);
+		final FImage magnitudes = pool == null ?
+				NonMaximumSuppressionTangent.computeSuppressed(dx, dy, tmpMags) :
+				computeSuppressed(dx, dy, tmpMags);
 		magnitudes.normalise();
 
 		float low = this.lowThresh;
@@ -166,7 +278,21 @@ public class CannyEdgeDetector implements SinglebandImageProcessor<Float, FImage
 			low = threshRatio * high;
 		}
 
-		thresholdingTracker(magnitudes, output, low, high);
+		if (pool == null)
+			thresholdingTracker(magnitudes, output, low, high);
+		else
+			thresholdingUnionFind(magnitudes, output, low, high);
+	}
+
+	/**
+	 * Set the thread pool used to process the image in parallel. If the pool is
+	 * <code>null</code> (the default), the image is processed sequentially.
+	 * 
+	 * @param pool
+	 *            the thread pool
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
 	}
 
 	// private void thresholdingTracker(FImage magnitude, FImage output, float
@@ -211,7 +337,8 @@ public class CannyEdgeDetector implements SinglebandImageProcessor<Float, FImage
 					while (!candidates.isEmpty()) {
 						final Pixel current = candidates.pollFirst();
 
-						if (current.x < 0 || current.x > magnitude.width || current.y < 0 || current.y > magnitude.height)
+						if (current.x < 0 || current.x >= magnitude.width || current.y < 0
+								|| current.y >= magnitude.height)
 							continue;
 
 						if (output.pixels[current.y][current.x] == 1)
@@ -222,17 +349,128 @@ public class CannyEdgeDetector implements SinglebandImageProcessor<Float, FImage
 
 						output.pixels[current.y][current.x] = 1;
 
-						candidates.add(new Pixel(x - 1, y - 1));
-						candidates.add(new Pixel(x, y - 1));
-						candidates.add(new Pixel(x + 1, y - 1));
-						candidates.add(new Pixel(x - 1, y));
-						candidates.add(new Pixel(x + 1, y));
-						candidates.add(new Pixel(x - 1, y + 1));
-						candidates.add(new Pixel(x, y + 1));
-						candidates.add(new Pixel(x + 1, y + 1));
+						candidates.add(new Pixel(current.x - 1, current.y - 1));
+						candidates.add(new Pixel(current.x, current.y - 1));
+						candidates.add(new Pixel(current.x + 1, current.y - 1));
+						candidates.add(new Pixel(current.x - 1, current.y));
+						candidates.add(new Pixel(current.x + 1, current.y));
+						candidates.add(new Pixel(current.x - 1, current.y + 1));
+						candidates.add(new Pixel(current.x, current.y + 1));
+						candidates.add(new Pixel(current.x + 1, current.y + 1));
 					}
 				}
 			}
 		}
 	}
+
+	/**
+	 * Hysteresis thresholding using a union-find over the pixels above the
+	 * lower threshold. Each tile is labelled in parallel, the tiles are then
+	 * joined along their boundaries, and finally the pixels of every component
+	 * that contains a pixel above the upper threshold are marked in parallel.
+	 */
+	private void thresholdingUnionFind(final FImage magnitude, final FImage output, final float low,
+			final float high)
+	{
+		final int width = magnitude.width;
+		final int height = magnitude.height;
+		final float[][] mag = magnitude.pixels;
+		final int[] parent = new int[width * height];
+		final boolean[] strong = new boolean[width * height];
+
+		// label each tile
+		forEachTile(height, new TileOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int y = start; y < stop; y++) {
+					for (int x = 0; x < width; x++) {
+						final int p = y * width + x;
+
+						if (mag[y][x] < low) {
+							parent[p] = -1;
+							continue;
+						}
+
+						parent[p] = p;
+						if (x > 0 && mag[y][x - 1] >= low)
+							union(parent, p, p - 1);
+						if (y > start)
+							unionAbove(parent, mag, low, x, y, width);
+					}
+				}
+			}
+		});
+
+		// join the tiles
+		for (int y = TILE_HEIGHT; y < height; y += TILE_HEIGHT) {
+			for (int x = 0; x < width; x++) {
+				if (mag[y][x] >= low)
+					unionAbove(parent, mag, low, x, y, width);
+			}
+		}
+
+		// mark the components with a strong pixel
+		forEachTile(height, new TileOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int y = start; y < stop; y++)
+					for (int x = 0; x < width; x++)
+						if (mag[y][x] >= high)
+							strong[find(parent, y * width + x)] = true;
+			}
+		});
+
+		// write the output
+		forEachTile(height, new TileOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int y = start; y < stop; y++) {
+					for (int x = 0; x < width; x++) {
+						final int p = y * width + x;
+						output.pixels[y][x] = parent[p] >= 0 && strong[find(parent, p)] ? 1 : 0;
+					}
+				}
+			}
+		});
+	}
+
+	private static void unionAbove(int[] parent, float[][] mag, float low, int x, int y, int width) {
+		final int p = y * width + x;
+		final float[] above = mag[y - 1];
+
+		if (x > 0 && above[x - 1] >= low)
+			union(parent, p, p - width - 1);
+		if (above[x] >= low)
+			union(parent, p, p - width);
+		if (x < width - 1 && above[x + 1] >= low)
+			union(parent, p, p - width + 1);
+	}
+
+	private static int find(int[] parent, int p) {
+		while (parent[p] != p)
+			p = parent[p];
+		return p;
+	}
+
+	/**
+	 * Find with path halving. Only safe if no other thread is accessing the
+	 * tree.
+	 */
+	private static int findCompress(int[] parent, int p) {
+		while (parent[p] != p) {
+			parent[p] = parent[parent[p]];
+			p = parent[p];
+		}
+		return p;
+	}
+
+	private static void union(int[] parent, int p, int q) {
+		final int rp = findCompress(parent, p);
+		final int rq = findCompress(parent, q);
+
+		if (rp < rq)
+			parent[rq] = rp;
+		else if (rq < rp)
+			parent[rp] = rq;
+	}
 }
@@ -34,6 +34,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.citation.annotation.Reference;
 import org.openimaj.citation.annotation.ReferenceType;
@@ -44,6 +47,9 @@ import org.openimaj.image.processing.convolution.FSobel;
 import org.openimaj.image.processor.SinglebandImageProcessor;
 import org.openimaj.math.geometry.line.Line2d;
 import org.openimaj.math.util.FloatArrayStatsUtils;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 /**
  * Implementation of the Stroke Width Transform.
@@ -58,6 +64,11 @@ import org.openimaj.math.util.FloatArrayStatsUtils;
  * <li>In addition to the stroke along the gradient, we also stroke at +/-45
  * degrees from this.</li>
  * </ul>
+ * <p>
+ * If a thread pool is set, the rays are cast from the edge pixels in parallel,
+ * with each thread writing to its own output buffer. The buffers are merged,
+ * and the rays are filtered in the same order as in the sequential
+ * implementation, so the output is identical.
  * 
  * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
  * 
@@ -83,6 +94,7 @@ public class StrokeWidthTransform implements SinglebandImageProcessor<Float, FIm
 	private final CannyEdgeDetector canny;
 	private boolean direction;
 	private int maxStrokeWidth = 70;
+	private ThreadPoolExecutor pool;
 
 	/**
 	 * Construct the SWT with the given Canny edge detector.
@@ -151,6 +163,19 @@ public class StrokeWidthTransform implements SinglebandImageProcessor<Float, FIm
 		this.maxStrokeWidth = maxStrokeWidth;
 	}
 
+	/**
+	 * Set the thread pool used to process the image in parallel. The pool is
+	 * also used by the underlying {@link CannyEdgeDetector}. If the pool is
+	 * <code>null</code> (the default), the image is processed sequentially.
+	 * 
+	 * @param pool
+	 *            the thread pool
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+		this.canny.setThreadPool(pool);
+	}
+
 	@Override
 	public void processImage(FImage image) {
 		final FSobel grads = new FSobel(canny.sigma);
@@ -164,12 +189,50 @@ public class StrokeWidthTransform implements SinglebandImageProcessor<Float, FIm
 		medianFilter(image, rays);
 	}
 
-	private List<List<Pixel>> generateRays(FImage edges, FImage dx, FImage dy, boolean detectDark, FImage output) {
+	private List<List<Pixel>> generateRays(final FImage edges, final FImage dx, final FImage dy,
+			final boolean detectDark, final FImage output)
+	{
+		if (pool == null) {
+			final List<List<Pixel>> rays = new ArrayList<List<Pixel>>();
+			generateRays(edges, dx, dy, detectDark, output, 0, output.height, rays);
+			return rays;
+		}
+
+		// the rays of each range of rows, ordered by the first row
+		final Map<Integer, List<List<Pixel>>> rangeRays = new TreeMap<Integer, List<List<Pixel>>>();
+
+		Parallel.forRange(0, output.height, 1, new Operation<IntRange>() {
+			@Override
+			public void perform(IntRange range) {
+				final FImage localOutput = new FImage(output.width, output.height);
+				localOutput.fill(Float.POSITIVE_INFINITY);
+
+				final List<List<Pixel>> rays = new ArrayList<List<Pixel>>();
+				generateRays(edges, dx, dy, detectDark, localOutput, range.start, range.stop, rays);
+
+				synchronized (rangeRays) {
+					rangeRays.put(range.start, rays);
+
+					for (int y = 0; y < output.height; y++)
+						for (int x = 0; x < output.width; x++)
+							output.pixels[y][x] = Math.min(output.pixels[y][x], localOutput.pixels[y][x]);
+				}
+			}
+		}, pool);
+
 		final List<List<Pixel>> rays = new ArrayList<List<Pixel>>();
+		for (final List<List<Pixel>> r : rangeRays.values())
+			rays.addAll(r);
 
+		return rays;
+	}
+
+	private void generateRays(FImage edges, FImage dx, FImage dy, boolean detectDark, FImage output, int startY,
+			int stopY, List<List<Pixel>> rays)
+	{
 		final float gradDirection = detectDark ? -1 : 1;
 
-		for (int y = 0; y < output.height; y++) {
+		for (int y = startY; y < stopY; y++) {
 			for (int x = 0; x < output.width; x++) {
 				if (edges.pixels[y][x] > 0) {
 					traceRay(edges, dx, dy, detectDark, output, gradDirection, x, y, rays, 1, 0, 0, 1);
@@ -178,7 +241,6 @@ public class StrokeWidthTransform implements SinglebandImageProcessor<Float, FIm
 				}
 			}
 		}
-		return rays;
 	}
 
 	private void traceRay(FImage edges, FImage dx, FImage dy, boolean
@@ -0,0 +1,555 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.processing.resize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.image.FImage;
+import org.openimaj.image.MBFImage;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+/**
+ * A precomputed plan for resampling images of a fixed size to another fixed
+ * size with a given {@link ResizeFilterFunction}. The filter weights and source
+ * indices for every output row and column are stored in flat primitive arrays
+ * that are computed once and can be shared between threads; plans are cached
+ * by {@link #get(int, int, int, int, ResizeFilterFunction)}, so resizing many
+ * images to a few fixed sizes only computes the weights once per source size.
+ * <p>
+ * The output is numerically identical to
+ * {@link ResizeProcessor#zoom(FImage, FImage, ResizeFilterFunction)} (and thus
+ * {@link ResizeProcessor#resample(FImage, int, int)} and friends). The image is
+ * resized in two passes, horizontally and then vertically, each of which can be
+ * split over the rows of the image and run in parallel. All the bands of an
+ * {@link MBFImage} are resized together so that the weights are only read once
+ * per pixel.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class ResamplingPlan {
+	private static final int CACHE_SIZE = 64;
+
+	@SuppressWarnings("serial")
+	private static final Map<Key, ResamplingPlan> CACHE = new LinkedHashMap<Key, ResamplingPlan>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Entry<Key, ResamplingPlan> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	private static class Key {
+		final int srcWidth, srcHeight, dstWidth, dstHeight;
+		final ResizeFilterFunction filter;
+
+		Key(int srcWidth, int srcHeight, int dstWidth, int dstHeight, ResizeFilterFunction filter) {
+			this.srcWidth = srcWidth;
+			this.srcHeight = srcHeight;
+			this.dstWidth = dstWidth;
+			this.dstHeight = dstHeight;
+			this.filter = filter;
+		}
+
+		@Override
+		public int hashCode() {
+			int h = srcWidth;
+			h = 31 * h + srcHeight;
+			h = 31 * h + dstWidth;
+			h = 31 * h + dstHeight;
+			return 31 * h + filter.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			final Key k = (Key) obj;
+			return srcWidth == k.srcWidth && srcHeight == k.srcHeight && dstWidth == k.dstWidth
+					&& dstHeight == k.dstHeight && filter.equals(k.filter);
+		}
+	}
+
+	/**
+	 * Weights and indices for one axis. Entry i has count[i] contributors
+	 * starting at offset i * stride in the index and weight arrays.
+	 */
+	private static class Contributions {
+		int stride;
+		int[] count;
+		int[] index;
+		double[] weight;
+	}
+
+	private final int srcWidth;
+	private final int srcHeight;
+	private final int dstWidth;
+	private final int dstHeight;
+	private final Contributions contribX;
+	private final Contributions contribY;
+
+	/**
+	 * Construct a new plan. Use {@link #get(int, int, int, int, ResizeFilterFunction)}
+	 * to take advantage of caching.
+	 *
+	 * @param srcWidth
+	 *            the width of the source images
+	 * @param srcHeight
+	 *            the height of the source images
+	 * @param dstWidth
+	 *            the width of the resampled images
+	 * @param dstHeight
+	 *            the height of the resampled images
+	 * @param filterf
+	 *            the filter function
+	 */
+	public ResamplingPlan(int srcWidth, int srcHeight, int dstWidth, int dstHeight, ResizeFilterFunction filterf) {
+		this.srcWidth = srcWidth;
+		this.srcHeight = srcHeight;
+		this.dstWidth = dstWidth;
+		this.dstHeight = dstHeight;
+
+		// the column weights replicate ResizeProcessor#calc_x_contrib; the
+		// row weights replicate the (slightly different) inline version in
+		// ResizeProcessor#zoom
+		this.contribX = computeContributions(srcWidth, dstWidth, filterf, false);
+		this.contribY = computeContributions(srcHeight, dstHeight, filterf, true);
+	}
+
+	/**
+	 * Get a (possibly cached) plan for resampling between the given sizes.
+	 *
+	 * @param srcWidth
+	 *            the width of the source images
+	 * @param srcHeight
+	 *            the height of the source images
+	 * @param dstWidth
+	 *            the width of the resampled images
+	 * @param dstHeight
+	 *            the height of the resampled images
+	 * @param filterf
+	 *            the filter function
+	 * @return the plan
+	 */
+	public static ResamplingPlan get(int srcWidth, int srcHeight, int dstWidth, int dstHeight,
+			ResizeFilterFunction filterf)
+	{
+		final Key key = new Key(srcWidth, srcHeight, dstWidth, dstHeight, filterf);
+
+		synchronized (CACHE) {
+			final ResamplingPlan plan = CACHE.get(key);
+			if (plan != null)
+				return plan;
+		}
+
+		final ResamplingPlan plan = new ResamplingPlan(srcWidth, srcHeight, dstWidth, dstHeight, filterf);
+		synchronized (CACHE) {
+			CACHE.put(key, plan);
+		}
+		return plan;
+	}
+
+	/**
+	 * Get a (possibly cached) plan for resampling images of the given size to
+	 * at most the given size, optionally retaining the aspect ratio in the same
+	 * way as {@link ResizeProcessor#resample(FImage, int, int, boolean)}.
+	 *
+	 * @param srcWidth
+	 *            the width of the source images
+	 * @param srcHeight
+	 *            the height of the source images
+	 * @param newX
+	 *            the new width
+	 * @param newY
+	 *            the new height
+	 * @param aspect
+	 *            whether to maintain the aspect ratio
+	 * @param filterf
+	 *            the filter function
+	 * @return the plan
+	 */
+	public static ResamplingPlan get(int srcWidth, int srcHeight, int newX, int newY, boolean aspect,
+			ResizeFilterFunction filterf)
+	{
+		int nx = newX;
+		int ny = newY;
+		if (aspect) {
+			if (ny > nx)
+				nx = (int) Math.round((srcWidth * ny) / (double) srcHeight);
+			else
+				ny = (int) Math.round((srcHeight * nx) / (double) srcWidth);
+		}
+
+		return get(srcWidth, srcHeight, nx, ny, filterf);
+	}
+
+	private static Contributions computeContributions(int srcLen, int dstLen, ResizeFilterFunction filterf,
+			boolean fixedLength)
+	{
+		final double scale = (double) dstLen / (double) srcLen;
+		final double fwidth = filterf.getSupport();
+
+		double width = fwidth;
+		double fscale = 1.0;
+		final boolean shrink = scale < 1.0;
+		if (shrink) {
+			width = fwidth / scale;
+			fscale = 1.0 / scale;
+
+			if (width <= .5) {
+				// Reduce to point sampling.
+				width = .5 + 1.0e-6;
+				fscale = 1.0;
+			}
+		}
+
+		final int length = (int) (width * 2.0 + 1.0);
+
+		// work out the maximum number of contributors so the tables can be
+		// flat with a fixed stride
+		int stride = length;
+		if (!fixedLength) {
+			for (int i = 0; i < dstLen; i++) {
+				final double center = i / scale;
+				final int left = (int) Math.ceil(center - width);
+				final int right = (int) Math.floor(center + width);
+				stride = Math.max(stride, right - left + 1);
+			}
+		}
+
+		final Contributions c = new Contributions();
+		c.stride = stride;
+		c.count = new int[dstLen];
+		c.index = new int[dstLen * stride];
+		c.weight = new double[dstLen * stride];
+
+		for (int i = 0; i < dstLen; i++) {
+			final double center = i / scale;
+			final int left = (int) Math.ceil(center - width);
+			final int right = fixedLength ? left + length - 1 : (int) Math.floor(center + width);
+			final int base = i * stride;
+
+			double density = 0.0;
+			int k = 0;
+			for (int j = left; j <= right; j++, k++) {
+				double weight = center - j;
+				if (shrink)
+					weight = filterf.filter(weight / fscale) / fscale;
+				else
+					weight = filterf.filter(weight);
+
+				int n;
+				if (j < 0) {
+					n = -j;
+				}
+				else if (j >= srcLen) {
+					n = (srcLen - j) + srcLen - 1;
+				}
+				else {
+					n = j;
+				}
+
+				if (n >= srcLen) {
+					n = n % srcLen;
+				}
+				else if (n < 0) {
+					n = srcLen - 1;
+				}
+
+				c.index[base + k] = n;
+				c.weight[base + k] = weight;
+				density += weight;
+			}
+			c.count[i] = k;
+
+			if (shrink && (density != 0.0) && (density != 1.0)) {
+				// Normalize.
+				density = 1.0 / density;
+				for (int m = 0; m < k; m++)
+					c.weight[base + m] *= density;
+			}
+		}
+
+		return c;
+	}
+
+	/**
+	 * @return the width of the source images
+	 */
+	public int getSourceWidth() {
+		return srcWidth;
+	}
+
+	/**
+	 * @return the height of the source images
+	 */
+	public int getSourceHeight() {
+		return srcHeight;
+	}
+
+	/**
+	 * @return the width of the resampled images
+	 */
+	public int getDestinationWidth() {
+		return dstWidth;
+	}
+
+	/**
+	 * @return the height of the resampled images
+	 */
+	public int getDestinationHeight() {
+		return dstHeight;
+	}
+
+	/**
+	 * Resample the given image into a new image.
+	 *
+	 * @param in
+	 *            the source image
+	 * @return the resampled image
+	 */
+	public FImage resample(FImage in) {
+		final FImage dst = new FImage(dstWidth, dstHeight);
+		resample(in, dst, null);
+		return dst;
+	}
+
+	/**
+	 * Resample the given image into a new image using the given pool to
+	 * process the rows in parallel.
+	 *
+	 * @param in
+	 *            the source image
+	 * @param pool
+	 *            the pool; if null the image is processed on the calling
+	 *            thread
+	 * @return the resampled image
+	 */
+	public FImage resample(FImage in, ThreadPoolExecutor pool) {
+		final FImage dst = new FImage(dstWidth, dstHeight);
+		resample(in, dst, pool);
+		return dst;
+	}
+
+	/**
+	 * Resample the given image into the given destination image.
+	 *
+	 * @param in
+	 *            the source image
+	 * @param dst
+	 *            the destination image
+	 * @param pool
+	 *            the pool; if null the image is processed on the calling
+	 *            thread
+	 */
+	public void resample(FImage in, FImage dst, ThreadPoolExecutor pool) {
+		checkSizes(in, dst);
+		resample(new float[][][] { in.pixels }, new float[] { in.max() }, new float[][][] { dst.pixels }, pool);
+	}
+
+	/**
+	 * Resample all bands of the given image into a new image.
+	 *
+	 * @param in
+	 *            the source image
+	 * @return the resampled image
+	 */
+	public MBFImage resample(MBFImage in) {
+		final MBFImage dst = new MBFImage(dstWidth, dstHeight, in.numBands());
+		dst.colourSpace = in.colourSpace;
+		resample(in, dst, null);
+		return dst;
+	}
+
+	/**
+	 * Resample all bands of the given image into a new image using the given
+	 * pool to process the rows in parallel.
+	 *
+	 * @param in
+	 *            the source image
+	 * @param pool
+	 *            the pool; if null the image is processed on the calling
+	 *            thread
+	 * @return the resampled image
+	 */
+	public MBFImage resample(MBFImage in, ThreadPoolExecutor pool) {
+		final MBFImage dst = new MBFImage(dstWidth, dstHeight, in.numBands());
+		dst.colourSpace = in.colourSpace;
+		resample(in, dst, pool);
+		return dst;
+	}
+
+	/**
+	 * Resample all bands of the given image into the given destination image,
+	 * which must have the same number of bands.
+	 *
+	 * @param in
+	 *            the source image
+	 * @param dst
+	 *            the destination image
+	 * @param pool
+	 *            the pool; if null the image is processed on the calling
+	 *            thread
+	 */
+	public void resample(MBFImage in, MBFImage dst, ThreadPoolExecutor pool) {
+		checkSizes(in.getBand(0), dst.getBand(0));
+		if (in.numBands() != dst.numBands())
+			throw new IllegalArgumentException("Number of bands differs");
+
+		final int nBands = in.numBands();
+		final float[][][] src = new float[nBands][][];
+		final float[][][] out = new float[nBands][][];
+		final float[] maxValues = new float[nBands];
+		for (int b = 0; b < nBands; b++) {
+			final FImage band = in.getBand(b);
+			checkSizes(band, dst.getBand(b));
+			src[b] = band.pixels;
+			out[b] = dst.getBand(b).pixels;
+			maxValues[b] = band.max();
+		}
+
+		resample(src, maxValues, out, pool);
+	}
+
+	private void checkSizes(FImage in, FImage dst) {
+		if (in.width != srcWidth || in.height != srcHeight)
+			throw new IllegalArgumentException("Source image is " + in.width + "x" + in.height + "; plan expects "
+					+ srcWidth + "x" + srcHeight);
+		if (dst.width != dstWidth || dst.height != dstHeight)
+			throw new IllegalArgumentException("Destination image is " + dst.width + "x" + dst.height
+					+ "; plan expects " + dstWidth + "x" + dstHeight);
+	}
+
+	private void resample(final float[][][] src, final float[] maxValues, final float[][][] dst,
+			ThreadPoolExecutor pool)
+	{
+		// horizontally resampled rows of every band
+		final float[][][] work = new float[src.length][srcHeight][dstWidth];
+
+		if (pool == null) {
+			horizontalPass(src, maxValues, work, 0, srcHeight, 1);
+			verticalPass(work, maxValues, dst, 0, dstHeight, 1);
+		} else {
+			Parallel.forRange(0, srcHeight, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					horizontalPass(src, maxValues, work, range.start, range.stop, range.incr);
+				}
+			}, pool);
+
+			Parallel.forRange(0, dstHeight, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					verticalPass(work, maxValues, dst, range.start, range.stop, range.incr);
+				}
+			}, pool);
+		}
+	}
+
+	private void horizontalPass(float[][][] src, float[] maxValues, float[][][] work, int start, int stop, int incr) {
+		for (int r = start; r < stop; r += incr)
+			for (int b = 0; b < src.length; b++)
+				filterRow(src[b][r], maxValues[b], work[b][r]);
+	}
+
+	private void verticalPass(float[][][] work, float[] maxValues, float[][][] dst, int start, int stop, int incr) {
+		for (int r = start; r < stop; r += incr)
+			for (int b = 0; b < work.length; b++)
+				filterColumns(work[b], maxValues[b], r, dst[b][r]);
+	}
+
+	/*
+	 * The arithmetic in the following two methods must exactly mirror
+	 * ResizeProcessor#zoom for the results to be identical.
+	 */
+	private void filterRow(final float[] in, final float maxValue, final float[] out) {
+		final int stride = contribX.stride;
+		final int[] count = contribX.count;
+		final int[] index = contribX.index;
+		final double[] weights = contribX.weight;
+
+		for (int xx = 0; xx < dstWidth; xx++) {
+			final int base = xx * stride;
+			final int n = count[xx];
+
+			final double pel = in[index[base]];
+			double weight = 0.0 + pel * weights[base];
+			boolean bPelDelta = false;
+			for (int j = base + 1, e = base + n; j < e; j++) {
+				final double pel2 = in[index[j]];
+				bPelDelta |= pel2 != pel;
+				weight += pel2 * weights[j];
+			}
+			weight = bPelDelta ? Math.round(weight * 255) / 255f : pel;
+
+			if (weight < 0) {
+				weight = 0;
+			}
+			else if (weight > maxValue) {
+				weight = maxValue;
+			}
+
+			out[xx] = (float) weight;
+		}
+	}
+
+	private void filterColumns(final float[][] work, final float maxValue, final int row, final float[] out) {
+		final int stride = contribY.stride;
+		final int base = row * stride;
+		final int n = contribY.count[row];
+		final int[] index = contribY.index;
+		final double[] weights = contribY.weight;
+
+		final float[] first = work[index[base]];
+		for (int xx = 0; xx < dstWidth; xx++) {
+			final double pel = first[xx];
+			double weight = 0.0 + pel * weights[base];
+			boolean bPelDelta = false;
+			for (int j = base + 1, e = base + n; j < e; j++) {
+				final double pel2 = work[index[j]][xx];
+				bPelDelta |= pel2 != pel;
+				weight += pel2 * weights[j];
+			}
+			weight = bPelDelta ? Math.round(weight * 255) / 255f : pel;
+
+			if (weight < 0) {
+				weight = 0;
+			}
+			else if (weight > maxValue) {
+				weight = maxValue;
+			}
+
+			out[xx] = (float) weight;
+		}
+	}
+}
@@ -32,6 +32,7 @@ package org.openimaj.image.processing.resize;
 import org.openimaj.citation.annotation.Reference;
 import org.openimaj.citation.annotation.ReferenceType;
 import org.openimaj.image.FImage;
+import org.openimaj.image.FlatFImage;
 import org.openimaj.image.Image;
 import org.openimaj.image.processing.resize.filters.TriangleFilter;
 import org.openimaj.image.processor.SinglebandImageProcessor;
@@ -479,6 +480,59 @@ public class ResizeProcessor implements SinglebandImageProcessor<Float, FImage>
 		return newimage;
 	}
 
+	/**
+	 * Double the size of the image using bilinear interpolation, as in
+	 * {@link #doubleSize(FImage)}.
+	 *
+	 * @param image
+	 *            the image to double in size
+	 * @return a contiguous image of twice the size of the input
+	 */
+	public static FlatFImage doubleSize(FlatFImage image) {
+		final FlatFImage newimage = new FlatFImage(2 * image.width - 2, 2 * image.height - 2);
+		final float[] im = image.data;
+		final float[] tmp = newimage.data;
+		final int nw = newimage.width;
+
+		for (int y = 0; y < image.height - 1; y++) {
+			final int r0 = image.offset + y * image.stride;
+			final int r1 = r0 + image.stride;
+			final int o0 = 2 * y * nw;
+			final int o1 = o0 + nw;
+
+			for (int x = 0; x < image.width - 1; x++) {
+				final int x2 = 2 * x;
+				tmp[o0 + x2] = im[r0 + x];
+				tmp[o1 + x2] = 0.5f * (im[r0 + x] + im[r1 + x]);
+				tmp[o0 + x2 + 1] = 0.5f * (im[r0 + x] + im[r0 + x + 1]);
+				tmp[o1 + x2 + 1] = 0.25f * (im[r0 + x] + im[r1 + x] + im[r0 + x + 1] + im[r1 + x + 1]);
+			}
+		}
+		return newimage;
+	}
+
+	/**
+	 * Halve the size of the image by sampling every other pixel, as in
+	 * {@link #halfSize(FImage)}.
+	 *
+	 * @param image
+	 *            the image to halve in size
+	 * @return a contiguous image of half the size of the input
+	 */
+	public static FlatFImage halfSize(FlatFImage image) {
+		final FlatFImage newimage = new FlatFImage(image.width / 2, image.height / 2);
+		final float[] im = image.data;
+		final float[] tmp = newimage.data;
+
+		for (int y = 0, o = 0; y < newimage.height; y++) {
+			final int row = image.offset + 2 * y * image.stride;
+			for (int x = 0; x < newimage.width; x++, o++)
+				tmp[o] = im[row + 2 * x];
+		}
+
+		return newimage;
+	}
+
 	protected static void internalDoubleSize(FImage image) {
 		image.internalAssign(doubleSize(image));
 	}
@@ -506,15 +560,26 @@ public class ResizeProcessor implements SinglebandImageProcessor<Float, FImage>
 	 * @return a copy the the image with half the size
 	 */
 	public static FImage halfSize(FImage image) {
-		int newheight, newwidth;
-		float im[][], tmp[][];
-		FImage newimage;
+		return halfSize(image, new FImage(image.width / 2, image.height / 2));
+	}
 
-		newheight = image.height / 2;
-		newwidth = image.width / 2;
-		newimage = new FImage(newwidth, newheight);
-		im = image.pixels;
-		tmp = newimage.pixels;
+	/**
+	 * Halve the size of the image, writing the result into the given image,
+	 * which must be (at least) half the width and height of the input. Note
+	 * that this method just samples every other pixel and will produce
+	 * aliasing unless the image has been pre-filtered.
+	 *
+	 * @param image
+	 *            The image halve in size
+	 * @param newimage
+	 *            The image to write the result into
+	 * @return the output image
+	 */
+	public static FImage halfSize(FImage image, FImage newimage) {
+		final int newheight = image.height / 2;
+		final int newwidth = image.width / 2;
+		final float im[][] = image.pixels;
+		final float tmp[][] = newimage.pixels;
 
 		for (int y = 0, yi = 0; y < newheight; y++, yi += 2) {
 			for (int x = 0, xi = 0; x < newwidth; x++, xi += 2) {
@@ -806,7 +871,9 @@ public class ResizeProcessor implements SinglebandImageProcessor<Float, FImage>
 	}
 
 	/**
-	 * Resizes bitmaps while resampling them.
+	 * Resizes bitmaps while resampling them. The filter weights are computed
+	 * by a {@link ResamplingPlan}, which is cached so repeatedly resizing
+	 * images between the same sizes only computes the weights once.
 	 *
 	 * @param dst
 	 *            Destination Image
@@ -818,187 +885,7 @@ public class ResizeProcessor implements SinglebandImageProcessor<Float, FImage>
 	 * @return the destination image
 	 */
 	public static FImage zoom(FImage in, FImage dst, ResizeFilterFunction filterf) {
-		final int dstWidth = dst.getWidth();
-		final int dstHeight = dst.getHeight();
-
-		final int srcWidth = in.getWidth();
-		final int srcHeight = in.getHeight();
-
-		final double xscale = (double) dstWidth / (double) srcWidth;
-		final double yscale = (double) dstHeight / (double) srcHeight;
-
-		/* create intermediate column to hold horizontal dst column zoom */
-		final float[] work = new float[in.height];
-
-		final PixelContributions[] contribY = new PixelContributions[dstHeight];
-		for (int i = 0; i < contribY.length; i++) {
-			contribY[i] = new PixelContributions();
-		}
-
-		final float maxValue = in.max();
-
-		// TODO: What to do when fwidth > srcHeight or dstHeight
-		final double fwidth = filterf.getSupport();
-		if (yscale < 1.0) {
-			double width = fwidth / yscale;
-			double fscale = 1.0 / yscale;
-
-			if (width <= .5) {
-				// Reduce to point sampling.
-				width = .5 + 1.0e-6;
-				fscale = 1.0;
-			}
-
-			for (int i = 0; i < dstHeight; i++) {
-				contribY[i].contributions = new PixelContribution[(int) (width * 2.0 + 1)];
-				contribY[i].numberOfContributors = 0;
-
-				final double center = i / yscale;
-				final int left = (int) Math.ceil(center - width);
-				// final int right = (int) Math.floor(center + width);
-				final int right = left + contribY[i].contributions.length - 1;
-
-				double density = 0.0;
-				for (int j = left; j <= right; j++) {
-					double weight = center - j;
-					weight = filterf.filter(weight / fscale) / fscale;
-					int n;
-					if (j < 0) {
-						n = -j;
-					}
-					else if (j >= srcHeight) {
-						n = (srcHeight - j) + srcHeight - 1;
-					}
-					else {
-						n = j;
-					}
-
-					/**/
-					if (n >= srcHeight) {
-						n = n % srcHeight;
-					}
-					else if (n < 0) {
-						n = srcHeight - 1;
-					}
-					/**/
-
-					final int k = contribY[i].numberOfContributors++;
-					contribY[i].contributions[k] = new PixelContribution();
-					contribY[i].contributions[k].pixel = n;
-					contribY[i].contributions[k].weight = weight;
-
-					density += weight;
-				}
-
-				if ((density != 0.0) && (density != 1.0)) {
-					// Normalize.
-					density = 1.0 / density;
-					for (int k = 0; k < contribY[i].numberOfContributors; k++) {
-						contribY[i].contributions[k].weight *= density;
-					}
-				}
-			}
-		}
-		else {
-			for (int i = 0; i < dstHeight; ++i) {
-				contribY[i].contributions = new PixelContribution[(int) (fwidth * 2 + 1)];
-				contribY[i].numberOfContributors = 0;
-
-				final double center = i / yscale;
-				final double left = Math.ceil(center - fwidth);
-				// final double right = Math.floor(center + fwidth);
-				final double right = left + contribY[i].contributions.length - 1;
-				for (int j = (int) left; j <= right; ++j) {
-					double weight = center - j;
-					weight = filterf.filter(weight);
-					int n;
-					if (j < 0) {
-						n = -j;
-					}
-					else if (j >= srcHeight) {
-						n = (srcHeight - j) + srcHeight - 1;
-					}
-					else {
-						n = j;
-					}
-
-					/**/
-					if (n >= srcHeight) {
-						n = n % srcHeight;
-					}
-					else if (n < 0) {
-						n = srcHeight - 1;
-					}
-					/**/
-
-					final int k = contribY[i].numberOfContributors++;
-					contribY[i].contributions[k] = new PixelContribution();
-					contribY[i].contributions[k].pixel = n;
-					contribY[i].contributions[k].weight = weight;
-				}
-			}
-		}
-
-		for (int xx = 0; xx < dstWidth; xx++) {
-			final PixelContributions contribX = new PixelContributions();
-			calc_x_contrib(contribX, xscale, fwidth, dst.width, in.width, filterf, xx);
-
-			/* Apply horiz filter to make dst column in tmp. */
-			for (int k = 0; k < srcHeight; k++) {
-				double weight = 0.0;
-				boolean bPelDelta = false;
-				// TODO: This line throws index out of bounds, if the image
-				// is smaller than filter.support()
-				final double pel = in.pixels[k][contribX.contributions[0].pixel];
-				for (int j = 0; j < contribX.numberOfContributors; j++) {
-					final double pel2 = j == 0 ? pel : in.pixels[k][contribX.contributions[j].pixel];
-					if (pel2 != pel) {
-						bPelDelta = true;
-					}
-					weight += pel2 * contribX.contributions[j].weight;
-				}
-				weight = bPelDelta ? Math.round(weight * 255) / 255f : pel;
-
-				if (weight < 0) {
-					weight = 0;
-				}
-				else if (weight > maxValue) {
-					weight = maxValue;
-				}
-
-				work[k] = (float) weight;
-			}/* next row in temp column */
-
-			/*
-			 * The temp column has been built. Now stretch it vertically into
-			 * dst column.
-			 */
-			for (int i = 0; i < dstHeight; i++) {
-				double weight = 0.0;
-				boolean bPelDelta = false;
-				final double pel = work[contribY[i].contributions[0].pixel];
-
-				for (int j = 0; j < contribY[i].numberOfContributors; j++) {
-					// TODO: This line throws index out of bounds, if the
-					// image is smaller than filter.support()
-					final double pel2 = j == 0 ? pel : work[contribY[i].contributions[j].pixel];
-					if (pel2 != pel) {
-						bPelDelta = true;
-					}
-					weight += pel2 * contribY[i].contributions[j].weight;
-				}
-				weight = bPelDelta ? Math.round(weight * 255) / 255f : pel;
-
-				if (weight < 0) {
-					weight = 0;
-				}
-				else if (weight > maxValue) {
-					weight = maxValue;
-				}
-
-				dst.pixels[i][xx] = (float) weight;
-			} /* next dst row */
-		} /* next dst column */
+		ResamplingPlan.get(in.width, in.height, dst.width, dst.height, filterf).resample(in, dst, null);
 
 		return dst;
 	}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.openimaj.image.analysis.algorithm.SummedAreaTable;
+import org.openimaj.image.processing.convolution.FGaussianConvolve;
+import org.openimaj.image.processing.convolution.FImageConvolveSeparable;
+import org.openimaj.image.processing.resize.ResizeProcessor;
+
+/**
+ * Tests that the {@link FlatFImage} fast paths of the convolutions, summed area
+ * table and resizing give exactly the same results as the {@link FImage}
+ * versions, on both contiguous images and views with an offset and stride.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class FlatFImageTest {
+	private static final int[][] SIZES = { { 1, 1 }, { 5, 3 }, { 2, 17 }, { 31, 24 }, { 64, 65 } };
+
+	private static FImage randomImage(Random rng, int width, int height) {
+		final FImage image = new FImage(width, height);
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				image.pixels[y][x] = rng.nextFloat();
+		return image;
+	}
+
+	/**
+	 * Create a contiguous copy of the image, and a copy that is a view in the
+	 * middle of a larger image
+	 */
+	private static FlatFImage[] flatCopies(FImage image) {
+		final FlatFImage outer = new FlatFImage(image.width + 7, image.height + 3).fill(-1f);
+		final FlatFImage view = outer.extractROI(4, 2, image.width, image.height);
+
+		return new FlatFImage[] { new FlatFImage(image), view.copyFrom(image) };
+	}
+
+	private static void assertImageEquals(FImage expected, FlatFImage actual) {
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		for (int y = 0; y < expected.height; y++)
+			for (int x = 0; x < expected.width; x++)
+				assertEquals(expected.pixels[y][x], actual.getPixel(x, y), 0f);
+	}
+
+	/**
+	 * Check the pixels of the array outside of a view were not changed
+	 */
+	private static void assertOutsideUnchanged(FlatFImage view) {
+		int count = 0;
+		for (final float v : view.data)
+			if (v == -1f)
+				count++;
+
+		if (view.offset != 0)
+			assertEquals(view.data.length - view.width * view.height, count);
+	}
+
+	/**
+	 * Test the separable convolutions with odd and even length kernels,
+	 * including kernels longer than the image
+	 */
+	@Test
+	public void testConvolveSeparable() {
+		final Random rng = new Random(0);
+
+		for (final int[] size : SIZES) {
+			for (final int klen : new int[] { 1, 2, 3, 6, 9 }) {
+				final float[] kernel = new float[klen];
+				for (int i = 0; i < klen; i++)
+					kernel[i] = rng.nextFloat() - 0.3f;
+
+				final FImage image = randomImage(rng, size[0], size[1]);
+
+				final FImage h = image.clone();
+				FImageConvolveSeparable.convolveHorizontal(h, kernel);
+				final FImage v = image.clone();
+				FImageConvolveSeparable.convolveVertical(v, kernel);
+
+				for (final FlatFImage flat : flatCopies(image)) {
+					FImageConvolveSeparable.convolveHorizontal(flat, kernel);
+					assertImageEquals(h, flat);
+					assertOutsideUnchanged(flat);
+				}
+				for (final FlatFImage flat : flatCopies(image)) {
+					FImageConvolveSeparable.convolveVertical(flat, kernel);
+					assertImageEquals(v, flat);
+					assertOutsideUnchanged(flat);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test the Gaussian convolution
+	 */
+	@Test
+	public void testGaussian() {
+		final Random rng = new Random(1);
+
+		for (final int[] size : SIZES) {
+			for (final float sigma : new float[] { 0.7f, 1.5f, 3f }) {
+				final FImage image = randomImage(rng, size[0], size[1]);
+				final FGaussianConvolve gauss = new FGaussianConvolve(sigma);
+				final FImage expected = image.process(gauss);
+
+				for (final FlatFImage flat : flatCopies(image)) {
+					gauss.processImage(flat);
+					assertImageEquals(expected, flat);
+					assertOutsideUnchanged(flat);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test the construction of the summed area table
+	 */
+	@Test
+	public void testSummedAreaTable() {
+		final Random rng = new Random(2);
+
+		for (final int[] size : SIZES) {
+			final FImage image = randomImage(rng, size[0], size[1]);
+			final FImage expected = new SummedAreaTable(image).data;
+
+			for (final FlatFImage flat : flatCopies(image)) {
+				final FImage actual = new SummedAreaTable(flat).data;
+
+				assertEquals(expected.width, actual.width);
+				assertEquals(expected.height, actual.height);
+				for (int y = 0; y < expected.height; y++)
+					for (int x = 0; x < expected.width; x++)
+						assertEquals(expected.pixels[y][x], actual.pixels[y][x], 0f);
+			}
+		}
+	}
+
+	/**
+	 * Test halving and doubling the size
+	 */
+	@Test
+	public void testResize() {
+		final Random rng = new Random(3);
+
+		for (final int[] size : SIZES) {
+			final FImage image = randomImage(rng, size[0], size[1]);
+
+			for (final FlatFImage flat : flatCopies(image)) {
+				assertImageEquals(ResizeProcessor.halfSize(image), ResizeProcessor.halfSize(flat));
+
+				if (image.width > 1 && image.height > 1)
+					assertImageEquals(ResizeProcessor.doubleSize(image), ResizeProcessor.doubleSize(flat));
+			}
+		}
+	}
+}
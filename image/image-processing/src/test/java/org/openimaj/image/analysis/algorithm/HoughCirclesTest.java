@@ -29,9 +29,14 @@
  */
 package org.openimaj.image.analysis.algorithm;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 import org.openimaj.image.FImage;
@@ -68,4 +73,68 @@ public class HoughCirclesTest {
 
 		assertTrue(b.equals(c));
 	}
+
+	/**
+	 * Test the bounded-memory implementation
+	 */
+	@Test
+	public void testStreamingCircle() {
+		final int imgWidthHeight = 200;
+
+		final FImage circleImage = new FImage(imgWidthHeight, imgWidthHeight);
+		final Circle c = new Circle(imgWidthHeight / 2 + 3, imgWidthHeight / 2 + 1, imgWidthHeight / 4);
+		circleImage.drawShapeFilled(c, 1f);
+
+		final CannyEdgeDetector det = new CannyEdgeDetector();
+		final FImage edgeImage = circleImage.process(det);
+
+		final StreamingHoughCircles circ = new StreamingHoughCircles(5, imgWidthHeight, 5, 360);
+		edgeImage.analyseWith(circ);
+
+		final List<WeightedCircle> best = circ.getBest(1);
+		final WeightedCircle b = best.get(0);
+
+		assertTrue(b.equals(c));
+	}
+
+	/**
+	 * Test that voting in parallel gives the same circles as voting
+	 * sequentially
+	 */
+	@Test
+	public void testStreamingParallel() {
+		final Random rng = new Random(0);
+		final FImage edgeImage = new FImage(157, 121);
+		for (int i = 0; i < 5; i++) {
+			final Circle c = new Circle(rng.nextInt(157), rng.nextInt(121), 10 + rng.nextInt(40));
+			edgeImage.drawShape(c, 1f);
+		}
+		for (int i = 0; i < 300; i++)
+			edgeImage.pixels[rng.nextInt(121)][rng.nextInt(157)] = 1f;
+
+		final StreamingHoughCircles seq = new StreamingHoughCircles(5, 60, 3, 180, 5000);
+		seq.setThreadPool(null);
+		edgeImage.analyseWith(seq);
+		final List<WeightedCircle> expected = seq.getBest(5000);
+
+		final ThreadPoolExecutor pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>());
+		try {
+			final StreamingHoughCircles par = new StreamingHoughCircles(5, 60, 3, 180, 5000);
+			par.setThreadPool(pool);
+			edgeImage.analyseWith(par);
+			final List<WeightedCircle> actual = par.getBest(5000);
+
+			assertEquals(5000, expected.size());
+			assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i).getX(), actual.get(i).getX(), 0);
+				assertEquals(expected.get(i).getY(), actual.get(i).getY(), 0);
+				assertEquals(expected.get(i).getRadius(), actual.get(i).getRadius(), 0);
+				assertEquals(expected.get(i).weight, actual.get(i).weight, 0);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
 }
@@ -32,12 +32,14 @@ package org.openimaj.image.analysis.algorithm;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.openimaj.image.FImage;
 import org.openimaj.image.ImageUtilities;
 import org.openimaj.image.pixel.FValuePixel;
+import org.openimaj.util.parallel.GlobalExecutorPool;
 
 /**
  * Tests for template matcher
@@ -95,4 +97,46 @@ public class TemplateMatchingTest {
 			}
 		}
 	}
+
+	/**
+	 * Compare the adaptive template matcher in both domains, with and without
+	 * a thread pool, against the spatial matcher
+	 */
+	@Test
+	public void adaptiveTest() {
+		final FImage smallTemplate = image.extractROI(120, 110, 21, 15);
+
+		for (final TemplateMatcher.Mode mode : TemplateMatcher.Mode.values()) {
+			final TemplateMatcher sMatcher = new TemplateMatcher(smallTemplate, mode);
+			sMatcher.analyseImage(image);
+			final FImage sResponse = sMatcher.getResponseMap();
+			final float scale = Math.max(1, Math.max(Math.abs(sResponse.max()), Math.abs(sResponse.min())));
+
+			for (final ThreadPoolExecutor pool : new ThreadPoolExecutor[] { null, GlobalExecutorPool.getPool() }) {
+				for (final AdaptiveTemplateMatcher.Domain domain : AdaptiveTemplateMatcher.Domain.values()) {
+					final AdaptiveTemplateMatcher aMatcher = new AdaptiveTemplateMatcher(smallTemplate, mode);
+					aMatcher.setDomain(domain);
+					aMatcher.setThreadPool(pool);
+					aMatcher.analyseImage(image);
+					final FImage aResponse = aMatcher.getResponseMap();
+
+					assertEquals(sResponse.width, aResponse.width);
+					assertEquals(sResponse.height, aResponse.height);
+					assertEquals(sMatcher.getXOffset(), aMatcher.getXOffset());
+					assertEquals(sMatcher.getYOffset(), aMatcher.getYOffset());
+
+					for (int y = 0; y < sResponse.height; y++) {
+						for (int x = 0; x < sResponse.width; x++) {
+							assertEquals(sResponse.pixels[y][x], aResponse.pixels[y][x], 1e-3 * scale);
+						}
+					}
+
+					final FValuePixel sBest = sMatcher.getBestResponses(1)[0];
+					final FValuePixel aBest = aMatcher.getBestResponses(1)[0];
+					assertEquals(sBest.x, aBest.x);
+					assertEquals(sBest.y, aBest.y);
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.analysis.pyramid.gaussian;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.image.FImage;
+import org.openimaj.image.MBFImage;
+import org.openimaj.image.colour.ColourSpace;
+import org.openimaj.image.analysis.pyramid.ImageBufferPool;
+import org.openimaj.image.analysis.pyramid.MultiOctaveProcessor;
+import org.openimaj.image.analysis.pyramid.OctaveProcessor;
+
+/**
+ * Tests that pooling the images of a {@link GaussianPyramid}, blurring in
+ * parallel and sharing octaves with a {@link MultiOctaveProcessor} give the
+ * same octaves as building the pyramid normally, and that the
+ * {@link ImageBufferPool} reuses images.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class GaussianPyramidTest {
+	/**
+	 * Records a copy of every image of every octave
+	 */
+	static class RecordingProcessor implements OctaveProcessor<GaussianOctave<FImage>, FImage> {
+		List<FImage> images = new ArrayList<FImage>();
+
+		@Override
+		public void process(GaussianOctave<FImage> octave) {
+			for (final FImage image : octave.images)
+				images.add(image.clone());
+		}
+	}
+
+	/**
+	 * Counts the images acquired from the pool that it hasn't handed out
+	 * before, and the images released to the pool that were created
+	 * elsewhere
+	 */
+	static class CountingBufferPool extends ImageBufferPool<FImage> {
+		Set<FImage> seen = Collections.newSetFromMap(new IdentityHashMap<FImage, Boolean>());
+		int created;
+		int foreign;
+
+		@Override
+		public FImage acquire(FImage template, int width, int height) {
+			final FImage image = super.acquire(template, width, height);
+			if (seen.add(image))
+				created++;
+			return image;
+		}
+
+		@Override
+		public void release(FImage image) {
+			if (seen.add(image))
+				foreign++;
+			super.release(image);
+		}
+	}
+
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Create the pool
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	private static FImage[] createImages() {
+		final Random rng = new Random(0);
+		final FImage[] images = new FImage[3];
+		for (int i = 0; i < images.length; i++) {
+			images[i] = new FImage(97, 80);
+			for (int y = 0; y < images[i].height; y++)
+				for (int x = 0; x < images[i].width; x++)
+					images[i].pixels[y][x] = rng.nextFloat();
+		}
+		return images;
+	}
+
+	private static List<FImage> record(FImage image, boolean doubleInitialImage) {
+		final GaussianPyramidOptions<FImage> options = new GaussianPyramidOptions<FImage>();
+		options.setDoubleInitialImage(doubleInitialImage);
+		final RecordingProcessor recorder = new RecordingProcessor();
+		options.setOctaveProcessor(recorder);
+
+		new GaussianPyramid<FImage>(options).process(image);
+
+		return recorder.images;
+	}
+
+	private static void assertImagesEqual(List<FImage> expected, List<FImage> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			final FImage e = expected.get(i);
+			final FImage a = actual.get(i);
+
+			assertEquals(e.width, a.width);
+			assertEquals(e.height, a.height);
+			for (int y = 0; y < e.height; y++)
+				for (int x = 0; x < e.width; x++)
+					assertEquals(e.pixels[y][x], a.pixels[y][x], 0f);
+		}
+	}
+
+	/**
+	 * Test that drawing the images from a buffer pool and blurring in parallel
+	 * gives the same octaves across a stream of images
+	 */
+	@Test
+	public void testPooled() {
+		final FImage[] images = createImages();
+
+		for (final boolean doubleInitialImage : new boolean[] { true, false }) {
+			final ImageBufferPool<FImage> bufferPool = new ImageBufferPool<FImage>();
+			final GaussianPyramidOptions<FImage> options = new GaussianPyramidOptions<FImage>();
+			options.setDoubleInitialImage(doubleInitialImage);
+			options.setBufferPool(bufferPool);
+			options.setThreadPool(pool);
+			final GaussianPyramid<FImage> pyramid = new GaussianPyramid<FImage>(options);
+
+			for (final FImage image : images) {
+				final RecordingProcessor recorder = new RecordingProcessor();
+				options.setOctaveProcessor(recorder);
+				pyramid.process(image);
+
+				final List<FImage> expected = record(image, doubleInitialImage);
+				assertTrue(expected.size() > 0);
+				assertImagesEqual(expected, recorder.images);
+			}
+		}
+	}
+
+	/**
+	 * Test that each processor of a {@link MultiOctaveProcessor} sees the same
+	 * octaves as it would with its own pyramid, with and without a pool
+	 */
+	@Test
+	public void testMultiOctaveProcessor() {
+		final FImage image = createImages()[0];
+		final List<FImage> expected = record(image, true);
+
+		for (final ThreadPoolExecutor p : new ThreadPoolExecutor[] { null, pool }) {
+			final RecordingProcessor r1 = new RecordingProcessor();
+			final RecordingProcessor r2 = new RecordingProcessor();
+			final MultiOctaveProcessor<GaussianOctave<FImage>, FImage> multi = new MultiOctaveProcessor<GaussianOctave<FImage>, FImage>(
+					r1, r2);
+			multi.setThreadPool(p);
+
+			final GaussianPyramidOptions<FImage> options = new GaussianPyramidOptions<FImage>();
+			options.setBufferPool(new ImageBufferPool<FImage>());
+			options.setThreadPool(p);
+			options.setOctaveProcessor(multi);
+			new GaussianPyramid<FImage>(options).process(image);
+
+			assertImagesEqual(expected, r1.images);
+			assertImagesEqual(expected, r2.images);
+		}
+	}
+
+	/**
+	 * Test that once the first image has been processed, the pyramids of
+	 * further images of the same size are built entirely from pooled images
+	 */
+	@Test
+	public void testPoolReuse() {
+		final FImage[] images = createImages();
+
+		final CountingBufferPool bufferPool = new CountingBufferPool();
+		final GaussianPyramidOptions<FImage> options = new GaussianPyramidOptions<FImage>();
+		options.setDoubleInitialImage(false);
+		options.setBufferPool(bufferPool);
+		final GaussianPyramid<FImage> pyramid = new GaussianPyramid<FImage>(options);
+
+		pyramid.process(images[0]);
+		assertTrue(bufferPool.created > 0);
+
+		bufferPool.created = 0;
+		bufferPool.foreign = 0;
+		for (int i = 1; i < images.length; i++)
+			pyramid.process(images[i]);
+		assertEquals(0, bufferPool.created);
+		assertEquals(0, bufferPool.foreign);
+	}
+
+	/**
+	 * Test that the pool only hands out images with the same number of bands
+	 * as the template
+	 */
+	@Test
+	public void testPoolBands() {
+		final ImageBufferPool<MBFImage> bufferPool = new ImageBufferPool<MBFImage>();
+		final MBFImage rgb = new MBFImage(10, 8, ColourSpace.RGB);
+		final MBFImage grey = new MBFImage(10, 8, 1);
+
+		bufferPool.release(rgb);
+		final MBFImage acquired = bufferPool.acquire(grey, 10, 8);
+		assertNotSame(rgb, acquired);
+		assertEquals(1, acquired.numBands());
+
+		assertSame(rgb, bufferPool.acquire(rgb, 10, 8));
+	}
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.processing.algorithm;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.image.FImage;
+
+/**
+ * Tests for {@link HistogramRankFilter} and {@link RectangularMinMaxFilter}
+ * against brute-force implementations.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class RankFilterTest {
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Create the pool
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void teardown() {
+		pool.shutdown();
+	}
+
+	private static FImage randomImage(int width, int height, int seed) {
+		final Random rng = new Random(seed);
+		final FImage image = new FImage(width, height);
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				image.pixels[y][x] = rng.nextInt(10) == 0 ? rng.nextFloat() * 1.2f - 0.1f : rng.nextInt(256) / 255f;
+		return image;
+	}
+
+	private static void assertImageEquals(String message, FImage expected, FImage actual) {
+		for (int y = 0; y < expected.height; y++)
+			assertArrayEquals(message + " row " + y, expected.pixels[y], actual.pixels[y], 0f);
+	}
+
+	private static FImage bruteForceRank(FImage image, int rx, int ry, float rank, int nLevels) {
+		final FImage out = new FImage(image.width, image.height);
+		final float scale = nLevels - 1;
+
+		for (int y = 0; y < image.height; y++) {
+			for (int x = 0; x < image.width; x++) {
+				final int y0 = Math.max(0, y - ry), y1 = Math.min(image.height - 1, y + ry);
+				final int x0 = Math.max(0, x - rx), x1 = Math.min(image.width - 1, x + rx);
+
+				final int[] values = new int[(y1 - y0 + 1) * (x1 - x0 + 1)];
+				for (int yy = y0, i = 0; yy <= y1; yy++)
+					for (int xx = x0; xx <= x1; xx++)
+						values[i++] = Math.max(0, Math.min(nLevels - 1, Math.round(image.pixels[yy][xx] * scale)));
+				Arrays.sort(values);
+
+				out.pixels[y][x] = values[(int) (rank * (values.length - 1))] / scale;
+			}
+		}
+
+		return out;
+	}
+
+	private static FImage bruteForceMinMax(FImage image, int w, int h, boolean max) {
+		final FImage out = new FImage(image.width, image.height);
+
+		for (int y = 0; y < image.height; y++) {
+			for (int x = 0; x < image.width; x++) {
+				float v = max ? -Float.MAX_VALUE : Float.MAX_VALUE;
+				for (int yy = Math.max(0, y - h / 2); yy < Math.min(image.height, y - h / 2 + h); yy++)
+					for (int xx = Math.max(0, x - w / 2); xx < Math.min(image.width, x - w / 2 + w); xx++)
+						v = max ? Math.max(v, image.pixels[yy][xx]) : Math.min(v, image.pixels[yy][xx]);
+				out.pixels[y][x] = v;
+			}
+		}
+
+		return out;
+	}
+
+	/**
+	 * Test the rank filter against sorting each window, for square and
+	 * non-square windows (including windows larger than the image), a range
+	 * of ranks and level counts, with and without a pool.
+	 */
+	@Test
+	public void testRankFilter() {
+		final int[][] sizes = { { 53, 37 }, { 7, 90 }, { 90, 5 } };
+		final int[][] radii = { { 0, 0 }, { 1, 1 }, { 3, 1 }, { 0, 4 }, { 6, 2 }, { 50, 3 } };
+		final float[] ranks = { 0, 0.25f, 0.5f, 1 };
+		final int[] levels = { 256, 17 };
+
+		for (final int[] size : sizes) {
+			final FImage image = randomImage(size[0], size[1], size[0]);
+
+			for (final int[] r : radii) {
+				for (final float rank : ranks) {
+					for (final int nLevels : levels) {
+						final FImage expected = bruteForceRank(image, r[0], r[1], rank, nLevels);
+						final String msg = Arrays.toString(size) + " radius " + Arrays.toString(r) + " rank " + rank
+								+ " levels " + nLevels;
+
+						final HistogramRankFilter filter = new HistogramRankFilter(r[0], r[1], rank, nLevels);
+						filter.setThreadPool(null);
+						assertImageEquals(msg, expected, image.process(filter));
+
+						filter.setThreadPool(pool);
+						assertImageEquals(msg + " (parallel)", expected, image.process(filter));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test the min and max filters against a brute-force search of each
+	 * window, for odd, even, non-square and oversized windows, with and
+	 * without a pool.
+	 */
+	@Test
+	public void testMinMaxFilter() {
+		final int[][] sizes = { { 53, 37 }, { 7, 90 }, { 90, 5 } };
+		final int[][] windows = { { 1, 1 }, { 3, 3 }, { 2, 2 }, { 5, 1 }, { 1, 4 }, { 7, 3 }, { 4, 9 }, { 100, 2 } };
+
+		for (final int[] size : sizes) {
+			final FImage image = randomImage(size[0], size[1], size[1]);
+
+			for (final int[] w : windows) {
+				for (final RectangularMinMaxFilter.Mode mode : RectangularMinMaxFilter.Mode.values()) {
+					final FImage expected = bruteForceMinMax(image, w[0], w[1],
+							mode == RectangularMinMaxFilter.Mode.MAX);
+					final String msg = Arrays.toString(size) + " window " + Arrays.toString(w) + " " + mode;
+
+					final RectangularMinMaxFilter filter = new RectangularMinMaxFilter(mode, w[0], w[1]);
+					filter.setThreadPool(null);
+					assertImageEquals(msg, expected, image.process(filter));
+
+					filter.setThreadPool(pool);
+					assertImageEquals(msg + " (parallel)", expected, image.process(filter));
+				}
+			}
+		}
+	}
+}
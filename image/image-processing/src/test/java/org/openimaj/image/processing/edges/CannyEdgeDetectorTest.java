@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.processing.edges;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.image.FImage;
+import org.openimaj.image.processing.convolution.FGaussianConvolve;
+import org.openimaj.math.geometry.shape.Circle;
+import org.openimaj.math.geometry.shape.Rectangle;
+
+/**
+ * Tests for {@link CannyEdgeDetector} and the parallel
+ * {@link StrokeWidthTransform}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class CannyEdgeDetectorTest {
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Create the pool
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Test that the hysteresis thresholding follows a weak edge for its whole
+	 * length from a strong pixel, rather than only to the neighbours of the
+	 * strong pixel. The edge runs along the bottom and right-hand side of the
+	 * image.
+	 */
+	@Test
+	public void testHysteresisFollowsWeakEdges() {
+		for (final ThreadPoolExecutor p : new ThreadPoolExecutor[] { null, pool }) {
+			// a vertical edge in the x-gradient, strong at the top and weak
+			// below, which turns into a horizontal edge in the y-gradient
+			final FImage dx = new FImage(50, 150);
+			final FImage dy = new FImage(50, 150);
+			dx.pixels[10][20] = 1f;
+			for (int y = 11; y < 140; y++)
+				dx.pixels[y][20] = 0.5f;
+			for (int x = 21; x < 49; x++)
+				dy.pixels[140][x] = 0.5f;
+			dx.pixels[5][35] = 0.2f;
+
+			final CannyEdgeDetector det = new CannyEdgeDetector(0.3f, 0.9f, 1f);
+			det.setThreadPool(p);
+			final FImage output = new FImage(50, 150);
+			det.processImage(output, dx, dy);
+
+			for (int y = 0; y < output.height; y++) {
+				for (int x = 0; x < output.width; x++) {
+					final boolean edge = (x == 20 && y >= 10 && y < 140) || (y == 140 && x > 20 && x < 49);
+					assertEquals("(" + x + ", " + y + ")", edge ? 1f : 0f, output.pixels[y][x], 0f);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create an image of random shapes with some noise
+	 */
+	static FImage createImage(Random rng, int width, int height) {
+		final FImage image = new FImage(width, height);
+		for (int i = 0; i < 8; i++) {
+			final float colour = rng.nextFloat();
+			if (rng.nextBoolean())
+				image.drawShapeFilled(new Circle(rng.nextInt(width), rng.nextInt(height), 3 + rng.nextInt(20)), colour);
+			else
+				image.drawShapeFilled(new Rectangle(rng.nextInt(width), rng.nextInt(height), 2 + rng.nextInt(30),
+						2 + rng.nextInt(30)), colour);
+		}
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				image.pixels[y][x] += 0.05f * (float) rng.nextGaussian();
+		return image.processInplace(new FGaussianConvolve(0.7f));
+	}
+
+	static void assertImageEquals(FImage expected, FImage actual) {
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		for (int y = 0; y < expected.height; y++)
+			for (int x = 0; x < expected.width; x++)
+				assertEquals("(" + x + ", " + y + ")", expected.pixels[y][x], actual.pixels[y][x], 0f);
+	}
+
+	/**
+	 * Test that the tiled implementation gives exactly the same edges as the
+	 * sequential one, for images that are smaller than a tile, end on a tile
+	 * boundary or end part way through a tile
+	 */
+	@Test
+	public void testTiledMatchesSequential() {
+		final Random rng = new Random(0);
+		final int h = CannyEdgeDetector.TILE_HEIGHT;
+		final int[][] sizes = { { 40, 30 }, { 70, h }, { 70, h + 1 }, { 90, 2 * h + 1 }, { 123, 3 * h + 17 } };
+
+		for (final int[] size : sizes) {
+			final FImage image = createImage(rng, size[0], size[1]);
+
+			for (final CannyEdgeDetector[] dets : new CannyEdgeDetector[][] {
+					{ new CannyEdgeDetector(), new CannyEdgeDetector() },
+					{ new CannyEdgeDetector(2.5f), new CannyEdgeDetector(2.5f) },
+					{ new CannyEdgeDetector(0.05f, 0.2f, 1f), new CannyEdgeDetector(0.05f, 0.2f, 1f) } })
+			{
+				dets[1].setThreadPool(pool);
+
+				final FImage expected = image.process(dets[0]);
+				final FImage actual = image.process(dets[1]);
+
+				assertTrue(expected.sum() > 0);
+				assertImageEquals(expected, actual);
+			}
+		}
+	}
+
+	/**
+	 * Test that casting the rays of the stroke width transform in parallel
+	 * gives exactly the same result as casting them sequentially
+	 */
+	@Test
+	public void testParallelStrokeWidthTransform() {
+		final Random rng = new Random(1);
+		final int h = CannyEdgeDetector.TILE_HEIGHT;
+
+		for (final int[] size : new int[][] { { 50, 40 }, { 120, 2 * h + 5 } }) {
+			final FImage image = createImage(rng, size[0], size[1]);
+
+			for (final boolean direction : new boolean[] { false, true }) {
+				final StrokeWidthTransform seq = new StrokeWidthTransform(direction, 1f);
+				final StrokeWidthTransform par = new StrokeWidthTransform(direction, 1f);
+				par.setThreadPool(pool);
+
+				final FImage expected = image.process(seq);
+				assertImageEquals(expected, image.process(par));
+
+				int nStrokes = 0;
+				for (int y = 0; y < expected.height; y++)
+					for (int x = 0; x < expected.width; x++)
+						if (expected.pixels[y][x] != Float.POSITIVE_INFINITY)
+							nStrokes++;
+				assertTrue(nStrokes > 0);
+			}
+		}
+	}
+}
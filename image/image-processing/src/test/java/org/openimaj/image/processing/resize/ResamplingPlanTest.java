@@ -0,0 +1,434 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.processing.resize;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.openimaj.image.FImage;
+import org.openimaj.image.MBFImage;
+import org.openimaj.image.processing.resize.filters.BSplineFilter;
+import org.openimaj.image.processing.resize.filters.BoxFilter;
+import org.openimaj.image.processing.resize.filters.CatmullRomFilter;
+import org.openimaj.image.processing.resize.filters.Lanczos3Filter;
+import org.openimaj.image.processing.resize.filters.MitchellFilter;
+import org.openimaj.image.processing.resize.filters.TriangleFilter;
+import org.openimaj.util.parallel.GlobalExecutorPool;
+
+/**
+ * Tests for the {@link ResamplingPlan}
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class ResamplingPlanTest {
+	private static MBFImage randomImage(int width, int height) {
+		final Random rng = new Random(42);
+		final MBFImage image = new MBFImage(width, height, 3);
+		for (final FImage band : image.bands)
+			for (int y = 0; y < height; y++)
+				for (int x = 0; x < width; x++)
+					band.pixels[y][x] = rng.nextInt(4) == 0 && x > 0 ? band.pixels[y][x - 1] : rng.nextFloat();
+		return image;
+	}
+
+	/**
+	 * Test that plans are cached
+	 */
+	@Test
+	public void testCached() {
+		assertSame(ResamplingPlan.get(100, 50, 20, 10, TriangleFilter.INSTANCE),
+				ResamplingPlan.get(100, 50, 20, 10, TriangleFilter.INSTANCE));
+	}
+
+	private static final ResizeFilterFunction[] FILTERS = { TriangleFilter.INSTANCE, BSplineFilter.INSTANCE,
+			Lanczos3Filter.INSTANCE, BoxFilter.INSTANCE, CatmullRomFilter.INSTANCE, MitchellFilter.INSTANCE };
+
+	// source width, source height, target width, target height
+	private static final int[][] SIZES = { { 64, 48, 16, 12 }, { 64, 48, 150, 101 }, { 37, 91, 12, 200 },
+			{ 100, 80, 33, 47 }, { 25, 25, 25, 25 }, { 200, 13, 7, 26 } };
+
+	/**
+	 * Test that {@link ResizeProcessor#zoom(FImage, FImage, ResizeFilterFunction)}
+	 * gives exactly the same result as the original implementation
+	 */
+	@Test
+	public void testZoomMatchesOriginal() {
+		for (final ResizeFilterFunction filter : FILTERS) {
+			for (final int[] s : SIZES) {
+				final FImage image = randomImage(s[0], s[1]).getBand(0);
+				final FImage expected = referenceZoom(image, new FImage(s[2], s[3]), filter);
+				final FImage result = ResizeProcessor.zoom(image, new FImage(s[2], s[3]), filter);
+
+				for (int y = 0; y < s[3]; y++)
+					assertArrayEquals(expected.pixels[y], result.pixels[y], 0f);
+			}
+		}
+	}
+
+	/**
+	 * Test that resampling all the bands of an {@link MBFImage} in parallel
+	 * gives exactly the same result as the original implementation applied to
+	 * each band individually
+	 */
+	@Test
+	public void testFusedParallelMatchesOriginal() {
+		for (final ResizeFilterFunction filter : FILTERS) {
+			for (final int[] s : SIZES) {
+				final MBFImage image = randomImage(s[0], s[1]);
+				final MBFImage result = ResamplingPlan.get(s[0], s[1], s[2], s[3], filter)
+						.resample(image, GlobalExecutorPool.getPool());
+
+				for (int b = 0; b < image.numBands(); b++) {
+					final FImage expected = referenceZoom(image.getBand(b), new FImage(s[2], s[3]), filter);
+
+					for (int y = 0; y < s[3]; y++)
+						assertArrayEquals(expected.pixels[y], result.getBand(b).pixels[y], 0f);
+				}
+			}
+		}
+	}
+
+	/*
+	 * A copy of the original ResizeProcessor.zoom(FImage, FImage,
+	 * ResizeFilterFunction) from before it was reimplemented with
+	 * ResamplingPlans, used as the reference for the tests.
+	 */
+	private static class PixelContribution {
+		/** Index of the pixel */
+		int pixel;
+
+		double weight;
+	}
+
+	private static class PixelContributions {
+		int numberOfContributors;
+
+		PixelContribution[] contributions;
+	}
+
+	private static void calc_x_contrib(PixelContributions contribX, double xscale, double fwidth, int dstwidth,
+			int srcwidth, ResizeFilterFunction filterf, int i)
+	{
+		double width;
+		double fscale;
+		double center;
+		double weight;
+
+		if (xscale < 1.0) {
+			/* Shrinking image */
+			width = fwidth / xscale;
+			fscale = 1.0 / xscale;
+
+			if (width <= .5) {
+				// Reduce to point sampling.
+				width = .5 + 1.0e-6;
+				fscale = 1.0;
+			}
+
+			contribX.numberOfContributors = 0;
+			contribX.contributions = new PixelContribution[(int) (width * 2.0 + 1.0)];
+
+			center = i / xscale;
+			final int left = (int) Math.ceil(center - width);// Note: Assumes
+			// width <= .5
+			final int right = (int) Math.floor(center + width);
+
+			double density = 0.0;
+
+			for (int j = left; j <= right; j++) {
+				weight = center - j;
+				weight = filterf.filter(weight / fscale) / fscale;
+				int n;
+				if (j < 0) {
+					n = -j;
+				}
+				else if (j >= srcwidth) {
+					n = (srcwidth - j) + srcwidth - 1;
+				}
+				else {
+					n = j;
+				}
+
+				/**/
+				if (n >= srcwidth) {
+					n = n % srcwidth;
+				}
+				else if (n < 0) {
+					n = srcwidth - 1;
+				}
+				/**/
+
+				final int k = contribX.numberOfContributors++;
+				contribX.contributions[k] = new PixelContribution();
+				contribX.contributions[k].pixel = n;
+				contribX.contributions[k].weight = weight;
+
+				density += weight;
+
+			}
+
+			if ((density != 0.0) && (density != 1.0)) {
+				// Normalize.
+				density = 1.0 / density;
+				for (int k = 0; k < contribX.numberOfContributors; k++) {
+					contribX.contributions[k].weight *= density;
+				}
+			}
+		}
+		else {
+			/* Expanding image */
+			contribX.numberOfContributors = 0;
+			contribX.contributions = new PixelContribution[(int) (fwidth * 2.0 + 1.0)];
+
+			center = i / xscale;
+			final int left = (int) Math.ceil(center - fwidth);
+			final int right = (int) Math.floor(center + fwidth);
+
+			for (int j = left; j <= right; j++) {
+				weight = center - j;
+				weight = filterf.filter(weight);
+
+				int n;
+				if (j < 0) {
+					n = -j;
+				}
+				else if (j >= srcwidth) {
+					n = (srcwidth - j) + srcwidth - 1;
+				}
+				else {
+					n = j;
+				}
+
+				/**/
+				if (n >= srcwidth) {
+					n = n % srcwidth;
+				}
+				else if (n < 0) {
+					n = srcwidth - 1;
+				}
+				/**/
+
+				final int k = contribX.numberOfContributors++;
+				contribX.contributions[k] = new PixelContribution();
+				contribX.contributions[k].pixel = n;
+				contribX.contributions[k].weight = weight;
+			}
+		}
+	}/* calcXContrib */
+
+	private static FImage referenceZoom(FImage in, FImage dst, ResizeFilterFunction filterf) {
+		final int dstWidth = dst.getWidth();
+		final int dstHeight = dst.getHeight();
+
+		final int srcWidth = in.getWidth();
+		final int srcHeight = in.getHeight();
+
+		final double xscale = (double) dstWidth / (double) srcWidth;
+		final double yscale = (double) dstHeight / (double) srcHeight;
+
+		/* create intermediate column to hold horizontal dst column zoom */
+		final float[] work = new float[in.height];
+
+		final PixelContributions[] contribY = new PixelContributions[dstHeight];
+		for (int i = 0; i < contribY.length; i++) {
+			contribY[i] = new PixelContributions();
+		}
+
+		final float maxValue = in.max();
+
+		// TODO: What to do when fwidth > srcHeight or dstHeight
+		final double fwidth = filterf.getSupport();
+		if (yscale < 1.0) {
+			double width = fwidth / yscale;
+			double fscale = 1.0 / yscale;
+
+			if (width <= .5) {
+				// Reduce to point sampling.
+				width = .5 + 1.0e-6;
+				fscale = 1.0;
+			}
+
+			for (int i = 0; i < dstHeight; i++) {
+				contribY[i].contributions = new PixelContribution[(int) (width * 2.0 + 1)];
+				contribY[i].numberOfContributors = 0;
+
+				final double center = i / yscale;
+				final int left = (int) Math.ceil(center - width);
+				// final int right = (int) Math.floor(center + width);
+				final int right = left + contribY[i].contributions.length - 1;
+
+				double density = 0.0;
+				for (int j = left; j <= right; j++) {
+					double weight = center - j;
+					weight = filterf.filter(weight / fscale) / fscale;
+					int n;
+					if (j < 0) {
+						n = -j;
+					}
+					else if (j >= srcHeight) {
+						n = (srcHeight - j) + srcHeight - 1;
+					}
+					else {
+						n = j;
+					}
+
+					/**/
+					if (n >= srcHeight) {
+						n = n % srcHeight;
+					}
+					else if (n < 0) {
+						n = srcHeight - 1;
+					}
+					/**/
+
+					final int k = contribY[i].numberOfContributors++;
+					contribY[i].contributions[k] = new PixelContribution();
+					contribY[i].contributions[k].pixel = n;
+					contribY[i].contributions[k].weight = weight;
+
+					density += weight;
+				}
+
+				if ((density != 0.0) && (density != 1.0)) {
+					// Normalize.
+					density = 1.0 / density;
+					for (int k = 0; k < contribY[i].numberOfContributors; k++) {
+						contribY[i].contributions[k].weight *= density;
+					}
+				}
+			}
+		}
+		else {
+			for (int i = 0; i < dstHeight; ++i) {
+				contribY[i].contributions = new PixelContribution[(int) (fwidth * 2 + 1)];
+				contribY[i].numberOfContributors = 0;
+
+				final double center = i / yscale;
+				final double left = Math.ceil(center - fwidth);
+				// final double right = Math.floor(center + fwidth);
+				final double right = left + contribY[i].contributions.length - 1;
+				for (int j = (int) left; j <= right; ++j) {
+					double weight = center - j;
+					weight = filterf.filter(weight);
+					int n;
+					if (j < 0) {
+						n = -j;
+					}
+					else if (j >= srcHeight) {
+						n = (srcHeight - j) + srcHeight - 1;
+					}
+					else {
+						n = j;
+					}
+
+					/**/
+					if (n >= srcHeight) {
+						n = n % srcHeight;
+					}
+					else if (n < 0) {
+						n = srcHeight - 1;
+					}
+					/**/
+
+					final int k = contribY[i].numberOfContributors++;
+					contribY[i].contributions[k] = new PixelContribution();
+					contribY[i].contributions[k].pixel = n;
+					contribY[i].contributions[k].weight = weight;
+				}
+			}
+		}
+
+		for (int xx = 0; xx < dstWidth; xx++) {
+			final PixelContributions contribX = new PixelContributions();
+			calc_x_contrib(contribX, xscale, fwidth, dst.width, in.width, filterf, xx);
+
+			/* Apply horiz filter to make dst column in tmp. */
+			for (int k = 0; k < srcHeight; k++) {
+				double weight = 0.0;
+				boolean bPelDelta = false;
+				// TODO: This line throws index out of bounds, if the image
+				// is smaller than filter.support()
+				final double pel = in.pixels[k][contribX.contributions[0].pixel];
+				for (int j = 0; j < contribX.numberOfContributors; j++) {
+					final double pel2 = j == 0 ? pel : in.pixels[k][contribX.contributions[j].pixel];
+					if (pel2 != pel) {
+						bPelDelta = true;
+					}
+					weight += pel2 * contribX.contributions[j].weight;
+				}
+				weight = bPelDelta ? Math.round(weight * 255) / 255f : pel;
+
+				if (weight < 0) {
+					weight = 0;
+				}
+				else if (weight > maxValue) {
+					weight = maxValue;
+				}
+
+				work[k] = (float) weight;
+			}/* next row in temp column */
+
+			/*
+			 * The temp column has been built. Now stretch it vertically into
+			 * dst column.
+			 */
+			for (int i = 0; i < dstHeight; i++) {
+				double weight = 0.0;
+				boolean bPelDelta = false;
+				final double pel = work[contribY[i].contributions[0].pixel];
+
+				for (int j = 0; j < contribY[i].numberOfContributors; j++) {
+					// TODO: This line throws index out of bounds, if the
+					// image is smaller than filter.support()
+					final double pel2 = j == 0 ? pel : work[contribY[i].contributions[j].pixel];
+					if (pel2 != pel) {
+						bPelDelta = true;
+					}
+					weight += pel2 * contribY[i].contributions[j].weight;
+				}
+				weight = bPelDelta ? Math.round(weight * 255) / 255f : pel;
+
+				if (weight < 0) {
+					weight = 0;
+				}
+				else if (weight > maxValue) {
+					weight = maxValue;
+				}
+
+				dst.pixels[i][xx] = (float) weight;
+			} /* next dst row */
+		} /* next dst column */
+
+		return dst;
+	}
+}
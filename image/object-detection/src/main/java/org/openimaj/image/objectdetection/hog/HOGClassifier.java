@@ -38,6 +38,7 @@ import org.openimaj.math.geometry.shape.Rectangle;
 import org.openimaj.math.statistics.distribution.Histogram;
 import org.openimaj.ml.annotation.Annotator;
 import org.openimaj.ml.annotation.ScoredAnnotation;
+import org.openimaj.ml.annotation.linear.LiblinearAnnotator;
 
 public class HOGClassifier {
 	int width;
@@ -60,4 +61,25 @@ public class HOGClassifier {
 			return 1 - res.get(0).confidence;
 		}
 	}
+
+	/**
+	 * Get the weights of the linear decision function of the classifier
+	 * (with the bias as the final element) if the underlying classifier is a
+	 * binary {@link LiblinearAnnotator}. A window is positive if the sigmoid
+	 * of its decision value exceeds the detection threshold, which is
+	 * consistent with {@link #classify(Rectangle)}.
+	 *
+	 * @return the weights, or null if the classifier is not a binary linear
+	 *         classifier
+	 */
+	double[] getLinearWeights() {
+		if (!(classifier instanceof LiblinearAnnotator))
+			return null;
+
+		final LiblinearAnnotator<DoubleFV, Boolean> linear = (LiblinearAnnotator<DoubleFV, Boolean>) classifier;
+		if (!linear.hasLinearWeights(true))
+			return null;
+
+		return linear.getLinearWeights(true);
+	}
 }
@@ -31,15 +31,23 @@ package org.openimaj.image.objectdetection.hog;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.image.FImage;
+import org.openimaj.image.feature.dense.gradient.binning.FlexibleHOGStrategy;
 import org.openimaj.image.objectdetection.AbstractMultiScaleObjectDetector;
 import org.openimaj.math.geometry.shape.Rectangle;
+import org.openimaj.math.statistics.distribution.Histogram;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 public class HOGDetector extends AbstractMultiScaleObjectDetector<FImage, Rectangle> {
 	protected float scaleFactor = 1.2f;
 	protected HOGClassifier classifier;
 	double threshold = 0.5;
+	protected boolean denseMode = false;
+	protected ThreadPoolExecutor threadPool;
 
 	public HOGDetector(HOGClassifier classifier, float scaleFactor) {
 		this.classifier = classifier;
@@ -50,6 +58,61 @@ public class HOGDetector extends AbstractMultiScaleObjectDetector<FImage, Rectan
 		this.classifier = classifier;
 	}
 
+	/**
+	 * Enable or disable dense mode. In dense mode the normalised HOG blocks
+	 * are computed once per scale over a dense grid of cells, and the linear
+	 * decision function of the classifier is evaluated as a sliding dot
+	 * product over the grid, so blocks shared by overlapping windows are only
+	 * computed once. Windows are stepped by a single cell (which for the usual
+	 * 8x16 cell 64x128 window is the same as the default step of 8 pixels at
+	 * each scale) and the scales are processed concurrently if a thread pool
+	 * has been set.
+	 * <p>
+	 * Dense mode requires the {@link HOGClassifier} to use a
+	 * {@link FlexibleHOGStrategy} and a binary linear classifier; the
+	 * detections are the same as would be made in the normal mode with the
+	 * same window positions.
+	 *
+	 * @param denseMode
+	 *            true if dense mode should be used
+	 * @throws IllegalStateException
+	 *             if dense mode is requested and the classifier doesn't
+	 *             support it
+	 */
+	public void setDenseMode(boolean denseMode) {
+		if (denseMode)
+			checkDenseMode();
+
+		this.denseMode = denseMode;
+	}
+
+	/*
+	 * Check that the classifier can be used in dense mode, returning the
+	 * weights of its decision function if it can.
+	 */
+	private double[] checkDenseMode() {
+		if (!(classifier.hogExtractor.getStrategy() instanceof FlexibleHOGStrategy))
+			throw new IllegalStateException("Dense mode requires a FlexibleHOGStrategy");
+
+		final double[] weights = classifier.getLinearWeights();
+		if (weights == null)
+			throw new IllegalStateException("Dense mode requires a binary linear classifier");
+
+		return weights;
+	}
+
+	/**
+	 * Set the thread pool used to process the scales concurrently in dense
+	 * mode. The default is null, in which case the scales are processed
+	 * sequentially.
+	 *
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
 	@Override
 	public List<Rectangle> detect(FImage image) {
 		final List<Rectangle> results = new ArrayList<Rectangle>();
@@ -79,6 +142,9 @@ public class HOGDetector extends AbstractMultiScaleObjectDetector<FImage, Rectan
 			nFactors++;
 		}
 
+		if (denseMode)
+			return detectDense(image, startFactor, nFactors);
+
 		// run the detection at each scale
 		float factor = (float) Math.pow(scaleFactor, startFactor);
 		for (int scaleStep = startFactor; scaleStep < nFactors; factor *=
@@ -102,6 +168,120 @@ public class HOGDetector extends AbstractMultiScaleObjectDetector<FImage, Rectan
 		return results;
 	}
 
+	/*
+	 * Perform the detection at all the scales in dense mode, in parallel if a
+	 * thread pool is set. The results are returned in the same order as they
+	 * would be in the sequential case.
+	 */
+	private List<Rectangle> detectDense(FImage image, final int startFactor, final int nFactors) {
+		// the classifier might have changed since dense mode was enabled
+		final double[] weights = checkDenseMode();
+		final FlexibleHOGStrategy strategy = (FlexibleHOGStrategy) classifier.hogExtractor.getStrategy();
+
+		final int imageWidth = image.getWidth();
+		final int imageHeight = image.getHeight();
+		final int startX = (int) (roi == null ? 0 : Math.max(0, roi.x));
+		final int startY = (int) (roi == null ? 0 : Math.max(0, roi.y));
+		final float endX = roi == null ? imageWidth : Math.min(imageWidth, roi.x + roi.width);
+		final float endY = roi == null ? imageHeight : Math.min(imageHeight, roi.y + roi.height);
+
+		// the scale factors, computed exactly as in the normal mode
+		final int nScales = Math.max(0, nFactors - startFactor);
+		final float[] factors = new float[nScales];
+		float factor = (float) Math.pow(scaleFactor, startFactor);
+		for (int i = 0; i < nScales; i++, factor *= scaleFactor)
+			factors[i] = factor;
+
+		@SuppressWarnings("unchecked")
+		final List<Rectangle>[] scaleResults = new List[nScales];
+
+		if (threadPool == null) {
+			for (int i = 0; i < nScales; i++)
+				scaleResults[i] = detectAtScaleDense(strategy, weights, factors[i],
+						startX, startY, endX, endY);
+		} else {
+			Parallel.forRange(0, nScales, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					for (int i = range.start; i < range.stop; i++)
+						scaleResults[i] = detectAtScaleDense(strategy, weights, factors[i],
+								startX, startY, endX, endY);
+				}
+			}, threadPool);
+		}
+
+		final List<Rectangle> results = new ArrayList<Rectangle>();
+		for (final List<Rectangle> r : scaleResults)
+			results.addAll(r);
+
+		return results;
+	}
+
+	/*
+	 * Perform the detection at a single scale in dense mode. The window
+	 * positions are all those at a whole number of cells from the start
+	 * position, and the blocks covering them are computed exactly once.
+	 */
+	private List<Rectangle> detectAtScaleDense(FlexibleHOGStrategy strategy, double[] weights, float factor,
+			int startX, int startY, float endX, float endY)
+	{
+		final List<Rectangle> results = new ArrayList<Rectangle>();
+
+		final int windowWidth = (int) (factor * classifier.width);
+		final int windowHeight = (int) (factor * classifier.height);
+		final int stopX = Math.round(endX - windowWidth);
+		final int stopY = Math.round(endY - windowHeight);
+
+		final int numCellsX = strategy.getNumCellsX();
+		final int numCellsY = strategy.getNumCellsY();
+		final int cellWidth = windowWidth / numCellsX;
+		final int cellHeight = windowHeight / numCellsY;
+
+		if (cellWidth == 0 || cellHeight == 0 || stopX <= startX || stopY <= startY)
+			return results;
+
+		// the number of window positions in each direction
+		final int nx = (stopX - startX + cellWidth - 1) / cellWidth;
+		final int ny = (stopY - startY + cellHeight - 1) / cellHeight;
+
+		final Histogram[][] blocks = strategy.extractBlockGrid(classifier.hogExtractor.getExtractor(), startX, startY,
+				cellWidth, cellHeight, nx - 1 + numCellsX, ny - 1 + numCellsY);
+
+		final int numBlocksX = strategy.getNumBlocksX();
+		final int numBlocksY = strategy.getNumBlocksY();
+		final int blockStepX = strategy.getBlockStepX();
+		final int blockStepY = strategy.getBlockStepY();
+		final int blockLength = blocks[0][0].values.length;
+		final int biasIdx = numBlocksX * numBlocksY * blockLength;
+
+		if (weights.length != biasIdx + 1)
+			throw new IllegalArgumentException("The classifier weights do not match the length of the HOG features");
+
+		for (int wy = 0; wy < ny; wy++) {
+			for (int wx = 0; wx < nx; wx++) {
+				double score = weights[biasIdx];
+
+				for (int j = 0, offset = 0; j < numBlocksY; j++) {
+					final Histogram[] blockRow = blocks[wy + j * blockStepY];
+
+					for (int i = 0; i < numBlocksX; i++) {
+						final double[] block = blockRow[wx + i * blockStepX].values;
+
+						for (int k = 0; k < blockLength; k++, offset++)
+							score += weights[offset] * block[k];
+					}
+				}
+
+				if (1.0 / (1.0 + Math.exp(-score)) > threshold) {
+					results.add(new Rectangle(startX + wx * cellWidth, startY + wy * cellHeight,
+							windowWidth, windowHeight));
+				}
+			}
+		}
+
+		return results;
+	}
+
 	/**
 	 * Perform detection at a single scale. Subclasses may override this to
 	 * customise the spatial search. The given starting and stopping coordinates
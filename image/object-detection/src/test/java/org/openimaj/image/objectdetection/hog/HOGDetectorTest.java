@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.image.objectdetection.hog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.feature.DoubleFV;
+import org.openimaj.feature.IdentityFeatureExtractor;
+import org.openimaj.image.FImage;
+import org.openimaj.image.feature.dense.gradient.HOG;
+import org.openimaj.image.feature.dense.gradient.binning.FixedHOGStrategy;
+import org.openimaj.image.feature.dense.gradient.binning.FixedHOGStrategy.BlockNormalisation;
+import org.openimaj.image.feature.dense.gradient.binning.FlexibleHOGStrategy;
+import org.openimaj.image.processing.convolution.FImageGradients;
+import org.openimaj.math.geometry.shape.Rectangle;
+import org.openimaj.ml.annotation.AnnotatedObject;
+import org.openimaj.ml.annotation.linear.LiblinearAnnotator;
+import org.openimaj.ml.annotation.linear.LiblinearAnnotator.Mode;
+
+import de.bwaldvogel.liblinear.Linear;
+import de.bwaldvogel.liblinear.SolverType;
+
+/**
+ * Tests for the dense mode of the {@link HOGDetector}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class HOGDetectorTest {
+	private static final int WINDOW = 32;
+
+	/**
+	 * A detector that classifies every window individually, but at the same
+	 * window positions as dense mode (i.e. stepped by a whole cell)
+	 */
+	static class CellStepDetector extends HOGDetector {
+		CellStepDetector(HOGClassifier classifier, float scaleFactor) {
+			super(classifier, scaleFactor);
+		}
+
+		@Override
+		protected void detectAtScale(int startX, int stopX, int startY, int stopY, float ystep, int windowWidth,
+				int windowHeight, List<Rectangle> results)
+		{
+			final FlexibleHOGStrategy strategy = (FlexibleHOGStrategy) classifier.hogExtractor.getStrategy();
+			final int cellWidth = windowWidth / strategy.getNumCellsX();
+			final int cellHeight = windowHeight / strategy.getNumCellsY();
+
+			for (int iy = startY; iy < stopY; iy += cellHeight) {
+				for (int ix = startX; ix < stopX; ix += cellWidth) {
+					final Rectangle current = new Rectangle(ix, iy, windowWidth, windowHeight);
+
+					if (classifier.classify(current) > threshold)
+						results.add(current);
+				}
+			}
+		}
+	}
+
+	private ThreadPoolExecutor pool;
+	private Random rng;
+
+	/**
+	 * Create the pool and quieten liblinear
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+		rng = new Random(7);
+		Linear.disableDebugOutput();
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void shutdown() {
+		pool.shutdownNow();
+		Linear.enableDebugOutput();
+	}
+
+	private FImage noise(int width, int height) {
+		final FImage image = new FImage(width, height);
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				image.pixels[y][x] = 0.3f * rng.nextFloat();
+		return image;
+	}
+
+	private void drawSquare(FImage image, int x, int y, int size) {
+		for (int yy = y; yy < y + size; yy++)
+			for (int xx = x; xx < x + size; xx++)
+				image.pixels[yy][xx] = 0.7f + 0.3f * rng.nextFloat();
+	}
+
+	private DoubleFV extract(HOG hog, FImage patch) {
+		hog.analyseImage(patch);
+
+		// the extractor reuses the vector it returns
+		return new DoubleFV(hog.getFeatureVector(new Rectangle(0, 0, WINDOW, WINDOW)).values.clone());
+	}
+
+	/**
+	 * Train a classifier that detects a bright square filling the middle of
+	 * the window
+	 */
+	private HOGClassifier train(SolverType solver) {
+		final HOGClassifier hogClassifier = new HOGClassifier();
+		hogClassifier.width = WINDOW;
+		hogClassifier.height = WINDOW;
+		hogClassifier.hogExtractor = new HOG(9, false, FImageGradients.Mode.Unsigned,
+				new FlexibleHOGStrategy(4, 4, 2));
+
+		final List<AnnotatedObject<DoubleFV, Boolean>> data = new ArrayList<AnnotatedObject<DoubleFV, Boolean>>();
+		for (int i = 0; i < 40; i++) {
+			final FImage pos = noise(WINDOW, WINDOW);
+			drawSquare(pos, 8 + rng.nextInt(3) - 1, 8 + rng.nextInt(3) - 1, 16);
+			data.add(AnnotatedObject.create(extract(hogClassifier.hogExtractor, pos), true));
+
+			final FImage neg = noise(WINDOW, WINDOW);
+			if (i % 2 == 0)
+				drawSquare(neg, rng.nextInt(8), 20 + rng.nextInt(4), 8);
+			data.add(AnnotatedObject.create(extract(hogClassifier.hogExtractor, neg), false));
+		}
+
+		final LiblinearAnnotator<DoubleFV, Boolean> ann = new LiblinearAnnotator<DoubleFV, Boolean>(
+				new IdentityFeatureExtractor<DoubleFV>(), Mode.MULTICLASS, solver, 1, 0.01, 1, false);
+		ann.train(data);
+		hogClassifier.classifier = ann;
+
+		return hogClassifier;
+	}
+
+	private FImage createImage() {
+		final FImage image = noise(157, 121);
+		drawSquare(image, 10, 10, 16);
+		drawSquare(image, 60, 30, 19);
+		drawSquare(image, 100, 70, 23);
+		drawSquare(image, 40, 85, 12);
+		return image;
+	}
+
+	private void assertSameDetections(HOGClassifier classifier, Rectangle roi) {
+		final FImage image = createImage();
+
+		final HOGDetector reference = new CellStepDetector(classifier, 1.2f);
+		reference.setROI(roi);
+		final List<Rectangle> expected = reference.detect(image);
+
+		assertFalse(expected.isEmpty());
+
+		final HOGDetector dense = new HOGDetector(classifier, 1.2f);
+		dense.setROI(roi);
+		dense.setDenseMode(true);
+		assertEquals(expected, dense.detect(image));
+
+		dense.setThreadPool(pool);
+		assertEquals(expected, dense.detect(image));
+	}
+
+	/**
+	 * Dense mode should make exactly the same detections as classifying each
+	 * window, both sequentially and with the scales on a thread pool
+	 */
+	@Test
+	public void testDenseMatchesPerWindow() {
+		final HOGClassifier svm = train(SolverType.L2R_L2LOSS_SVC);
+		assertSameDetections(svm, null);
+		assertSameDetections(svm, new Rectangle(13, 7, 120, 100));
+
+		assertSameDetections(train(SolverType.L2R_LR), null);
+	}
+
+	/**
+	 * Dense mode can't be enabled without a {@link FlexibleHOGStrategy}
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testDenseModeRequiresFlexibleStrategy() {
+		final HOGClassifier classifier = train(SolverType.L2R_L2LOSS_SVC);
+		classifier.hogExtractor = new HOG(new FixedHOGStrategy(8, 2, BlockNormalisation.L2));
+
+		new HOGDetector(classifier).setDenseMode(true);
+	}
+
+	/**
+	 * Dense mode can't be enabled without a trained linear classifier
+	 */
+	@Test
+	public void testDenseModeRequiresLinearClassifier() {
+		final HOGClassifier classifier = train(SolverType.L2R_L2LOSS_SVC);
+		classifier.classifier = new LiblinearAnnotator<DoubleFV, Boolean>(new IdentityFeatureExtractor<DoubleFV>(),
+				Mode.MULTICLASS, SolverType.L2R_L2LOSS_SVC, 1, 0.01);
+
+		final HOGDetector detector = new HOGDetector(classifier);
+		try {
+			detector.setDenseMode(true);
+			assertTrue(false);
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+
+		// disabling is always allowed
+		detector.setDenseMode(false);
+	}
+}
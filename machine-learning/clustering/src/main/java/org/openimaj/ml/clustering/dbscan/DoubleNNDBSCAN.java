@@ -32,6 +32,7 @@ package org.openimaj.ml.clustering.dbscan;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.data.DataSource;
 import org.openimaj.knn.DoubleNearestNeighbours;
@@ -40,11 +41,17 @@ import org.openimaj.knn.NearestNeighboursFactory;
 import org.openimaj.ml.clustering.DataClusterer;
 import org.openimaj.ml.clustering.SpatialClusterer;
 import org.openimaj.ml.clustering.dbscan.neighbourhood.RegionMode;
+import org.openimaj.util.function.Operation;
 import org.openimaj.util.pair.IntDoublePair;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 /**
  * Implementation of DBSCAN (http://en.wikipedia.org/wiki/DBSCAN) using
- * a
+ * a {@link DoubleNearestNeighbours} index to perform the region queries with
+ * {@link DoubleNearestNeighbours#searchRadius(double[], double)}. If a thread
+ * pool is set, all the region queries are performed up-front in parallel
+ * before the clusters are expanded.
  * @author Sina Samangooei (ss@ecs.soton.ac.uk)
  *
  */
@@ -53,6 +60,7 @@ public class DoubleNNDBSCAN extends DBSCAN implements SpatialClusterer<DoubleDBS
 	private NearestNeighboursFactory<? extends DoubleNearestNeighbours, double[]> nnf;
 	private double eps;
 	private int minPts;
+	private ThreadPoolExecutor pool;
 	
 
 	/**
@@ -73,23 +81,63 @@ public class DoubleNNDBSCAN extends DBSCAN implements SpatialClusterer<DoubleDBS
 	public DoubleNNDBSCAN(double eps, int minPts) {
 		this(eps,minPts,new DoubleNearestNeighboursExact.Factory());
 	}
+	/**
+	 * Set the thread pool used to perform the region queries in parallel. If
+	 * null (the default) the regions are queried on demand in the calling
+	 * thread. Note that in the parallel case the regions of all the points are
+	 * held in memory at once, so the {@link DoubleNearestNeighbours} must also
+	 * be safe to search concurrently.
+	 * 
+	 * @param pool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
 	class NNRegionMode implements RegionMode<IntDoublePair>{
 		double[][] data;
 		DoubleNearestNeighbours nn;
-		public NNRegionMode(double[][] data) {
+		List<IntDoublePair>[] regions;
+
+		@SuppressWarnings("unchecked")
+		public NNRegionMode(final double[][] data) {
 			this.data = data;
 			this.nn = nnf.create(data);
+
+			if (pool != null) {
+				regions = new List[data.length];
+				Parallel.forRange(0, data.length, 1, new Operation<IntRange>() {
+					@Override
+					public void perform(IntRange range) {
+						for (int i = range.start; i < range.stop; i += range.incr)
+							regions[i] = query(i);
+					}
+				}, pool);
+			}
 		}
-		@Override
-		public List<IntDoublePair> regionQuery(int index) {
-			List<IntDoublePair> res = nn.searchKNN(data[index], data.length);
-			List<IntDoublePair> ret = new ArrayList<IntDoublePair>();
+
+		private List<IntDoublePair> query(int index) {
+			// searchRadius is inclusive, but the region is strictly within eps
+			final List<IntDoublePair> res = nn.searchRadius(data[index], eps);
+			final List<IntDoublePair> ret = new ArrayList<IntDoublePair>(res.size());
 			for (IntDoublePair intFloatPair : res) {
 				if(intFloatPair.second<eps)ret.add(intFloatPair);
 				else break;
 			}
 			return ret;
 		}
+
+		@Override
+		public List<IntDoublePair> regionQuery(int index) {
+			if (regions == null)
+				return query(index);
+
+			// each point is only queried once, so the region can be released
+			final List<IntDoublePair> region = regions[index];
+			regions[index] = null;
+			return region != null ? region : query(index);
+		}
 		
 		@Override
 		public boolean validRegion(List<IntDoublePair> region) {
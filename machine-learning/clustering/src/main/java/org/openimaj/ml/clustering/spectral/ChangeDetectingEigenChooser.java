@@ -31,11 +31,11 @@ package org.openimaj.ml.clustering.spectral;
 
 import java.util.Iterator;
 
+import org.openimaj.math.matrix.LanczosEigenvalues;
 import org.openimaj.util.pair.DoubleObjectPair;
 
 import ch.akuhn.matrix.SparseMatrix;
 import ch.akuhn.matrix.Vector;
-import ch.akuhn.matrix.eigenvalues.FewEigenvalues;
 
 /**
  * Attempts to automatically choose the number of eigen vectors based on the
@@ -88,9 +88,9 @@ public class ChangeDetectingEigenChooser extends EigenChooser {
 	}
 
 	@Override
-	public FewEigenvalues prepare(final SparseMatrix laplacian) {
+	public LanczosEigenvalues prepare(final SparseMatrix laplacian) {
 		int total = laplacian.columnCount();
-		FewEigenvalues eig = FewEigenvalues.of(laplacian);
+		LanczosEigenvalues eig = LanczosEigenvalues.of(laplacian);
 		return eig.greatest((int) (total*maxSelect));
 	}
 
@@ -32,12 +32,12 @@ package org.openimaj.ml.clustering.spectral;
 
 import java.util.Iterator;
 
+import org.openimaj.math.matrix.LanczosEigenvalues;
 import org.openimaj.util.pair.DoubleObjectPair;
 
 import ch.akuhn.matrix.SparseMatrix;
 import ch.akuhn.matrix.Vector;
 import ch.akuhn.matrix.eigenvalues.Eigenvalues;
-import ch.akuhn.matrix.eigenvalues.FewEigenvalues;
 
 /**
  *
@@ -59,7 +59,7 @@ public class HardCodedEigenChooser extends EigenChooser{
 	}
 	@Override
 	public Eigenvalues prepare(final SparseMatrix laplacian) {
-		FewEigenvalues eig = FewEigenvalues.of(laplacian);
+		LanczosEigenvalues eig = LanczosEigenvalues.of(laplacian);
 		return eig.greatest(count);
 	}
 	
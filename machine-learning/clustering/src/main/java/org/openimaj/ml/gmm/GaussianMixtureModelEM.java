@@ -31,6 +31,7 @@ package org.openimaj.ml.gmm;
 
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.commons.math.util.MathUtils;
 import org.openimaj.math.matrix.MatrixUtils;
@@ -39,6 +40,7 @@ import org.openimaj.math.statistics.distribution.AbstractMultivariateGaussian;
 import org.openimaj.math.statistics.distribution.DiagonalMultivariateGaussian;
 import org.openimaj.math.statistics.distribution.FullMultivariateGaussian;
 import org.openimaj.math.statistics.distribution.MixtureOfGaussians;
+import org.openimaj.math.statistics.distribution.MixtureOfGaussiansScorer;
 import org.openimaj.math.statistics.distribution.MultivariateGaussian;
 import org.openimaj.math.statistics.distribution.SphericalMultivariateGaussian;
 import org.openimaj.ml.clustering.DoubleCentroidsResult;
@@ -380,6 +382,7 @@ public class GaussianMixtureModelEM {
 	private boolean converged = false;
 	private EnumSet<UpdateOptions> initOpts;
 	private EnumSet<UpdateOptions> iterOpts;
+	private ThreadPoolExecutor threadPool;
 
 	/**
 	 * Construct with the given arguments.
@@ -437,6 +440,18 @@ public class GaussianMixtureModelEM {
 				.allOf(UpdateOptions.class), EnumSet.allOf(UpdateOptions.class));
 	}
 
+	/**
+	 * Set the thread pool used to compute the expectation step in parallel
+	 * over blocks of samples. The default is null, in which case the
+	 * expectation step is sequential.
+	 *
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
 	/**
 	 * Get's the convergence state of the algorithm. Will return false if
 	 * {@link #estimate(double[][])} has not been called, or if the last call to
@@ -515,7 +530,9 @@ public class GaussianMixtureModelEM {
 			MultivariateGaussian[] bestMixture = null;
 			for (int i = 0; i < nIters; i++) {
 				// Expectation step
-				final IndependentPair<double[], double[][]> score = gmm.scoreSamples(X);
+				final MixtureOfGaussiansScorer scorer = new MixtureOfGaussiansScorer(gmm);
+				scorer.setThreadPool(threadPool);
+				final IndependentPair<double[], double[][]> score = scorer.scoreSamples(X);
 				final double[] curr_log_likelihood = score.firstObject();
 				final double[][] responsibilities = score.secondObject();
 				log_likelihood.add(ArrayUtils.sumValues(curr_log_likelihood));
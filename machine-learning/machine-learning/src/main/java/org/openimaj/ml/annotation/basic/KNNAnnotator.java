@@ -32,25 +32,37 @@ package org.openimaj.ml.annotation.basic;
 import gnu.trove.iterator.TObjectIntIterator;
 import gnu.trove.map.hash.TObjectIntHashMap;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.feature.FeatureExtractor;
-import org.openimaj.knn.ObjectNearestNeighbours;
+import org.openimaj.knn.NearestNeighbours;
+import org.openimaj.knn.NearestNeighboursFactory;
 import org.openimaj.knn.ObjectNearestNeighboursExact;
 import org.openimaj.ml.annotation.Annotated;
 import org.openimaj.ml.annotation.IncrementalAnnotator;
 import org.openimaj.ml.annotation.ScoredAnnotation;
 import org.openimaj.util.comparator.DistanceComparator;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.pair.IntDoublePair;
+import org.openimaj.util.pair.IntFloatPair;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 /**
- * Annotator based on a multi-class k-nearest-neighbour classifier. Uses a
- * {@link ObjectNearestNeighboursExact} to perform the kNN search, so is
- * applicable to any objects that can be compared with a
- * {@link DistanceComparator}.
+ * Annotator based on a multi-class k-nearest-neighbour classifier. The kNN
+ * search is performed by a {@link NearestNeighbours} object created by a
+ * {@link NearestNeighboursFactory} over the training features. If constructed
+ * with a {@link DistanceComparator}, an {@link ObjectNearestNeighboursExact} is
+ * used, so the annotator is applicable to any objects that can be compared
+ * with the comparator. For primitive array features, an approximate factory
+ * (for example a KD-Tree ensemble, LSH or Product Quantiser ADC) can be given
+ * instead to avoid exhaustively searching the training data.
  * 
  * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
  * 
@@ -69,10 +81,11 @@ public class KNNAnnotator<OBJECT, ANNOTATION, FEATURE>
 	protected final List<FEATURE> features = new ArrayList<FEATURE>();
 	protected final List<Collection<ANNOTATION>> annotations = new ArrayList<Collection<ANNOTATION>>();
 	protected final Set<ANNOTATION> annotationsSet = new HashSet<ANNOTATION>();
-	protected ObjectNearestNeighbours<FEATURE> nn;
-	protected DistanceComparator<? super FEATURE> comparator;
+	protected NearestNeighbours<FEATURE, ?, ?> nn;
+	protected NearestNeighboursFactory<? extends NearestNeighbours<FEATURE, ?, ?>, FEATURE> factory;
 	protected final float threshold;
 	protected FeatureExtractor<FEATURE, OBJECT> extractor;
+	protected ThreadPoolExecutor threadPool;
 
 	/**
 	 * Construct with the given extractor, comparator and threshold. The number
@@ -150,11 +163,54 @@ public class KNNAnnotator<OBJECT, ANNOTATION, FEATURE>
 			final float threshold)
 	{
 		this.extractor = extractor;
-		this.comparator = comparator;
+		this.factory = new ObjectNearestNeighboursExact.Factory<FEATURE>(comparator);
 		this.k = k;
 		this.threshold = comparator.isDistance() ? threshold : -threshold;
 	}
 
+	/**
+	 * Construct with the given extractor, nearest-neighbour factory and number
+	 * of neighbours. The distance threshold is disabled.
+	 * 
+	 * @param extractor
+	 *            the extractor
+	 * @param factory
+	 *            the factory used to create the nearest-neighbour index over
+	 *            the training features
+	 * @param k
+	 *            the number of neighbours
+	 */
+	public KNNAnnotator(final FeatureExtractor<FEATURE, OBJECT> extractor,
+			final NearestNeighboursFactory<? extends NearestNeighbours<FEATURE, ?, ?>, FEATURE> factory, final int k)
+	{
+		this(extractor, factory, k, Float.MAX_VALUE);
+	}
+
+	/**
+	 * Construct with the given extractor, nearest-neighbour factory, number of
+	 * neighbours and threshold. Only neighbours with a distance below the
+	 * threshold will be accepted.
+	 * 
+	 * @param extractor
+	 *            the extractor
+	 * @param factory
+	 *            the factory used to create the nearest-neighbour index over
+	 *            the training features
+	 * @param k
+	 *            the number of neighbours
+	 * @param threshold
+	 *            the threshold on distance for successful matches
+	 */
+	public KNNAnnotator(final FeatureExtractor<FEATURE, OBJECT> extractor,
+			final NearestNeighboursFactory<? extends NearestNeighbours<FEATURE, ?, ?>, FEATURE> factory, final int k,
+			final float threshold)
+	{
+		this.extractor = extractor;
+		this.factory = factory;
+		this.k = k;
+		this.threshold = threshold;
+	}
+
 	/**
 	 * Create a new {@link KNNAnnotator} with the given extractor, comparator
 	 * and threshold. The number of neighbours is set to 1.
@@ -280,6 +336,83 @@ public class KNNAnnotator<OBJECT, ANNOTATION, FEATURE>
 				extractor, comparator, k, threshold);
 	}
 
+	/**
+	 * Create a new {@link KNNAnnotator} with the given extractor,
+	 * nearest-neighbour factory and number of neighbours. The distance
+	 * threshold is disabled.
+	 * 
+	 * @param <OBJECT>
+	 *            Type of object being annotated
+	 * @param <ANNOTATION>
+	 *            Type of annotation
+	 * @param <EXTRACTOR>
+	 *            Type of feature extractor
+	 * @param <FEATURE>
+	 *            Type of feature produced by extractor
+	 * 
+	 * @param extractor
+	 *            the extractor
+	 * @param factory
+	 *            the factory used to create the nearest-neighbour index over
+	 *            the training features
+	 * @param k
+	 *            the number of neighbours
+	 * @return new {@link KNNAnnotator}
+	 */
+	public static <OBJECT, ANNOTATION, EXTRACTOR extends FeatureExtractor<FEATURE, OBJECT>, FEATURE>
+			KNNAnnotator<OBJECT, ANNOTATION, FEATURE> create(final EXTRACTOR extractor,
+					final NearestNeighboursFactory<? extends NearestNeighbours<FEATURE, ?, ?>, FEATURE> factory,
+					final int k)
+	{
+		return new KNNAnnotator<OBJECT, ANNOTATION, FEATURE>(
+				extractor, factory, k);
+	}
+
+	/**
+	 * Create a new {@link KNNAnnotator} with the given extractor,
+	 * nearest-neighbour factory, number of neighbours and threshold. Only
+	 * neighbours with a distance below the threshold will be accepted.
+	 * 
+	 * @param <OBJECT>
+	 *            Type of object being annotated
+	 * @param <ANNOTATION>
+	 *            Type of annotation
+	 * @param <EXTRACTOR>
+	 *            Type of feature extractor
+	 * @param <FEATURE>
+	 *            Type of feature produced by extractor
+	 * 
+	 * @param extractor
+	 *            the extractor
+	 * @param factory
+	 *            the factory used to create the nearest-neighbour index over
+	 *            the training features
+	 * @param k
+	 *            the number of neighbours
+	 * @param threshold
+	 *            the threshold on distance for successful matches
+	 * @return new {@link KNNAnnotator}
+	 */
+	public static <OBJECT, ANNOTATION, EXTRACTOR extends FeatureExtractor<FEATURE, OBJECT>, FEATURE>
+			KNNAnnotator<OBJECT, ANNOTATION, FEATURE> create(final EXTRACTOR extractor,
+					final NearestNeighboursFactory<? extends NearestNeighbours<FEATURE, ?, ?>, FEATURE> factory,
+					final int k, final float threshold)
+	{
+		return new KNNAnnotator<OBJECT, ANNOTATION, FEATURE>(
+				extractor, factory, k, threshold);
+	}
+
+	/**
+	 * Set the thread pool used by {@link #annotateAll(List)}. If null (the
+	 * default), the objects are annotated on the calling thread.
+	 * 
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
 	@Override
 	public void train(final Annotated<OBJECT, ANNOTATION> annotated) {
 		this.nn = null;
@@ -306,27 +439,103 @@ public class KNNAnnotator<OBJECT, ANNOTATION, FEATURE>
 
 	@Override
 	public List<ScoredAnnotation<ANNOTATION>> annotate(final OBJECT object) {
+		return this.annotate(getNearestNeighbours(), object);
+	}
+
+	private List<ScoredAnnotation<ANNOTATION>> annotate(final NearestNeighbours<FEATURE, ?, ?> nn, final OBJECT object) {
+		return this.annotate(nn.searchKNN(this.extractor.extractFeature(object), this.k));
+	}
+
+	/**
+	 * Annotate a batch of objects. If a thread pool has been set, the feature
+	 * extraction and nearest-neighbour search for each object are performed
+	 * in parallel.
+	 * 
+	 * @param objects
+	 *            the objects to annotate
+	 * @return the annotations of each object, in the same order as the objects
+	 */
+	public List<List<ScoredAnnotation<ANNOTATION>>> annotateAll(final List<OBJECT> objects) {
+		final NearestNeighbours<FEATURE, ?, ?> nn = getNearestNeighbours();
+
+		@SuppressWarnings("unchecked")
+		final List<ScoredAnnotation<ANNOTATION>>[] results = new List[objects.size()];
+
+		if (threadPool == null) {
+			for (int i = 0; i < results.length; i++)
+				results[i] = annotate(nn, objects.get(i));
+		} else {
+			Parallel.forRange(0, objects.size(), 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					for (int i = range.start; i < range.stop; i += range.incr)
+						results[i] = annotate(nn, objects.get(i));
+				}
+			}, threadPool);
+		}
+
+		final List<List<ScoredAnnotation<ANNOTATION>>> ret = new ArrayList<List<ScoredAnnotation<ANNOTATION>>>(
+				results.length);
+		for (final List<ScoredAnnotation<ANNOTATION>> r : results)
+			ret.add(r);
+
+		return ret;
+	}
+
+	private synchronized NearestNeighbours<FEATURE, ?, ?> getNearestNeighbours() {
 		if (this.nn == null)
-			this.nn = new ObjectNearestNeighboursExact<FEATURE>(this.features, this.comparator);
+			this.nn = this.factory.create(toArray(this.features));
 
-		final TObjectIntHashMap<ANNOTATION> selected = new TObjectIntHashMap<ANNOTATION>();
+		return this.nn;
+	}
 
-		final List<FEATURE> queryfv = new ArrayList<FEATURE>(1);
-		queryfv.add(this.extractor.extractFeature(object));
+	/**
+	 * Convert the features to an array whose component type is the most
+	 * specific class common to all the features, so that factories expecting
+	 * concrete array types (i.e. primitive arrays) can be used.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <FEATURE> FEATURE[] toArray(List<FEATURE> features) {
+		Class<?> clz = Object.class;
 
-		final int[][] indices = new int[1][this.k];
-		final float[][] distances = new float[1][this.k];
+		if (features.size() > 0) {
+			clz = features.get(0).getClass();
+			for (final FEATURE f : features) {
+				while (!clz.isInstance(f))
+					clz = clz.getSuperclass();
+			}
+		}
 
-		this.nn.searchKNN(queryfv, this.k, indices, distances);
+		return features.toArray((FEATURE[]) Array.newInstance(clz, features.size()));
+	}
+
+	/**
+	 * Vote for the annotations of the given neighbours. The neighbours are
+	 * either {@link IntFloatPair}s or {@link IntDoublePair}s depending on the
+	 * type of {@link NearestNeighbours}.
+	 */
+	private List<ScoredAnnotation<ANNOTATION>> annotate(final List<?> neighbours) {
+		final TObjectIntHashMap<ANNOTATION> selected = new TObjectIntHashMap<ANNOTATION>();
 
 		int count = 0;
-		for (int i = 0; i < this.k; i++) {
+		for (final Object neighbour : neighbours) {
+			final int index;
+			final double distance;
+
+			if (neighbour instanceof IntFloatPair) {
+				index = ((IntFloatPair) neighbour).first;
+				distance = ((IntFloatPair) neighbour).second;
+			} else {
+				index = ((IntDoublePair) neighbour).first;
+				distance = ((IntDoublePair) neighbour).second;
+			}
+
 			// Distance check
-			if (distances[0][i] > this.threshold) {
+			if (index < 0 || distance > this.threshold) {
 				continue;
 			}
 
-			final Collection<ANNOTATION> anns = this.annotations.get(indices[0][i]);
+			final Collection<ANNOTATION> anns = this.annotations.get(index);
 
 			for (final ANNOTATION ann : anns) {
 				selected.adjustOrPutValue(ann, 1, 1);
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.citation.annotation.Reference;
 import org.openimaj.citation.annotation.ReferenceType;
@@ -46,6 +47,9 @@ import org.openimaj.ml.annotation.BatchAnnotator;
 import org.openimaj.ml.annotation.ScoredAnnotation;
 import org.openimaj.ml.annotation.utils.AnnotatedListHelper;
 import org.openimaj.ml.annotation.utils.LiblinearHelper;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 import de.bwaldvogel.liblinear.DenseLinear;
 import de.bwaldvogel.liblinear.DenseProblem;
@@ -117,6 +121,7 @@ public class LiblinearAnnotator<OBJECT, ANNOTATION>
 		boolean dense;
 		double bias = -1;
 		boolean estimateProbabilities = true;
+		ThreadPoolExecutor threadPool;
 
 		public abstract void train(List<? extends Annotated<OBJECT, ANNOTATION>> data);
 
@@ -124,6 +129,43 @@ public class LiblinearAnnotator<OBJECT, ANNOTATION>
 
 		public abstract List<ScoredAnnotation<ANNOTATION>> annotate(OBJECT object);
 
+		public abstract double[] getLinearWeights(ANNOTATION annotation);
+
+		public abstract boolean hasLinearWeights(ANNOTATION annotation);
+
+		/*
+		 * Extract the weights of a two-class model, oriented such that a
+		 * positive decision value indicates the class with the given label.
+		 * The bias weight is pre-multiplied by the bias and stored in the
+		 * final element.
+		 */
+		double[] getLinearWeights(Model model, int positiveLabel) {
+			if (model.getNrClass() != 2)
+				throw new UnsupportedOperationException("Linear weights are only available for binary problems");
+
+			final double[] w = model.getFeatureWeights();
+			final int nfeatures = model.getNrFeature();
+			final int length = bias >= 0 ? nfeatures + 1 : nfeatures;
+			final int nr_w = w.length / length;
+			final int pos = model.getLabels()[0] == positiveLabel ? 0 : 1;
+			final double[] weights = new double[nfeatures + 1];
+
+			for (int i = 0; i < length; i++) {
+				if (nr_w == 1) {
+					// a single decision function in favour of the first label
+					weights[i] = pos == 0 ? w[i] : -w[i];
+				} else {
+					// a decision function per class (i.e. Crammer and Singer)
+					weights[i] = w[i * nr_w + pos] - w[i * nr_w + 1 - pos];
+				}
+			}
+
+			if (bias >= 0)
+				weights[nfeatures] *= bias;
+
+			return weights;
+		}
+
 		Feature[] computeFeature(OBJECT object) {
 			final FeatureVector feature = extractor.extractFeature(object);
 
@@ -286,13 +328,13 @@ public class LiblinearAnnotator<OBJECT, ANNOTATION>
 				if (parameter.getSolverType().isLogisticRegressionSolver()) {
 					final double[] probs = new double[annotationsList.size()];
 					clz = DenseLinear.predictProbability(model, feature, probs) - 1;
-					prob = probs[(int) clz];
+					prob = probs[labelIndex(clz)];
 				} else {
 					// clz = DenseLinear.predict(model, feature) - 1;
 					final double[] prob_estimates = new double[annotationsList.size()];
 					clz = DenseLinear.predictValues(model, feature, prob_estimates) - 1;
 					computeProbabilities(prob_estimates);
-					prob = prob_estimates[(int) clz];
+					prob = prob_estimates[labelIndex(clz)];
 				}
 			} else {
 				final Feature[] feature = computeFeature(object);
@@ -300,13 +342,13 @@ public class LiblinearAnnotator<OBJECT, ANNOTATION>
 				if (parameter.getSolverType().isLogisticRegressionSolver()) {
 					final double[] probs = new double[annotationsList.size()];
 					clz = Linear.predictProbability(model, feature, probs) - 1;
-					prob = probs[(int) clz];
+					prob = probs[labelIndex(clz)];
 				} else {
 					// clz = Linear.predict(model, feature) - 1;
 					final double[] prob_estimates = new double[annotationsList.size()];
 					clz = Linear.predictValues(model, feature, prob_estimates) - 1;
 					computeProbabilities(prob_estimates);
-					prob = prob_estimates[(int) clz];
+					prob = prob_estimates[labelIndex(clz)];
 				}
 			}
 
@@ -314,6 +356,35 @@ public class LiblinearAnnotator<OBJECT, ANNOTATION>
 			result.add(new ScoredAnnotation<ANNOTATION>(annotationsList.get((int) clz), (float) prob));
 			return result;
 		}
+
+		/*
+		 * liblinear orders the probabilities and decision values by the order
+		 * of the labels in the model (i.e. the order in which they first
+		 * appeared in the training data), which isn't necessarily the order
+		 * of the annotations.
+		 */
+		private int labelIndex(double clz) {
+			final int[] labels = model.getLabels();
+			for (int i = 0; i < labels.length; i++)
+				if (labels[i] == (int) clz + 1)
+					return i;
+
+			throw new IllegalStateException("Unknown label: " + clz);
+		}
+
+		@Override
+		public double[] getLinearWeights(ANNOTATION annotation) {
+			final int idx = annotationsList.indexOf(annotation);
+			if (idx < 0)
+				throw new IllegalArgumentException("Unknown annotation: " + annotation);
+
+			return getLinearWeights(model, idx + 1);
+		}
+
+		@Override
+		public boolean hasLinearWeights(ANNOTATION annotation) {
+			return model != null && model.getNrClass() == 2 && annotationsList.contains(annotation);
+		}
 	}
 
 	/**
@@ -335,63 +406,114 @@ public class LiblinearAnnotator<OBJECT, ANNOTATION>
 			this.bias = bias;
 		}
 
+		/**
+		 * Train the one-versus-all classifiers. The features of all the
+		 * objects are extracted and converted exactly once (in parallel if
+		 * a thread pool is set) and the resultant vectors are shared by all
+		 * the per-class problems, which only differ in their ordering and
+		 * labels. The per-class problems are trained in turn, as liblinear's
+		 * solvers draw from a single shared random number generator.
+		 */
 		@Override
-		public void train(List<? extends Annotated<OBJECT, ANNOTATION>> data) {
+		public void train(final List<? extends Annotated<OBJECT, ANNOTATION>> data) {
 			final AnnotatedListHelper<OBJECT, ANNOTATION> helper = new AnnotatedListHelper<OBJECT, ANNOTATION>(data);
 			final Set<ANNOTATION> annotations = helper.getAnnotations();
 			annotationsList = new ArrayList<ANNOTATION>(annotations);
 
-			final int featureLength = extractor.extractFeature(data.get(0).getObject()).length();
+			final int nItems = data.size();
+			final double[][] denseFeatures = dense ? new double[nItems][] : null;
+			final Feature[][] sparseFeatures = dense ? null : new Feature[nItems][];
+			final int[] featureLength = new int[1];
+
+			forRange(nItems, new RangeOperation() {
+				@Override
+				void perform(int start, int stop) {
+					for (int i = start; i < stop; i++) {
+						final FeatureVector fv = extractor.extractFeature(data.get(i).getObject());
+
+						if (i == 0)
+							featureLength[0] = fv.length();
+
+						if (dense)
+							denseFeatures[i] = LiblinearHelper.convertDense(fv, bias);
+						else
+							sparseFeatures[i] = LiblinearHelper.convert(fv, bias);
+					}
+				}
+			});
 
 			models = new Model[annotationsList.size()];
 
 			for (int i = 0; i < annotationsList.size(); i++) {
-				final ANNOTATION annotation = annotationsList.get(i);
-				final List<? extends FeatureVector> positive = helper.extractFeatures(annotation, extractor);
-				final List<? extends FeatureVector> negative = helper.extractFeaturesExclude(annotation, extractor);
+				final int[] positive = helper.getIndices(annotationsList.get(i));
+				final int[] order = orderNegativesFirst(positive, nItems);
+				final int nNegative = nItems - positive.length;
+
+				final double[] y = new double[nItems];
+				for (int j = 0; j < nItems; j++)
+					y[j] = j < nNegative ? NEGATIVE_CLASS : POSTIVE_CLASS;
 
 				if (dense) {
 					final DenseProblem problem = new DenseProblem();
-					problem.l = positive.size() + negative.size();
-					problem.n = featureLength + (bias >= 0 ? 1 : 0);
+					problem.l = nItems;
+					problem.n = featureLength[0] + (bias >= 0 ? 1 : 0);
 					problem.bias = bias;
-					problem.x = new double[problem.l][];
-					problem.y = new double[problem.l];
+					problem.x = new double[nItems][];
+					problem.y = y;
 
-					for (int j = 0; j < negative.size(); j++) {
-						problem.x[j] = LiblinearHelper.convertDense(negative.get(j), bias);
-						problem.y[j] = NEGATIVE_CLASS;
-					}
-
-					for (int j = negative.size(), k = 0; k < positive.size(); j++, k++) {
-						problem.x[j] = LiblinearHelper.convertDense(positive.get(k), bias);
-						problem.y[j] = POSTIVE_CLASS;
-					}
+					for (int j = 0; j < nItems; j++)
+						problem.x[j] = denseFeatures[order[j]];
 
 					models[i] = DenseLinear.train(problem, parameter);
 				} else {
 					final Problem problem = new Problem();
-					problem.l = positive.size() + negative.size();
-					problem.n = featureLength + (bias >= 0 ? 1 : 0);
+					problem.l = nItems;
+					problem.n = featureLength[0] + (bias >= 0 ? 1 : 0);
 					problem.bias = bias;
-					problem.x = new Feature[problem.l][];
-					problem.y = new double[problem.l];
+					problem.x = new Feature[nItems][];
+					problem.y = y;
 
-					for (int j = 0; j < negative.size(); j++) {
-						problem.x[j] = LiblinearHelper.convert(negative.get(j), bias);
-						problem.y[j] = NEGATIVE_CLASS;
-					}
-
-					for (int j = negative.size(), k = 0; k < positive.size(); j++, k++) {
-						problem.x[j] = LiblinearHelper.convert(positive.get(k), bias);
-						problem.y[j] = POSTIVE_CLASS;
-					}
+					for (int j = 0; j < nItems; j++)
+						problem.x[j] = sparseFeatures[order[j]];
 
 					models[i] = Linear.train(problem, parameter);
 				}
 			}
 		}
 
+		/*
+		 * Order the item indices so that all the items not in the (sorted)
+		 * positive set come first, followed by the positives, each in
+		 * increasing order.
+		 */
+		private int[] orderNegativesFirst(int[] positive, int nItems) {
+			final int[] order = new int[nItems];
+
+			for (int i = 0, p = 0, n = 0, k = nItems - positive.length; i < nItems; i++) {
+				if (p < positive.length && positive[p] == i) {
+					order[k++] = i;
+					p++;
+				} else {
+					order[n++] = i;
+				}
+			}
+
+			return order;
+		}
+
+		private void forRange(int n, final RangeOperation op) {
+			if (threadPool == null) {
+				op.perform(0, n);
+			} else {
+				Parallel.forRange(0, n, 1, new Operation<IntRange>() {
+					@Override
+					public void perform(IntRange range) {
+						op.perform(range.start, range.stop);
+					}
+				}, threadPool);
+			}
+		}
+
 		@Override
 		public List<ScoredAnnotation<ANNOTATION>> annotate(OBJECT object) {
 			final List<ScoredAnnotation<ANNOTATION>> result = new ArrayList<ScoredAnnotation<ANNOTATION>>();
@@ -443,12 +565,34 @@ public class LiblinearAnnotator<OBJECT, ANNOTATION>
 			return result;
 		}
 
+		@Override
+		public double[] getLinearWeights(ANNOTATION annotation) {
+			final int idx = annotationsList.indexOf(annotation);
+			if (idx < 0)
+				throw new IllegalArgumentException("Unknown annotation: " + annotation);
+
+			return getLinearWeights(models[idx], POSTIVE_CLASS);
+		}
+
+		@Override
+		public boolean hasLinearWeights(ANNOTATION annotation) {
+			if (models == null)
+				return false;
+
+			final int idx = annotationsList.indexOf(annotation);
+			return idx >= 0 && models[idx].getNrClass() == 2;
+		}
+
 		@Override
 		public void train(GroupedDataset<ANNOTATION, ? extends ListDataset<OBJECT>, OBJECT> dataset) {
 			train(AnnotatedObject.createList(dataset));
 		}
 	}
 
+	private static abstract class RangeOperation {
+		abstract void perform(int start, int stop);
+	}
+
 	InternalModel<OBJECT, ANNOTATION> internal;
 
 	/**
@@ -507,6 +651,21 @@ public class LiblinearAnnotator<OBJECT, ANNOTATION>
 		this.internal.extractor = extractor;
 	}
 
+	/**
+	 * Set the thread pool used when training in multilabel mode. If set, the
+	 * features of the training objects are extracted in parallel (so the
+	 * extractor must be thread-safe). The one-versus-all classifiers are
+	 * always trained in turn, so the models are the same with or without a
+	 * pool. The default is null, in which case the features are extracted
+	 * sequentially.
+	 *
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.internal.threadPool = threadPool;
+	}
+
 	@Override
 	public void train(List<? extends Annotated<OBJECT, ANNOTATION>> data) {
 		internal.train(data);
@@ -526,4 +685,43 @@ public class LiblinearAnnotator<OBJECT, ANNOTATION>
 	public void train(GroupedDataset<ANNOTATION, ? extends ListDataset<OBJECT>, OBJECT> dataset) {
 		internal.train(dataset);
 	}
+
+	/**
+	 * Get the weights of the linear decision function of the trained model
+	 * for the given annotation. The returned array has one more element than
+	 * the length of the features; for a feature <code>x</code>, the decision
+	 * value is <code>sum_i(w[i] * x[i]) + w[x.length]</code>, and the
+	 * annotation is predicted when it is positive. In multiclass mode this is
+	 * only possible for binary (two-class) problems.
+	 * <p>
+	 * This allows the model to be applied directly to feature vectors, which
+	 * can be much more efficient than going through
+	 * {@link #annotate(Object)} when scoring very large numbers of
+	 * overlapping features.
+	 *
+	 * @param annotation
+	 *            the annotation
+	 * @return the weights of the decision function, with the bias last
+	 * @throws UnsupportedOperationException
+	 *             if the model is not binary
+	 * @see #hasLinearWeights(Object)
+	 */
+	public double[] getLinearWeights(ANNOTATION annotation) {
+		return internal.getLinearWeights(annotation);
+	}
+
+	/**
+	 * Test whether the weights of the linear decision function for the given
+	 * annotation are available from {@link #getLinearWeights(Object)}. This
+	 * is the case if the model has been trained with the annotation, and the
+	 * underlying liblinear model for the annotation is binary (i.e. there are
+	 * only two classes in multiclass mode).
+	 *
+	 * @param annotation
+	 *            the annotation
+	 * @return true if the linear weights are available; false otherwise
+	 */
+	public boolean hasLinearWeights(ANNOTATION annotation) {
+		return internal.hasLinearWeights(annotation);
+	}
 }
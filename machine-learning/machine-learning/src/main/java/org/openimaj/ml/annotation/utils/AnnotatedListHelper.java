@@ -114,6 +114,20 @@ public class AnnotatedListHelper<OBJECT, ANNOTATION> {
 		};
 	}
 	
+	/**
+	 * Get the indices of the items in the list that have a specific
+	 * annotation, in increasing order.
+	 * 
+	 * @param annotation the annotation to search for.
+	 * @return the indices of the items with the annotation, or null if the
+	 * annotation is unknown.
+	 */
+	public int[] getIndices(ANNOTATION annotation) {
+		final TIntArrayList indices = index.get(annotation);
+		
+		return indices == null ? null : indices.toArray();
+	}
+	
 	/**
 	 * Get the set of all known annotations
 	 * @return the set of known annotations
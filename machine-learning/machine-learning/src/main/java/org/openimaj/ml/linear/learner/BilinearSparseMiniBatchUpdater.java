@@ -0,0 +1,578 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.ml.linear.learner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+/**
+ * Mini-batch proximal gradient updates for the bilinear model used by the
+ * bilinear sparse online learners, in which the prediction of task
+ * <code>t</code> for an example <code>X</code> (features &times; users) is
+ * <code>u_t' X' w_t + b_t</code>.
+ * <p>
+ * The parameters are held as dense per-task arrays, and all the gradients and
+ * candidate solutions are written into buffers that are allocated once, so the
+ * biconvex iterations and the backtracking line searches do not allocate any
+ * matrices. The loss is half the mean squared error over the examples of the
+ * batch (missing targets, represented by NaN, are ignored), so the gradients
+ * of the tasks are independent; they are computed in parallel across tasks if
+ * a thread pool is set. Each update is a proximal gradient step with a
+ * backtracking line search over all the tasks together, as the
+ * {@link Regularisation#L1L2} regulariser couples the tasks.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class BilinearSparseMiniBatchUpdater {
+	/**
+	 * The regularisers supported by the updater
+	 *
+	 * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+	 */
+	public enum Regularisation {
+		/**
+		 * No regularisation
+		 */
+		NONE,
+		/**
+		 * Element-wise L1 (lasso) regularisation
+		 */
+		L1,
+		/**
+		 * Group (L1 of the L2 norms) regularisation of the rows (i.e. the same
+		 * feature or user across all tasks)
+		 */
+		L1L2;
+	}
+
+	/**
+	 * A single example in a compact sparse form
+	 *
+	 * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+	 */
+	public static class Example {
+		final int[] features;
+		final int[] users;
+		final double[] values;
+		final double[] y;
+
+		/**
+		 * Construct with the non-zero elements of the example's
+		 * features-by-users matrix and the targets of each task.
+		 *
+		 * @param features
+		 *            the row (feature) indices of the non-zero elements
+		 * @param users
+		 *            the column (user) indices of the non-zero elements
+		 * @param values
+		 *            the values of the non-zero elements
+		 * @param y
+		 *            the target value of each task (NaN if missing)
+		 */
+		public Example(int[] features, int[] users, double[] values, double[] y) {
+			this.features = features;
+			this.users = users;
+			this.values = values;
+			this.y = y;
+		}
+	}
+
+	private static final int MAX_LINE_SEARCH = 1000;
+
+	private enum Block {
+		W, U, BIAS;
+	}
+
+	private static abstract class RangeOperation {
+		abstract void perform(int start, int stop);
+	}
+
+	final int nfeatures;
+	final int nusers;
+	final int ntasks;
+
+	double[][] w;
+	double[][] u;
+	double[][] bias;
+
+	private double[][] candW;
+	private double[][] candU;
+	private double[][] candBias;
+	private double[][] gradW;
+	private double[][] gradU;
+	private double[][] gradBias;
+	private double[][] onesU;
+	private final double[] taskLoss;
+
+	private List<Example> batch = new ArrayList<Example>();
+	private ThreadPoolExecutor threadPool;
+
+	/**
+	 * Construct an updater for the given problem dimensions. All the
+	 * parameters are initially zero.
+	 *
+	 * @param nfeatures
+	 *            the number of features (rows of W)
+	 * @param nusers
+	 *            the number of users (rows of U)
+	 * @param ntasks
+	 *            the number of tasks
+	 */
+	public BilinearSparseMiniBatchUpdater(int nfeatures, int nusers, int ntasks) {
+		this.nfeatures = nfeatures;
+		this.nusers = nusers;
+		this.ntasks = ntasks;
+
+		w = new double[ntasks][nfeatures];
+		u = new double[ntasks][nusers];
+		bias = new double[ntasks][1];
+		candW = new double[ntasks][nfeatures];
+		candU = new double[ntasks][nusers];
+		candBias = new double[ntasks][1];
+		gradW = new double[ntasks][nfeatures];
+		gradU = new double[ntasks][nusers];
+		gradBias = new double[ntasks][1];
+		taskLoss = new double[ntasks];
+	}
+
+	/**
+	 * @return the number of features (rows of W)
+	 */
+	public int getNumFeatures() {
+		return nfeatures;
+	}
+
+	/**
+	 * @return the number of users (rows of U)
+	 */
+	public int getNumUsers() {
+		return nusers;
+	}
+
+	/**
+	 * @return the number of tasks
+	 */
+	public int getNumTasks() {
+		return ntasks;
+	}
+
+	/**
+	 * Set the thread pool used to update the tasks in parallel. The default is
+	 * null, in which case the updates are sequential.
+	 *
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
+	/**
+	 * Set the examples of the current batch
+	 *
+	 * @param batch
+	 *            the examples
+	 */
+	public void setBatch(List<Example> batch) {
+		this.batch = batch;
+	}
+
+	/**
+	 * Get the W parameters. Element <code>[t][f]</code> is the weight of
+	 * feature <code>f</code> for task <code>t</code>. The returned array is
+	 * the internal state and can be modified directly, however it is replaced
+	 * by each update.
+	 *
+	 * @return the W parameters
+	 */
+	public double[][] getW() {
+		return w;
+	}
+
+	/**
+	 * Get the U parameters. Element <code>[t][c]</code> is the weight of user
+	 * <code>c</code> for task <code>t</code>. The returned array is the
+	 * internal state and can be modified directly, however it is replaced by
+	 * each update.
+	 *
+	 * @return the U parameters
+	 */
+	public double[][] getU() {
+		return u;
+	}
+
+	/**
+	 * Get the bias of each task. Element <code>[t][0]</code> is the bias of
+	 * task <code>t</code>. The returned array is the internal state and can be
+	 * modified directly, however it is replaced by each update.
+	 *
+	 * @return the bias
+	 */
+	public double[][] getBias() {
+		return bias;
+	}
+
+	/**
+	 * Perform a proximal gradient update of W holding U and the bias fixed.
+	 *
+	 * @param step
+	 *            the initial step size of the line search
+	 * @param lambda
+	 *            the regularisation weight
+	 * @param regul
+	 *            the regulariser
+	 * @param gamma
+	 *            the factor by which the step is reduced on each iteration
+	 *            of the line search
+	 * @param unitU
+	 *            if true then U is replaced by a matrix of ones when
+	 *            computing the update (used when no data has been seen)
+	 * @return the total absolute change in W relative to its total
+	 *         absolute value (zero if W was zero)
+	 */
+	public double updateW(double step, double lambda, Regularisation regul, double gamma, boolean unitU) {
+		final double[][] uw;
+		if (unitU) {
+			if (onesU == null) {
+				onesU = new double[ntasks][nusers];
+				for (final double[] row : onesU)
+					Arrays.fill(row, 1);
+			}
+			uw = onesU;
+		} else {
+			uw = u;
+		}
+
+		final double change = update(Block.W, step, lambda, regul, gamma, uw);
+
+		final double[][] tmp = w;
+		w = candW;
+		candW = tmp;
+
+		return change;
+	}
+
+	/**
+	 * Perform a proximal gradient update of U holding W and the bias fixed.
+	 *
+	 * @param step
+	 *            the initial step size of the line search
+	 * @param lambda
+	 *            the regularisation weight
+	 * @param regul
+	 *            the regulariser
+	 * @param gamma
+	 *            the factor by which the step is reduced on each iteration
+	 *            of the line search
+	 * @return the total absolute change in U relative to its total
+	 *         absolute value (zero if U was zero)
+	 */
+	public double updateU(double step, double lambda, Regularisation regul, double gamma) {
+		final double change = update(Block.U, step, lambda, regul, gamma, u);
+
+		final double[][] tmp = u;
+		u = candU;
+		candU = tmp;
+
+		return change;
+	}
+
+	/**
+	 * Perform an (unregularised) gradient update of the bias holding W and U
+	 * fixed.
+	 *
+	 * @param step
+	 *            the initial step size of the line search
+	 * @param gamma
+	 *            the factor by which the step is reduced on each iteration
+	 *            of the line search
+	 * @return the total absolute change in the bias relative to its total
+	 *         absolute value (zero if the bias was zero)
+	 */
+	public double updateBias(double step, double gamma) {
+		final double change = update(Block.BIAS, step, 0, Regularisation.NONE, gamma, u);
+
+		final double[][] tmp = bias;
+		bias = candBias;
+		candBias = tmp;
+
+		return change;
+	}
+
+	/*
+	 * Compute the gradient with respect to the given block at the current
+	 * parameters and then backtrack from the given step until the proximal
+	 * step satisfies the sufficient decrease condition. The accepted solution
+	 * is left in the candidate buffer of the block.
+	 */
+	private double update(final Block block, double step, double lambda, Regularisation regul, double gamma,
+			final double[][] uw)
+	{
+		final double[][] current = current(block);
+		final double[][] cand = candidate(block);
+		final double[][] grad = gradient(block);
+
+		// the loss and gradient at the current parameters
+		forRange(ntasks, new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int t = start; t < stop; t++)
+					taskLoss[t] = evaluate(block, t, w[t], uw[t], bias[t][0], grad[t]);
+			}
+		});
+		final double loss = sum(taskLoss);
+
+		for (int i = 0; i < MAX_LINE_SEARCH; i++) {
+			final double s = step;
+			forRange(ntasks, new RangeOperation() {
+				@Override
+				void perform(int start, int stop) {
+					for (int t = start; t < stop; t++) {
+						final double[] c = cand[t];
+						final double[] x = current[t];
+						final double[] g = grad[t];
+
+						for (int j = 0; j < c.length; j++)
+							c[j] = x[j] - s * g[j];
+					}
+				}
+			});
+
+			prox(cand, step * lambda, regul);
+
+			// the loss at the candidate, and the quadratic upper bound
+			forRange(ntasks, new RangeOperation() {
+				@Override
+				void perform(int start, int stop) {
+					for (int t = start; t < stop; t++) {
+						switch (block) {
+						case W:
+							taskLoss[t] = evaluate(block, t, cand[t], uw[t], bias[t][0], null);
+							break;
+						case U:
+							taskLoss[t] = evaluate(block, t, w[t], cand[t], bias[t][0], null);
+							break;
+						default:
+							taskLoss[t] = evaluate(block, t, w[t], uw[t], cand[t][0], null);
+						}
+					}
+				}
+			});
+			final double candLoss = sum(taskLoss);
+
+			double bound = loss;
+			for (int t = 0; t < ntasks; t++) {
+				final double[] c = cand[t];
+				final double[] x = current[t];
+				final double[] g = grad[t];
+
+				for (int j = 0; j < c.length; j++) {
+					final double d = c[j] - x[j];
+					bound += g[j] * d + d * d / (2 * step);
+				}
+			}
+
+			if (candLoss <= bound)
+				break;
+
+			step /= gamma;
+		}
+
+		double totalChange = 0;
+		double total = 0;
+		for (int t = 0; t < ntasks; t++) {
+			final double[] c = cand[t];
+			final double[] x = current[t];
+
+			for (int j = 0; j < c.length; j++) {
+				totalChange += Math.abs(c[j] - x[j]);
+				total += Math.abs(x[j]);
+			}
+		}
+
+		return total == 0 ? 0 : totalChange / total;
+	}
+
+	/*
+	 * Compute the loss of task t with the given parameters, and, if grad is
+	 * not null, the gradient of the loss with respect to the given block.
+	 */
+	private double evaluate(Block block, int t, double[] wt, double[] ut, double bt, double[] grad) {
+		if (grad != null)
+			Arrays.fill(grad, 0);
+
+		final int n = batch.size();
+		double loss = 0;
+		for (int i = 0; i < n; i++) {
+			final Example ex = batch.get(i);
+			final double y = ex.y[t];
+			if (Double.isNaN(y))
+				continue;
+
+			final int[] f = ex.features;
+			final int[] c = ex.users;
+			final double[] v = ex.values;
+
+			double pred = bt;
+			for (int k = 0; k < v.length; k++)
+				pred += v[k] * wt[f[k]] * ut[c[k]];
+
+			final double resid = pred - y;
+			loss += resid * resid;
+
+			if (grad != null) {
+				final double scale = resid / n;
+
+				switch (block) {
+				case W:
+					for (int k = 0; k < v.length; k++)
+						grad[f[k]] += scale * v[k] * ut[c[k]];
+					break;
+				case U:
+					for (int k = 0; k < v.length; k++)
+						grad[c[k]] += scale * v[k] * wt[f[k]];
+					break;
+				default:
+					grad[0] += scale;
+				}
+			}
+		}
+
+		return 0.5 * loss / n;
+	}
+
+	/*
+	 * Apply the proximal operator of the regulariser in place
+	 */
+	private void prox(final double[][] params, final double lambda, Regularisation regul) {
+		if (lambda <= 0 || ntasks == 0)
+			return;
+
+		switch (regul) {
+		case L1:
+			forRange(ntasks, new RangeOperation() {
+				@Override
+				void perform(int start, int stop) {
+					for (int t = start; t < stop; t++) {
+						final double[] p = params[t];
+
+						for (int j = 0; j < p.length; j++) {
+							if (p[j] > lambda)
+								p[j] -= lambda;
+							else if (p[j] < -lambda)
+								p[j] += lambda;
+							else
+								p[j] = 0;
+						}
+					}
+				}
+			});
+			break;
+		case L1L2:
+			forRange(params[0].length, new RangeOperation() {
+				@Override
+				void perform(int start, int stop) {
+					for (int j = start; j < stop; j++) {
+						double norm = 0;
+						for (int t = 0; t < ntasks; t++)
+							norm += params[t][j] * params[t][j];
+						norm = Math.sqrt(norm);
+
+						final double scale = norm > lambda ? (norm - lambda) / norm : 0;
+						for (int t = 0; t < ntasks; t++)
+							params[t][j] *= scale;
+					}
+				}
+			});
+			break;
+		default:
+			break;
+		}
+	}
+
+	private double[][] current(Block block) {
+		switch (block) {
+		case W:
+			return w;
+		case U:
+			return u;
+		default:
+			return bias;
+		}
+	}
+
+	private double[][] candidate(Block block) {
+		switch (block) {
+		case W:
+			return candW;
+		case U:
+			return candU;
+		default:
+			return candBias;
+		}
+	}
+
+	private double[][] gradient(Block block) {
+		switch (block) {
+		case W:
+			return gradW;
+		case U:
+			return gradU;
+		default:
+			return gradBias;
+		}
+	}
+
+	private static double sum(double[] values) {
+		double sum = 0;
+		for (final double v : values)
+			sum += v;
+		return sum;
+	}
+
+	private void forRange(int n, final RangeOperation op) {
+		if (threadPool == null || n < 2) {
+			op.perform(0, n);
+		} else {
+			Parallel.forRange(0, n, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					op.perform(range.start, range.stop);
+				}
+			}, threadPool);
+		}
+	}
+}
@@ -30,6 +30,7 @@
 package org.openimaj.ml.linear.learner;
 
 import gov.sandia.cognition.math.matrix.Matrix;
+import gov.sandia.cognition.math.matrix.MatrixEntry;
 import gov.sandia.cognition.math.matrix.Vector;
 import gov.sandia.cognition.math.matrix.mtj.AbstractSparseMatrix;
 import gov.sandia.cognition.math.matrix.mtj.SparseMatrix;
@@ -38,18 +39,30 @@ import gov.sandia.cognition.math.matrix.mtj.SparseMatrixFactoryMTJ;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
 import org.openimaj.io.ReadWriteableBinary;
 import org.openimaj.math.matrix.CFMatrixUtils;
+import org.openimaj.ml.linear.learner.BilinearSparseMiniBatchUpdater.Example;
+import org.openimaj.ml.linear.learner.BilinearSparseMiniBatchUpdater.Regularisation;
 import org.openimaj.ml.linear.learner.init.ContextAwareInitStrategy;
 import org.openimaj.ml.linear.learner.init.InitStrategy;
 import org.openimaj.ml.linear.learner.init.SparseSingleValueInitStrat;
 import org.openimaj.ml.linear.learner.loss.LossFunction;
 import org.openimaj.ml.linear.learner.loss.MatLossFunction;
+import org.openimaj.ml.linear.learner.loss.MatSquareLossFunction;
+import org.openimaj.ml.linear.learner.loss.SquareLossFunction;
+import org.openimaj.ml.linear.learner.loss.SquareMissingLossFunction;
+import org.openimaj.ml.linear.learner.regul.L1L2Regulariser;
+import org.openimaj.ml.linear.learner.regul.L1Regulariser;
 import org.openimaj.ml.linear.learner.regul.Regulariser;
+import org.openimaj.util.pair.Pair;
 
 
 /**
@@ -105,6 +118,10 @@ public class BilinearSparseOnlineLearner implements OnlineLearner<Matrix,Matrix>
 
 	private double biasEta0;
 
+	private ThreadPoolExecutor threadPool;
+
+	private transient BilinearSparseMiniBatchUpdater updater;
+
 	/**
 	 * The default parameters. These won't work with your dataset, i promise.
 	 */
@@ -257,6 +274,179 @@ public class BilinearSparseOnlineLearner implements OnlineLearner<Matrix,Matrix>
 			}
 		}
 	}
+	/**
+	 * Set the thread pool used to update the tasks in parallel in
+	 * {@link #processBatch(List)}. The default is null, in which case the
+	 * updates are sequential.
+	 *
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
+	/**
+	 * Process a mini-batch of examples at once. This performs the same
+	 * biconvex alternation of proximal updates of W, U and the bias as
+	 * {@link #process(Matrix, Matrix)}, but with the loss averaged over all
+	 * the examples of the batch. The updates work in place on dense buffers
+	 * (see {@link BilinearSparseMiniBatchUpdater}) and the tasks are updated
+	 * in parallel if a thread pool has been set. The dampening is applied once
+	 * for every example in the batch.
+	 * <p>
+	 * Only the square loss functions and the {@link L1Regulariser} and
+	 * {@link L1L2Regulariser} (or no regulariser) are supported, and
+	 * {@link BilinearLearnerParameters#Z_STANDARDISE} must be false.
+	 *
+	 * @param batch
+	 *            the batch of (X, Y) pairs
+	 * @throws UnsupportedOperationException
+	 *             if the parameters are not supported
+	 */
+	public void processBatch(List<Pair<Matrix>> batch) {
+		if (batch.isEmpty())
+			return;
+
+		final Regularisation regularisation = getBatchRegularisation();
+
+		final Matrix X0 = batch.get(0).firstObject();
+		final Matrix Y0 = batch.get(0).secondObject();
+		final int nfeatures = X0.getNumRows();
+		final int nusers = X0.getNumColumns();
+		final int ntasks = Y0.getNumColumns();
+
+		if (this.w == null) {
+			initParams(X0, Y0, nfeatures, nusers, ntasks);
+		}
+
+		final Double dampening = this.params.getTyped(BilinearLearnerParameters.DAMPENING);
+		final double weighting = Math.pow(1.0 - dampening, batch.size());
+
+		if (updater == null || updater.nfeatures != w.getNumRows() || updater.nusers != u.getNumRows()
+				|| updater.ntasks != ntasks)
+		{
+			updater = new BilinearSparseMiniBatchUpdater(w.getNumRows(), u.getNumRows(), ntasks);
+		}
+		updater.setThreadPool(threadPool);
+
+		copyIn(this.w, updater.getW(), weighting);
+		copyIn(this.u, updater.getU(), weighting);
+		final double[][] b = updater.getBias();
+		for (int t = 0; t < ntasks; t++)
+			b[t][0] = this.biasMode ? this.bias.getElement(t, t) * weighting : 0;
+
+		final List<Example> examples = new ArrayList<Example>(batch.size());
+		for (final Pair<Matrix> xy : batch)
+			examples.add(toExample(xy.firstObject(), xy.secondObject()));
+		updater.setBatch(examples);
+
+		final Double biconvextol = this.params.getTyped(BilinearLearnerParameters.BICONVEX_TOL);
+		final Integer maxiter = this.params.getTyped(BilinearLearnerParameters.BICONVEX_MAXITER);
+		int iter = 0;
+		while (true) {
+			iter += 1;
+
+			double ratio = updater.updateW(1 / eta0_w, lambda_w, regularisation, eta_gamma, nodataseen);
+			this.nodataseen = false;
+			ratio += updater.updateU(1 / eta0_u, lambda_u, regularisation, eta_gamma);
+
+			if (this.biasMode) {
+				ratio += updater.updateBias(1 / biasEta0, eta_gamma);
+				ratio /= 3;
+			} else {
+				ratio /= 2;
+			}
+
+			logger.debug(String.format("Iter: %d. Last Ratio: %2.3f", iter, ratio));
+			if (biconvextol < 0 || ratio < biconvextol || iter >= maxiter)
+				break;
+		}
+
+		this.w = copyOut(updater.getW(), this.w);
+		this.u = copyOut(updater.getU(), this.u);
+		if (this.biasMode) {
+			for (int t = 0; t < ntasks; t++)
+				this.bias.setElement(t, t, updater.getBias()[t][0]);
+		}
+	}
+
+	private Regularisation getBatchRegularisation() {
+		final Object lossFunction = this.params.getTyped(BilinearLearnerParameters.LOSS);
+		if (!(lossFunction instanceof SquareMissingLossFunction || lossFunction instanceof SquareLossFunction
+				|| lossFunction instanceof MatSquareLossFunction))
+			throw new UnsupportedOperationException("Batch processing requires a square loss function");
+
+		if (this.zStandardise)
+			throw new UnsupportedOperationException("Batch processing does not support z-standardisation");
+
+		if (this.regul == null)
+			return Regularisation.NONE;
+		if (this.regul instanceof L1L2Regulariser)
+			return Regularisation.L1L2;
+		if (this.regul instanceof L1Regulariser)
+			return Regularisation.L1;
+
+		throw new UnsupportedOperationException("Batch processing does not support " + this.regul.getClass());
+	}
+
+	/*
+	 * Copy a (rows x tasks) matrix into a per-task buffer
+	 */
+	private static void copyIn(Matrix m, double[][] buffer, double weighting) {
+		for (final double[] row : buffer)
+			Arrays.fill(row, 0);
+
+		for (final MatrixEntry ent : m) {
+			buffer[ent.getColumnIndex()][ent.getRowIndex()] = ent.getValue() * weighting;
+		}
+	}
+
+	/*
+	 * Copy a per-task buffer into a (rows x tasks) matrix
+	 */
+	private Matrix copyOut(double[][] buffer, Matrix m) {
+		final Matrix ret = this.forceSparcity ? smf.createMatrix(m.getNumRows(), m.getNumColumns()) : m;
+
+		for (int t = 0; t < buffer.length; t++) {
+			final double[] values = buffer[t];
+
+			for (int r = 0; r < values.length; r++) {
+				if (values[r] != 0 || (!this.forceSparcity && m.getElement(r, t) != 0))
+					ret.setElement(r, t, values[r]);
+			}
+		}
+
+		return this.forceSparcity ? CFMatrixUtils.asSparseColumn(ret) : ret;
+	}
+
+	private static Example toExample(Matrix X, Matrix Y) {
+		int nnz = 0;
+		for (final MatrixEntry ent : X) {
+			if (ent.getValue() != 0)
+				nnz++;
+		}
+
+		final int[] features = new int[nnz];
+		final int[] users = new int[nnz];
+		final double[] values = new double[nnz];
+		int i = 0;
+		for (final MatrixEntry ent : X) {
+			if (ent.getValue() != 0) {
+				features[i] = ent.getRowIndex();
+				users[i] = ent.getColumnIndex();
+				values[i] = ent.getValue();
+				i++;
+			}
+		}
+
+		final double[] y = new double[Y.getNumColumns()];
+		for (int t = 0; t < y.length; t++)
+			y[t] = Y.getElement(0, t);
+
+		return new Example(features, users, values, y);
+	}
+
 	private void prepareNextRound(Matrix X, Matrix Y) {
 		final int nfeatures = X.getNumRows();
 		final int nusers = X.getNumColumns();
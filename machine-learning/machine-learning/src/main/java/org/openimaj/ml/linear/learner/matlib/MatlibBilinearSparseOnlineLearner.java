@@ -32,6 +32,10 @@ package org.openimaj.ml.linear.learner.matlib;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
@@ -40,15 +44,24 @@ import org.openimaj.io.ReadWriteableBinary;
 import org.openimaj.math.matrix.DiagonalMatrix;
 import org.openimaj.math.matrix.MatlibMatrixUtils;
 import org.openimaj.ml.linear.learner.BilinearLearnerParameters;
+import org.openimaj.ml.linear.learner.BilinearSparseMiniBatchUpdater;
+import org.openimaj.ml.linear.learner.BilinearSparseMiniBatchUpdater.Example;
+import org.openimaj.ml.linear.learner.BilinearSparseMiniBatchUpdater.Regularisation;
 import org.openimaj.ml.linear.learner.OnlineLearner;
 import org.openimaj.ml.linear.learner.matlib.init.InitStrategy;
 import org.openimaj.ml.linear.learner.matlib.init.SparseSingleValueInitStrat;
 import org.openimaj.ml.linear.learner.matlib.loss.LossFunction;
 import org.openimaj.ml.linear.learner.matlib.loss.MatLossFunction;
+import org.openimaj.ml.linear.learner.matlib.loss.MatSquareLossFunction;
+import org.openimaj.ml.linear.learner.matlib.regul.L1L2Regulariser;
+import org.openimaj.ml.linear.learner.matlib.regul.L1Regulariser;
 import org.openimaj.ml.linear.learner.matlib.regul.Regulariser;
+import org.openimaj.util.pair.Pair;
 
 import ch.akuhn.matrix.Matrix;
 import ch.akuhn.matrix.SparseMatrix;
+import ch.akuhn.matrix.Vector;
+import ch.akuhn.matrix.Vector.Entry;
 
 
 /**
@@ -99,6 +112,10 @@ public class MatlibBilinearSparseOnlineLearner implements OnlineLearner<Matrix,M
 
 	private boolean nodataseen;
 
+	private ThreadPoolExecutor threadPool;
+
+	private transient BilinearSparseMiniBatchUpdater updater;
+
 	/**
 	 * The default parameters. These won't work with your dataset, i promise.
 	 */
@@ -244,6 +261,8 @@ public class MatlibBilinearSparseOnlineLearner implements OnlineLearner<Matrix,M
 			else{
 				ratio/=2;
 			}
+			this.w = neww;
+			this.u = newu;
 
 			final Double biconvextol = this.params.getTyped("biconvex_tol");
 			final Integer maxiter = this.params.getTyped("biconvex_maxiter");
@@ -267,6 +286,190 @@ public class MatlibBilinearSparseOnlineLearner implements OnlineLearner<Matrix,M
 		}
 	}
 	
+	/**
+	 * Set the thread pool used to update the tasks in parallel in
+	 * {@link #processBatch(List)}. The default is null, in which case the
+	 * updates are sequential.
+	 *
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
+	/**
+	 * Process a mini-batch of examples at once. This performs the same
+	 * biconvex alternation of updates of W, U and the bias as
+	 * {@link #process(Matrix, Matrix)}, but with the loss averaged over all
+	 * the examples of the batch. The updates are proximal gradient steps
+	 * starting from the usual (decaying) learning rates, with a backtracking
+	 * line search that reduces them by {@link BilinearLearnerParameters#ETA_GAMMA}
+	 * until the loss decreases sufficiently. The updates work in place on
+	 * dense buffers (see {@link BilinearSparseMiniBatchUpdater}) and the tasks
+	 * are updated in parallel if a thread pool has been set. The dampening is
+	 * applied once for every example in the batch.
+	 * <p>
+	 * Only the {@link MatSquareLossFunction} and the {@link L1Regulariser} and
+	 * {@link L1L2Regulariser} (or no regulariser) are supported, and
+	 * {@link BilinearLearnerParameters#Z_STANDARDISE} must be false.
+	 *
+	 * @param batch
+	 *            the batch of (X, Y) pairs
+	 * @throws UnsupportedOperationException
+	 *             if the parameters are not supported
+	 */
+	public void processBatch(List<Pair<Matrix>> batch) {
+		if (batch.isEmpty())
+			return;
+
+		final Regularisation regularisation = getBatchRegularisation();
+
+		final Matrix X0 = batch.get(0).firstObject();
+		final Matrix Y0 = batch.get(0).secondObject();
+		final int ntasks = Y0.columnCount();
+
+		if (this.w == null) {
+			initParams(X0, Y0, X0.rowCount(), X0.columnCount(), ntasks);
+		}
+
+		final Double dampening = this.params.getTyped(BilinearLearnerParameters.DAMPENING);
+		final double weighting = Math.pow(1.0 - dampening, batch.size());
+
+		if (updater == null || updater.getNumFeatures() != w.rowCount() || updater.getNumUsers() != u.rowCount()
+				|| updater.getNumTasks() != ntasks)
+		{
+			updater = new BilinearSparseMiniBatchUpdater(w.rowCount(), u.rowCount(), ntasks);
+		}
+		updater.setThreadPool(threadPool);
+
+		copyIn(this.w, updater.getW(), weighting);
+		copyIn(this.u, updater.getU(), weighting);
+		final double[][] b = updater.getBias();
+		for (int t = 0; t < ntasks; t++)
+			b[t][0] = this.biasMode ? this.bias.get(t, t) * weighting : 0;
+
+		final List<Example> examples = new ArrayList<Example>(batch.size());
+		for (final Pair<Matrix> xy : batch)
+			examples.add(toExample(xy.firstObject(), xy.secondObject()));
+		updater.setBatch(examples);
+
+		final Double gamma = this.params.getTyped(BilinearLearnerParameters.ETA_GAMMA);
+		final Double biconvextol = this.params.getTyped(BilinearLearnerParameters.BICONVEX_TOL);
+		final Integer maxiter = this.params.getTyped(BilinearLearnerParameters.BICONVEX_MAXITER);
+		int iter = 0;
+		while (true) {
+			iter += 1;
+
+			double ratio = updater.updateW(etat(iter, eta0_w), lambdat(iter, lambda_w), regularisation, gamma,
+					nodataseen);
+			this.nodataseen = false;
+			ratio += updater.updateU(etat(iter, eta0_u), lambdat(iter, lambda_u), regularisation, gamma);
+
+			if (this.biasMode) {
+				ratio += updater.updateBias(biasEtat(iter), gamma);
+				ratio /= 3;
+			} else {
+				ratio /= 2;
+			}
+
+			logger.debug(String.format("Iter: %d. Last Ratio: %2.3f", iter, ratio));
+			if (biconvextol < 0 || ratio < biconvextol || iter >= maxiter)
+				break;
+		}
+
+		this.w = copyOut(updater.getW(), this.w);
+		this.u = copyOut(updater.getU(), this.u);
+		if (this.biasMode) {
+			for (int t = 0; t < ntasks; t++)
+				this.bias.put(t, t, updater.getBias()[t][0]);
+		}
+	}
+
+	private Regularisation getBatchRegularisation() {
+		final Object lossFunction = this.params.getTyped(BilinearLearnerParameters.LOSS);
+		if (!(lossFunction instanceof MatSquareLossFunction))
+			throw new UnsupportedOperationException("Batch processing requires a square loss function");
+
+		if (this.zStandardise)
+			throw new UnsupportedOperationException("Batch processing does not support z-standardisation");
+
+		if (this.regul == null)
+			return Regularisation.NONE;
+		if (this.regul instanceof L1L2Regulariser)
+			return Regularisation.L1L2;
+		if (this.regul instanceof L1Regulariser)
+			return Regularisation.L1;
+
+		throw new UnsupportedOperationException("Batch processing does not support " + this.regul.getClass());
+	}
+
+	/*
+	 * Copy a (rows x tasks) matrix into a per-task buffer
+	 */
+	private static void copyIn(Matrix m, double[][] buffer, double weighting) {
+		for (final double[] row : buffer)
+			Arrays.fill(row, 0);
+
+		int r = 0;
+		for (final Vector row : m.rows()) {
+			for (final Entry ent : row.entries())
+				buffer[ent.index][r] = ent.value * weighting;
+			r++;
+		}
+	}
+
+	/*
+	 * Copy a per-task buffer into a (rows x tasks) matrix
+	 */
+	private Matrix copyOut(double[][] buffer, Matrix m) {
+		final Matrix ret = this.forceSparcity ? SparseMatrix.sparse(m.rowCount(), m.columnCount()) : m;
+
+		for (int t = 0; t < buffer.length; t++) {
+			final double[] values = buffer[t];
+
+			for (int r = 0; r < values.length; r++) {
+				if (values[r] != 0 || (!this.forceSparcity && m.get(r, t) != 0))
+					ret.put(r, t, values[r]);
+			}
+		}
+
+		return ret;
+	}
+
+	private static Example toExample(Matrix X, Matrix Y) {
+		int nnz = 0;
+		for (final Vector row : X.rows()) {
+			for (final Entry ent : row.entries()) {
+				if (ent.value != 0)
+					nnz++;
+			}
+		}
+
+		final int[] features = new int[nnz];
+		final int[] users = new int[nnz];
+		final double[] values = new double[nnz];
+		int i = 0;
+		int r = 0;
+		for (final Vector row : X.rows()) {
+			for (final Entry ent : row.entries()) {
+				if (ent.value != 0) {
+					features[i] = r;
+					users[i] = ent.index;
+					values[i] = ent.value;
+					i++;
+				}
+			}
+			r++;
+		}
+
+		final double[] y = new double[Y.columnCount()];
+		for (int t = 0; t < y.length; t++)
+			y[t] = Y.get(0, t);
+
+		return new Example(features, users, values, y);
+	}
+
 	protected Matrix updateBias(Matrix biasGrad, double biasLossWeight) {
 		final Matrix newbias = MatlibMatrixUtils.minus(
 				this.bias,
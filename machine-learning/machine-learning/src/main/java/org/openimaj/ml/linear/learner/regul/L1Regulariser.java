@@ -45,7 +45,7 @@ public class L1Regulariser implements Regulariser{
 		int ncol = w.getNumColumns();
 		for (int r = 0; r < nrow; r++) {
 			for (int c = 0; c < ncol; c++) {
-				double v = ret.getElement(r, c);
+				double v = w.getElement(r, c);
 				if(v < -lambda){
 					ret.setElement(r, c, v + lambda);
 				}
@@ -36,6 +36,7 @@ import java.util.Set;
 
 import org.openimaj.ml.regression.LinearRegression;
 import org.openimaj.ml.timeseries.collection.SynchronisedTimeSeriesCollection;
+import org.openimaj.ml.timeseries.series.ChunkedDoubleTimeSeriesCollection;
 import org.openimaj.ml.timeseries.series.DoubleSynchronisedTimeSeriesCollection;
 import org.openimaj.ml.timeseries.series.DoubleTimeSeries;
 import org.openimaj.util.pair.IndependentPair;
@@ -270,6 +271,35 @@ public class WindowedLinearRegressionAggregator implements SynchronisedTimeSerie
 		return null;
 	}
 
+	/**
+	 * Aggregate the series of a {@link ChunkedDoubleTimeSeriesCollection}. The
+	 * series are read directly from the store (in parallel if the store has a
+	 * thread pool) rather than being copied into a
+	 * {@link DoubleSynchronisedTimeSeriesCollection}. The other series are used
+	 * in the order in which they were added to the store.
+	 *
+	 * @param store
+	 *            the store, in which all the series must have the same times
+	 * @return the predicted series
+	 */
+	public DoubleTimeSeries aggregate(ChunkedDoubleTimeSeriesCollection store) {
+		final List<String> names = new ArrayList<String>(store.getNames());
+		if (!autoregressive) {
+			names.remove(ydataName);
+		}
+		final ChunkedDoubleTimeSeriesCollection.SeriesView yseries = store.view(ydataName);
+		final double[] ydata = yseries.getData();
+
+		final double[] data = store.flatten(names);
+		if (this.windowOffsets.size() != names.size() && this.windowOffsets.size() == 1) {
+			final IndependentPair<Integer, Integer> offset = this.windowOffsets.get(0);
+			return aggregteSingle(yseries.getTimes(), ydata, data, offset.firstObject(), offset.secondObject(),
+					names.size());
+		}
+
+		return null;
+	}
+
 	private DoubleTimeSeries aggregteSingle(long[] times, double[] ydata, double[] data, int windowsize, int offset,
 			int nseries)
 	{
@@ -71,6 +71,13 @@ public class IntervalSummationProcessor
 		this.times = times;
 	}
 	
+	/**
+	 * @return the end times of the intervals
+	 */
+	public long[] getTimes() {
+		return times;
+	}
+
 	@Override
 	public void process(TS series) {
 		LinkedList<Long> times = new LinkedList<Long>();
@@ -60,6 +60,13 @@ public class MovingAverageProcessor implements TimeSeriesProcessor<double[], Dou
 		this.length = length;
 	}
 
+	/**
+	 * @return the length of the window
+	 */
+	public long getLength() {
+		return length;
+	}
+
 	@Override
 	public void process(DoubleTimeSeries series) {
 		final long[] times = series.getTimes();
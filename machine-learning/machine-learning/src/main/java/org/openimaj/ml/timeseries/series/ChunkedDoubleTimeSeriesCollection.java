@@ -0,0 +1,791 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.ml.timeseries.series;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.openimaj.ml.timeseries.IncompatibleTimeSeriesException;
+import org.openimaj.ml.timeseries.processor.IntervalSummationProcessor;
+import org.openimaj.ml.timeseries.processor.MovingAverageProcessor;
+import org.openimaj.ml.timeseries.processor.TimeSeriesProcessor;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+/**
+ * A columnar store for large numbers of named {@link DoubleTimeSeries}.
+ * Rather than holding a pair of arrays for every series (as
+ * {@link DoubleTimeSeriesCollection} does), the samples of all the series are
+ * packed into a small number of large chunks. Timestamps are delta-encoded
+ * against the first timestamp of their series as <code>int</code> multiples of
+ * a fixed time unit, and series with identical timestamps (for example the
+ * output of {@link #intervalSummation(long[])}) share a single time column.
+ * <p>
+ * Range queries return {@link SeriesView}s which read directly from the
+ * chunks without copying. The moving average, interval summation and windowed
+ * regression operations are computed inside the store, in parallel across the
+ * series if a thread pool is set (see {@link #setThreadPool(ThreadPoolExecutor)}
+ * ). The results match those of {@link MovingAverageProcessor},
+ * {@link IntervalSummationProcessor} and
+ * {@link org.openimaj.ml.timeseries.aggregator.WindowedLinearRegressionAggregator}
+ * respectively.
+ * <p>
+ * Like the other time series classes, the store assumes that the timestamps
+ * of each series are sorted in ascending order.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class ChunkedDoubleTimeSeriesCollection {
+	/**
+	 * The default number of samples in a chunk
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+	/**
+	 * A read-only, zero-copy view of a range of samples of a series in a
+	 * {@link ChunkedDoubleTimeSeriesCollection}.
+	 *
+	 * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+	 */
+	public static class SeriesView {
+		private final int[] times;
+		private final int timeOffset;
+		private final double[] data;
+		private final int dataOffset;
+		private final int length;
+		private final long base;
+		private final long unit;
+
+		SeriesView(int[] times, int timeOffset, double[] data, int dataOffset, int length, long base, long unit) {
+			this.times = times;
+			this.timeOffset = timeOffset;
+			this.data = data;
+			this.dataOffset = dataOffset;
+			this.length = length;
+			this.base = base;
+			this.unit = unit;
+		}
+
+		/**
+		 * @return the number of samples in the view
+		 */
+		public int size() {
+			return length;
+		}
+
+		/**
+		 * Get the time of a sample
+		 *
+		 * @param i
+		 *            the index of the sample in the view
+		 * @return the time
+		 */
+		public long getTime(int i) {
+			return base + unit * times[timeOffset + i];
+		}
+
+		/**
+		 * Get the value of a sample
+		 *
+		 * @param i
+		 *            the index of the sample in the view
+		 * @return the value
+		 */
+		public double getValue(int i) {
+			return data[dataOffset + i];
+		}
+
+		/**
+		 * Get the samples between two times (inclusive). This has the same
+		 * semantics as {@link DoubleTimeSeries#get(long, long)}, but doesn't
+		 * copy any data.
+		 *
+		 * @param start
+		 *            the start time
+		 * @param end
+		 *            the end time
+		 * @return a view of the samples
+		 */
+		public SeriesView get(long start, long end) {
+			if (end < start)
+				return subView(0, 0);
+
+			final int lo = lowerBound(start);
+			final int hi = upperBound(end, lo);
+			return subView(lo, hi);
+		}
+
+		private SeriesView subView(int lo, int hi) {
+			return new SeriesView(times, timeOffset + lo, data, dataOffset + lo, hi - lo, base, unit);
+		}
+
+		/**
+		 * @return the index of the first sample at or after the given time
+		 */
+		int lowerBound(long time) {
+			int lo = 0, hi = length;
+			while (lo < hi) {
+				final int mid = (lo + hi) >>> 1;
+				if (getTime(mid) < time)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+			return lo;
+		}
+
+		/**
+		 * @return the index after the last sample at or before the given time,
+		 *         searching from the given index
+		 */
+		int upperBound(long time, int from) {
+			int lo = from, hi = length;
+			while (lo < hi) {
+				final int mid = (lo + hi) >>> 1;
+				if (getTime(mid) <= time)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+			return lo;
+		}
+
+		double sum(int from, int to) {
+			double s = 0;
+			for (int i = dataOffset + from; i < dataOffset + to; i++)
+				s += data[i];
+			return s;
+		}
+
+		/**
+		 * @return the sum of the values in the view
+		 */
+		public double sum() {
+			return sum(0, length);
+		}
+
+		/**
+		 * @return the mean of the values in the view; NaN if the view is empty
+		 */
+		public double mean() {
+			if (length == 0)
+				return Double.NaN;
+			return sum() / length;
+		}
+
+		/**
+		 * @return a copy of the times of the samples in the view
+		 */
+		public long[] getTimes() {
+			final long[] ret = new long[length];
+			for (int i = 0; i < length; i++)
+				ret[i] = getTime(i);
+			return ret;
+		}
+
+		/**
+		 * @return a copy of the values of the samples in the view
+		 */
+		public double[] getData() {
+			return Arrays.copyOfRange(data, dataOffset, dataOffset + length);
+		}
+
+		/**
+		 * @return a {@link DoubleTimeSeries} holding a copy of the view
+		 */
+		public DoubleTimeSeries toDoubleTimeSeries() {
+			return new DoubleTimeSeries(getTimes(), getData());
+		}
+	}
+
+	/**
+	 * An append-only list of fixed size chunks. Allocations larger than the
+	 * chunk size get a chunk of their own.
+	 */
+	private static abstract class Chunks<T> {
+		final List<T> chunks = new ArrayList<T>();
+		int current = -1;
+		int fill;
+
+		/** the chunk and offset of the last allocation */
+		int lastChunk;
+		int lastOffset;
+
+		abstract T create(int size);
+
+		void allocate(int n, int chunkSize) {
+			if (n > chunkSize) {
+				chunks.add(create(n));
+				lastChunk = chunks.size() - 1;
+				lastOffset = 0;
+				return;
+			}
+
+			if (current < 0 || fill + n > chunkSize) {
+				chunks.add(create(chunkSize));
+				current = chunks.size() - 1;
+				fill = 0;
+			}
+
+			lastChunk = current;
+			lastOffset = fill;
+			fill += n;
+		}
+	}
+
+	private static final class TimeChunks extends Chunks<int[]> {
+		@Override
+		int[] create(int size) {
+			return new int[size];
+		}
+	}
+
+	private static final class DataChunks extends Chunks<double[]> {
+		@Override
+		double[] create(int size) {
+			return new double[size];
+		}
+	}
+
+	private static abstract class RangeOperation {
+		abstract void perform(int start, int stop);
+	}
+
+	private final int chunkSize;
+	private final long timeUnit;
+
+	private TimeChunks timeChunks = new TimeChunks();
+	private DataChunks dataChunks = new DataChunks();
+
+	private final HashMap<String, Integer> index = new HashMap<String, Integer>();
+	private final List<String> names = new ArrayList<String>();
+	private int[] timeChunk = new int[16];
+	private int[] timeOffset = new int[16];
+	private int[] dataChunk = new int[16];
+	private int[] dataOffset = new int[16];
+	private int[] length = new int[16];
+	private long[] base = new long[16];
+
+	private ThreadPoolExecutor threadPool;
+
+	/**
+	 * Construct an empty store with the default chunk size and a time unit of
+	 * 1 (i.e. any timestamps are allowed as long as no series spans more than
+	 * {@link Integer#MAX_VALUE} time units).
+	 */
+	public ChunkedDoubleTimeSeriesCollection() {
+		this(DEFAULT_CHUNK_SIZE, 1);
+	}
+
+	/**
+	 * Construct an empty store.
+	 *
+	 * @param chunkSize
+	 *            the number of samples in each chunk
+	 * @param timeUnit
+	 *            the unit in which times are encoded. All the timestamps of a
+	 *            series must be a whole number of units after its first
+	 *            timestamp; for example binned times in milliseconds could use
+	 *            the bin width as the unit.
+	 */
+	public ChunkedDoubleTimeSeriesCollection(int chunkSize, long timeUnit) {
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException("The chunk size must be positive");
+		if (timeUnit <= 0)
+			throw new IllegalArgumentException("The time unit must be positive");
+
+		this.chunkSize = chunkSize;
+		this.timeUnit = timeUnit;
+	}
+
+	/**
+	 * Construct an empty store with the same settings as the given one
+	 */
+	private ChunkedDoubleTimeSeriesCollection(ChunkedDoubleTimeSeriesCollection other) {
+		this(other.chunkSize, other.timeUnit);
+		this.threadPool = other.threadPool;
+	}
+
+	/**
+	 * Set the thread pool used to process the series in parallel. The default
+	 * is null, in which case the series are processed sequentially. Stores
+	 * created by the processing methods inherit the thread pool.
+	 *
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
+	/**
+	 * Add a series to the store. The times and data are copied into the
+	 * store. If a series with the same name already exists it is replaced
+	 * (the space used by the old series is not reclaimed).
+	 *
+	 * @param name
+	 *            the name of the series
+	 * @param times
+	 *            the times, in ascending order
+	 * @param data
+	 *            the values
+	 * @throws IllegalArgumentException
+	 *             if the times and data have different lengths, or the times
+	 *             can't be encoded with the time unit of the store
+	 */
+	public void addTimeSeries(String name, long[] times, double[] data) {
+		if (times.length != data.length)
+			throw new IllegalArgumentException("The times and data must have the same length");
+
+		addTimeSeries(name, times, data, data.length);
+	}
+
+	/**
+	 * Add a series to the store. The times and data of the series are copied
+	 * into the store. If a series with the same name already exists it is
+	 * replaced (the space used by the old series is not reclaimed).
+	 *
+	 * @param name
+	 *            the name of the series
+	 * @param series
+	 *            the series
+	 * @throws IllegalArgumentException
+	 *             if the times of the series can't be encoded with the time
+	 *             unit of the store
+	 */
+	public void addTimeSeries(String name, DoubleTimeSeries series) {
+		addTimeSeries(name, series.getTimes(), series.getData(), series.size());
+	}
+
+	private void addTimeSeries(String name, long[] times, double[] data, int n) {
+		if (times.length < n || data.length < n)
+			throw new IllegalArgumentException("The times and data must have the same length");
+
+		final long first = n > 0 ? times[0] : 0;
+		for (int i = 0; i < n; i++) {
+			final long delta = times[i] - first;
+			if (delta < 0 || delta % timeUnit != 0 || delta / timeUnit > Integer.MAX_VALUE)
+				throw new IllegalArgumentException("Time " + times[i] + " of series " + name
+						+ " cannot be encoded with a unit of " + timeUnit);
+		}
+
+		final int s = newSeries(name);
+		base[s] = first;
+		length[s] = n;
+
+		timeChunks.allocate(n, chunkSize);
+		timeChunk[s] = timeChunks.lastChunk;
+		timeOffset[s] = timeChunks.lastOffset;
+		final int[] tc = timeChunks.chunks.get(timeChunk[s]);
+		for (int i = 0; i < n; i++)
+			tc[timeOffset[s] + i] = (int) ((times[i] - first) / timeUnit);
+
+		dataChunks.allocate(n, chunkSize);
+		dataChunk[s] = dataChunks.lastChunk;
+		dataOffset[s] = dataChunks.lastOffset;
+		System.arraycopy(data, 0, dataChunks.chunks.get(dataChunk[s]), dataOffset[s], n);
+	}
+
+	/**
+	 * Get the index of the series with the given name, creating a new entry
+	 * if it doesn't exist.
+	 */
+	private int newSeries(String name) {
+		final Integer existing = index.get(name);
+		if (existing != null)
+			return existing;
+
+		final int s = names.size();
+		if (s == length.length) {
+			final int cap = s * 2;
+			timeChunk = Arrays.copyOf(timeChunk, cap);
+			timeOffset = Arrays.copyOf(timeOffset, cap);
+			dataChunk = Arrays.copyOf(dataChunk, cap);
+			dataOffset = Arrays.copyOf(dataOffset, cap);
+			length = Arrays.copyOf(length, cap);
+			base = Arrays.copyOf(base, cap);
+		}
+		names.add(name);
+		index.put(name, s);
+		return s;
+	}
+
+	/**
+	 * @return the number of series in the store
+	 */
+	public int nSeries() {
+		return names.size();
+	}
+
+	/**
+	 * @return the names of the series in the order in which they were added
+	 */
+	public Set<String> getNames() {
+		return new LinkedHashSet<String>(names);
+	}
+
+	/**
+	 * @param name
+	 *            the name of a series
+	 * @return true if the series exists in the store
+	 */
+	public boolean hasSeries(String name) {
+		return index.containsKey(name);
+	}
+
+	/**
+	 * Get a zero-copy view of all the samples of the named series.
+	 *
+	 * @param name
+	 *            the name of the series
+	 * @return the view, or null if the series doesn't exist
+	 */
+	public SeriesView view(String name) {
+		final Integer s = index.get(name);
+		if (s == null)
+			return null;
+		return view(s);
+	}
+
+	/**
+	 * Get a zero-copy view of the samples of the named series between two
+	 * times (inclusive). This has the same semantics as
+	 * {@link DoubleTimeSeries#get(long, long)}.
+	 *
+	 * @param name
+	 *            the name of the series
+	 * @param start
+	 *            the start time
+	 * @param end
+	 *            the end time
+	 * @return the view, or null if the series doesn't exist
+	 */
+	public SeriesView view(String name, long start, long end) {
+		final SeriesView view = view(name);
+		if (view == null)
+			return null;
+		return view.get(start, end);
+	}
+
+	private SeriesView view(int s) {
+		return new SeriesView(timeChunks.chunks.get(timeChunk[s]), timeOffset[s], dataChunks.chunks.get(dataChunk[s]),
+				dataOffset[s], length[s], base[s], timeUnit);
+	}
+
+	/**
+	 * Get a copy of the named series
+	 *
+	 * @param name
+	 *            the name of the series
+	 * @return the series, or null if it doesn't exist
+	 */
+	public DoubleTimeSeries series(String name) {
+		final SeriesView view = view(name);
+		if (view == null)
+			return null;
+		return view.toDoubleTimeSeries();
+	}
+
+	/**
+	 * @return a {@link DoubleTimeSeriesCollection} holding a copy of every
+	 *         series in the store
+	 */
+	public DoubleTimeSeriesCollection toDoubleTimeSeriesCollection() {
+		final DoubleTimeSeriesCollection ret = new DoubleTimeSeriesCollection();
+		for (int s = 0; s < names.size(); s++) {
+			try {
+				ret.addTimeSeries(names.get(s), view(s).toDoubleTimeSeries());
+			} catch (final IncompatibleTimeSeriesException e) {
+				// DoubleTimeSeriesCollection accepts any series
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Create a store with the same series and times as this one, but with
+	 * newly allocated (zero) data. The time columns are shared.
+	 */
+	private ChunkedDoubleTimeSeriesCollection sameTimes() {
+		final ChunkedDoubleTimeSeriesCollection ret = new ChunkedDoubleTimeSeriesCollection(this);
+
+		// the shared time chunks must never be appended to by the new store
+		ret.timeChunks.chunks.addAll(timeChunks.chunks);
+		for (final double[] chunk : dataChunks.chunks)
+			ret.dataChunks.chunks.add(new double[chunk.length]);
+
+		final int n = names.size();
+		ret.names.addAll(names);
+		ret.index.putAll(index);
+		ret.timeChunk = Arrays.copyOf(timeChunk, Math.max(n, 16));
+		ret.timeOffset = Arrays.copyOf(timeOffset, Math.max(n, 16));
+		ret.dataChunk = Arrays.copyOf(dataChunk, Math.max(n, 16));
+		ret.dataOffset = Arrays.copyOf(dataOffset, Math.max(n, 16));
+		ret.length = Arrays.copyOf(length, Math.max(n, 16));
+		ret.base = Arrays.copyOf(base, Math.max(n, 16));
+
+		return ret;
+	}
+
+	/**
+	 * Compute the moving average of every series. The result is the same as
+	 * applying a {@link MovingAverageProcessor} with the given length to each
+	 * series: each value is replaced by the mean of the values in the window
+	 * <code>[t - length, t]</code>. The windows are computed in a single pass
+	 * over each series.
+	 *
+	 * @param windowLength
+	 *            the length of the window
+	 * @return a new store containing the averaged series, which shares its
+	 *         time columns with this one
+	 */
+	public ChunkedDoubleTimeSeriesCollection movingAverage(final long windowLength) {
+		final ChunkedDoubleTimeSeriesCollection ret = sameTimes();
+
+		forRange(names.size(), new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int s = start; s < stop; s++) {
+					final SeriesView in = view(s);
+					final double[] out = ret.dataChunks.chunks.get(ret.dataChunk[s]);
+					final int off = ret.dataOffset[s];
+					final int n = in.size();
+
+					if (windowLength < 0) {
+						Arrays.fill(out, off, off + n, Double.NaN);
+						continue;
+					}
+
+					double sum = 0;
+					int lo = 0, hi = 0;
+					for (int i = 0; i < n; i++) {
+						final long t = in.getTime(i);
+						while (hi < n && in.getTime(hi) <= t)
+							sum += in.getValue(hi++);
+						while (in.getTime(lo) < t - windowLength)
+							sum -= in.getValue(lo++);
+
+						out[off + i] = sum / (hi - lo);
+					}
+				}
+			}
+		});
+
+		return ret;
+	}
+
+	/**
+	 * Sum every series over a set of intervals. The result is the same as
+	 * applying an {@link IntervalSummationProcessor} with the given times to
+	 * each series: the first value is the sum of the samples up to and
+	 * including <code>times[0]</code>, and each subsequent value is the sum of
+	 * the samples after the previous interval up to and including
+	 * <code>times[i]</code>. All the series in the returned store share a
+	 * single time column.
+	 *
+	 * @param times
+	 *            the end times of the intervals
+	 * @return a new store containing the summed series
+	 * @throws IllegalArgumentException
+	 *             if the times can't be encoded with the time unit of the
+	 *             store
+	 */
+	public ChunkedDoubleTimeSeriesCollection intervalSummation(final long[] times) {
+		final ChunkedDoubleTimeSeriesCollection ret = new ChunkedDoubleTimeSeriesCollection(this);
+		final int nseries = names.size();
+		final int k = times.length;
+
+		if (nseries == 0)
+			return ret;
+
+		// encode the shared times as the first series, then point every other
+		// series at the same column
+		ret.addTimeSeries(names.get(0), times, new double[k]);
+		for (int s = 1; s < nseries; s++) {
+			final int r = ret.newSeries(names.get(s));
+			ret.timeChunk[r] = ret.timeChunk[0];
+			ret.timeOffset[r] = ret.timeOffset[0];
+			ret.base[r] = ret.base[0];
+			ret.length[r] = k;
+			ret.dataChunks.allocate(k, chunkSize);
+			ret.dataChunk[r] = ret.dataChunks.lastChunk;
+			ret.dataOffset[r] = ret.dataChunks.lastOffset;
+		}
+
+		forRange(nseries, new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int s = start; s < stop; s++) {
+					final SeriesView in = view(s);
+					final double[] out = ret.dataChunks.chunks.get(ret.dataChunk[s]);
+					final int off = ret.dataOffset[s];
+
+					if (in.size() == 0 || k == 0)
+						continue;
+
+					long previous = in.getTime(0);
+					for (int i = 0; i < k; i++) {
+						final long current = times[i];
+						if (current < previous) {
+							// empty interval
+							out[off + i] = 0;
+							previous = current + 1;
+							continue;
+						}
+
+						final int lo = in.lowerBound(previous);
+						final int hi = in.upperBound(current, lo);
+						out[off + i] = in.sum(lo, hi);
+						previous = (hi > lo ? in.getTime(hi - 1) : current) + 1;
+					}
+				}
+			}
+		});
+
+		return ret;
+	}
+
+	/**
+	 * Apply a processor to every series in the store, returning the results
+	 * in a new store. {@link MovingAverageProcessor}s and
+	 * {@link IntervalSummationProcessor}s are computed directly on the columns
+	 * (see {@link #movingAverage(long)} and {@link #intervalSummation(long[])}
+	 * ); any other processor is applied to a {@link DoubleTimeSeries} copy of
+	 * each series.
+	 *
+	 * @param tsp
+	 *            the processor
+	 * @return a new store containing the processed series
+	 */
+	public ChunkedDoubleTimeSeriesCollection processInternal(final TimeSeriesProcessor<double[], Double, DoubleTimeSeries> tsp)
+	{
+		if (tsp instanceof MovingAverageProcessor)
+			return movingAverage(((MovingAverageProcessor) tsp).getLength());
+		if (tsp instanceof IntervalSummationProcessor)
+			return intervalSummation(((IntervalSummationProcessor<?, ?, ?>) tsp).getTimes());
+
+		final DoubleTimeSeries[] processed = new DoubleTimeSeries[names.size()];
+		forRange(names.size(), new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int s = start; s < stop; s++) {
+					processed[s] = view(s).toDoubleTimeSeries();
+					tsp.process(processed[s]);
+				}
+			}
+		});
+
+		final ChunkedDoubleTimeSeriesCollection ret = new ChunkedDoubleTimeSeriesCollection(this);
+		for (int s = 0; s < processed.length; s++)
+			ret.addTimeSeries(names.get(s), processed[s]);
+		return ret;
+	}
+
+	/**
+	 * Flatten a set of synchronised series into a single array in which the
+	 * values of all the series at each time are consecutive (in the order of
+	 * the given names). This is the same layout as
+	 * {@link DoubleSynchronisedTimeSeriesCollection#flatten()}.
+	 *
+	 * @param seriesNames
+	 *            the names of the series
+	 * @return the flattened values
+	 * @throws IllegalArgumentException
+	 *             if a series doesn't exist or the series don't have the same
+	 *             times
+	 */
+	public double[] flatten(List<String> seriesNames) {
+		final int nseries = seriesNames.size();
+		final int[] ids = new int[nseries];
+		for (int i = 0; i < nseries; i++) {
+			final Integer s = index.get(seriesNames.get(i));
+			if (s == null)
+				throw new IllegalArgumentException("Unknown series: " + seriesNames.get(i));
+			ids[i] = s;
+		}
+
+		if (nseries == 0)
+			return new double[0];
+
+		final SeriesView first = view(ids[0]);
+		final int tlength = first.size();
+		final double[] flattened = new double[tlength * nseries];
+
+		forRange(nseries, new RangeOperation() {
+			@Override
+			void perform(int start, int stop) {
+				for (int i = start; i < stop; i++) {
+					final SeriesView v = view(ids[i]);
+					if (!sameTimes(ids[0], ids[i]))
+						throw new IllegalArgumentException("Series " + names.get(ids[i])
+								+ " is not synchronised with " + names.get(ids[0]));
+
+					for (int t = 0; t < tlength; t++)
+						flattened[i + t * nseries] = v.getValue(t);
+				}
+			}
+		});
+
+		return flattened;
+	}
+
+	private boolean sameTimes(int a, int b) {
+		if (length[a] != length[b])
+			return false;
+		if (timeChunk[a] == timeChunk[b] && timeOffset[a] == timeOffset[b] && base[a] == base[b])
+			return true;
+
+		final SeriesView va = view(a);
+		final SeriesView vb = view(b);
+		for (int i = 0; i < length[a]; i++)
+			if (va.getTime(i) != vb.getTime(i))
+				return false;
+		return true;
+	}
+
+	private void forRange(int n, final RangeOperation op) {
+		if (threadPool == null || n < 2) {
+			op.perform(0, n);
+		} else {
+			Parallel.forRange(0, n, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					op.perform(range.start, range.stop);
+				}
+			}, threadPool);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.pgm.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A corpus from a file whose lines are documents and whose words are seperated
+ * by a space (i.e. the same format as read by {@link SimpleCorpusReader}).
+ * Unlike the {@link SimpleCorpusReader}, the documents are not held in memory;
+ * rather they are read from the file one at a time as they are iterated over,
+ * so corpora which are too large to fit in memory can be processed. Each call
+ * to {@link #iterator()} re-opens the file, so multiple passes may be made.
+ * <p>
+ * Because the documents are never all in memory at the same time, the
+ * vocabulary must be fixed in advance; words that are not in the vocabulary are
+ * ignored. {@link #readVocabulary(File)} can be used to build a vocabulary with
+ * a single streaming pass over the file.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class StreamingCorpusReader implements Iterable<Document> {
+	private File file;
+	private Map<String, Integer> vocabulary;
+
+	/**
+	 * Construct with the given file and vocabulary
+	 * 
+	 * @param file
+	 *            the file
+	 * @param vocabulary
+	 *            the mapping of words to vocabulary indices
+	 */
+	public StreamingCorpusReader(File file, Map<String, Integer> vocabulary) {
+		this.file = file;
+		this.vocabulary = vocabulary;
+	}
+
+	/**
+	 * @return the number of words in the vocabulary
+	 */
+	public int vocabularySize() {
+		return vocabulary.size();
+	}
+
+	/**
+	 * Build a vocabulary containing all the words in the given file. Words are
+	 * assigned indices in the order in which they are first seen (as in
+	 * {@link SimpleCorpusReader}).
+	 * 
+	 * @param file
+	 *            the file
+	 * @return the vocabulary
+	 * @throws IOException
+	 */
+	public static Map<String, Integer> readVocabulary(File file) throws IOException {
+		final Map<String, Integer> vocabulary = new HashMap<String, Integer>();
+
+		final BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+		try {
+			String line;
+			while ((line = br.readLine()) != null) {
+				for (final String word : line.split(" ")) {
+					if (!vocabulary.containsKey(word))
+						vocabulary.put(word, vocabulary.size());
+				}
+			}
+		} finally {
+			br.close();
+		}
+
+		return vocabulary;
+	}
+
+	@Override
+	public Iterator<Document> iterator() {
+		final BufferedReader br;
+		try {
+			br = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		return new Iterator<Document>() {
+			String next = readLine();
+
+			private String readLine() {
+				try {
+					final String line = br.readLine();
+					if (line == null)
+						br.close();
+					return line;
+				} catch (final IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public Document next() {
+				if (next == null)
+					throw new NoSuchElementException();
+
+				final Document d = new Document(vocabulary.size());
+				for (final String word : next.split(" ")) {
+					final Integer index = vocabulary.get(word);
+					if (index != null)
+						d.setWordCount(index, d.getVector().get(index) + 1);
+				}
+
+				next = readLine();
+				return d;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+}
@@ -30,13 +30,19 @@
 package org.openimaj.pgm.vb.lda.mle;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.commons.math.special.Gamma;
 import org.openimaj.math.util.MathUtils;
 import org.openimaj.pgm.util.Corpus;
 import org.openimaj.pgm.util.Document;
 import org.openimaj.util.array.SparseIntArray.Entry;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 /**
  * An implementation of variational inference LDA which can be saved and loaded
@@ -47,6 +53,7 @@ import org.openimaj.util.array.SparseIntArray.Entry;
 public class LDALearner {
 	private int ntopics;
 	private Map<LDAConfig, Object> config = new HashMap<LDAConfig, Object>();
+	private ThreadPoolExecutor threadPool;
 
 	enum LDAConfig {
 		MAX_ITERATIONS {
@@ -113,41 +120,95 @@ public class LDALearner {
 		return val;
 	}
 
+	/**
+	 * Set the thread pool used to perform the E-step. Each thread accumulates
+	 * the sufficient statistics of its share of the documents separately, and
+	 * these are reduced before the M-step. Note that each thread requires its
+	 * own copy of the topic-word statistics. The default is null, in which
+	 * case the E-step is performed in the calling thread.
+	 * 
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
 	/**
 	 * initiates the EM algorithm on documents in the corpus
 	 * 
 	 * @param corpus
+	 * @return the estimated model
 	 */
-	public void estimate(Corpus corpus) {
-		performEM(corpus);
+	public LDAModel estimate(Corpus corpus) {
+		return performEM(corpus);
 	}
 
-	private void performEM(Corpus corpus) {
+	private LDAModel performEM(Corpus corpus) {
 		// some variables
 		final double initialAlpha = (Double) this.getConfig(LDAConfig.ALPHA);
 		final LDABetaInitStrategy initStrat = this.getConfig(LDAConfig.INIT_STRATEGY);
 
 		// initialise the first state
-		final LDAModel state = new LDAModel(this.ntopics);
+		LDAModel state = new LDAModel(this.ntopics);
 		state.prepare(corpus);
 		state.setAlpha(initialAlpha);
 		initStrat.initModel(state, corpus);
 
-		final LDAVariationlState vstate = new LDAVariationlState(state);
-		while (modelConverged(vstate.state)) {
-			final LDAModel nextState = vstate.state.newInstance();
+		while (!modelConverged(state)) {
+			final LDAModel nextState = state.newInstance();
 			nextState.setAlpha(initialAlpha);
-			for (final Document doc : corpus.getDocuments()) {
-				vstate.prepare(doc);
-				performE(doc, vstate); // updates the variation parameters given
-										// the current Beta
-				performM(doc, vstate, nextState); // updates the nextState given
-													// the variational
-													// parameters
-				nextState.likelihood += vstate.likelihood;
-			}
+
+			// updates the variation parameters given the current Beta, and
+			// accumulates the sufficient statistics of the nextState
+			performEStep(corpus.getDocuments(), state, nextState);
+
 			nextState.iteration++;
-			vstate.state = nextState;
+			state = nextState;
+		}
+
+		return state;
+	}
+
+	/**
+	 * Perform the E-step over all the documents given the current state, and
+	 * accumulate the resultant sufficient statistics and likelihood into the
+	 * next state.
+	 */
+	private void performEStep(final List<Document> docs, final LDAModel state, final LDAModel nextState) {
+		if (threadPool == null) {
+			accumulate(docs, 0, docs.size(), state, nextState);
+			return;
+		}
+
+		// reduce the partial statistics in document order so the result
+		// doesn't depend on the scheduling
+		final TreeMap<Integer, LDAModel> partials = new TreeMap<Integer, LDAModel>();
+		Parallel.forRange(0, docs.size(), 1, new Operation<IntRange>() {
+			@Override
+			public void perform(IntRange range) {
+				final LDAModel partial = state.newInstance();
+				accumulate(docs, range.start, range.stop, state, partial);
+
+				synchronized (partials) {
+					partials.put(range.start, partial);
+				}
+			}
+		}, threadPool);
+
+		for (final LDAModel partial : partials.values())
+			nextState.add(partial);
+	}
+
+	private void accumulate(List<Document> docs, int start, int stop, LDAModel state, LDAModel acc) {
+		final LDAVariationlState vstate = new LDAVariationlState(state);
+
+		for (int i = start; i < stop; i++) {
+			final Document doc = docs.get(i);
+
+			performE(doc, vstate);
+			performM(doc, vstate, acc);
+			acc.likelihood += vstate.likelihood;
 		}
 	}
 
@@ -159,10 +220,10 @@ public class LDALearner {
 				double phiSum = 0;
 				final int word = wordCount.index;
 				final int count = wordCount.value;
-				for (int topicIndex = 0; topicIndex < vstate.phi.length; topicIndex++) {
+				for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
 					vstate.oldphi[topicIndex] = vstate.phi[docWordIndex][topicIndex];
 					// If this word has been seen in this class before
-					if (vstate.state.topicWord[topicIndex][docWordIndex] > 0) {
+					if (vstate.state.topicWord[topicIndex][word] > 0) {
 						// Update phi
 						// Remember this phi is actually the same value for
 						// every instance of thisparticular word.
@@ -195,7 +256,7 @@ public class LDALearner {
 								vstate.phi[docWordIndex][topicIndex]);
 					}
 				}
-				for (int topicIndex = 0; topicIndex < vstate.phi.length; topicIndex++) {
+				for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
 					// Replace log phi with the normalised phi
 					// normalise a given word's phi summing over all i in eqn 16
 					vstate.phi[docWordIndex][topicIndex] = Math.exp(
@@ -222,8 +283,8 @@ public class LDALearner {
 		final double EM_CONVERGED = (Double) this.getConfig(LDAConfig.EM_CONVERGED);
 		final int MAX_ITER = (Integer) this.getConfig(LDAConfig.MAX_ITERATIONS);
 		// if likelihood ~= oldLikelihood then this value will approach 0.
-		final double converged = (model.likelihood - model.oldLikelihood) / model.oldLikelihood;
-		final boolean liklihoodSettled = ((converged < EM_CONVERGED) || (model.iteration <= 2));
+		final double converged = Math.abs((model.likelihood - model.oldLikelihood) / model.oldLikelihood);
+		final boolean liklihoodSettled = ((converged < EM_CONVERGED) && (model.iteration > 2));
 		final boolean maxIterExceeded = model.iteration > MAX_ITER;
 
 		return liklihoodSettled || maxIterExceeded;
@@ -233,8 +294,8 @@ public class LDALearner {
 		final double EM_CONVERGED = (Double) this.getConfig(LDAConfig.VAR_EM_CONVERGED);
 		final int MAX_ITER = (Integer) this.getConfig(LDAConfig.VAR_MAX_ITERATIONS);
 		// if likelihood ~= oldLikelihood then this value will approach 0.
-		final double converged = (vstate.likelihood - vstate.oldLikelihood) / vstate.oldLikelihood;
-		final boolean liklihoodSettled = ((converged < EM_CONVERGED) || (vstate.iteration <= 2));
+		final double converged = Math.abs((vstate.likelihood - vstate.oldLikelihood) / vstate.oldLikelihood);
+		final boolean liklihoodSettled = ((converged < EM_CONVERGED) && (vstate.iteration > 2));
 		final boolean maxIterExceeded = vstate.iteration > MAX_ITER;
 
 		return liklihoodSettled || maxIterExceeded;
@@ -249,14 +310,15 @@ public class LDALearner {
 	 * @param nextState
 	 */
 	private void performM(Document d, LDAVariationlState vstate, LDAModel nextState) {
-
-		for (final Entry entry : d.values.entries()) {
+		int docWordIndex = 0;
+		for (final Entry entry : d.getVector().entries()) {
 			for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
 				final int wordIndex = entry.index;
-				final int count = entry.value;
-				nextState.incTopicWord(topicIndex, wordIndex, count * vstate.phi[wordIndex][topicIndex]);
-				nextState.incTopicTotal(topicIndex, count);
+				final double expected = entry.value * vstate.phi[docWordIndex][topicIndex];
+				nextState.incTopicWord(topicIndex, wordIndex, expected);
+				nextState.incTopicTotal(topicIndex, expected);
 			}
+			docWordIndex++;
 		}
 	}
 
@@ -317,7 +379,7 @@ public class LDALearner {
 								// eqn (15) line 2
 								topicGammaDiff +
 										// eqn (15) line 3
-										count * logBeta -
+										logBeta -
 								// eqn (15) line 5
 								Math.log(vstate.phi[wordIndex][topicIndex]
 											)
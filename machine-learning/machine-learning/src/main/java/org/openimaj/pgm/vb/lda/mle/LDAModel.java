@@ -111,6 +111,22 @@ public class LDAModel{
 		this.topicTotal[topicIndex] += d;
 	}
 
+	/**
+	 * Add the sufficient statistics and likelihood of another model (for
+	 * example one accumulated over a subset of the documents) to this one.
+	 * @param other the model to add
+	 */
+	void add(LDAModel other) {
+		for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
+			final double[] tw = this.topicWord[topicIndex];
+			final double[] otw = other.topicWord[topicIndex];
+			for (int wordIndex = 0; wordIndex < tw.length; wordIndex++)
+				tw[wordIndex] += otw[wordIndex];
+			this.topicTotal[topicIndex] += other.topicTotal[topicIndex];
+		}
+		this.likelihood += other.likelihood;
+	}
+
 	/**
 	 * @param initialAlpha the alpha parameter for the topic multinomial dirichelet prior
 	 */
@@ -92,7 +92,7 @@ public class LDAVariationlState{
 		this.phi = new double[doc.countUniqueWords()][state.ntopics];
 		likelihood = 0;
 		oldLikelihood = Double.NEGATIVE_INFINITY;
-		for (int topici = 0; topici < phi.length; topici++) {
+		for (int topici = 0; topici < state.ntopics; topici++) {
 			varGamma[topici] = this.state.alpha;
 			digamma[topici] = 0; // used to calculate likelihood
 			int wordi = 0;
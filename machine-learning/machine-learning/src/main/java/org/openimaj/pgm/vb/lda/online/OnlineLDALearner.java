@@ -0,0 +1,408 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.pgm.vb.lda.online;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.commons.math.special.Gamma;
+import org.openimaj.pgm.util.Document;
+import org.openimaj.pgm.vb.lda.mle.LDALearner;
+import org.openimaj.pgm.vb.lda.mle.LDAModel;
+import org.openimaj.util.array.SparseIntArray.Entry;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
+
+import cern.jet.random.engine.MersenneTwister;
+
+/**
+ * An implementation of the online variational Bayes algorithm for LDA
+ * described in: Hoffman, M., Bach, F. and Blei, D. "Online Learning for Latent
+ * Dirichlet Allocation". NIPS 2010.
+ * <p>
+ * Rather than performing a full E-step over the entire corpus before each
+ * M-step (as in {@link LDALearner}), the documents are processed in small
+ * mini-batches. After the E-step over each mini-batch, the variational
+ * parameters of the topics (lambda) are moved towards the estimate that would
+ * have been obtained had the whole corpus looked like the mini-batch, with a
+ * step size of <code>(tau0 + t)^-kappa</code>. This means that the documents
+ * can be streamed (for example using a
+ * {@link org.openimaj.pgm.util.StreamingCorpusReader}) and never need to all be
+ * in memory at once.
+ * <p>
+ * The E-step over each mini-batch can optionally be performed in parallel;
+ * each thread accumulates the sufficient statistics of its documents
+ * separately, and these are reduced before the update of lambda.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class OnlineLDALearner {
+	private static final double PHI_EPS = 1e-100;
+
+	private int ntopics;
+	private int vocabularySize;
+	private double numDocuments;
+
+	private double alpha;
+	private double eta;
+	private double tau0 = 1024;
+	private double kappa = 0.7;
+	private int batchSize = 256;
+	private int maxVarIterations = 100;
+	private double varConverged = 0.001;
+
+	private double[][] lambda;
+	private double[] lambdaTotal;
+	private int updateCount;
+
+	private ThreadPoolExecutor threadPool;
+
+	/**
+	 * Construct the learner with a randomly initialised set of topics. Alpha
+	 * and eta default to <code>1 / ntopics</code>.
+	 * 
+	 * @param ntopics
+	 *            the number of topics
+	 * @param vocabularySize
+	 *            the number of words in the vocabulary
+	 * @param numDocuments
+	 *            the (estimated) total number of documents in the corpus
+	 */
+	public OnlineLDALearner(int ntopics, int vocabularySize, long numDocuments) {
+		this(ntopics, vocabularySize, numDocuments, new MersenneTwister());
+	}
+
+	/**
+	 * Construct the learner with a randomly initialised set of topics. Alpha
+	 * and eta default to <code>1 / ntopics</code>.
+	 * 
+	 * @param ntopics
+	 *            the number of topics
+	 * @param vocabularySize
+	 *            the number of words in the vocabulary
+	 * @param numDocuments
+	 *            the (estimated) total number of documents in the corpus
+	 * @param seed
+	 *            the seed for the random initialisation
+	 */
+	public OnlineLDALearner(int ntopics, int vocabularySize, long numDocuments, int seed) {
+		this(ntopics, vocabularySize, numDocuments, new MersenneTwister(seed));
+	}
+
+	private OnlineLDALearner(int ntopics, int vocabularySize, long numDocuments, MersenneTwister random) {
+		this.ntopics = ntopics;
+		this.vocabularySize = vocabularySize;
+		this.numDocuments = numDocuments;
+		this.alpha = 1.0 / ntopics;
+		this.eta = 1.0 / ntopics;
+
+		// initialise lambda ~ Gamma(100, 1/100)
+		final cern.jet.random.Gamma gamma = new cern.jet.random.Gamma(100, 100, random);
+		this.lambda = new double[ntopics][vocabularySize];
+		this.lambdaTotal = new double[ntopics];
+		for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
+			for (int wordIndex = 0; wordIndex < vocabularySize; wordIndex++) {
+				lambda[topicIndex][wordIndex] = gamma.nextDouble();
+				lambdaTotal[topicIndex] += lambda[topicIndex][wordIndex];
+			}
+		}
+	}
+
+	/**
+	 * Set the parameter of the dirichlet prior on the per-document topic
+	 * weights
+	 * 
+	 * @param alpha
+	 *            the alpha parameter
+	 */
+	public void setAlpha(double alpha) {
+		this.alpha = alpha;
+	}
+
+	/**
+	 * Set the parameter of the dirichlet prior on the topics
+	 * 
+	 * @param eta
+	 *            the eta parameter
+	 */
+	public void setEta(double eta) {
+		this.eta = eta;
+	}
+
+	/**
+	 * Set the learning rate parameters. The weight given to the t-th
+	 * mini-batch is <code>(tau0 + t)^-kappa</code>. For convergence to be
+	 * guaranteed kappa must be in (0.5, 1]. The defaults are tau0=1024 and
+	 * kappa=0.7.
+	 * 
+	 * @param tau0
+	 *            the delay; down-weights the early iterations
+	 * @param kappa
+	 *            the rate at which old information is forgotten
+	 */
+	public void setLearningRate(double tau0, double kappa) {
+		this.tau0 = tau0;
+		this.kappa = kappa;
+	}
+
+	/**
+	 * Set the number of documents in each mini-batch processed by
+	 * {@link #estimate(Iterable)}. The default is 256.
+	 * 
+	 * @param batchSize
+	 *            the mini-batch size
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Set the thread pool used to perform the E-step over each mini-batch. The
+	 * default is null, in which case the E-step is performed in the calling
+	 * thread.
+	 * 
+	 * @param threadPool
+	 *            the thread pool; can be null
+	 */
+	public void setThreadPool(ThreadPoolExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
+	/**
+	 * Make a single pass over the given documents, updating the topics after
+	 * each mini-batch. The documents are consumed one mini-batch at a time, so
+	 * the iterable can be backed by a stream. This method can be called
+	 * repeatedly to make multiple passes.
+	 * 
+	 * @param documents
+	 *            the documents
+	 * @return the current model
+	 */
+	public LDAModel estimate(Iterable<Document> documents) {
+		List<Document> batch = new ArrayList<Document>(batchSize);
+
+		for (final Document doc : documents) {
+			batch.add(doc);
+
+			if (batch.size() == batchSize) {
+				update(batch);
+				batch = new ArrayList<Document>(batchSize);
+			}
+		}
+
+		if (batch.size() > 0)
+			update(batch);
+
+		return getModel();
+	}
+
+	/**
+	 * Update the topics with a single mini-batch of documents.
+	 * 
+	 * @param batch
+	 *            the documents in the mini-batch
+	 */
+	public void update(final List<Document> batch) {
+		// the (compacted) set of words that occur in the mini-batch
+		final TIntIntHashMap columns = new TIntIntHashMap();
+		final TIntArrayList words = new TIntArrayList();
+		for (final Document doc : batch) {
+			for (final Entry entry : doc.getVector().entries()) {
+				if (!columns.containsKey(entry.index)) {
+					columns.put(entry.index, words.size());
+					words.add(entry.index);
+				}
+			}
+		}
+
+		// exp(E[log beta]) for the words in the mini-batch
+		final int nwords = words.size();
+		final double[][] expElogbeta = new double[ntopics][nwords];
+		for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
+			final double dgTotal = Gamma.digamma(lambdaTotal[topicIndex]);
+			for (int c = 0; c < nwords; c++)
+				expElogbeta[topicIndex][c] = Math.exp(Gamma.digamma(lambda[topicIndex][words.get(c)]) - dgTotal);
+		}
+
+		// E-step
+		final double[][] sstats;
+		if (threadPool == null) {
+			sstats = new double[ntopics][nwords];
+			performE(batch, 0, batch.size(), columns, expElogbeta, sstats);
+		} else {
+			// reduce the partial statistics in document order so the result
+			// doesn't depend on the scheduling
+			final TreeMap<Integer, double[][]> partials = new TreeMap<Integer, double[][]>();
+			Parallel.forRange(0, batch.size(), 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					final double[][] partial = new double[ntopics][nwords];
+					performE(batch, range.start, range.stop, columns, expElogbeta, partial);
+
+					synchronized (partials) {
+						partials.put(range.start, partial);
+					}
+				}
+			}, threadPool);
+
+			sstats = new double[ntopics][nwords];
+			for (final double[][] partial : partials.values()) {
+				for (int topicIndex = 0; topicIndex < ntopics; topicIndex++)
+					for (int c = 0; c < nwords; c++)
+						sstats[topicIndex][c] += partial[topicIndex][c];
+			}
+		}
+
+		// M-step: lambda = (1 - rho) * lambda + rho * (eta + D / |B| * sstats)
+		final double rho = Math.pow(tau0 + updateCount, -kappa);
+		final double scale = numDocuments / batch.size();
+		for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
+			final double[] row = lambda[topicIndex];
+			double total = 0;
+
+			for (int wordIndex = 0; wordIndex < vocabularySize; wordIndex++)
+				row[wordIndex] = (1 - rho) * row[wordIndex] + rho * eta;
+			for (int c = 0; c < nwords; c++)
+				row[words.get(c)] += rho * scale * sstats[topicIndex][c];
+			for (int wordIndex = 0; wordIndex < vocabularySize; wordIndex++)
+				total += row[wordIndex];
+
+			lambdaTotal[topicIndex] = total;
+		}
+
+		updateCount++;
+	}
+
+	/**
+	 * Fit the per-document variational parameters of the documents in the
+	 * given range and accumulate their expected word-topic counts into sstats
+	 */
+	private void performE(List<Document> batch, int start, int stop, TIntIntHashMap columns,
+			double[][] expElogbeta, double[][] sstats)
+	{
+		final double[] gamma = new double[ntopics];
+		final double[] expElogtheta = new double[ntopics];
+
+		for (int d = start; d < stop; d++) {
+			final Document doc = batch.get(d);
+			final int nunique = doc.countUniqueWords();
+			final int[] cols = new int[nunique];
+			final double[] counts = new double[nunique];
+			final double[] phinorm = new double[nunique];
+
+			double length = 0;
+			int i = 0;
+			for (final Entry entry : doc.getVector().entries()) {
+				cols[i] = columns.get(entry.index);
+				counts[i] = entry.value;
+				length += entry.value;
+				i++;
+			}
+
+			for (int topicIndex = 0; topicIndex < ntopics; topicIndex++)
+				gamma[topicIndex] = alpha + length / ntopics;
+			computeExpElogtheta(gamma, expElogtheta);
+			computePhiNorm(cols, expElogtheta, expElogbeta, phinorm);
+
+			for (int iter = 0; iter < maxVarIterations; iter++) {
+				double change = 0;
+				for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
+					double sum = 0;
+					for (i = 0; i < nunique; i++)
+						sum += counts[i] / phinorm[i] * expElogbeta[topicIndex][cols[i]];
+
+					final double newGamma = alpha + expElogtheta[topicIndex] * sum;
+					change += Math.abs(newGamma - gamma[topicIndex]);
+					gamma[topicIndex] = newGamma;
+				}
+
+				computeExpElogtheta(gamma, expElogtheta);
+				computePhiNorm(cols, expElogtheta, expElogbeta, phinorm);
+
+				if (change / ntopics < varConverged)
+					break;
+			}
+
+			// phi_wk is proportional to expElogtheta_k * expElogbeta_kw
+			for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
+				for (i = 0; i < nunique; i++) {
+					sstats[topicIndex][cols[i]] += expElogtheta[topicIndex] * counts[i] / phinorm[i]
+							* expElogbeta[topicIndex][cols[i]];
+				}
+			}
+		}
+	}
+
+	private void computeExpElogtheta(double[] gamma, double[] expElogtheta) {
+		double total = 0;
+		for (int topicIndex = 0; topicIndex < ntopics; topicIndex++)
+			total += gamma[topicIndex];
+
+		final double dgTotal = Gamma.digamma(total);
+		for (int topicIndex = 0; topicIndex < ntopics; topicIndex++)
+			expElogtheta[topicIndex] = Math.exp(Gamma.digamma(gamma[topicIndex]) - dgTotal);
+	}
+
+	private void computePhiNorm(int[] cols, double[] expElogtheta, double[][] expElogbeta, double[] phinorm) {
+		for (int i = 0; i < cols.length; i++) {
+			double sum = PHI_EPS;
+			for (int topicIndex = 0; topicIndex < ntopics; topicIndex++)
+				sum += expElogtheta[topicIndex] * expElogbeta[topicIndex][cols[i]];
+			phinorm[i] = sum;
+		}
+	}
+
+	/**
+	 * Get the current model. The sufficient statistics of the model are the
+	 * variational parameters of the topics (lambda), so that
+	 * <code>topicWord_ij / topicTotal_i</code> is the expected probability of
+	 * word j in topic i.
+	 * 
+	 * @return the current model
+	 */
+	public LDAModel getModel() {
+		final LDAModel model = new LDAModel(ntopics);
+		model.prepare(vocabularySize);
+		model.setAlpha(alpha);
+
+		for (int topicIndex = 0; topicIndex < ntopics; topicIndex++) {
+			System.arraycopy(lambda[topicIndex], 0, model.topicWord[topicIndex], 0, vocabularySize);
+			model.topicTotal[topicIndex] = lambdaTotal[topicIndex];
+		}
+
+		return model;
+	}
+}
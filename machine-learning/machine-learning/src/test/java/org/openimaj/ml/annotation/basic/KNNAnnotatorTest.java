@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.ml.annotation.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.feature.DoubleFV;
+import org.openimaj.feature.DoubleFVComparison;
+import org.openimaj.feature.FeatureExtractor;
+import org.openimaj.knn.FloatNearestNeighboursExact;
+import org.openimaj.knn.approximate.FloatNearestNeighboursKDTree;
+import org.openimaj.ml.annotation.AnnotatedObject;
+import org.openimaj.ml.annotation.ScoredAnnotation;
+import org.openimaj.util.comparator.DistanceComparator;
+
+/**
+ * Tests for the {@link KNNAnnotator}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class KNNAnnotatorTest {
+	private static final String[] CLASSES = { "a", "b", "c" };
+	private static final int K = 5;
+
+	private static final FeatureExtractor<DoubleFV, double[]> DOUBLE_EXTRACTOR = new FeatureExtractor<DoubleFV, double[]>() {
+		@Override
+		public DoubleFV extractFeature(double[] object) {
+			return new DoubleFV(object);
+		}
+	};
+
+	private static final FeatureExtractor<float[], double[]> FLOAT_EXTRACTOR = new FeatureExtractor<float[], double[]>() {
+		@Override
+		public float[] extractFeature(double[] object) {
+			final float[] f = new float[object.length];
+			for (int i = 0; i < f.length; i++)
+				f[i] = (float) object[i];
+			return f;
+		}
+	};
+
+	private ThreadPoolExecutor pool;
+	private List<AnnotatedObject<double[], String>> data;
+	private List<double[]> queries;
+
+	private static double[] createVector(Random rng, int c) {
+		final double[] v = new double[8];
+		for (int j = 0; j < v.length; j++)
+			v[j] = rng.nextGaussian();
+		v[c] += 2;
+		return v;
+	}
+
+	/**
+	 * Create the pool, some training data where each item has one or two
+	 * labels, and some queries
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+		final Random rng = new Random(0);
+		data = new ArrayList<AnnotatedObject<double[], String>>();
+		for (int i = 0; i < 100; i++) {
+			final int c = rng.nextInt(CLASSES.length);
+			final List<String> labels = new ArrayList<String>();
+			labels.add(CLASSES[c]);
+			if (rng.nextInt(4) == 0)
+				labels.add(CLASSES[(c + 1) % CLASSES.length]);
+
+			data.add(new AnnotatedObject<double[], String>(createVector(rng, c), labels));
+		}
+
+		queries = new ArrayList<double[]>();
+		for (int i = 0; i < 30; i++)
+			queries.add(createVector(rng, rng.nextInt(CLASSES.length)));
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Annotate by sorting all the training features by their distance to the
+	 * query, in the way the annotator did before it used a
+	 * nearest-neighbour factory
+	 */
+	private Map<String, Float> annotateReference(double[] query, DistanceComparator<DoubleFV> comparator,
+			float threshold)
+	{
+		final DoubleFV qfv = DOUBLE_EXTRACTOR.extractFeature(query);
+		final float thresh = comparator.isDistance() ? threshold : -threshold;
+
+		final List<float[]> distances = new ArrayList<float[]>();
+		for (int i = 0; i < data.size(); i++) {
+			final double d = comparator.compare(qfv, DOUBLE_EXTRACTOR.extractFeature(data.get(i).object));
+			distances.add(new float[] { i, (float) (comparator.isDistance() ? d : -d) });
+		}
+		Collections.sort(distances, new Comparator<float[]>() {
+			@Override
+			public int compare(float[] o1, float[] o2) {
+				return Float.compare(o1[1], o2[1]);
+			}
+		});
+
+		final Map<String, Integer> votes = new HashMap<String, Integer>();
+		int count = 0;
+		for (int i = 0; i < K; i++) {
+			if (distances.get(i)[1] > thresh)
+				continue;
+
+			for (final String ann : data.get((int) distances.get(i)[0]).annotations) {
+				votes.put(ann, votes.containsKey(ann) ? votes.get(ann) + 1 : 1);
+				count++;
+			}
+		}
+
+		final Map<String, Float> result = new HashMap<String, Float>();
+		for (final Map.Entry<String, Integer> e : votes.entrySet())
+			result.put(e.getKey(), (float) e.getValue() / (float) count);
+		return result;
+	}
+
+	private static Map<String, Float> toMap(List<ScoredAnnotation<String>> annotations) {
+		final Map<String, Float> result = new HashMap<String, Float>();
+		for (final ScoredAnnotation<String> a : annotations)
+			result.put(a.annotation, a.confidence);
+		return result;
+	}
+
+	/**
+	 * Test that the comparator constructors give the same annotations as
+	 * sorting the training data by distance, for a distance and a similarity
+	 * measure, with and without a threshold
+	 */
+	@Test
+	public void testComparator() {
+		final Object[][] tests = {
+				{ DoubleFVComparison.EUCLIDEAN, Float.MAX_VALUE },
+				{ DoubleFVComparison.EUCLIDEAN, 3.5f },
+				{ DoubleFVComparison.COSINE_SIM, Float.MAX_VALUE },
+				{ DoubleFVComparison.COSINE_SIM, 0.5f },
+		};
+
+		boolean rejected = false;
+		for (final Object[] test : tests) {
+			final DoubleFVComparison comparator = (DoubleFVComparison) test[0];
+			final float threshold = (Float) test[1];
+
+			final KNNAnnotator<double[], String, DoubleFV> annotator = threshold == Float.MAX_VALUE ?
+					KNNAnnotator.<double[], String, FeatureExtractor<DoubleFV, double[]>, DoubleFV> create(
+							DOUBLE_EXTRACTOR, comparator, K) :
+					KNNAnnotator.<double[], String, FeatureExtractor<DoubleFV, double[]>, DoubleFV> create(
+							DOUBLE_EXTRACTOR, comparator, K, threshold);
+			annotator.train(data);
+
+			for (final double[] query : queries) {
+				final Map<String, Float> expected = annotateReference(query, comparator, threshold);
+				assertEquals(comparator + " " + threshold, expected, toMap(annotator.annotate(query)));
+
+				float sum = 0;
+				for (final float f : expected.values())
+					sum += f;
+				rejected |= sum == 0;
+			}
+		}
+
+		// the thresholds should have rejected all the neighbours of some
+		// queries
+		assertTrue(rejected);
+	}
+
+	/**
+	 * Test that a factory for primitive arrays can be used, and that the
+	 * KD-Tree ensemble finds the same neighbours as an exact search when it
+	 * checks every point
+	 */
+	@Test
+	public void testPrimitiveFactory() {
+		final KNNAnnotator<double[], String, float[]> exact = KNNAnnotator.create(FLOAT_EXTRACTOR,
+				new FloatNearestNeighboursExact.Factory(), K);
+		exact.train(data);
+
+		final KNNAnnotator<double[], String, float[]> kdtree = KNNAnnotator.create(FLOAT_EXTRACTOR,
+				new FloatNearestNeighboursKDTree.Factory(4, 1000), K);
+		kdtree.train(data);
+
+		for (final double[] query : queries) {
+			final List<ScoredAnnotation<String>> expected = exact.annotate(query);
+			assertTrue(expected.size() > 0);
+			assertEquals(toMap(expected), toMap(kdtree.annotate(query)));
+		}
+	}
+
+	/**
+	 * Test that annotating a batch, with and without a pool, gives the same
+	 * annotations as annotating each object in turn
+	 */
+	@Test
+	public void testAnnotateAll() {
+		final KNNAnnotator<double[], String, DoubleFV> annotator = KNNAnnotator.create(DOUBLE_EXTRACTOR,
+				DoubleFVComparison.EUCLIDEAN, K);
+		annotator.train(data);
+
+		final List<Map<String, Float>> expected = new ArrayList<Map<String, Float>>();
+		for (final double[] query : queries)
+			expected.add(toMap(annotator.annotate(query)));
+
+		for (final ThreadPoolExecutor p : new ThreadPoolExecutor[] { null, pool }) {
+			annotator.setThreadPool(p);
+
+			final List<List<ScoredAnnotation<String>>> actual = annotator.annotateAll(queries);
+			assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); i++)
+				assertEquals(expected.get(i), toMap(actual.get(i)));
+		}
+	}
+}
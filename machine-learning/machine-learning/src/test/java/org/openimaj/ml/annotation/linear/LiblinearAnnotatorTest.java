@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.ml.annotation.linear;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.feature.DoubleFV;
+import org.openimaj.feature.FeatureExtractor;
+import org.openimaj.ml.annotation.AnnotatedObject;
+import org.openimaj.ml.annotation.ScoredAnnotation;
+import org.openimaj.ml.annotation.linear.LiblinearAnnotator.Mode;
+import org.openimaj.ml.annotation.utils.AnnotatedListHelper;
+import org.openimaj.ml.annotation.utils.LiblinearHelper;
+
+import de.bwaldvogel.liblinear.Feature;
+import de.bwaldvogel.liblinear.Linear;
+import de.bwaldvogel.liblinear.Model;
+import de.bwaldvogel.liblinear.Parameter;
+import de.bwaldvogel.liblinear.Problem;
+import de.bwaldvogel.liblinear.SolverType;
+
+/**
+ * Tests for the {@link LiblinearAnnotator}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class LiblinearAnnotatorTest {
+	private static final String[] CLASSES = { "a", "b", "c", "d" };
+	private static final double C = 1;
+	private static final double EPS = 0.01;
+	private static final double BIAS = 1;
+
+	private static final FeatureExtractor<DoubleFV, double[]> EXTRACTOR = new FeatureExtractor<DoubleFV, double[]>() {
+		@Override
+		public DoubleFV extractFeature(double[] object) {
+			return new DoubleFV(object);
+		}
+	};
+
+	private ThreadPoolExecutor pool;
+	private List<AnnotatedObject<double[], String>> data;
+
+	/**
+	 * Create the pool and some data where each item has one or two labels
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+		Linear.disableDebugOutput();
+
+		final Random rng = new Random(0);
+		data = new ArrayList<AnnotatedObject<double[], String>>();
+		for (int i = 0; i < 120; i++) {
+			final List<String> labels = new ArrayList<String>();
+			final double[] v = new double[10];
+			for (int j = 0; j < v.length; j++)
+				v[j] = rng.nextGaussian();
+
+			final int c1 = rng.nextInt(CLASSES.length);
+			labels.add(CLASSES[c1]);
+			v[c1] += 2;
+			if (rng.nextBoolean()) {
+				final int c2 = (c1 + 1 + rng.nextInt(CLASSES.length - 1)) % CLASSES.length;
+				labels.add(CLASSES[c2]);
+				v[c2] += 2;
+			}
+
+			data.add(new AnnotatedObject<double[], String>(v, labels));
+		}
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void shutdown() {
+		pool.shutdownNow();
+		Linear.enableDebugOutput();
+	}
+
+	/**
+	 * Train the one-versus-all models in the way the annotator did before the
+	 * features were shared between the classes, and return their weights
+	 */
+	private Map<String, double[]> trainReference(LiblinearAnnotator<double[], String> annotator) {
+		final AnnotatedListHelper<double[], String> helper = new AnnotatedListHelper<double[], String>(data);
+		final Map<String, double[]> weights = new HashMap<String, double[]>();
+
+		Linear.resetRandom();
+		for (final String annotation : new ArrayList<String>(helper.getAnnotations())) {
+			final List<DoubleFV> positive = helper.extractFeatures(annotation, EXTRACTOR);
+			final List<DoubleFV> negative = helper.extractFeaturesExclude(annotation, EXTRACTOR);
+
+			final Problem problem = new Problem();
+			problem.l = positive.size() + negative.size();
+			problem.n = positive.get(0).length() + 1;
+			problem.bias = BIAS;
+			problem.x = new Feature[problem.l][];
+			problem.y = new double[problem.l];
+
+			for (int j = 0; j < negative.size(); j++) {
+				problem.x[j] = LiblinearHelper.convert(negative.get(j), BIAS);
+				problem.y[j] = 1;
+			}
+
+			for (int j = negative.size(), k = 0; k < positive.size(); j++, k++) {
+				problem.x[j] = LiblinearHelper.convert(positive.get(k), BIAS);
+				problem.y[j] = 2;
+			}
+
+			final Model model = Linear.train(problem, new Parameter(SolverType.L2R_L2LOSS_SVC_DUAL, C, EPS));
+			weights.put(annotation, annotator.internal.getLinearWeights(model, 2));
+		}
+
+		return weights;
+	}
+
+	private static LiblinearAnnotator<double[], String> createAnnotator() {
+		return new LiblinearAnnotator<double[], String>(EXTRACTOR, Mode.MULTILABEL,
+				SolverType.L2R_L2LOSS_SVC_DUAL, C, EPS, BIAS, false);
+	}
+
+	/**
+	 * Test that sharing the extracted features between the classes, and
+	 * extracting them with a pool, gives the same models as training each
+	 * class with its own features
+	 */
+	@Test
+	public void testMultilabelTraining() {
+		final LiblinearAnnotator<double[], String> annotator = createAnnotator();
+		final Map<String, double[]> expected = trainReference(annotator);
+
+		for (final ThreadPoolExecutor p : new ThreadPoolExecutor[] { null, pool }) {
+			final LiblinearAnnotator<double[], String> ann = createAnnotator();
+			ann.setThreadPool(p);
+
+			Linear.resetRandom();
+			ann.train(data);
+
+			assertEquals(expected.keySet(), ann.getAnnotations());
+			for (final String annotation : expected.keySet())
+				assertArrayEquals(expected.get(annotation), ann.getLinearWeights(annotation), 0);
+		}
+	}
+
+	/**
+	 * In multiclass mode the confidence of a binary prediction should be the
+	 * sigmoid of the decision value in favour of the predicted annotation,
+	 * regardless of which annotation appears first in the training data
+	 */
+	@Test
+	public void testMulticlassConfidence() {
+		final Random rng = new Random(1);
+		final List<AnnotatedObject<double[], String>> binary = new ArrayList<AnnotatedObject<double[], String>>();
+		for (int i = 0; i < 60; i++) {
+			final String annotation = i % 2 == 0 ? "b" : "a";
+			final double[] v = { rng.nextGaussian() + (i % 2 == 0 ? 1 : -1), rng.nextGaussian() };
+
+			binary.add(AnnotatedObject.create(v, annotation));
+		}
+
+		for (final SolverType solver : new SolverType[] { SolverType.L2R_LR, SolverType.L2R_L2LOSS_SVC }) {
+			for (int order = 0; order < 2; order++) {
+				final List<AnnotatedObject<double[], String>> trainingData = new ArrayList<AnnotatedObject<double[], String>>(
+						binary.subList(order, binary.size()));
+
+				final LiblinearAnnotator<double[], String> ann = new LiblinearAnnotator<double[], String>(EXTRACTOR,
+						Mode.MULTICLASS, solver, C, EPS, BIAS, false);
+				ann.train(trainingData);
+
+				for (final AnnotatedObject<double[], String> item : binary) {
+					final ScoredAnnotation<String> predicted = ann.annotate(item.object).get(0);
+					final double[] w = ann.getLinearWeights(predicted.annotation);
+					final double decision = w[0] * item.object[0] + w[1] * item.object[1] + w[2];
+
+					assertTrue(predicted.confidence >= 0.5);
+					assertEquals(1 / (1 + Math.exp(-decision)), predicted.confidence, 1e-6);
+				}
+			}
+		}
+	}
+}
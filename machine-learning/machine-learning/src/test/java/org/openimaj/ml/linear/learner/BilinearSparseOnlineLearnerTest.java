@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.ml.linear.learner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import gov.sandia.cognition.math.matrix.Matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.ml.linear.data.BiconvexDataGenerator;
+import org.openimaj.ml.linear.learner.init.SparseZerosInitStrategy;
+import org.openimaj.util.pair.Pair;
+
+/**
+ * Tests for the {@link BilinearSparseOnlineLearner}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class BilinearSparseOnlineLearnerTest {
+	private static final int NTASKS = 3;
+	private static final int BATCH_SIZE = 20;
+
+	private ThreadPoolExecutor pool;
+	private List<Pair<Matrix>> train;
+	private List<Pair<Matrix>> test;
+
+	/**
+	 * Generate the data and create the thread pool
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+		final BiconvexDataGenerator gen = new BiconvexDataGenerator(20, 50, NTASKS, 0.3, 0.5, true, true, 2, 0.01);
+		train = new ArrayList<Pair<Matrix>>();
+		for (int i = 0; i < 300; i++)
+			train.add(gen.generate());
+
+		test = new ArrayList<Pair<Matrix>>();
+		for (int i = 0; i < 100; i++)
+			test.add(gen.generate());
+	}
+
+	/**
+	 * Shutdown the thread pool
+	 */
+	@After
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	private static BilinearLearnerParameters createParams(boolean bias) {
+		final BilinearLearnerParameters params = new BilinearLearnerParameters();
+		params.put(BilinearLearnerParameters.BIAS, bias);
+		params.put(BilinearLearnerParameters.WINITSTRAT, new SparseZerosInitStrategy());
+		params.put(BilinearLearnerParameters.UINITSTRAT, new SparseZerosInitStrategy());
+		params.put(BilinearLearnerParameters.BICONVEX_MAXITER, 10);
+		return params;
+	}
+
+	private void train(BilinearSparseOnlineLearner learner) {
+		for (int i = 0; i < train.size(); i += BATCH_SIZE)
+			learner.processBatch(train.subList(i, i + BATCH_SIZE));
+	}
+
+	private double meanSquaredError(BilinearSparseOnlineLearner learner) {
+		double sum = 0;
+		for (final Pair<Matrix> xy : test) {
+			final Matrix prediction = learner.predict(xy.firstObject());
+			for (int t = 0; t < NTASKS; t++) {
+				final double diff = prediction.getElement(0, t) - xy.secondObject().getElement(0, t);
+				sum += diff * diff;
+			}
+		}
+		return sum / (test.size() * NTASKS);
+	}
+
+	private double zeroPredictorError() {
+		double sum = 0;
+		for (final Pair<Matrix> xy : test) {
+			for (int t = 0; t < NTASKS; t++)
+				sum += xy.secondObject().getElement(0, t) * xy.secondObject().getElement(0, t);
+		}
+		return sum / (test.size() * NTASKS);
+	}
+
+	/**
+	 * Processing mini-batches should learn a model that is much better than
+	 * predicting zero
+	 */
+	@Test
+	public void testProcessBatch() {
+		for (final boolean bias : new boolean[] { false, true }) {
+			final BilinearSparseOnlineLearner learner = new BilinearSparseOnlineLearner(createParams(bias));
+			train(learner);
+
+			assertTrue(meanSquaredError(learner) < 0.5 * zeroPredictorError());
+		}
+	}
+
+	/**
+	 * Updating the tasks in parallel should give exactly the same model as
+	 * updating them sequentially
+	 */
+	@Test
+	public void testProcessBatchThreadPool() {
+		for (final boolean bias : new boolean[] { false, true }) {
+			final BilinearSparseOnlineLearner sequential = new BilinearSparseOnlineLearner(createParams(bias));
+			train(sequential);
+
+			final BilinearSparseOnlineLearner parallel = new BilinearSparseOnlineLearner(createParams(bias));
+			parallel.setThreadPool(pool);
+			train(parallel);
+
+			assertEquals(sequential.getW(), parallel.getW());
+			assertEquals(sequential.getU(), parallel.getU());
+			if (bias)
+				assertEquals(sequential.getBias(), parallel.getBias());
+		}
+	}
+}
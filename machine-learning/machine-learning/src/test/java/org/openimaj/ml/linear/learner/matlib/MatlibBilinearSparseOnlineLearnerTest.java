@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.ml.linear.learner.matlib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.math.matrix.MatlibMatrixUtils;
+import org.openimaj.ml.linear.data.BiconvexDataGenerator;
+import org.openimaj.ml.linear.learner.BilinearLearnerParameters;
+import org.openimaj.ml.linear.learner.matlib.init.InitStrategy;
+import org.openimaj.ml.linear.learner.matlib.init.SparseSingleValueInitStrat;
+import org.openimaj.ml.linear.learner.matlib.init.SparseZerosInitStrategy;
+import org.openimaj.ml.linear.learner.matlib.loss.MatSquareLossFunction;
+import org.openimaj.ml.linear.learner.matlib.regul.L1L2Regulariser;
+import org.openimaj.util.pair.Pair;
+
+import ch.akuhn.matrix.DenseMatrix;
+import ch.akuhn.matrix.Matrix;
+
+/**
+ * Tests for the {@link MatlibBilinearSparseOnlineLearner}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class MatlibBilinearSparseOnlineLearnerTest {
+	private static final int NTASKS = 3;
+	private static final int BATCH_SIZE = 20;
+
+	private ThreadPoolExecutor pool;
+	private List<Pair<Matrix>> train;
+	private List<Pair<Matrix>> test;
+
+	/**
+	 * Generate the data and create the thread pool
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+		final BiconvexDataGenerator gen = new BiconvexDataGenerator(20, 50, NTASKS, 0.3, 0.5, true, true, 2, 0.01);
+		train = new ArrayList<Pair<Matrix>>();
+		for (int i = 0; i < 300; i++)
+			train.add(convert(gen.generate()));
+
+		test = new ArrayList<Pair<Matrix>>();
+		for (int i = 0; i < 100; i++)
+			test.add(convert(gen.generate()));
+	}
+
+	/**
+	 * Shutdown the thread pool
+	 */
+	@After
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	private static Pair<Matrix> convert(Pair<gov.sandia.cognition.math.matrix.Matrix> xy) {
+		return new Pair<Matrix>(MatlibMatrixUtils.fromCF(xy.firstObject()), MatlibMatrixUtils.fromCF(xy.secondObject()));
+	}
+
+	private static BilinearLearnerParameters createParams(boolean bias) {
+		final BilinearLearnerParameters params = new BilinearLearnerParameters();
+		params.put(BilinearLearnerParameters.BIAS, bias);
+		params.put(BilinearLearnerParameters.LOSS, new MatSquareLossFunction());
+		params.put(BilinearLearnerParameters.REGUL, new L1L2Regulariser());
+		params.put(BilinearLearnerParameters.WINITSTRAT, new SparseZerosInitStrategy());
+		params.put(BilinearLearnerParameters.UINITSTRAT, new SparseZerosInitStrategy());
+		params.put(BilinearLearnerParameters.BIASINITSTRAT, new SparseZerosInitStrategy());
+		params.put(BilinearLearnerParameters.BICONVEX_MAXITER, 10);
+		return params;
+	}
+
+	private void train(MatlibBilinearSparseOnlineLearner learner) {
+		for (int i = 0; i < train.size(); i += BATCH_SIZE)
+			learner.processBatch(train.subList(i, i + BATCH_SIZE));
+	}
+
+	private double meanSquaredError(MatlibBilinearSparseOnlineLearner learner) {
+		double sum = 0;
+		for (final Pair<Matrix> xy : test) {
+			final Matrix prediction = learner.predict(xy.firstObject());
+			for (int t = 0; t < NTASKS; t++) {
+				final double diff = prediction.get(t, t) - xy.secondObject().get(0, t);
+				sum += diff * diff;
+			}
+		}
+		return sum / (test.size() * NTASKS);
+	}
+
+	private double zeroPredictorError() {
+		double sum = 0;
+		for (final Pair<Matrix> xy : test) {
+			for (int t = 0; t < NTASKS; t++)
+				sum += xy.secondObject().get(0, t) * xy.secondObject().get(0, t);
+		}
+		return sum / (test.size() * NTASKS);
+	}
+
+	private static void assertMatrixEquals(Matrix expected, Matrix actual) {
+		assertEquals(expected.rowCount(), actual.rowCount());
+		assertEquals(expected.columnCount(), actual.columnCount());
+		for (int r = 0; r < expected.rowCount(); r++)
+			for (int c = 0; c < expected.columnCount(); c++)
+				assertEquals(expected.get(r, c), actual.get(r, c), 0);
+	}
+
+	/**
+	 * Processing examples should update the learnt W and U
+	 */
+	@Test
+	public void testProcessUpdatesParameters() {
+		final InitStrategy init = new SparseSingleValueInitStrat(0.1);
+		final BilinearLearnerParameters params = new BilinearLearnerParameters();
+		params.put(BilinearLearnerParameters.BIAS, false);
+		params.put(BilinearLearnerParameters.LOSS, new MatSquareLossFunction());
+		params.put(BilinearLearnerParameters.REGUL, new L1L2Regulariser());
+		params.put(BilinearLearnerParameters.WINITSTRAT, init);
+		params.put(BilinearLearnerParameters.UINITSTRAT, init);
+		params.put(BilinearLearnerParameters.ETA0_U, 0.02);
+		params.put(BilinearLearnerParameters.ETA0_W, 0.02);
+		params.put(BilinearLearnerParameters.BICONVEX_MAXITER, 10);
+
+		final BiconvexDataGenerator gen = new BiconvexDataGenerator(4, 8, NTASKS, 0.3, 0, true, true, 2, 0.01);
+		final MatlibBilinearSparseOnlineLearner learner = new MatlibBilinearSparseOnlineLearner(params);
+		for (int i = 0; i < 5; i++) {
+			final Pair<Matrix> xy = convert(gen.generate());
+			learner.process(xy.firstObject(), xy.secondObject());
+		}
+
+		final Matrix initW = init.init(learner.getW().rowCount(), learner.getW().columnCount());
+		final Matrix initU = init.init(learner.getU().rowCount(), learner.getU().columnCount());
+
+		assertFalse(MatlibMatrixUtils.normF(MatlibMatrixUtils.minus(learner.getW(), initW)) == 0);
+		assertFalse(MatlibMatrixUtils.normF(MatlibMatrixUtils.minus(learner.getU(), initU)) == 0);
+	}
+
+	/**
+	 * Processing mini-batches should learn a model that is much better than
+	 * predicting zero
+	 */
+	@Test
+	public void testProcessBatch() {
+		for (final boolean bias : new boolean[] { false, true }) {
+			final MatlibBilinearSparseOnlineLearner learner = new MatlibBilinearSparseOnlineLearner(createParams(bias));
+			train(learner);
+
+			assertTrue(meanSquaredError(learner) < 0.5 * zeroPredictorError());
+		}
+	}
+
+	/**
+	 * Updating the tasks in parallel should give exactly the same model as
+	 * updating them sequentially
+	 */
+	@Test
+	public void testProcessBatchThreadPool() {
+		for (final boolean bias : new boolean[] { false, true }) {
+			final MatlibBilinearSparseOnlineLearner sequential = new MatlibBilinearSparseOnlineLearner(createParams(bias));
+			train(sequential);
+
+			final MatlibBilinearSparseOnlineLearner parallel = new MatlibBilinearSparseOnlineLearner(createParams(bias));
+			parallel.setThreadPool(pool);
+			train(parallel);
+
+			assertMatrixEquals(sequential.getW(), parallel.getW());
+			assertMatrixEquals(sequential.getU(), parallel.getU());
+			if (bias)
+				assertMatrixEquals(sequential.getBias(), parallel.getBias());
+		}
+	}
+
+	/**
+	 * Processing batches with no tasks shouldn't fail when the updater is
+	 * reused
+	 */
+	@Test
+	public void testProcessBatchNoTasks() {
+		final List<Pair<Matrix>> batch = new ArrayList<Pair<Matrix>>();
+		for (int i = 0; i < BATCH_SIZE; i++)
+			batch.add(new Pair<Matrix>(train.get(i).firstObject(), new DenseMatrix(1, 0)));
+
+		final MatlibBilinearSparseOnlineLearner learner = new MatlibBilinearSparseOnlineLearner(createParams(true));
+		learner.processBatch(batch);
+		learner.processBatch(batch);
+
+		assertEquals(0, learner.getW().columnCount());
+		assertEquals(0, learner.getU().columnCount());
+	}
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.ml.linear.learner.regul;
+
+import static org.junit.Assert.assertEquals;
+import gov.sandia.cognition.math.matrix.Matrix;
+import gov.sandia.cognition.math.matrix.mtj.DenseMatrixFactoryMTJ;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link L1Regulariser}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class L1RegulariserTest {
+	private static void assertMatrixEquals(double[][] expected, Matrix actual) {
+		assertEquals(expected.length, actual.getNumRows());
+		for (int r = 0; r < expected.length; r++) {
+			assertEquals(expected[r].length, actual.getNumColumns());
+			for (int c = 0; c < expected[r].length; c++)
+				assertEquals(expected[r][c], actual.getElement(r, c), 0);
+		}
+	}
+
+	/**
+	 * The proximal operator should soft-threshold each element by lambda,
+	 * and leave the input unchanged
+	 */
+	@Test
+	public void testSoftThreshold() {
+		final double[][] data = {
+				{ -3, 0.5, 1.5 },
+				{ 2, -0.2, -1 }
+		};
+		final Matrix w = DenseMatrixFactoryMTJ.INSTANCE.copyArray(data);
+
+		final Matrix prox = new L1Regulariser().prox(w, 1);
+
+		assertMatrixEquals(new double[][] { { -2, 0, 0.5 }, { 1, 0, 0 } }, prox);
+		assertMatrixEquals(data, w);
+	}
+}
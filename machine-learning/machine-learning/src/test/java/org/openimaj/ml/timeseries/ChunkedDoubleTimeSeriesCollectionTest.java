@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.ml.timeseries;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.ml.timeseries.aggregator.WindowedLinearRegressionAggregator;
+import org.openimaj.ml.timeseries.processor.IntervalSummationProcessor;
+import org.openimaj.ml.timeseries.processor.MovingAverageProcessor;
+import org.openimaj.ml.timeseries.series.ChunkedDoubleTimeSeriesCollection;
+import org.openimaj.ml.timeseries.series.ChunkedDoubleTimeSeriesCollection.SeriesView;
+import org.openimaj.ml.timeseries.series.DoubleSynchronisedTimeSeriesCollection;
+import org.openimaj.ml.timeseries.series.DoubleTimeSeries;
+
+/**
+ * Tests for the {@link ChunkedDoubleTimeSeriesCollection}, checking it against
+ * the processors and aggregators that work on {@link DoubleTimeSeries}.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class ChunkedDoubleTimeSeriesCollectionTest {
+	private ThreadPoolExecutor pool;
+	private Map<String, DoubleTimeSeries> reference;
+	private ChunkedDoubleTimeSeriesCollection store;
+
+	/**
+	 * Create random series, including an empty one and one that is longer
+	 * than a chunk
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+		final Random rng = new Random(1);
+		reference = new LinkedHashMap<String, DoubleTimeSeries>();
+		store = new ChunkedDoubleTimeSeriesCollection(1000, 10);
+		for (int s = 0; s < 100; s++) {
+			final int n = s == 0 ? 0 : s == 7 ? 2500 : 1 + rng.nextInt(200);
+			final long[] times = new long[n];
+			final double[] data = new double[n];
+			long time = rng.nextInt(100) * 10;
+			for (int i = 0; i < n; i++) {
+				time += 10 * (1 + rng.nextInt(5));
+				times[i] = time;
+				data[i] = rng.nextInt(20);
+			}
+
+			reference.put("s" + s, new DoubleTimeSeries(times, data));
+			store.addTimeSeries("s" + s, times.clone(), data.clone());
+		}
+	}
+
+	/**
+	 * Shutdown the thread pool
+	 */
+	@After
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	private static DoubleTimeSeries copy(DoubleTimeSeries series) {
+		return new DoubleTimeSeries(series.getTimes().clone(), series.getData().clone());
+	}
+
+	/**
+	 * Test that the series can be read back and that range views match
+	 * {@link DoubleTimeSeries#get(long, long)}
+	 */
+	@Test
+	public void testView() {
+		assertEquals(reference.size(), store.nSeries());
+
+		for (final Entry<String, DoubleTimeSeries> e : reference.entrySet()) {
+			final DoubleTimeSeries expected = e.getValue();
+			final DoubleTimeSeries actual = store.series(e.getKey());
+			assertArrayEquals(expected.getTimes(), actual.getTimes());
+			assertArrayEquals(expected.getData(), actual.getData(), 0);
+
+			if (expected.size() == 0)
+				continue;
+
+			final long start = expected.getTimes()[0] + 50;
+			final DoubleTimeSeries range = expected.get(start, start + 350);
+			final SeriesView view = store.view(e.getKey(), start, start + 350);
+			assertArrayEquals(range.getTimes(), view.getTimes());
+			assertArrayEquals(range.getData(), view.getData(), 0);
+		}
+	}
+
+	/**
+	 * Times that are not a whole number of units after the first time of the
+	 * series can't be stored
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnencodableTime() {
+		store.addTimeSeries("bad", new long[] { 10, 25 }, new double[] { 1, 2 });
+	}
+
+	/**
+	 * Times and data of different lengths are rejected, even when there are
+	 * more times than values
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testMismatchedLengths() {
+		store.addTimeSeries("bad", new long[] { 10, 20, 30 }, new double[] { 1, 2 });
+	}
+
+	/**
+	 * Test that the moving average matches the {@link MovingAverageProcessor},
+	 * both sequentially and in parallel
+	 */
+	@Test
+	public void testMovingAverage() {
+		for (final ThreadPoolExecutor tp : new ThreadPoolExecutor[] { null, pool }) {
+			store.setThreadPool(tp);
+			final ChunkedDoubleTimeSeriesCollection averaged = store.processInternal(new MovingAverageProcessor(70));
+
+			for (final Entry<String, DoubleTimeSeries> e : reference.entrySet()) {
+				final DoubleTimeSeries expected = copy(e.getValue());
+				new MovingAverageProcessor(70).process(expected);
+
+				final DoubleTimeSeries actual = averaged.series(e.getKey());
+				assertArrayEquals(expected.getTimes(), actual.getTimes());
+				assertArrayEquals(expected.getData(), actual.getData(), 1e-9);
+			}
+		}
+	}
+
+	/**
+	 * Test that the interval sums match the {@link IntervalSummationProcessor},
+	 * both sequentially and in parallel
+	 */
+	@Test
+	public void testIntervalSummation() {
+		final long[] bounds = { 300, 500, 500, 450, 900, 1500, 2000, 100000 };
+
+		for (final ThreadPoolExecutor tp : new ThreadPoolExecutor[] { null, pool }) {
+			store.setThreadPool(tp);
+			final ChunkedDoubleTimeSeriesCollection summed = store.intervalSummation(bounds);
+
+			for (final Entry<String, DoubleTimeSeries> e : reference.entrySet()) {
+				if (e.getValue().size() == 0)
+					continue;
+
+				final DoubleTimeSeries expected = copy(e.getValue());
+				new IntervalSummationProcessor<double[], Double, DoubleTimeSeries>(bounds).process(expected);
+
+				final DoubleTimeSeries actual = summed.series(e.getKey());
+				assertArrayEquals(expected.getTimes(), actual.getTimes());
+				assertArrayEquals(expected.getData(), actual.getData(), 0);
+			}
+		}
+	}
+
+	/**
+	 * Test that the regression aggregator gives the same predictions from the
+	 * store as from a {@link DoubleSynchronisedTimeSeriesCollection}
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void testWindowedLinearRegression() throws Exception {
+		final Random rng = new Random(2);
+		final int n = 200;
+		final long[] times = new long[n];
+		final double[] y = new double[n];
+		final double[] x1 = new double[n];
+		final double[] x2 = new double[n];
+		for (int i = 0; i < n; i++) {
+			times[i] = i * 10;
+			x1[i] = rng.nextGaussian();
+			x2[i] = rng.nextGaussian();
+			if (i > 0)
+				y[i] = 0.5 * x1[i - 1] - 0.2 * x2[i - 1] + 0.01 * rng.nextGaussian();
+		}
+
+		final DoubleSynchronisedTimeSeriesCollection collection = new DoubleSynchronisedTimeSeriesCollection();
+		collection.addTimeSeries("y", new DoubleTimeSeries(times, y.clone()));
+		collection.addTimeSeries("a", new DoubleTimeSeries(times, x1.clone()));
+		collection.addTimeSeries("b", new DoubleTimeSeries(times, x2.clone()));
+		final DoubleTimeSeries expected = new WindowedLinearRegressionAggregator("y", 2, 1, false).aggregate(collection);
+
+		for (final ThreadPoolExecutor tp : new ThreadPoolExecutor[] { null, pool }) {
+			final ChunkedDoubleTimeSeriesCollection regStore = new ChunkedDoubleTimeSeriesCollection();
+			regStore.setThreadPool(tp);
+			regStore.addTimeSeries("y", times, y);
+			regStore.addTimeSeries("a", times, x1);
+			regStore.addTimeSeries("b", times, x2);
+
+			final DoubleTimeSeries actual = new WindowedLinearRegressionAggregator("y", 2, 1, false).aggregate(regStore);
+			assertArrayEquals(expected.getTimes(), actual.getTimes());
+			assertArrayEquals(expected.getData(), actual.getData(), 1e-9);
+		}
+	}
+}
@@ -29,13 +29,23 @@
  */
 package org.openimaj.pgm.vb.lda.mle;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 import java.io.IOException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.openimaj.pgm.util.SimpleCorpusReader;
+import org.openimaj.io.FileUtils;
 import org.openimaj.pgm.util.Corpus;
 import org.openimaj.pgm.util.CorpusReader;
+import org.openimaj.pgm.util.Document;
+import org.openimaj.pgm.util.SimpleCorpusReader;
 
 /**
  * @author Sina Samangooei (ss@ecs.soton.ac.uk)
@@ -43,16 +53,118 @@ import org.openimaj.pgm.util.CorpusReader;
  */
 public class TestLDAMLE {
 	private Corpus corpus;
+	private ThreadPoolExecutor pool;
 
 	@Before
 	public void before() throws IOException{
 		CorpusReader cr = new SimpleCorpusReader(TestLDAMLE.class.getResourceAsStream("/org/openimaj/pgm/vb/lda/mle/berry.txt"));;
 		this.corpus = cr.readCorpus(); 
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+	}
+
+	@After
+	public void after() {
+		pool.shutdownNow();
 	}
 	
+	/**
+	 * Every word of every line should be counted in the documents
+	 * @throws IOException
+	 */
+	@Test
+	public void testReadCorpus() throws IOException {
+		final String[] lines = FileUtils.readlines(TestLDAMLE.class.getResourceAsStream("/org/openimaj/pgm/vb/lda/mle/berry.txt"));
+
+		assertEquals(lines.length, corpus.size());
+		for (int i = 0; i < lines.length; i++) {
+			final Document d = corpus.getDocuments().get(i);
+			final int nwords = lines[i].split(" ").length;
+
+			assertEquals(nwords, d.length());
+			assertEquals(nwords, d.values.sumValues());
+		}
+	}
+
+	/**
+	 * With a single topic and a uniform beta the likelihood of a document only
+	 * depends on its length, so it shouldn't matter how the words are split
+	 * between the vocabulary
+	 */
 	@Test
+	public void testLikelihoodCountsEachWordOnce() {
+		final LDAModel model = new LDAModel(1);
+		model.prepare(2);
+		model.setAlpha(0.3);
+		model.incTopicWord(0, 0, 1);
+		model.incTopicWord(0, 1, 1);
+		model.incTopicTotal(0, 2);
+
+		final Document repeated = new Document(2);
+		repeated.setWordCount(0, 2);
+		final Document distinct = new Document(2);
+		distinct.setWordCount(0, 1);
+		distinct.setWordCount(1, 1);
+
+		final LDALearner learner = new LDALearner(1);
+		final LDAVariationlState vstate = new LDAVariationlState(model);
+		vstate.prepare(repeated);
+		final double repeatedLikelihood = learner.computeLikelihood(repeated, vstate);
+		vstate.prepare(distinct);
+		final double distinctLikelihood = learner.computeLikelihood(distinct, vstate);
+
+		assertEquals(distinctLikelihood, repeatedLikelihood, 1e-10);
+	}
+
+	/**
+	 * Estimation should terminate, and the expected topic-word counts of the
+	 * estimated model should account for every word in the corpus exactly once
+	 */
+	@Test(timeout = 60000)
 	public void testLDAEstimation(){
 		LDALearner learner = new LDALearner(10);
-		learner.estimate(corpus);
+		final LDAModel model = learner.estimate(corpus);
+
+		int nwords = 0;
+		for (final Document d : corpus.getDocuments())
+			nwords += d.length();
+
+		assertTrue(model.iteration > 2);
+		assertFalse(Double.isNaN(model.likelihood) || Double.isInfinite(model.likelihood));
+
+		double total = 0;
+		for (int topicIndex = 0; topicIndex < model.ntopics; topicIndex++) {
+			double topicSum = 0;
+			for (final double tw : model.topicWord[topicIndex])
+				topicSum += tw;
+
+			assertEquals(topicSum, model.topicTotal[topicIndex], 1e-8);
+			total += model.topicTotal[topicIndex];
+		}
+		assertEquals(nwords, total, 1e-8);
+	}
+
+	/**
+	 * Performing the E-step on a thread pool should give the same model as
+	 * the sequential E-step (up to the order in which the statistics are
+	 * summed)
+	 */
+	@Test(timeout = 60000)
+	public void testParallelEStep() {
+		final LDAModel expected = new LDALearner(10).estimate(corpus);
+
+		final LDALearner learner = new LDALearner(10);
+		learner.setThreadPool(pool);
+		final LDAModel actual = learner.estimate(corpus);
+
+		assertEquals(expected.iteration, actual.iteration);
+		assertEquals(expected.likelihood, actual.likelihood, 1e-9 * Math.abs(expected.likelihood));
+		for (int topicIndex = 0; topicIndex < expected.ntopics; topicIndex++) {
+			assertEquals(expected.topicTotal[topicIndex], actual.topicTotal[topicIndex],
+					1e-9 * expected.topicTotal[topicIndex]);
+			for (int wordIndex = 0; wordIndex < corpus.vocabularySize(); wordIndex++) {
+				final double tw = expected.topicWord[topicIndex][wordIndex];
+				assertEquals(tw, actual.topicWord[topicIndex][wordIndex], 1e-9 * Math.max(tw, 1));
+			}
+		}
 	}
 }
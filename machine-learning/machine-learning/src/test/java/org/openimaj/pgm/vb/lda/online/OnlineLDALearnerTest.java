@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.pgm.vb.lda.online;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openimaj.pgm.util.Document;
+import org.openimaj.pgm.util.StreamingCorpusReader;
+import org.openimaj.pgm.vb.lda.mle.LDAModel;
+
+/**
+ * Tests for the {@link OnlineLDALearner}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class OnlineLDALearnerTest {
+	private static final int NTOPICS = 2;
+	private static final int WORDS_PER_TOPIC = 5;
+	private static final int NDOCS = 200;
+
+	/**
+	 * Temporary folder for the streamed corpus
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<String> lines;
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Create a corpus in which every document is drawn from one of two topics
+	 * with disjoint vocabularies
+	 */
+	@Before
+	public void setup() {
+		final Random rng = new Random(42);
+
+		lines = new ArrayList<String>();
+		for (int d = 0; d < NDOCS; d++) {
+			final int topic = d % NTOPICS;
+			final StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < 10; i++) {
+				if (i > 0)
+					sb.append(' ');
+				sb.append((char) ('a' + topic * WORDS_PER_TOPIC + rng.nextInt(WORDS_PER_TOPIC)));
+			}
+			lines.add(sb.toString());
+		}
+
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	private File writeCorpus() throws IOException {
+		final File file = folder.newFile("corpus.txt");
+		final FileOutputStream fos = new FileOutputStream(file);
+		try {
+			for (final String line : lines)
+				fos.write((line + "\n").getBytes("UTF-8"));
+		} finally {
+			fos.close();
+		}
+
+		return file;
+	}
+
+	private OnlineLDALearner createLearner(int vocabularySize) {
+		final OnlineLDALearner learner = new OnlineLDALearner(NTOPICS, vocabularySize, NDOCS, 1);
+		learner.setLearningRate(1, 0.7);
+		learner.setBatchSize(20);
+		learner.setEta(0.01);
+		return learner;
+	}
+
+	/**
+	 * The streaming reader should produce one document per line containing
+	 * every word of the line
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	public void testStreamingCorpusReader() throws IOException {
+		final File file = writeCorpus();
+		final StreamingCorpusReader reader = new StreamingCorpusReader(file, StreamingCorpusReader.readVocabulary(file));
+		assertEquals(NTOPICS * WORDS_PER_TOPIC, reader.vocabularySize());
+
+		// two passes, as each iteration re-opens the file
+		for (int pass = 0; pass < 2; pass++) {
+			int count = 0;
+			for (final Document d : reader) {
+				assertEquals(10, d.length());
+				assertTrue(d.countUniqueWords() <= WORDS_PER_TOPIC);
+				count++;
+			}
+			assertEquals(NDOCS, count);
+		}
+	}
+
+	/**
+	 * After a few passes each topic should put almost all of its mass on the
+	 * words of a different one of the generating topics
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	public void testConverges() throws IOException {
+		final File file = writeCorpus();
+		final Map<String, Integer> vocabulary = StreamingCorpusReader.readVocabulary(file);
+		final StreamingCorpusReader reader = new StreamingCorpusReader(file, vocabulary);
+
+		final OnlineLDALearner learner = createLearner(reader.vocabularySize());
+		LDAModel model = null;
+		for (int pass = 0; pass < 10; pass++)
+			model = learner.estimate(reader);
+
+		final boolean[] found = new boolean[NTOPICS];
+		for (int topicIndex = 0; topicIndex < NTOPICS; topicIndex++) {
+			final double[] mass = new double[NTOPICS];
+			for (final Map.Entry<String, Integer> e : vocabulary.entrySet()) {
+				final int generator = (e.getKey().charAt(0) - 'a') / WORDS_PER_TOPIC;
+				mass[generator] += model.topicWord[topicIndex][e.getValue()] / model.topicTotal[topicIndex];
+			}
+
+			final int best = mass[0] > mass[1] ? 0 : 1;
+			assertTrue(mass[best] > 0.95);
+			found[best] = true;
+		}
+
+		for (final boolean f : found)
+			assertTrue(f);
+	}
+
+	/**
+	 * Performing the E-step on a thread pool should give the same topics as
+	 * the sequential E-step (up to the order in which the statistics are
+	 * summed)
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	public void testParallelEStep() throws IOException {
+		final File file = writeCorpus();
+		final StreamingCorpusReader reader = new StreamingCorpusReader(file, StreamingCorpusReader.readVocabulary(file));
+
+		final OnlineLDALearner sequential = createLearner(reader.vocabularySize());
+		final OnlineLDALearner parallel = createLearner(reader.vocabularySize());
+		parallel.setThreadPool(pool);
+
+		for (int pass = 0; pass < 3; pass++) {
+			final LDAModel expected = sequential.estimate(reader);
+			final LDAModel actual = parallel.estimate(reader);
+
+			for (int topicIndex = 0; topicIndex < NTOPICS; topicIndex++) {
+				for (int wordIndex = 0; wordIndex < reader.vocabularySize(); wordIndex++) {
+					final double tw = expected.topicWord[topicIndex][wordIndex];
+					assertEquals(tw, actual.topicWord[topicIndex][wordIndex], 1e-9 * tw);
+				}
+			}
+		}
+	}
+}
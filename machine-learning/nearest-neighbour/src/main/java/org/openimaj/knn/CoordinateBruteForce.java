@@ -73,6 +73,24 @@ public class CoordinateBruteForce<T extends Coordinate> implements CoordinateInd
 		}
 	}
 	
+	/**
+	 * Search for all the coordinates that lie within the given (Euclidean)
+	 * radius of the centre coordinate. Store found coordinates in the results
+	 * collection.
+	 * 
+	 * @param results Collection to hold the found coordinates.
+	 * @param centre The centre of the hyper-sphere.
+	 * @param radius The radius of the hyper-sphere.
+	 */
+	public void radiusSearch(Collection<T> results, Coordinate centre, float radius) {
+		final float radSq = radius * radius;
+		
+		for (T d : data) {
+			if (CoordinateKDTree.distance(d, centre) <= radSq)
+				results.add(d);
+		}
+	}
+	
 	@Override
 	public T nearestNeighbour(Coordinate query) {
 		float minDist = Float.MAX_VALUE;
@@ -205,6 +205,45 @@ public class CoordinateKDTree<T extends Coordinate> implements CoordinateIndex<T
 		}
 	}
 
+	/**
+	 * Searches the tree for all points within the given radius of the centre
+	 * and stores them in a Collection. Subtrees on the far side of a splitting
+	 * plane that is further than the radius from the centre are not visited.
+	 * 
+	 * @param results
+	 * @param centre
+	 * @param radius
+	 */
+	public void radiusSearch(Collection<T> results, Coordinate centre, float radius)
+	{
+		KDNode<T> tmpNode;
+		final Stack<KDNode<T>> stack = new Stack<KDNode<T>>();
+		final float radSq = radius * radius;
+
+		if (_root == null)
+			return;
+
+		stack.push(_root);
+
+		while (!stack.empty()) {
+			tmpNode = stack.pop();
+
+			final float diff = centre.getOrdinate(tmpNode._discriminate).floatValue() -
+					tmpNode._point.getOrdinate(tmpNode._discriminate).floatValue();
+
+			// the left subtree holds ordinates <= the node's and the right
+			// subtree holds those that are greater
+			if (tmpNode._left != null && (diff <= 0 || diff * diff <= radSq))
+				stack.push(tmpNode._left);
+
+			if (tmpNode._right != null && (diff > 0 || diff * diff <= radSq))
+				stack.push(tmpNode._right);
+
+			if (distance(centre, tmpNode._point) <= radSq)
+				results.add(tmpNode._point);
+		}
+	}
+
 	protected static final float distance(Coordinate a, Coordinate b) {
 		float s = 0;
 
@@ -29,6 +29,7 @@
  */
 package org.openimaj.knn.lsh;
 
+import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.set.hash.TIntHashSet;
@@ -36,9 +37,11 @@ import gnu.trove.set.hash.TIntHashSet;
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.openimaj.knn.IncrementalNearestNeighbours;
+import org.openimaj.knn.NearestNeighboursFactory;
 import org.openimaj.util.comparator.DistanceComparator;
 import org.openimaj.util.hash.HashFunction;
 import org.openimaj.util.hash.HashFunctionFactory;
@@ -66,6 +69,46 @@ public class LSHNearestNeighbours<OBJECT>
 		implements
 		IncrementalNearestNeighbours<OBJECT, float[], IntFloatPair>
 {
+	/**
+	 * {@link NearestNeighboursFactory} for producing
+	 * {@link LSHNearestNeighbours}. Each produced instance has its own set of
+	 * tables with newly created hash functions.
+	 *
+	 * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+	 *
+	 * @param <OBJECT>
+	 *            Type of object being stored.
+	 */
+	public static final class Factory<OBJECT> implements NearestNeighboursFactory<LSHNearestNeighbours<OBJECT>, OBJECT> {
+		private final HashFunctionFactory<OBJECT> factory;
+		private final int numTables;
+		private final DistanceComparator<OBJECT> distanceFcn;
+
+		/**
+		 * Construct the factory with the given hash function factory, number
+		 * of tables and distance function.
+		 *
+		 * @param factory
+		 *            The hash function factory.
+		 * @param numTables
+		 *            The number of requested tables.
+		 * @param distanceFcn
+		 *            The distance function.
+		 */
+		public Factory(HashFunctionFactory<OBJECT> factory, int numTables, DistanceComparator<OBJECT> distanceFcn) {
+			this.factory = factory;
+			this.numTables = numTables;
+			this.distanceFcn = distanceFcn;
+		}
+
+		@Override
+		public LSHNearestNeighbours<OBJECT> create(OBJECT[] data) {
+			final LSHNearestNeighbours<OBJECT> nn = new LSHNearestNeighbours<OBJECT>(factory, numTables, distanceFcn);
+			nn.addAll(data);
+			return nn;
+		}
+	}
+
 	/**
 	 * Encapsulates a hash table with an associated hash function and pointers
 	 * to the data.
@@ -349,6 +392,55 @@ public class LSHNearestNeighbours<OBJECT>
 		}
 	}
 
+	/**
+	 * Search for all the items within the given radius of the query. Only the
+	 * items that share a bucket with the query in at least one of the tables
+	 * are considered, so like the other searches the result is approximate.
+	 *
+	 * @param query
+	 *            the query
+	 * @param radius
+	 *            the maximum distance (inclusive) of a returned item
+	 * @return the matching items and their distances ordered by increasing
+	 *         distance
+	 */
+	public List<IntFloatPair> searchRadius(OBJECT query, float radius) {
+		final List<IntFloatPair> result = new ArrayList<IntFloatPair>();
+
+		final TIntIterator iterator = search(query).iterator();
+		while (iterator.hasNext()) {
+			final int id = iterator.next();
+			final float dist = (float) distanceFcn.compare(query, data.get(id));
+
+			if (dist <= radius)
+				result.add(new IntFloatPair(id, dist));
+		}
+
+		Collections.sort(result, IntFloatPair.SECOND_ITEM_ASCENDING_COMPARATOR);
+
+		return result;
+	}
+
+	/**
+	 * Search for all the items within the given radius of each of the queries.
+	 * The result for each query is in the form described by
+	 * {@link #searchRadius(Object, float)}.
+	 *
+	 * @param qus
+	 *            the queries
+	 * @param radius
+	 *            the maximum distance (inclusive) of a returned item
+	 * @return the matching items of each respective query
+	 */
+	public List<List<IntFloatPair>> searchRadius(List<OBJECT> qus, float radius) {
+		final List<List<IntFloatPair>> results = new ArrayList<List<IntFloatPair>>(qus.size());
+
+		for (final OBJECT query : qus)
+			results.add(searchRadius(query, radius));
+
+		return results;
+	}
+
 	/*
 	 * Exact NN on a subset
 	 */
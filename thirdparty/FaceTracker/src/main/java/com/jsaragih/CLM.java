@@ -48,13 +48,16 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Scanner;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.citation.annotation.Reference;
 import org.openimaj.citation.annotation.ReferenceType;
 import org.openimaj.image.FImage;
 import org.openimaj.math.matrix.MatrixUtils;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 import Jama.Matrix;
 
@@ -115,6 +118,7 @@ public class CLM {
 	private FImage[] prob_;
 	private FImage[] pmem_;
 	private FImage[] wmem_;
+	private ThreadPoolExecutor pool;
 
 	void calcSimT(Matrix src, Matrix dst, SimTData data) {
 		assert ((src.getRowDimension() == dst.getRowDimension())
@@ -374,12 +378,11 @@ public class CLM {
 		c.g_ = g_.copy();
 		c.J_ = J_.copy();
 		c.H_ = H_.copy();
-		c.prob_ = Arrays
-				.copyOf(prob_, prob_.length, (new FImage[0]).getClass());
-		c.pmem_ = Arrays
-				.copyOf(pmem_, pmem_.length, (new FImage[0]).getClass());
-		c.wmem_ = Arrays
-				.copyOf(wmem_, wmem_.length, (new FImage[0]).getClass());
+		// the working images are not shared, so that copies can be fitted
+		// concurrently
+		c.prob_ = new FImage[prob_.length];
+		c.pmem_ = new FImage[pmem_.length];
+		c.wmem_ = new FImage[wmem_.length];
 
 		return c;
 	}
@@ -423,7 +426,7 @@ public class CLM {
 	 * @param clamp
 	 * @param fTol
 	 */
-	public void fit(FImage im, int[] wSize, int nIter, double clamp, double fTol) {
+	public void fit(final FImage im, int[] wSize, int nIter, double clamp, double fTol) {
 		int i, idx, n = _pdm.nPoints();
 
 		SimTData d1 = new SimTData();
@@ -437,39 +440,21 @@ public class CLM {
 
 			idx = getViewIdx();
 
-			for (i = 0; i < n; i++) {
-				if (_visi[idx].getRowDimension() == n) {
-					if (_visi[idx].get(i, 0) == 0)
-						continue;
-				}
-
-				int w = wSize[witer] + _patch[idx][i]._w - 1;
-				int h = wSize[witer] + _patch[idx][i]._h - 1;
-
-				Matrix sim = new Matrix(new double[][] {
-						{ d1.a, -d1.b, cshape_.get(i, 0) },
-						{ d1.b, d1.a, cshape_.get(i + n, 0) } });
-
-				if (wmem_[i] == null || (w > wmem_[i].width)
-						|| (h > wmem_[i].height))
-					wmem_[i] = new FImage(w, h);
-
-				// gah, we need to get a subimage backed by the original;
-				// luckily its from the origin
-				FImage wimg = subImage(wmem_[i], w, h);
-
-				FImage wimg_o = wimg; // why? is this supposed to clone?
-				Matrix sim_o = sim;
-				FImage im_o = im;
-
-				cvGetQuadrangleSubPix(im_o, wimg_o, sim_o);
-
-				if (pmem_[i] == null || wSize[witer] > pmem_[i].height)
-					pmem_[i] = new FImage(wSize[witer], wSize[witer]);
-
-				prob_[i] = subImage(pmem_[i], wSize[witer], wSize[witer]);
-
-				_patch[idx][i].response(wimg, prob_[i]);
+			final int view = idx;
+			final int ws = wSize[witer];
+			final double a = d1.a;
+			final double b = d1.b;
+			if (pool == null) {
+				for (i = 0; i < n; i++)
+					response(im, view, i, ws, a, b);
+			} else {
+				Parallel.forRange(0, n, 1, new Operation<IntRange>() {
+					@Override
+					public void perform(IntRange range) {
+						for (int j = range.start; j < range.stop; j += range.incr)
+							response(im, view, j, ws, a, b);
+					}
+				}, pool);
 			}
 
 			simT(cshape_, d2);
@@ -484,6 +469,53 @@ public class CLM {
 		}
 	}
 
+	/**
+	 * Compute the response of the patch expert for point i of the given view
+	 * over a search window of the given size around the current shape. The
+	 * working images of each point are separate, so different points can be
+	 * processed concurrently.
+	 */
+	private void response(FImage im, int idx, int i, int wSize, double a, double b) {
+		final int n = _pdm.nPoints();
+
+		if (_visi[idx].getRowDimension() == n) {
+			if (_visi[idx].get(i, 0) == 0)
+				return;
+		}
+
+		int w = wSize + _patch[idx][i]._w - 1;
+		int h = wSize + _patch[idx][i]._h - 1;
+
+		if (wmem_[i] == null || (w > wmem_[i].width)
+				|| (h > wmem_[i].height))
+			wmem_[i] = new FImage(w, h);
+
+		// gah, we need to get a subimage backed by the original;
+		// luckily its from the origin
+		FImage wimg = subImage(wmem_[i], w, h);
+
+		cvGetQuadrangleSubPix(im, wimg, a, -b, b, a, cshape_.get(i, 0), cshape_.get(i + n, 0));
+
+		if (pmem_[i] == null || wSize > pmem_[i].height)
+			pmem_[i] = new FImage(wSize, wSize);
+
+		prob_[i] = subImage(pmem_[i], wSize, wSize);
+
+		_patch[idx][i].response(wimg, prob_[i]);
+	}
+
+	/**
+	 * Set the pool used to compute the patch responses of the points in
+	 * parallel. If the pool is <code>null</code> (the default), the responses
+	 * are computed sequentially.
+	 * 
+	 * @param pool
+	 *            the pool
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
 	/**
 	 * Construct a view on an FImage from the origin to a new height/width
 	 * (which must be the same or smaller than in the input image)
@@ -500,17 +532,12 @@ public class CLM {
 		return img;
 	}
 
-	private void cvGetQuadrangleSubPix(FImage src, FImage dest, Matrix tx) {
+	private void cvGetQuadrangleSubPix(FImage src, FImage dest, double A11, double A12, double A21, double A22,
+			double b1, double b2)
+	{
 		// FIXME: move this somewhere appropriate
 		final float[][] dpix = dest.pixels;
 
-		final double A11 = tx.get(0, 0);
-		final double A12 = tx.get(0, 1);
-		final double A21 = tx.get(1, 0);
-		final double A22 = tx.get(1, 1);
-		final double b1 = tx.get(0, 2);
-		final double b2 = tx.get(1, 2);
-
 		for (int y = 0; y < dest.width; y++) {
 			for (int x = 0; x < dest.height; x++) {
 				double xp = x - (dest.width - 1) * 0.5;
@@ -71,6 +71,7 @@ public class MPatch {
 	public Patch[] _p;
 
 	private FImage res_;
+	private FImage resMem_;
 
 	MPatch(Patch[] p) {
 		_w = p[0].matcher.getTemplate().width;
@@ -147,8 +148,23 @@ public class MPatch {
 		return mpatch;
 	}
 
+	/**
+	 * Normalise the image to sum to one. Only the pixels within the width and
+	 * height of the image are summed, as M might be a view on a larger buffer
+	 * (see {@link CLM}). {@link FImage#sum()} sums the whole backing array,
+	 * which would include stale values from a larger search window used in an
+	 * earlier fitting iteration.
+	 * 
+	 * @param M
+	 *            the image to normalise
+	 */
 	final void sum2one(FImage M) {
-		M.divideInplace(M.sum());
+		float sum = 0;
+		for (int y = 0; y < M.height; y++)
+			for (int x = 0; x < M.width; x++)
+				sum += M.pixels[y][x];
+
+		M.divideInplace(sum);
 	}
 
 	void response(FImage im, FImage resp) {
@@ -159,10 +175,15 @@ public class MPatch {
 		if (resp.height != h || resp.width != w)
 			resp.internalAssign(new FImage(w, h));
 
-		if (res_ == null)
-			res_ = new FImage(w, h);
-		if (res_.height != h || res_.width != w)
-			res_.internalAssign(new FImage(w, h));
+		// the working response is a view on a buffer that only grows, so
+		// changing the search window size doesn't cause reallocation
+		if (resMem_ == null || resMem_.height < h || resMem_.width < w)
+			resMem_ = new FImage(w, h);
+		if (res_ == null || res_.pixels != resMem_.pixels || res_.height != h || res_.width != w) {
+			res_ = new FImage(resMem_.pixels);
+			res_.width = w;
+			res_.height = h;
+		}
 
 		if (_p.length == 1) {
 			_p[0].response(im, resp);
@@ -189,7 +210,7 @@ public class MPatch {
 		MPatch m = new MPatch();
 		m._w = _w;
 		m._h = _h;
-		m.res_ = res_;
+		m.res_ = new FImage(0, 0);
 		m._p = new Patch[_p.length];
 		for (int i = 0; i < _p.length; i++)
 			m._p[i] = _p[i].copy();
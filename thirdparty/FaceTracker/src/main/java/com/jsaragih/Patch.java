@@ -51,7 +51,7 @@ import java.io.IOException;
 import java.util.Scanner;
 
 import org.openimaj.image.FImage;
-import org.openimaj.image.analysis.algorithm.TemplateMatcher;
+import org.openimaj.image.analysis.algorithm.AdaptiveTemplateMatcher;
 import org.openimaj.image.analysis.algorithm.TemplateMatcher.Mode;
 
 /**
@@ -76,10 +76,19 @@ public class Patch {
 	public FImage _W;
 
 	protected FImage im_ = new FImage(0, 0);
-	protected TemplateMatcher matcher;
+	protected FImage imMem_;
+	protected AdaptiveTemplateMatcher matcher;
 
-	FImage Grad(FImage im) {
-		FImage grad = new FImage(im.width, im.height);
+	void Grad(FImage im, FImage grad) {
+		// grad might be reused, so clear the border
+		for (int x = 0; x < im.width; x++) {
+			grad.pixels[0][x] = 0;
+			grad.pixels[im.height - 1][x] = 0;
+		}
+		for (int y = 1; y < im.height - 1; y++) {
+			grad.pixels[y][0] = 0;
+			grad.pixels[y][im.width - 1] = 0;
+		}
 
 		for (int y = 1; y < im.height - 1; y++) {
 			for (int x = 1; x < im.width - 1; x++) {
@@ -88,15 +97,14 @@ public class Patch {
 				grad.pixels[y][x] = vx * vx + vy * vy;
 			}
 		}
-		return grad;
 	}
 
 	final float SGN(float x) {
 		return (x < 0) ? 0 : 1;
 	}
 
-	FImage LBP(FImage im) {
-		FImage lp = new FImage(im.width, im.height);
+	void LBP(FImage im, FImage lp) {
+		lp.fill(0);
 
 		// float [] v = new float[9];
 		// for(int y = 1; y < im.height-1; y++) {
@@ -118,8 +126,6 @@ public class Patch {
 		// SGN(v[0]-v[7])*128 + SGN(v[0]-v[8])*256 ;
 		// }
 		// }
-
-		return lp;
 	}
 
 	void load(final String fname) throws FileNotFoundException {
@@ -168,8 +174,7 @@ public class Patch {
 		p._a = s.nextDouble();
 		p._b = s.nextDouble();
 		p._W = IO.readImg(s);
-		p.matcher = new TemplateMatcher(p._W.clone(),
-				Mode.NORM_CORRELATION_COEFFICIENT);
+		p.matcher = createMatcher(p._W);
 
 		return p;
 	}
@@ -188,8 +193,18 @@ public class Patch {
 		_a = a;
 		_b = b;
 		_W = W;
-		matcher = new TemplateMatcher(W.clone(),
+		matcher = createMatcher(W);
+	}
+
+	private static AdaptiveTemplateMatcher createMatcher(FImage W) {
+		final AdaptiveTemplateMatcher matcher = new AdaptiveTemplateMatcher(W.clone(),
 				Mode.NORM_CORRELATION_COEFFICIENT);
+
+		// the responses are small; parallelism is better applied across the
+		// points of the model (see CLM#setThreadPool)
+		matcher.setThreadPool(null);
+
+		return matcher;
 	}
 
 	void response(FImage im, FImage resp) {
@@ -198,26 +213,36 @@ public class Patch {
 		int h = im.height - _W.height + 1;
 		int w = im.width - _W.width + 1;
 
-		if (resp.height != h || resp.width != w)
-			resp.internalAssign(new FImage(w, h));
+		// the response might be a view on a larger buffer (see CLM), in which
+		// case it is resized within that buffer rather than reallocated
+		if (resp.height != h || resp.width != w) {
+			if (resp.pixels.length >= h && h > 0 && resp.pixels[0].length >= w) {
+				resp.width = w;
+				resp.height = h;
+			} else {
+				resp.internalAssign(new FImage(w, h));
+			}
+		}
 
 		FImage I;
 		if (_t == 0) {
 			I = im;
 		} else {
-			if (im_.height == im.height && im_.width == im.width) {
-				I = im_;
-			} else if (im_.height >= im.height && im_.width >= im.width) {
-				I = im_.extractROI(0, 0, im.width, im.height);
-			} else {
-				im_ = new FImage(im.width, im.height);
-				I = im_;
+			// the transformed image is written into a view on a workspace
+			// that only grows, so changing the search window size doesn't
+			// cause reallocation
+			if (imMem_ == null || imMem_.height < im.height || imMem_.width < im.width) {
+				imMem_ = new FImage(im.width, im.height);
+				im_ = new FImage(imMem_.pixels);
 			}
+			im_.width = im.width;
+			im_.height = im.height;
+			I = im_;
 
 			if (_t == 1) {
-				I = Grad(im);
+				Grad(im, I);
 			} else if (_t == 2) {
-				I = LBP(im);
+				LBP(im, I);
 			} else {
 				throw new RuntimeException("ERROR: Unsupported patch type!\n");
 			}
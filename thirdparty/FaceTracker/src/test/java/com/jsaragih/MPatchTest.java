@@ -0,0 +1,175 @@
+/**
+ * FaceTracker Licence
+ * -------------------
+ * (Academic, non-commercial, not-for-profit licence)
+ *
+ * Copyright (c) 2010 Jason Mora Saragih
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * The software is provided under the terms of this licence stricly for
+ *       academic, non-commercial, not-for-profit purposes.
+ *     * Redistributions of source code must retain the above copyright notice,
+ *       this list of conditions (licence) and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions (licence) and the following disclaimer
+ *       in the documentation and/or other materials provided with the
+ *       distribution.
+ *     * The name of the author may not be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *     * As this software depends on other libraries, the user must adhere to and
+ *       keep in place any licencing terms of those libraries.
+ *     * Any publications arising from the use of this software, including but
+ *       not limited to academic journal and conference publications, technical
+ *       reports and manuals, must cite the following work:
+ *
+ *       J. M. Saragih, S. Lucey, and J. F. Cohn. Face Alignment through Subspace
+ *       Constrained Mean-Shifts. International Journal of Computer Vision
+ *       (ICCV), September, 2009.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE AUTHOR "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY
+ * OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jsaragih;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.openimaj.image.FImage;
+
+/**
+ * Tests for {@link MPatch} and {@link Patch}
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class MPatchTest {
+	private static FImage randomImage(Random rng, int w, int h) {
+		final FImage img = new FImage(w, h);
+		for (int y = 0; y < h; y++)
+			for (int x = 0; x < w; x++)
+				img.pixels[y][x] = rng.nextFloat();
+		return img;
+	}
+
+	private static MPatch createMPatch(Random rng) {
+		final Patch[] p = new Patch[3];
+		for (int t = 0; t < p.length; t++)
+			p[t] = new Patch(t, 0.5 + rng.nextDouble(), rng.nextDouble() - 0.5, randomImage(rng, 5, 5));
+		return new MPatch(p);
+	}
+
+	private static void assertImageEquals(FImage expected, FImage actual) {
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		for (int y = 0; y < expected.height; y++)
+			for (int x = 0; x < expected.width; x++)
+				assertEquals(expected.pixels[y][x], actual.pixels[y][x], 0f);
+	}
+
+	/**
+	 * Test that normalising a view only uses and changes the pixels within
+	 * its bounds, and that a normal image is normalised by its sum
+	 */
+	@Test
+	public void testSum2One() {
+		final Random rng = new Random(1);
+		final MPatch mp = createMPatch(rng);
+
+		final FImage img = randomImage(rng, 7, 6);
+		final FImage expected = img.clone().divideInplace(img.sum());
+		mp.sum2one(img);
+		assertImageEquals(expected, img);
+
+		final FImage buffer = randomImage(rng, 7, 6);
+		final FImage original = buffer.clone();
+		final FImage view = new FImage(buffer.pixels);
+		view.width = 4;
+		view.height = 3;
+		mp.sum2one(view);
+
+		float sum = 0;
+		for (int y = 0; y < buffer.height; y++) {
+			for (int x = 0; x < buffer.width; x++) {
+				if (x < view.width && y < view.height)
+					sum += buffer.pixels[y][x];
+				else
+					assertEquals(original.pixels[y][x], buffer.pixels[y][x], 0f);
+			}
+		}
+		assertEquals(1f, sum, 1e-6f);
+
+		final FImage roi = original.extractROI(0, 0, 4, 3);
+		assertArrayEquals(roi.divideInplace(roi.sum()).pixels[2], new float[] {
+				buffer.pixels[2][0], buffer.pixels[2][1], buffer.pixels[2][2], buffer.pixels[2][3] }, 0f);
+	}
+
+	/**
+	 * Test that reusing the working memory of the patches across changing
+	 * search window sizes gives the same responses as fresh patches
+	 */
+	@Test
+	public void testResponseReusesWorkspace() {
+		final Random rng = new Random(2);
+		final MPatch mp = createMPatch(rng);
+		final FImage resp = new FImage(0, 0);
+
+		for (final int wSize : new int[] { 11, 9, 9, 7, 11, 11 }) {
+			final FImage im = randomImage(rng, wSize + mp._w - 1, wSize + mp._h - 1);
+
+			mp.response(im, resp);
+
+			final FImage expected = new FImage(0, 0);
+			mp.copy().response(im, expected);
+			assertImageEquals(expected, resp);
+		}
+	}
+
+	/**
+	 * Test that once a patch has seen the largest search window, smaller
+	 * windows are processed in views on the same workspace and response
+	 * buffer, and still give the same responses as fresh patches
+	 */
+	@Test
+	public void testPatchWorkspaceIsNotReallocated() {
+		final Random rng = new Random(3);
+
+		for (int t = 0; t < 3; t++) {
+			final Patch p = new Patch(t, 0.5 + rng.nextDouble(), rng.nextDouble() - 0.5, randomImage(rng, 5, 5));
+			final FImage resp = new FImage(0, 0);
+
+			FImage imMem = null;
+			float[][] respPixels = null;
+			for (final int wSize : new int[] { 11, 9, 7, 11, 7, 9 }) {
+				final FImage im = randomImage(rng, wSize + p._W.width - 1, wSize + p._W.height - 1);
+
+				p.response(im, resp);
+
+				if (imMem == null) {
+					imMem = p.imMem_;
+					respPixels = resp.pixels;
+				} else {
+					assertSame(imMem, p.imMem_);
+					assertSame(respPixels, resp.pixels);
+				}
+
+				final FImage expected = new FImage(0, 0);
+				p.copy().response(im, expected);
+				assertImageEquals(expected, resp);
+			}
+		}
+	}
+}
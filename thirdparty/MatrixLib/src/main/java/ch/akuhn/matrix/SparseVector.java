@@ -207,9 +207,10 @@ public class SparseVector extends Vector {
 	@Override
 	public Vector times(double scalar) {
 		final SparseVector y = new SparseVector(size);
-		y.keys = Arrays.copyOf(keys, size);
-		y.values = Arrays.copyOf(values, size);
-		for (int i = 0; i < values.length; i++)
+		y.keys = Arrays.copyOf(keys, keys.length);
+		y.values = Arrays.copyOf(values, values.length);
+		y.used = used;
+		for (int i = 0; i < used; i++)
 			y.values[i] *= scalar;
 		return y;
 	}
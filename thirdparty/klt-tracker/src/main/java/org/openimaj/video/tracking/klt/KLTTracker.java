@@ -13,12 +13,16 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.openimaj.image.FImage;
 import org.openimaj.image.ImageUtilities;
 import org.openimaj.image.processing.convolution.FGaussianConvolve;
 import org.openimaj.math.geometry.point.Point2d;
 import org.openimaj.math.geometry.point.Point2dImpl;
+import org.openimaj.util.function.Operation;
+import org.openimaj.util.parallel.Parallel;
+import org.openimaj.util.parallel.Parallel.IntRange;
 
 /**
  * The KLT tracker
@@ -68,10 +72,42 @@ public class KLTTracker {
 		REPLACING_SOME
 	}
 
+	/**
+	 * Scratch buffers used whilst tracking a single feature. Each thread
+	 * tracking features holds its own instance, so no memory needs to be
+	 * allocated per feature.
+	 */
+	private static class TrackingWorkspace {
+		float[] imgdiff = new float[0];
+		float[] gradx = new float[0];
+		float[] grady = new float[0];
+		final float[] gradMatrix = new float[3];
+		final float[] errorVector = new float[2];
+		final float[] displacement = new float[2];
+		final float[] xy = new float[2];
+
+		TrackingWorkspace ensureWindowSize(int width, int height) {
+			final int size = width * height;
+			if (imgdiff.length != size) {
+				imgdiff = new float[size];
+				gradx = new float[size];
+				grady = new float[size];
+			}
+			return this;
+		}
+	}
+
 	TrackingContext tc;
 	FeatureList featurelist;
 	boolean isNorm = true; // true if input images are in [0..1] range, false if
 							// [0..255]
+	private ThreadPoolExecutor pool;
+	private final ThreadLocal<TrackingWorkspace> workspaces = new ThreadLocal<TrackingWorkspace>() {
+		@Override
+		protected TrackingWorkspace initialValue() {
+			return new TrackingWorkspace();
+		}
+	};
 
 	/**
 	 * Construct with the given target number of features.
@@ -704,12 +740,12 @@ public class KLTTracker {
 	 * _compute2by2GradientMatrix
 	 * 
 	 */
-	private float[] _compute2by2GradientMatrix(
+	private void _compute2by2GradientMatrix(
 			float[] gradx,
 			float[] grady,
 			int width, /* size of window */
-			int height
-			)
+			int height,
+			float[] output)
 
 	{
 		float gx, gy;
@@ -733,7 +769,9 @@ public class KLTTracker {
 			gyy += gy * gy;
 		}
 
-		return new float[] { gxx, gxy, gyy };
+		output[0] = gxx;
+		output[1] = gxy;
+		output[2] = gyy;
 	}
 
 	/*********************************************************************
@@ -741,17 +779,17 @@ public class KLTTracker {
 	 * 
 	 */
 
-	private float[] _compute2by1ErrorVector(
+	private void _compute2by1ErrorVector(
 			float[] imgdiff,
 			float[] gradx,
 			float[] grady,
 			int width, /* size of window */
 			int height,
-			float step_factor /*
+			float step_factor, /*
 							 * 2.0 comes from equations, 1.0 seems to avoid
 							 * overshooting
 							 */
-			)
+			float[] output)
 	{
 		float diff;
 		int i;
@@ -769,7 +807,8 @@ public class KLTTracker {
 		ex *= step_factor;
 		ey *= step_factor;
 
-		return new float[] { ex, ey };
+		output[0] = ex;
+		output[1] = ey;
 	}
 
 	/*********************************************************************
@@ -843,12 +882,13 @@ public class KLTTracker {
 								 * residue threshold for declaring
 								 * KLT_LARGE_RESIDUE
 								 */
-			boolean lighting_insensitive) /*
+			boolean lighting_insensitive, /*
 										 * whether to normalize for gain and
 										 * bias
 										 */
+			TrackingWorkspace workspace)
 	{
-		float[] imgdiff, gradx, grady;
+		final float[] imgdiff, gradx, grady;
 		float gxx, gxy, gyy, ex, ey, dx, dy;
 		int iteration = 0;
 		int status;
@@ -858,10 +898,10 @@ public class KLTTracker {
 		final int nr = img1.height;
 		final float one_plus_eps = 1.001f; /* To prevent rounding errors */
 
-		/* Allocate memory for windows */
-		imgdiff = new float[height * width];
-		gradx = new float[height * width];
-		grady = new float[height * width];
+		/* Use the preallocated windows */
+		imgdiff = workspace.imgdiff;
+		gradx = workspace.gradx;
+		grady = workspace.grady;
 
 		/* Iteratively update the window position */
 		do {
@@ -887,17 +927,21 @@ public class KLTTracker {
 			}
 
 			/* Use these windows to construct matrices */
-			float[] tmp = _compute2by2GradientMatrix(gradx, grady, width, height);
+			float[] tmp = workspace.gradMatrix;
+			_compute2by2GradientMatrix(gradx, grady, width, height, tmp);
 			gxx = tmp[0];
 			gxy = tmp[1];
 			gyy = tmp[2];
 
-			tmp = _compute2by1ErrorVector(imgdiff, gradx, grady, width, height, step_factor);
+			tmp = workspace.errorVector;
+			_compute2by1ErrorVector(imgdiff, gradx, grady, width, height, step_factor, tmp);
 			ex = tmp[0];
 			ey = tmp[1];
 
 			/* Using matrices, solve equation for new displacement */
-			tmp = new float[2];
+			tmp = workspace.displacement;
+			tmp[0] = 0;
+			tmp[1] = 0;
 			status = _solveEquation(gxx, gxy, gyy, ex, ey, small, tmp);
 			dx = tmp[0];
 			dy = tmp[1];
@@ -1712,10 +1756,6 @@ public class KLTTracker {
 	 */
 	public void trackFeatures(FImage img1, FImage img2)
 	{
-		if (isNorm) {
-			img1 = img1.multiply(255f);
-			img2 = img2.multiply(255f);
-		}
 		PyramidSet pyr1, pyr2;
 		int i;
 		final int nrows = img1.height, ncols = img1.width;
@@ -1725,49 +1765,21 @@ public class KLTTracker {
 					featurelist.countRemainingFeatures(), ncols, nrows));
 		}
 
-		/* Check window size (and correct if necessary) */
-		if (tc.window_width % 2 != 1) {
-			tc.window_width = tc.window_width + 1;
-			System.out.println(String.format("Tracking context's window width must be odd.  Changing to %d.\n",
-					tc.window_width));
-		}
-		if (tc.window_height % 2 != 1) {
-			tc.window_height = tc.window_height + 1;
-			System.out.println(String.format("Tracking context's window height must be odd.  Changing to %d.\n",
-					tc.window_height));
-		}
-		if (tc.window_width < 3) {
-			tc.window_width = 3;
-			System.out.println(String.format(
-					"Tracking context's window width must be at least three.  \nChanging to %d.\n", tc.window_width));
-		}
-		if (tc.window_height < 3) {
-			tc.window_height = 3;
-			System.out.println(String.format(
-					"Tracking context's window height must be at least three.  \nChanging to %d.\n", tc.window_height));
-		}
+		_checkWindowSize();
 
 		/* Process first image by converting to float, smoothing, computing */
 		/* pyramid, and computing gradient pyramids */
 		final PyramidSet ppSet = tc.previousPyramidSet();
 		if (tc.sequentialMode && ppSet != null) {
-			Pyramid pyramid1, pyramid1_gradx, pyramid1_grady;
-			pyramid1 = ppSet.imgPyr;
-			pyramid1_gradx = ppSet.gradx;
-			pyramid1_grady = ppSet.grady;
-			if (pyramid1.ncols[0] != ncols || pyramid1.nrows[0] != nrows)
-				throw new RuntimeException(
-						String.format("(KLTTrackFeatures) Size of incoming image (%d by %d) is different from size " +
-								"of previous image (%d by %d)\n", ncols, nrows, pyramid1.ncols[0], pyramid1.nrows[0]));
-			assert (pyramid1_gradx != null);
-			assert (pyramid1_grady != null);
+			_checkPyramidSize(ppSet, ncols, nrows);
 			pyr1 = ppSet;
 		} else {
-			pyr1 = new PyramidSet(img1, tc);
-
+			pyr1 = new PyramidSet(isNorm ? img1.multiply(255f) : img1, tc);
 		}
 
 		/* Do the same thing with second image */
+		if (isNorm)
+			img2 = img2.multiply(255f);
 		pyr2 = new PyramidSet(img2, tc);
 
 		/* Write internal images */
@@ -1807,6 +1819,74 @@ public class KLTTracker {
 		}
 	}
 
+	/**
+	 * Tracks feature points from the previously seen frame into the given
+	 * frame. The pyramids of the previous frame are reused rather than being
+	 * recomputed, so each frame only has its pyramids built once; this is
+	 * the most efficient way of tracking through a sequence of frames, and
+	 * combined with {@link #setThreadPool(ThreadPoolExecutor)} allows large
+	 * numbers of features to be tracked at video rate.
+	 * <p>
+	 * The pyramids of the given frame are stored in the
+	 * {@link TrackingContext} for use with the next frame (and by
+	 * {@link #replaceLostFeatures(FImage)} if the context is in sequential
+	 * mode). If there is no previous frame (i.e. this is the first frame),
+	 * the pyramids are just computed and stored and no tracking is
+	 * performed.
+	 * 
+	 * @param img
+	 *            the next frame
+	 */
+	public void trackFeatures(FImage img) {
+		_checkWindowSize();
+
+		final PyramidSet pyr1 = tc.previousPyramidSet();
+		final PyramidSet pyr2 = new PyramidSet(isNorm ? img.multiply(255f) : img, tc);
+
+		if (pyr1 != null) {
+			_checkPyramidSize(pyr1, img.width, img.height);
+			trackFeatures(img, img, pyr1, pyr2);
+		}
+
+		tc.setPreviousPyramid(pyr2);
+	}
+
+	/**
+	 * Check the window size of the tracking context (and correct if
+	 * necessary)
+	 */
+	private void _checkWindowSize() {
+		if (tc.window_width % 2 != 1) {
+			tc.window_width = tc.window_width + 1;
+			System.out.println(String.format("Tracking context's window width must be odd.  Changing to %d.\n",
+					tc.window_width));
+		}
+		if (tc.window_height % 2 != 1) {
+			tc.window_height = tc.window_height + 1;
+			System.out.println(String.format("Tracking context's window height must be odd.  Changing to %d.\n",
+					tc.window_height));
+		}
+		if (tc.window_width < 3) {
+			tc.window_width = 3;
+			System.out.println(String.format(
+					"Tracking context's window width must be at least three.  \nChanging to %d.\n", tc.window_width));
+		}
+		if (tc.window_height < 3) {
+			tc.window_height = 3;
+			System.out.println(String.format(
+					"Tracking context's window height must be at least three.  \nChanging to %d.\n", tc.window_height));
+		}
+	}
+
+	private void _checkPyramidSize(PyramidSet pyr, int ncols, int nrows) {
+		if (pyr.imgPyr.ncols[0] != ncols || pyr.imgPyr.nrows[0] != nrows)
+			throw new RuntimeException(
+					String.format("(KLTTrackFeatures) Size of incoming image (%d by %d) is different from size " +
+							"of previous image (%d by %d)\n", ncols, nrows, pyr.imgPyr.ncols[0], pyr.imgPyr.nrows[0]));
+		assert (pyr.gradx != null);
+		assert (pyr.grady != null);
+	}
+
 	/**
 	 * KLTTrackFeatures
 	 * 
@@ -1818,184 +1898,222 @@ public class KLTTracker {
 	 * @param pyr1
 	 * @param pyr2
 	 */
-	public void trackFeatures(FImage img1, FImage img2, PyramidSet pyr1, PyramidSet pyr2) {
+	public void trackFeatures(FImage img1, FImage img2, final PyramidSet pyr1, final PyramidSet pyr2) {
+		final int nrows = img1.height, ncols = img1.width;
+		final int nFeatures = featurelist.features.length;
+
+		if (pool == null) {
+			final TrackingWorkspace workspace = workspaces.get().ensureWindowSize(tc.window_width, tc.window_height);
+
+			/* For each feature, do ... */
+			for (int indx = 0; indx < nFeatures; indx++)
+				_trackFeature(indx, pyr1, pyr2, ncols, nrows, workspace);
+		} else {
+			Parallel.forRange(0, nFeatures, 1, new Operation<IntRange>() {
+				@Override
+				public void perform(IntRange range) {
+					final TrackingWorkspace workspace = workspaces.get().ensureWindowSize(tc.window_width,
+							tc.window_height);
+
+					for (int indx = range.start; indx < range.stop; indx += range.incr)
+						_trackFeature(indx, pyr1, pyr2, ncols, nrows, workspace);
+				}
+			}, pool);
+		}
+	}
+
+	/**
+	 * Track a single feature through the pyramids and record the result in
+	 * the feature list.
+	 */
+	private void _trackFeature(int indx, PyramidSet pyr1, PyramidSet pyr2, int ncols, int nrows,
+			TrackingWorkspace workspace)
+	{
 		float xloc, yloc, xlocout, ylocout;
 		int val = -1;
-		int indx, r;
+		int r;
 		final float subsampling = tc.subsampling;
-		final int nrows = img1.height, ncols = img1.width;
-		/* For each feature, do ... */
-		for (indx = 0; indx < featurelist.features.length; indx++) {
 
-			/* Only track features that are not lost */
-			if (featurelist.features[indx].val >= 0) {
+		/* Only track features that are not lost */
+		if (featurelist.features[indx].val >= 0) {
 
-				xloc = featurelist.features[indx].x;
-				yloc = featurelist.features[indx].y;
+			xloc = featurelist.features[indx].x;
+			yloc = featurelist.features[indx].y;
 
-				/* Transform location to coarsest resolution */
-				for (r = tc.nPyramidLevels - 1; r >= 0; r--) {
-					xloc /= subsampling;
-					yloc /= subsampling;
-				}
-				xlocout = xloc;
-				ylocout = yloc;
-
-				/* Beginning with coarsest resolution, do ... */
-				for (r = tc.nPyramidLevels - 1; r >= 0; r--) {
-
-					/* Track feature at current resolution */
-					xloc *= subsampling;
-					yloc *= subsampling;
-					xlocout *= subsampling;
-					ylocout *= subsampling;
-
-					final float[] xylocout = new float[2];
-					xylocout[0] = xlocout;
-					xylocout[1] = ylocout;
-
-					val = _trackFeature(xloc, yloc,
-							xylocout,
-							pyr1.imgPyr.img[r],
-							pyr1.gradx.img[r], pyr1.grady.img[r],
-							pyr2.imgPyr.img[r],
-							pyr2.gradx.img[r], pyr2.grady.img[r],
-							tc.window_width, tc.window_height,
-							tc.step_factor,
-							tc.max_iterations,
-							tc.min_determinant,
-							tc.min_displacement,
-							tc.max_residue,
-							tc.lighting_insensitive);
-
-					xlocout = xylocout[0];
-					ylocout = xylocout[1];
-
-					if (val == KLT_SMALL_DET || val == KLT_OOB)
-						break;
-				}
+			/* Transform location to coarsest resolution */
+			for (r = tc.nPyramidLevels - 1; r >= 0; r--) {
+				xloc /= subsampling;
+				yloc /= subsampling;
+			}
+			xlocout = xloc;
+			ylocout = yloc;
+
+			/* Beginning with coarsest resolution, do ... */
+			for (r = tc.nPyramidLevels - 1; r >= 0; r--) {
+
+				/* Track feature at current resolution */
+				xloc *= subsampling;
+				yloc *= subsampling;
+				xlocout *= subsampling;
+				ylocout *= subsampling;
+
+				final float[] xylocout = workspace.xy;
+				xylocout[0] = xlocout;
+				xylocout[1] = ylocout;
+
+				val = _trackFeature(xloc, yloc,
+						xylocout,
+						pyr1.imgPyr.img[r],
+						pyr1.gradx.img[r], pyr1.grady.img[r],
+						pyr2.imgPyr.img[r],
+						pyr2.gradx.img[r], pyr2.grady.img[r],
+						tc.window_width, tc.window_height,
+						tc.step_factor,
+						tc.max_iterations,
+						tc.min_determinant,
+						tc.min_displacement,
+						tc.max_residue,
+						tc.lighting_insensitive,
+						workspace);
+
+				xlocout = xylocout[0];
+				ylocout = xylocout[1];
+
+				if (val == KLT_SMALL_DET || val == KLT_OOB)
+					break;
+			}
 
-				/* Record feature */
-				if (val == KLT_OOB) {
-					featurelist.features[indx].x = -1.0f;
-					featurelist.features[indx].y = -1.0f;
-					featurelist.features[indx].val = KLT_OOB;
+			/* Record feature */
+			if (val == KLT_OOB) {
+				featurelist.features[indx].x = -1.0f;
+				featurelist.features[indx].y = -1.0f;
+				featurelist.features[indx].val = KLT_OOB;
 
-					// featurelist.features[indx].aff_img = null;
-					// featurelist.features[indx].aff_img_gradx = null;
-					// featurelist.features[indx].aff_img_grady = null;
+				// featurelist.features[indx].aff_img = null;
+				// featurelist.features[indx].aff_img_gradx = null;
+				// featurelist.features[indx].aff_img_grady = null;
 
-				} else if (_outOfBounds(xlocout, ylocout, ncols, nrows, tc.borderx, tc.bordery)) {
-					featurelist.features[indx].x = -1.0f;
-					featurelist.features[indx].y = -1.0f;
-					featurelist.features[indx].val = KLT_OOB;
+			} else if (_outOfBounds(xlocout, ylocout, ncols, nrows, tc.borderx, tc.bordery)) {
+				featurelist.features[indx].x = -1.0f;
+				featurelist.features[indx].y = -1.0f;
+				featurelist.features[indx].val = KLT_OOB;
 
-					// featurelist.features[indx].aff_img = null;
-					// featurelist.features[indx].aff_img_gradx = null;
-					// featurelist.features[indx].aff_img_grady = null;
-				} else if (val == KLT_SMALL_DET) {
-					featurelist.features[indx].x = -1.0f;
-					featurelist.features[indx].y = -1.0f;
-					featurelist.features[indx].val = KLT_SMALL_DET;
+				// featurelist.features[indx].aff_img = null;
+				// featurelist.features[indx].aff_img_gradx = null;
+				// featurelist.features[indx].aff_img_grady = null;
+			} else if (val == KLT_SMALL_DET) {
+				featurelist.features[indx].x = -1.0f;
+				featurelist.features[indx].y = -1.0f;
+				featurelist.features[indx].val = KLT_SMALL_DET;
 
-					// featurelist.features[indx].aff_img = null;
-					// featurelist.features[indx].aff_img_gradx = null;
-					// featurelist.features[indx].aff_img_grady = null;
-				} else if (val == KLT_LARGE_RESIDUE) {
-					featurelist.features[indx].x = -1.0f;
-					featurelist.features[indx].y = -1.0f;
-					featurelist.features[indx].val = KLT_LARGE_RESIDUE;
+				// featurelist.features[indx].aff_img = null;
+				// featurelist.features[indx].aff_img_gradx = null;
+				// featurelist.features[indx].aff_img_grady = null;
+			} else if (val == KLT_LARGE_RESIDUE) {
+				featurelist.features[indx].x = -1.0f;
+				featurelist.features[indx].y = -1.0f;
+				featurelist.features[indx].val = KLT_LARGE_RESIDUE;
 
-					// featurelist.features[indx].aff_img = null;
-					// featurelist.features[indx].aff_img_gradx = null;
-					// featurelist.features[indx].aff_img_grady = null;
-				} else if (val == KLT_MAX_ITERATIONS) {
-					featurelist.features[indx].x = -1.0f;
-					featurelist.features[indx].y = -1.0f;
-					featurelist.features[indx].val = KLT_MAX_ITERATIONS;
+				// featurelist.features[indx].aff_img = null;
+				// featurelist.features[indx].aff_img_gradx = null;
+				// featurelist.features[indx].aff_img_grady = null;
+			} else if (val == KLT_MAX_ITERATIONS) {
+				featurelist.features[indx].x = -1.0f;
+				featurelist.features[indx].y = -1.0f;
+				featurelist.features[indx].val = KLT_MAX_ITERATIONS;
 
+				// featurelist.features[indx].aff_img = null;
+				// featurelist.features[indx].aff_img_gradx = null;
+				// featurelist.features[indx].aff_img_grady = null;
+			} else {
+				featurelist.features[indx].x = xlocout;
+				featurelist.features[indx].y = ylocout;
+				featurelist.features[indx].val = KLT_TRACKED;
+				if (tc.affineConsistencyCheck >= 0 && val == KLT_TRACKED) { /*
+																			 * for
+																			 * affine
+																			 * mapping
+																			 */
+					throw new UnsupportedOperationException("Affine mapping not yet implemented");
+					// int border = 2; /* add border for interpolation */
+					//
+					// if(featurelist.features[indx].aff_img == null){
+					// /* save image and gradient for each feature at finest
+					// resolution after first successful track */
+					// featurelist.features[indx].aff_img = new
+					// FImage((tc.affine_window_height+border),
+					// (tc.affine_window_width+border));
+					// featurelist.features[indx].aff_img_gradx = new
+					// FImage((tc.affine_window_height+border),
+					// (tc.affine_window_width+border));
+					// featurelist.features[indx].aff_img_grady = new
+					// FImage((tc.affine_window_height+border),
+					// (tc.affine_window_width+border));
+					// _am_getSubFloatImage(pyramid1.img[0],xloc,yloc,featurelist.features[indx].aff_img);
+					// _am_getSubFloatImage(pyramid1_gradx.img[0],xloc,yloc,featurelist.features[indx].aff_img_gradx);
+					// _am_getSubFloatImage(pyramid1_grady.img[0],xloc,yloc,featurelist.features[indx].aff_img_grady);
+					// featurelist.features[indx].aff_x = xloc - (int) xloc
+					// + (tc.affine_window_width+border)/2;
+					// featurelist.features[indx].aff_y = yloc - (int) yloc
+					// + (tc.affine_window_height+border)/2;;
+					// }else{
+					// /* affine tracking */
+					// val =
+					// _am_trackFeatureAffine(featurelist.features[indx].aff_x,
+					// featurelist.features[indx].aff_y,
+					// &xlocout, &ylocout,
+					// featurelist.features[indx].aff_img,
+					// featurelist.features[indx].aff_img_gradx,
+					// featurelist.features[indx].aff_img_grady,
+					// pyramid2.img[0],
+					// pyramid2_gradx.img[0], pyramid2_grady.img[0],
+					// tc.affine_window_width, tc.affine_window_height,
+					// tc.step_factor,
+					// tc.affine_max_iterations,
+					// tc.min_determinant,
+					// tc.min_displacement,
+					// tc.affine_min_displacement,
+					// tc.affine_max_residue,
+					// tc.lighting_insensitive,
+					// tc.affineConsistencyCheck,
+					// tc.affine_max_displacement_differ,
+					// &featurelist.features[indx].aff_Axx,
+					// &featurelist.features[indx].aff_Ayx,
+					// &featurelist.features[indx].aff_Axy,
+					// &featurelist.features[indx].aff_Ayy
+					// );
+					// featurelist.features[indx].val = val;
+					// if(val != KLT_TRACKED){
+					// featurelist.features[indx].x = -1.0f;
+					// featurelist.features[indx].y = -1.0f;
+					// featurelist.features[indx].aff_x = -1.0f;
+					// featurelist.features[indx].aff_y = -1.0f;
+					//
 					// featurelist.features[indx].aff_img = null;
 					// featurelist.features[indx].aff_img_gradx = null;
 					// featurelist.features[indx].aff_img_grady = null;
-				} else {
-					featurelist.features[indx].x = xlocout;
-					featurelist.features[indx].y = ylocout;
-					featurelist.features[indx].val = KLT_TRACKED;
-					if (tc.affineConsistencyCheck >= 0 && val == KLT_TRACKED) { /*
-																				 * for
-																				 * affine
-																				 * mapping
-																				 */
-						throw new UnsupportedOperationException("Affine mapping not yet implemented");
-						// int border = 2; /* add border for interpolation */
-						//
-						// if(featurelist.features[indx].aff_img == null){
-						// /* save image and gradient for each feature at finest
-						// resolution after first successful track */
-						// featurelist.features[indx].aff_img = new
-						// FImage((tc.affine_window_height+border),
-						// (tc.affine_window_width+border));
-						// featurelist.features[indx].aff_img_gradx = new
-						// FImage((tc.affine_window_height+border),
-						// (tc.affine_window_width+border));
-						// featurelist.features[indx].aff_img_grady = new
-						// FImage((tc.affine_window_height+border),
-						// (tc.affine_window_width+border));
-						// _am_getSubFloatImage(pyramid1.img[0],xloc,yloc,featurelist.features[indx].aff_img);
-						// _am_getSubFloatImage(pyramid1_gradx.img[0],xloc,yloc,featurelist.features[indx].aff_img_gradx);
-						// _am_getSubFloatImage(pyramid1_grady.img[0],xloc,yloc,featurelist.features[indx].aff_img_grady);
-						// featurelist.features[indx].aff_x = xloc - (int) xloc
-						// + (tc.affine_window_width+border)/2;
-						// featurelist.features[indx].aff_y = yloc - (int) yloc
-						// + (tc.affine_window_height+border)/2;;
-						// }else{
-						// /* affine tracking */
-						// val =
-						// _am_trackFeatureAffine(featurelist.features[indx].aff_x,
-						// featurelist.features[indx].aff_y,
-						// &xlocout, &ylocout,
-						// featurelist.features[indx].aff_img,
-						// featurelist.features[indx].aff_img_gradx,
-						// featurelist.features[indx].aff_img_grady,
-						// pyramid2.img[0],
-						// pyramid2_gradx.img[0], pyramid2_grady.img[0],
-						// tc.affine_window_width, tc.affine_window_height,
-						// tc.step_factor,
-						// tc.affine_max_iterations,
-						// tc.min_determinant,
-						// tc.min_displacement,
-						// tc.affine_min_displacement,
-						// tc.affine_max_residue,
-						// tc.lighting_insensitive,
-						// tc.affineConsistencyCheck,
-						// tc.affine_max_displacement_differ,
-						// &featurelist.features[indx].aff_Axx,
-						// &featurelist.features[indx].aff_Ayx,
-						// &featurelist.features[indx].aff_Axy,
-						// &featurelist.features[indx].aff_Ayy
-						// );
-						// featurelist.features[indx].val = val;
-						// if(val != KLT_TRACKED){
-						// featurelist.features[indx].x = -1.0f;
-						// featurelist.features[indx].y = -1.0f;
-						// featurelist.features[indx].aff_x = -1.0f;
-						// featurelist.features[indx].aff_y = -1.0f;
-						//
-						// featurelist.features[indx].aff_img = null;
-						// featurelist.features[indx].aff_img_gradx = null;
-						// featurelist.features[indx].aff_img_grady = null;
-						// }else{
-						// /*featurelist.features[indx].x = xlocout;*/
-						// /*featurelist.features[indx].y = ylocout;*/
-						// }
-						// }
-					}
-
+					// }else{
+					// /*featurelist.features[indx].x = xlocout;*/
+					// /*featurelist.features[indx].y = ylocout;*/
+					// }
+					// }
 				}
+
 			}
 		}
 	}
 
+	/**
+	 * Set the pool used to track features in parallel. If the pool is
+	 * <code>null</code> (the default), features are tracked sequentially.
+	 * 
+	 * @param pool
+	 *            the pool
+	 */
+	public void setThreadPool(ThreadPoolExecutor pool) {
+		this.pool = pool;
+	}
+
 	/**
 	 * @return the tracking context
 	 */
@@ -0,0 +1,267 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.video.tracking.klt;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.image.FImage;
+import org.openimaj.image.processing.convolution.FGaussianConvolve;
+
+/**
+ * Tests for the {@link KLTTracker}, checking that tracking with a thread pool
+ * and tracking frame-by-frame with {@link KLTTracker#trackFeatures(FImage)}
+ * give the same positions and statuses as sequential tracking. The expected
+ * values were recorded from the tracker before features were tracked in
+ * parallel.
+ * 
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class KLTTrackerTest {
+	private static final int NFEATURES = 30;
+	private static final int NFRAMES = 5;
+
+	/**
+	 * The x, y and status of each feature after selection (first row) and
+	 * after tracking into each subsequent frame.
+	 */
+	static final float[][] EXPECTED = {
+		{
+			87.0f, 37.0f, 6947.0f, 50.0f, 47.0f, 6733.0f, 74.0f, 95.0f, 6070.0f,
+			64.0f, 80.0f, 5460.0f, 24.0f, 25.0f, 4509.0f, 112.0f, 61.0f, 4466.0f,
+			46.0f, 92.0f, 4433.0f, 92.0f, 95.0f, 4290.0f, 31.0f, 84.0f, 4211.0f,
+			128.0f, 40.0f, 4186.0f, 43.0f, 71.0f, 3984.0f, 73.0f, 27.0f, 3961.0f,
+			95.0f, 51.0f, 3943.0f, 74.0f, 75.0f, 3861.0f, 83.0f, 24.0f, 3737.0f,
+			45.0f, 28.0f, 3726.0f, 111.0f, 71.0f, 3594.0f, 128.0f, 70.0f, 3563.0f,
+			102.0f, 94.0f, 3402.0f, 63.0f, 43.0f, 3338.0f, 34.0f, 24.0f, 3334.0f,
+			39.0f, 44.0f, 3286.0f, 110.0f, 27.0f, 3223.0f, 116.0f, 37.0f, 2972.0f,
+			91.0f, 76.0f, 2893.0f, 32.0f, 95.0f, 2778.0f, 82.0f, 59.0f, 2606.0f,
+			135.0f, 91.0f, 2589.0f, 122.0f, 60.0f, 2508.0f, 97.0f, 61.0f, 2487.0f
+		},
+		{
+			88.32393f, 37.71642f, 0.0f, 51.27979f, 47.72256f, 0.0f, -1.0f, -1.0f, -4.0f,
+			65.33301f, 80.71444f, 0.0f, -1.0f, -1.0f, -4.0f, 113.33184f, 61.73772f, 0.0f,
+			47.28364f, 92.7096f, 0.0f, -1.0f, -1.0f, -4.0f, 32.24035f, 84.737755f, 0.0f,
+			129.27228f, 40.700787f, 0.0f, 44.273094f, 71.59835f, 0.0f, 74.2113f, 27.699266f, 0.0f,
+			96.291534f, 51.68111f, 0.0f, 75.233925f, 75.68883f, 0.0f, 84.28144f, 24.716595f, 0.0f,
+			46.245483f, 28.655499f, 0.0f, 112.331635f, 71.708405f, 0.0f, 129.28223f, 70.655945f, 0.0f,
+			103.229515f, 94.66399f, 0.0f, 64.25446f, 43.696278f, 0.0f, -1.0f, -1.0f, -5.0f,
+			40.374264f, 44.693817f, 0.0f, 111.17716f, 27.643902f, 0.0f, 117.22035f, 37.652355f, 0.0f,
+			92.3183f, 76.77738f, 0.0f, -1.0f, -1.0f, -4.0f, 83.293564f, 59.74471f, 0.0f,
+			-1.0f, -1.0f, -4.0f, 123.27727f, 60.70509f, 0.0f, 98.234886f, 61.691414f, 0.0f
+		},
+		{
+			89.672905f, 38.351574f, 0.0f, 52.58035f, 48.451004f, 0.0f, -1.0f, -1.0f, -4.0f,
+			66.61381f, 81.411446f, 0.0f, -1.0f, -1.0f, -4.0f, 114.59795f, 62.428978f, 0.0f,
+			48.60116f, 93.38871f, 0.0f, -1.0f, -1.0f, -4.0f, 33.49987f, 85.45199f, 0.0f,
+			130.52374f, 41.393497f, 0.0f, 45.530987f, 72.26115f, 0.0f, 75.47428f, 28.398703f, 0.0f,
+			97.613365f, 52.39897f, 0.0f, 76.53823f, 76.39851f, 0.0f, 85.59418f, 25.381104f, 0.0f,
+			47.503563f, 29.372671f, 0.0f, 113.69716f, 72.41856f, 0.0f, 130.53561f, 71.36312f, 0.0f,
+			-1.0f, -1.0f, -4.0f, 65.52096f, 44.413273f, 0.0f, -1.0f, -1.0f, -5.0f,
+			41.67818f, 45.39705f, 0.0f, 112.49939f, 28.312098f, 0.0f, 118.49906f, 38.34807f, 0.0f,
+			93.60573f, 77.51081f, 0.0f, -1.0f, -1.0f, -4.0f, 84.62151f, 60.476776f, 0.0f,
+			-1.0f, -1.0f, -4.0f, 124.605545f, 61.412777f, 0.0f, 99.51708f, 62.35542f, 0.0f
+		},
+		{
+			90.878716f, 38.98581f, 0.0f, 53.84508f, 49.129883f, 0.0f, -1.0f, -1.0f, -4.0f,
+			67.881645f, 82.14578f, 0.0f, -1.0f, -1.0f, -4.0f, 115.912384f, 63.10171f, 0.0f,
+			49.900436f, 94.1041f, 0.0f, -1.0f, -1.0f, -4.0f, 34.77061f, 86.11197f, 0.0f,
+			131.82481f, 42.072857f, 0.0f, 46.80118f, 72.98787f, 0.0f, 76.85841f, 29.080162f, 0.0f,
+			98.91111f, 53.124718f, 0.0f, 77.85332f, 77.12083f, 0.0f, 86.86048f, 26.014053f, 0.0f,
+			48.853046f, 30.051302f, 0.0f, 114.93781f, 73.0876f, 0.0f, 131.84239f, 72.11143f, 0.0f,
+			-1.0f, -1.0f, -4.0f, 66.83271f, 45.11632f, 0.0f, -1.0f, -1.0f, -5.0f,
+			42.892124f, 46.094997f, 0.0f, 113.83622f, 29.014194f, 0.0f, 119.83486f, 39.00816f, 0.0f,
+			94.87088f, 78.177826f, 0.0f, -1.0f, -1.0f, -4.0f, 85.879425f, 61.145382f, 0.0f,
+			-1.0f, -1.0f, -4.0f, 125.89089f, 62.107796f, 0.0f, 100.882576f, 63.04045f, 0.0f
+		},
+		{
+			92.157005f, 39.675423f, 0.0f, 55.109623f, 49.813324f, 0.0f, -1.0f, -1.0f, -4.0f,
+			69.194046f, 82.87351f, 0.0f, -1.0f, -1.0f, -4.0f, 117.2256f, 63.823685f, 0.0f,
+			51.162445f, 94.77684f, 0.0f, -1.0f, -1.0f, -4.0f, 36.03597f, 86.766205f, 0.0f,
+			133.12163f, 42.73724f, 0.0f, 48.05485f, 73.62554f, 0.0f, 78.110214f, 29.770664f, 0.0f,
+			100.1785f, 53.78212f, 0.0f, 79.09645f, 77.80791f, 0.0f, 88.14371f, 26.684477f, 0.0f,
+			50.086597f, 30.785063f, 0.0f, 116.24792f, 73.75731f, 0.0f, 133.1446f, 72.78648f, 0.0f,
+			-1.0f, -1.0f, -4.0f, 68.12483f, 45.784008f, 0.0f, -1.0f, -1.0f, -5.0f,
+			44.17007f, 46.755013f, 0.0f, 115.037834f, 29.683651f, 0.0f, 121.09617f, 39.651314f, 0.0f,
+			96.19105f, 78.82881f, 0.0f, -1.0f, -1.0f, -4.0f, 87.1437f, 61.838017f, 0.0f,
+			-1.0f, -1.0f, -4.0f, 127.20676f, 62.806774f, 0.0f, 102.172676f, 63.762276f, 0.0f
+		}
+	};
+
+	private ThreadPoolExecutor pool;
+
+	/**
+	 * Create the pool
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Create a textured sequence that translates by a sub-pixel amount each
+	 * frame. The top-left corner is filled with fresh noise in every frame,
+	 * so features there are lost.
+	 */
+	static FImage[] createFrames() {
+		final Random rng = new Random(42);
+		final FImage base = new FImage(200, 160);
+		for (int y = 0; y < base.height; y++)
+			for (int x = 0; x < base.width; x++)
+				base.pixels[y][x] = rng.nextFloat();
+		base.processInplace(new FGaussianConvolve(2f));
+		base.normalise();
+
+		final FImage[] frames = new FImage[NFRAMES];
+		for (int t = 0; t < NFRAMES; t++) {
+			final FImage frame = new FImage(160, 120);
+			for (int y = 0; y < frame.height; y++) {
+				for (int x = 0; x < frame.width; x++) {
+					if (x < 40 && y < 30)
+						frame.pixels[y][x] = rng.nextFloat();
+					else
+						frame.pixels[y][x] = base.getPixelInterp(x + 20 - 1.3f * t, y + 20 - 0.7f * t);
+				}
+			}
+			frames[t] = frame;
+		}
+		return frames;
+	}
+
+	static float[] state(KLTTracker tracker) {
+		final Feature[] features = tracker.getFeatureList().features;
+		final float[] state = new float[features.length * 3];
+		for (int i = 0; i < features.length; i++) {
+			state[i * 3] = features[i].x;
+			state[i * 3 + 1] = features[i].y;
+			state[i * 3 + 2] = features[i].val;
+		}
+		return state;
+	}
+
+	/**
+	 * Track through the frames with {@link KLTTracker#trackFeatures(FImage, FImage)}
+	 */
+	static float[][] trackPairs(FImage[] frames, ThreadPoolExecutor pool) {
+		final KLTTracker tracker = new KLTTracker(NFEATURES);
+		if (pool != null)
+			tracker.setThreadPool(pool);
+
+		final float[][] states = new float[NFRAMES][];
+		tracker.selectGoodFeatures(frames[0]);
+		states[0] = state(tracker);
+		for (int t = 1; t < NFRAMES; t++) {
+			tracker.trackFeatures(frames[t - 1], frames[t]);
+			states[t] = state(tracker);
+		}
+		return states;
+	}
+
+	private void check(float[][] states) {
+		for (int t = 0; t < NFRAMES; t++)
+			assertArrayEquals("frame " + t, EXPECTED[t], states[t], 0f);
+	}
+
+	/**
+	 * Test sequential tracking against the recorded results
+	 */
+	@Test
+	public void testSequential() {
+		check(trackPairs(createFrames(), null));
+	}
+
+	/**
+	 * Test tracking with a pool against the recorded results
+	 */
+	@Test
+	public void testParallel() {
+		check(trackPairs(createFrames(), pool));
+	}
+
+	/**
+	 * Test that reusing the pyramids of the previous frame in sequential mode
+	 * gives the same results
+	 */
+	@Test
+	public void testSequentialMode() {
+		final FImage[] frames = createFrames();
+		final KLTTracker tracker = new KLTTracker(NFEATURES);
+		tracker.getTrackingContext().setSequentialMode(true);
+		tracker.setThreadPool(pool);
+
+		final float[][] states = new float[NFRAMES][];
+		tracker.selectGoodFeatures(frames[0]);
+		states[0] = state(tracker);
+		for (int t = 1; t < NFRAMES; t++) {
+			tracker.trackFeatures(frames[t - 1], frames[t]);
+			states[t] = state(tracker);
+		}
+		check(states);
+	}
+
+	/**
+	 * Test that tracking frame-by-frame gives the same results as tracking
+	 * pairs of frames
+	 */
+	@Test
+	public void testTrackFrames() {
+		final FImage[] frames = createFrames();
+
+		for (final ThreadPoolExecutor p : new ThreadPoolExecutor[] { null, pool }) {
+			final KLTTracker tracker = new KLTTracker(NFEATURES);
+			tracker.setThreadPool(p);
+
+			final float[][] states = new float[NFRAMES][];
+			tracker.selectGoodFeatures(frames[0]);
+			states[0] = state(tracker);
+			tracker.trackFeatures(frames[0]);
+			for (int t = 1; t < NFRAMES; t++) {
+				tracker.trackFeatures(frames[t]);
+				states[t] = state(tracker);
+			}
+			check(states);
+		}
+	}
+}
@@ -0,0 +1,303 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+/**
+ *
+ */
+package org.openimaj.video.processing.shotdetector;
+
+import java.util.Arrays;
+
+import org.openimaj.image.MBFImage;
+import org.openimaj.video.Video;
+
+/**
+ *	A fast colour histogram shot detector designed for processing many high
+ *	resolution streams at once. The frame is divided into a grid of cells and
+ *	a joint colour histogram is built for each cell in a single pass over the
+ *	frame, sampling only every <code>stride</code>th pixel in each direction.
+ *	The histogram buffers are allocated once and reused, so processing a frame
+ *	makes no allocations.
+ *	<p>
+ *	Each cell histogram is normalised to sum to one, so the inter-frame
+ *	distance (the mean over the cells of the Euclidean distance between the
+ *	cell histograms of consecutive frames) is independent of the frame size
+ *	and the sampling stride. The distance is in the range [0, sqrt(2)]; the
+ *	default threshold is 0.3.
+ *	<p>
+ *	With a single cell this is a faster, resolution-independent alternative to
+ *	the {@link HistogramVideoShotDetector}; with a grid it approximates the
+ *	{@link LocalHistogramVideoShotDetector} without per-cell image copies.
+ *
+ *	@author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class FastHistogramVideoShotDetector
+	extends VideoShotDetector<MBFImage>
+{
+	/** The number of grid elements in each direction */
+	private int nGridElements = 1;
+
+	/** The sampling stride in pixels */
+	private int stride = 4;
+
+	/** The number of bins per colour band */
+	private int nBins = 4;
+
+	/** The histograms of the current frame, one block of bins per cell */
+	private double[] histogram;
+
+	/** The histograms of the previous frame */
+	private double[] lastHistogram;
+
+	/** Whether the last histogram is valid */
+	private boolean haveLast = false;
+
+	/** Lookup of cell column for each sampled x coordinate */
+	private int[] cellX;
+
+	/** Lookup of cell row for each sampled y coordinate */
+	private int[] cellY;
+
+	/** The number of samples falling in each cell */
+	private int[] cellCounts;
+
+	/** The pixels of each band of the current frame */
+	private float[][][] bands;
+
+	/** The frame geometry that the lookup tables were built for */
+	private int width = -1, height = -1, nBands = -1;
+
+	/**
+	 * 	If you use this constructor, your timecodes will be messed up
+	 * 	unless you call {@link #setFPS(double)} before you process
+	 * 	any frames.
+	 */
+	public FastHistogramVideoShotDetector()
+	{
+		this.threshold = 0.3;
+	}
+
+	/**
+	 * 	Constructor that takes the frame rate of the source material.
+	 *	@param fps The FPS
+	 */
+	public FastHistogramVideoShotDetector( final double fps )
+	{
+		super( fps );
+		this.threshold = 0.3;
+	}
+
+	/**
+	 * 	Constructor that takes the frame rate of the source material, the grid
+	 * 	size and the sampling stride.
+	 *	@param fps The FPS
+	 * 	@param nGridElements The number of x and y grid elements
+	 *		(there will be this number squared in total)
+	 *	@param stride The sampling stride in pixels
+	 */
+	public FastHistogramVideoShotDetector( final double fps,
+			final int nGridElements, final int stride )
+	{
+		this( fps );
+		this.setGridElements( nGridElements );
+		this.setStride( stride );
+	}
+
+	/**
+	 *	Default constructor takes the video to process.
+	 *	@param video The video
+	 */
+	public FastHistogramVideoShotDetector( final Video<MBFImage> video )
+	{
+		super( video );
+		this.threshold = 0.3;
+	}
+
+	/**
+	 *	Constructor that takes the video to process, the grid size and the
+	 *	sampling stride.
+	 *	@param video The video
+	 * 	@param nGridElements The number of x and y grid elements
+	 *		(there will be this number squared in total)
+	 *	@param stride The sampling stride in pixels
+	 */
+	public FastHistogramVideoShotDetector( final Video<MBFImage> video,
+			final int nGridElements, final int stride )
+	{
+		this( video );
+		this.setGridElements( nGridElements );
+		this.setStride( stride );
+	}
+
+	/**
+	 * 	Set the number of grid elements in each direction. Changing the
+	 * 	grid resets the comparison with the previous frame.
+	 *	@param nGridElements The number of x and y grid elements
+	 */
+	public void setGridElements( final int nGridElements )
+	{
+		if( nGridElements < 1 )
+			throw new IllegalArgumentException( "nGridElements must be positive" );
+		this.nGridElements = nGridElements;
+		this.width = -1;
+	}
+
+	/**
+	 * 	Set the sampling stride. A stride of 1 samples every pixel; a stride
+	 * 	of 4 samples one pixel in every 4x4 block. Changing the stride resets
+	 * 	the comparison with the previous frame.
+	 *	@param stride The sampling stride in pixels
+	 */
+	public void setStride( final int stride )
+	{
+		if( stride < 1 )
+			throw new IllegalArgumentException( "stride must be positive" );
+		this.stride = stride;
+		this.width = -1;
+	}
+
+	/**
+	 * 	Set the number of histogram bins per colour band. Changing the
+	 * 	number of bins resets the comparison with the previous frame.
+	 *	@param nBins The number of bins per band
+	 */
+	public void setBinsPerBand( final int nBins )
+	{
+		if( nBins < 1 )
+			throw new IllegalArgumentException( "nBins must be positive" );
+		this.nBins = nBins;
+		this.width = -1;
+	}
+
+	/**
+	 * 	Build the lookup tables and histogram buffers for the given frame
+	 * 	geometry.
+	 */
+	private void setup( final MBFImage frame )
+	{
+		this.width = frame.getWidth();
+		this.height = frame.getHeight();
+		this.nBands = frame.numBands();
+		this.bands = new float[this.nBands][][];
+
+		final int gw = Math.max( 1, this.width / this.nGridElements );
+		final int gh = Math.max( 1, this.height / this.nGridElements );
+
+		this.cellX = new int[(this.width + this.stride - 1) / this.stride];
+		for( int i = 0; i < this.cellX.length; i++ )
+			this.cellX[i] = Math.min( i * this.stride / gw, this.nGridElements - 1 );
+
+		this.cellY = new int[(this.height + this.stride - 1) / this.stride];
+		for( int i = 0; i < this.cellY.length; i++ )
+			this.cellY[i] = Math.min( i * this.stride / gh, this.nGridElements - 1 );
+
+		int binsPerCell = 1;
+		for( int i = 0; i < this.nBands; i++ )
+			binsPerCell *= this.nBins;
+
+		final int nCells = this.nGridElements * this.nGridElements;
+		this.histogram = new double[nCells * binsPerCell];
+		this.lastHistogram = new double[nCells * binsPerCell];
+		this.cellCounts = new int[nCells];
+		this.haveLast = false;
+	}
+
+	/**
+	 *	{@inheritDoc}
+	 * 	@see org.openimaj.video.processing.shotdetector.VideoShotDetector#getInterframeDistance(org.openimaj.image.Image)
+	 */
+	@Override
+	protected double getInterframeDistance( final MBFImage frame )
+	{
+		if( frame.getWidth() != this.width || frame.getHeight() != this.height
+				|| frame.numBands() != this.nBands )
+			this.setup( frame );
+
+		final double[] hist = this.histogram;
+		final int[] counts = this.cellCounts;
+		Arrays.fill( hist, 0 );
+		Arrays.fill( counts, 0 );
+
+		final int binsPerCell = hist.length / counts.length;
+		final float[][][] bands = this.bands;
+		for( int b = 0; b < this.nBands; b++ )
+			bands[b] = frame.getBand( b ).pixels;
+
+		final int nb = this.nBins;
+		for( int yi = 0; yi < this.cellY.length; yi++ )
+		{
+			final int y = yi * this.stride;
+			final int rowCell = this.cellY[yi] * this.nGridElements;
+
+			for( int xi = 0; xi < this.cellX.length; xi++ )
+			{
+				final int x = xi * this.stride;
+
+				int bin = 0;
+				for( int b = this.nBands - 1; b >= 0; b-- )
+				{
+					int v = (int) (bands[b][y][x] * nb);
+					if( v >= nb ) v = nb - 1;
+					else if( v < 0 ) v = 0;
+					bin = bin * nb + v;
+				}
+
+				final int cell = rowCell + this.cellX[xi];
+				hist[cell * binsPerCell + bin]++;
+				counts[cell]++;
+			}
+		}
+
+		// Normalise each cell and compare against the previous frame
+		double dist = 0;
+		for( int c = 0; c < counts.length; c++ )
+		{
+			final double norm = counts[c] == 0 ? 0 : 1.0 / counts[c];
+			double cellDist = 0;
+			for( int i = c * binsPerCell, e = i + binsPerCell; i < e; i++ )
+			{
+				hist[i] *= norm;
+				final double d = hist[i] - this.lastHistogram[i];
+				cellDist += d * d;
+			}
+			dist += Math.sqrt( cellDist );
+		}
+		dist /= counts.length;
+
+		if( !this.haveLast )
+			dist = 0;
+
+		// Swap the buffers
+		this.histogram = this.lastHistogram;
+		this.lastHistogram = hist;
+		this.haveLast = true;
+
+		return dist;
+	}
+}
@@ -32,10 +32,11 @@
  */
 package org.openimaj.video.processing.shotdetector;
 
+import java.util.Arrays;
+
 import org.openimaj.feature.DoubleFVComparison;
+import org.openimaj.image.FImage;
 import org.openimaj.image.MBFImage;
-import org.openimaj.image.analysis.algorithm.histogram.HistogramAnalyser;
-import org.openimaj.math.statistics.distribution.Histogram;
 import org.openimaj.video.Video;
 
 /**
@@ -58,8 +59,14 @@ import org.openimaj.video.Video;
 public class HistogramVideoShotDetector
 	extends VideoShotDetector<MBFImage>
 {
+	/** The number of histogram bins */
+	private static final int NBINS = 64;
+
+	/** The current frame's histogram */
+	private double[] histogram = new double[NBINS];
+
 	/** The previous frame's histogram */
-	private Histogram lastHistogram;
+	private double[] lastHistogram = null;
 
 	/**
 	 * 	If you use this constructor, your timecodes will be messed up
@@ -112,18 +119,33 @@ public class HistogramVideoShotDetector
 	@Override
 	protected double getInterframeDistance( final MBFImage frame )
 	{
-		// Get the histogram for the frame.
-		final HistogramAnalyser hp = new HistogramAnalyser( 64 );
-		if( frame instanceof MBFImage )
-			hp.analyseImage( frame.getBand(0) );
-		final Histogram newHisto = hp.getHistogram();
+		// Get the histogram for the frame, reusing the buffer from two
+		// frames ago.
+		final double[] newHisto = this.histogram;
+		Arrays.fill( newHisto, 0 );
+
+		final FImage band = frame.getBand( 0 );
+		for( int r = 0; r < band.height; r++ )
+		{
+			final float[] row = band.pixels[r];
+			for( int c = 0; c < band.width; c++ )
+			{
+				int bin = (int) (row[c] * NBINS);
+				if( bin > NBINS - 1 )
+					bin = NBINS - 1;
+				newHisto[bin]++;
+			}
+		}
 
 		double dist = 0;
 
 		// If we have a last histogram, compare against it.
 		if( this.lastHistogram != null )
-			dist = newHisto.compare( this.lastHistogram, DoubleFVComparison.EUCLIDEAN );
+			dist = DoubleFVComparison.EUCLIDEAN.compare( newHisto, this.lastHistogram );
+		else
+			this.lastHistogram = new double[NBINS];
 
+		this.histogram = this.lastHistogram;
 		this.lastHistogram = newHisto;
 
 		return dist;
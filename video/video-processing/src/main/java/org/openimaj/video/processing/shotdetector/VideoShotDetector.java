@@ -44,6 +44,8 @@ import org.openimaj.video.Video;
 import org.openimaj.video.VideoDisplay;
 import org.openimaj.video.VideoDisplay.EndAction;
 import org.openimaj.video.VideoDisplayListener;
+import org.openimaj.video.processor.SegmentableVideoAnalyser;
+import org.openimaj.video.processor.SegmentedVideoProcessor;
 import org.openimaj.video.processor.VideoProcessor;
 import org.openimaj.video.timecode.HrsMinSecFrameTimecode;
 import org.openimaj.video.timecode.VideoTimecode;
@@ -62,6 +64,11 @@ import org.openimaj.video.timecode.VideoTimecode;
  * 	ShotDetected event which provides a VideoKeyframe which has a timecode
  * 	and an image. Each event will receive the same VideoKeyframe instance
  * 	containing different information. Use VideoKeyframe#clone() to make a copy.
+ * 	<p>
+ * 	Shot detectors can also be run concurrently over segments of a video
+ * 	using a {@link SegmentedVideoProcessor}; a warm-up overlap of a single
+ * 	frame is sufficient to restore the inter-frame state at the start of
+ * 	each segment.
  *
  *  @author David Dupplaw (dpd@ecs.soton.ac.uk)
  * 	@param <I> The type of image
@@ -69,7 +76,7 @@ import org.openimaj.video.timecode.VideoTimecode;
  */
 public abstract class VideoShotDetector<I extends Image<?,I>>
 	extends VideoProcessor<I>
-	implements VideoDisplayListener<I>
+	implements VideoDisplayListener<I>, SegmentableVideoAnalyser<I, List<ShotBoundary<I>>>
 {
 	/** The current keyframe */
 	private VideoKeyframe<I> currentKeyframe = null;
@@ -447,6 +454,97 @@ public abstract class VideoShotDetector<I extends Image<?,I>>
 		return frame;
     }
 
+	/**
+	 *  {@inheritDoc}
+	 *  <p>
+	 *  A start shot boundary is only generated if the segment starts at the
+	 *  beginning of the video.
+	 *  @see org.openimaj.video.processor.SegmentableVideoAnalyser#beginSegment(int)
+	 */
+	@Override
+	public void beginSegment( final int startFrame )
+	{
+		this.frameCounter = startFrame;
+		this.firstFrame = startFrame == 0;
+		this.needFire = false;
+		this.lastFrameWasBoundary = false;
+		this.shotBoundaries.clear();
+		this.differentials.clear();
+	}
+
+	/**
+	 *  {@inheritDoc}
+	 *  @see org.openimaj.video.processor.SegmentableVideoAnalyser#warmUp(org.openimaj.image.Image)
+	 */
+	@Override
+	public void warmUp( final I frame )
+	{
+		if( frame != null )
+			this.getInterframeDistance( frame );
+	}
+
+	/**
+	 *  {@inheritDoc}
+	 *  @see org.openimaj.video.processor.SegmentableVideoAnalyser#analyseFrame(org.openimaj.image.Image)
+	 */
+	@Override
+	public void analyseFrame( final I frame )
+	{
+		this.processFrame( frame );
+	}
+
+	/**
+	 *  {@inheritDoc}
+	 *  @see org.openimaj.video.processor.SegmentableVideoAnalyser#endSegment()
+	 */
+	@Override
+	public List<ShotBoundary<I>> endSegment()
+	{
+		return new ArrayList<ShotBoundary<I>>( this.shotBoundaries );
+	}
+
+	/**
+	 * 	{@inheritDoc}
+	 * 	<p>
+	 * 	Boundaries at the start of the later segment that begin within a few
+	 * 	frames of the last boundary of the earlier segment are merged into
+	 * 	a fade, as they would have been during sequential processing. The
+	 * 	keyframe of a merged fade is taken from the later boundary.
+	 *  @see org.openimaj.video.processor.SegmentableVideoAnalyser#stitch(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public List<ShotBoundary<I>> stitch( final List<ShotBoundary<I>> earlier,
+			final List<ShotBoundary<I>> later )
+	{
+		for( final ShotBoundary<I> b : later )
+		{
+			final ShotBoundary<I> sb = earlier.size() == 0 ? null :
+				earlier.get( earlier.size()-1 );
+
+			// A fade is compared using the frame it starts at; its end
+			// timecode becomes the end of the merged fade.
+			final VideoTimecode start = b instanceof FadeShotBoundary ?
+					((FadeShotBoundary<I>)b).getStartTimecode() : b.getTimecode();
+
+			if( sb != null && start.getFrameNumber() -
+					sb.getTimecode().getFrameNumber() < 4 )
+			{
+				if( sb instanceof FadeShotBoundary )
+					((FadeShotBoundary<I>)sb).setEndTimecode( b.getTimecode() );
+				else
+				{
+					final FadeShotBoundary<I> fsb = new FadeShotBoundary<I>( sb );
+					fsb.setEndTimecode( b.getTimecode() );
+					fsb.keyframe = b.keyframe;
+					earlier.set( earlier.size()-1, fsb );
+				}
+			}
+			else earlier.add( b );
+		}
+
+		return earlier;
+	}
+
 	/**
 	 * 	Fire the event to the listeners that a new shot has been detected.
 	 *  @param sb The shot boundary defintion
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.video.processing.shotdetector;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.openimaj.feature.DoubleFVComparison;
+import org.openimaj.image.FImage;
+import org.openimaj.image.MBFImage;
+import org.openimaj.image.analysis.algorithm.histogram.HistogramAnalyser;
+import org.openimaj.image.colour.ColourSpace;
+import org.openimaj.math.statistics.distribution.Histogram;
+
+/**
+ * Tests for {@link FastHistogramVideoShotDetector} and the buffer-reusing
+ * {@link HistogramVideoShotDetector}.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class FastHistogramVideoShotDetectorTest {
+	private static MBFImage[] createFrames(int nFrames, int width, int height, int nBands, boolean clip, long seed) {
+		final Random rng = new Random(seed);
+		final MBFImage[] frames = new MBFImage[nFrames];
+
+		for (int i = 0; i < nFrames; i++) {
+			final FImage[] bands = new FImage[nBands];
+			for (int b = 0; b < nBands; b++) {
+				bands[b] = new FImage(width, height);
+
+				// a smooth gradient that changes over time plus noise, with
+				// occasional values outside [0, 1] if not clipped
+				final float offset = rng.nextFloat();
+				for (int y = 0; y < height; y++)
+					for (int x = 0; x < width; x++)
+						bands[b].pixels[y][x] = (offset + (float) x / width + 0.2f * (float) rng.nextGaussian()) / 2;
+
+				if (clip)
+					bands[b].clip(0f, 1f);
+			}
+			frames[i] = nBands == 3 ? new MBFImage(ColourSpace.RGB, bands) : new MBFImage(bands);
+		}
+
+		return frames;
+	}
+
+	/**
+	 * The distances of the {@link HistogramVideoShotDetector} should be
+	 * unchanged from those computed with a new {@link HistogramAnalyser} for
+	 * every frame.
+	 */
+	@Test
+	public void testHistogramDetectorUnchanged() {
+		final MBFImage[] frames = createFrames(10, 67, 43, 3, true, 1);
+		final HistogramVideoShotDetector detector = new HistogramVideoShotDetector(25);
+
+		Histogram last = null;
+		for (final MBFImage frame : frames) {
+			final HistogramAnalyser hp = new HistogramAnalyser(64);
+			hp.analyseImage(frame.getBand(0));
+			final Histogram hist = hp.getHistogram();
+			final double expected = last == null ? 0 : hist.compare(last, DoubleFVComparison.EUCLIDEAN);
+			last = hist;
+
+			assertEquals(expected, detector.getInterframeDistance(frame), 1e-9 * Math.max(1, expected));
+		}
+	}
+
+	/**
+	 * With a single cell, a stride of 1 and a single band the fast detector
+	 * should give the distances of the {@link HistogramVideoShotDetector}
+	 * normalised by the number of pixels.
+	 */
+	@Test
+	public void testSingleCellMatchesHistogramDetector() {
+		final MBFImage[] frames = createFrames(10, 67, 43, 1, true, 2);
+		final HistogramVideoShotDetector reference = new HistogramVideoShotDetector(25);
+		final FastHistogramVideoShotDetector fast = new FastHistogramVideoShotDetector(25, 1, 1);
+		fast.setBinsPerBand(64);
+
+		for (final MBFImage frame : frames) {
+			final double expected = reference.getInterframeDistance(frame) / (67 * 43);
+			assertEquals(expected, fast.getInterframeDistance(frame), 1e-9);
+		}
+	}
+
+	/**
+	 * Compare the fast detector against a brute-force computation of the
+	 * per-cell joint colour histograms for a range of grid sizes, strides and
+	 * bin counts, with frame sizes that aren't multiples of either.
+	 */
+	@Test
+	public void testMatchesBruteForce() {
+		final MBFImage[] frames = createFrames(6, 101, 59, 3, false, 3);
+
+		for (final int grid : new int[] { 1, 3, 4 }) {
+			for (final int stride : new int[] { 1, 3, 4 }) {
+				for (final int bins : new int[] { 2, 4 }) {
+					final FastHistogramVideoShotDetector fast = new FastHistogramVideoShotDetector(25, grid, stride);
+					fast.setBinsPerBand(bins);
+
+					double[][] last = null;
+					for (final MBFImage frame : frames) {
+						final double[][] hist = bruteForceHistograms(frame, grid, stride, bins);
+						final double expected = last == null ? 0 : distance(hist, last);
+						last = hist;
+
+						assertEquals("grid=" + grid + " stride=" + stride + " bins=" + bins, expected,
+								fast.getInterframeDistance(frame), 1e-9);
+					}
+				}
+			}
+		}
+	}
+
+	private static double[][] bruteForceHistograms(MBFImage frame, int grid, int stride, int bins) {
+		final int width = frame.getWidth();
+		final int height = frame.getHeight();
+		final int gw = Math.max(1, width / grid);
+		final int gh = Math.max(1, height / grid);
+		final int nBands = frame.numBands();
+
+		final double[][] hists = new double[grid * grid][(int) Math.pow(bins, nBands)];
+		for (int cy = 0; cy < grid; cy++) {
+			for (int cx = 0; cx < grid; cx++) {
+				final double[] hist = hists[cy * grid + cx];
+				final int x0 = cx * gw, x1 = cx == grid - 1 ? width : x0 + gw;
+				final int y0 = cy * gh, y1 = cy == grid - 1 ? height : y0 + gh;
+
+				int count = 0;
+				for (int y = y0; y < y1; y++) {
+					for (int x = x0; x < x1; x++) {
+						if (x % stride != 0 || y % stride != 0)
+							continue;
+
+						int bin = 0;
+						int scale = 1;
+						for (int b = 0; b < nBands; b++) {
+							final int v = Math.max(0, Math.min(bins - 1, (int) (frame.getBand(b).pixels[y][x] * bins)));
+							bin += v * scale;
+							scale *= bins;
+						}
+						hist[bin]++;
+						count++;
+					}
+				}
+
+				for (int i = 0; i < hist.length; i++)
+					hist[i] = count == 0 ? 0 : hist[i] / count;
+			}
+		}
+
+		return hists;
+	}
+
+	private static double distance(double[][] h1, double[][] h2) {
+		double dist = 0;
+		for (int c = 0; c < h1.length; c++)
+			dist += DoubleFVComparison.EUCLIDEAN.compare(h1[c], h2[c]);
+		return dist / h1.length;
+	}
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.video.processing.shotdetector;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openimaj.image.MBFImage;
+import org.openimaj.image.colour.ColourSpace;
+import org.openimaj.video.ArrayBackedVideo;
+import org.openimaj.video.Video;
+import org.openimaj.video.processor.SegmentableVideoAnalyser;
+import org.openimaj.video.processor.SegmentedVideoProcessor;
+
+/**
+ * Tests for {@link VideoShotDetector}s run over segments of a video.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ */
+public class VideoShotDetectorTest {
+	private static final double FPS = 25;
+
+	private ThreadPoolExecutor pool;
+	private MBFImage[] frames;
+
+	/**
+	 * Create the pool and a video with cuts at frames 10 and 32, and a fade
+	 * from frame 18 to frame 23.
+	 */
+	@Before
+	public void setup() {
+		pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+		final float[] fade = { 0.6f, 0.7f, 0.8f, 0.9f, 0.3f, 0.2f };
+		frames = new MBFImage[40];
+		for (int i = 0; i < frames.length; i++) {
+			final float level;
+			if (i < 10)
+				level = 0.1f;
+			else if (i < 18)
+				level = 0.5f;
+			else if (i < 24)
+				level = fade[i - 18];
+			else if (i < 32)
+				level = 0.2f;
+			else
+				level = 0.95f;
+
+			frames[i] = new MBFImage(20, 20, ColourSpace.RGB);
+			frames[i].fill(new Float[] { level, level, level });
+		}
+	}
+
+	/**
+	 * Shutdown the pool
+	 */
+	@After
+	public void teardown() {
+		pool.shutdownNow();
+	}
+
+	private static HistogramVideoShotDetector createDetector() {
+		final HistogramVideoShotDetector detector = new HistogramVideoShotDetector(FPS);
+		detector.setThreshold(100);
+		return detector;
+	}
+
+	private static List<String> describe(List<ShotBoundary<MBFImage>> boundaries) {
+		final List<String> desc = new ArrayList<String>();
+		for (final ShotBoundary<MBFImage> sb : boundaries) {
+			if (sb instanceof FadeShotBoundary)
+				desc.add("fade " + ((FadeShotBoundary<MBFImage>) sb).getStartTimecode().getFrameNumber() + "-"
+						+ ((FadeShotBoundary<MBFImage>) sb).getEndTimecode().getFrameNumber());
+			else
+				desc.add("cut " + sb.getTimecode().getFrameNumber());
+		}
+		return desc;
+	}
+
+	private List<String> sequential() {
+		final HistogramVideoShotDetector detector = createDetector();
+		for (final MBFImage frame : frames)
+			detector.processFrame(frame);
+
+		return describe(detector.getShotBoundaries());
+	}
+
+	private List<String> segmented(int numSegments) {
+		return describe(new SegmentedVideoProcessor<MBFImage, List<ShotBoundary<MBFImage>>>(numSegments, 1, pool) {
+			@Override
+			protected Video<MBFImage> createVideo() {
+				// an ArrayBackedVideo repeats its last frame rather than
+				// ending, so stop after the last frame
+				return new ArrayBackedVideo<MBFImage>(frames, FPS, false) {
+					private int read = 0;
+
+					@Override
+					public synchronized MBFImage getNextFrame() {
+						return read++ < frames.length ? super.getNextFrame() : null;
+					}
+				};
+			}
+
+			@Override
+			protected SegmentableVideoAnalyser<MBFImage, List<ShotBoundary<MBFImage>>> createAnalyser() {
+				return createDetector();
+			}
+		}.process());
+	}
+
+	/**
+	 * Check the boundaries found by sequential processing
+	 */
+	@Test
+	public void testSequential() {
+		assertEquals(Arrays.asList("cut 0", "cut 10", "fade 18-23", "cut 32"), sequential());
+	}
+
+	/**
+	 * Test that segmented processing gives the same boundaries as sequential
+	 * processing, including when a segment boundary falls within the fade
+	 * (e.g. frame 20 with two segments) or on a cut (e.g. frame 10 with four
+	 * segments).
+	 */
+	@Test
+	public void testSegmentedMatchesSequential() {
+		final List<String> expected = sequential();
+
+		for (int n = 1; n <= 10; n++)
+			assertEquals("segments: " + n, expected, segmented(n));
+	}
+}
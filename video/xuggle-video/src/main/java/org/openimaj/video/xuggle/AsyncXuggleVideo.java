@@ -0,0 +1,340 @@
+/**
+ * Copyright (c) 2026, The University of Southampton and the individual contributors.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   * 	Redistributions of source code must retain the above copyright notice,
+ * 	this list of conditions and the following disclaimer.
+ *
+ *   *	Redistributions in binary form must reproduce the above copyright notice,
+ * 	this list of conditions and the following disclaimer in the documentation
+ * 	and/or other materials provided with the distribution.
+ *
+ *   *	Neither the name of the University of Southampton nor the names of its
+ * 	contributors may be used to endorse or promote products derived from this
+ * 	software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openimaj.video.xuggle;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openimaj.image.FImage;
+import org.openimaj.image.Image;
+import org.openimaj.image.MBFImage;
+import org.openimaj.image.colour.ColourSpace;
+import org.openimaj.video.Video;
+
+/**
+ * A {@link Video} that decodes the frames of a {@link XuggleVideo} on a
+ * background thread, so that decoding overlaps with the processing of the
+ * frames by the consumer. Decoded frames are passed to the consumer through a
+ * bounded queue, and are drawn from a fixed-size pool of reusable buffers
+ * rather than being allocated afresh for each frame.
+ * <p>
+ * A frame returned by {@link #getNextFrame()} is returned to the pool when the
+ * next frame is requested, so consumers must not hold on to frames (they
+ * should {@link Image#clone()} any frame that they need to keep). This is the
+ * same contract as {@link XuggleVideo}, which always decodes into the same
+ * buffer.
+ * <p>
+ * Frames can either be decoded in colour (as {@link MBFImage}s) or in
+ * greyscale (as {@link FImage}s); in the latter case the colour planes are
+ * never created. Use {@link #colour(XuggleVideo, int)} or
+ * {@link #greyscale(XuggleVideo, int)} to construct instances.
+ *
+ * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
+ *
+ * @param <IMAGE>
+ *            the type of frame
+ */
+public class AsyncXuggleVideo<IMAGE extends Image<?, IMAGE>> extends Video<IMAGE> {
+	private static class DecodedFrame<IMAGE> {
+		final IMAGE image;
+		final long timestamp;
+		final int index;
+
+		DecodedFrame(IMAGE image, long timestamp, int index) {
+			this.image = image;
+			this.timestamp = timestamp;
+			this.index = index;
+		}
+	}
+
+	private final XuggleVideo video;
+	private final IMAGE prototype;
+	private final int poolSize;
+	private final BlockingQueue<IMAGE> free;
+	private final BlockingQueue<DecodedFrame<IMAGE>> ready;
+	private final DecodedFrame<IMAGE> end = new DecodedFrame<IMAGE>(null, 0, 0);
+
+	private final AtomicInteger allocated = new AtomicInteger();
+	private Thread decoder;
+	private volatile boolean running;
+
+	private DecodedFrame<IMAGE> current;
+	private DecodedFrame<IMAGE> peeked;
+
+	/**
+	 * Construct with the given video and a prototype image that determines the
+	 * type of frames that are decoded.
+	 *
+	 * @param video
+	 *            the video to decode
+	 * @param prototype
+	 *            the prototype image; must be an {@link FImage} or RGB
+	 *            {@link MBFImage}. New frame buffers are created with
+	 *            {@link Image#newInstance(int, int)}.
+	 * @param queueSize
+	 *            the maximum number of decoded frames waiting to be consumed
+	 */
+	protected AsyncXuggleVideo(XuggleVideo video, IMAGE prototype, int queueSize) {
+		if (queueSize < 1)
+			throw new IllegalArgumentException("Queue size must be at least 1");
+
+		this.video = video;
+		this.prototype = prototype;
+
+		// one buffer held by the consumer, one being decoded
+		this.poolSize = queueSize + 2;
+		this.free = new ArrayBlockingQueue<IMAGE>(poolSize);
+		this.ready = new ArrayBlockingQueue<DecodedFrame<IMAGE>>(queueSize + 1);
+	}
+
+	/**
+	 * Create an {@link AsyncXuggleVideo} that decodes colour frames.
+	 *
+	 * @param video
+	 *            the video to decode
+	 * @param queueSize
+	 *            the maximum number of decoded frames waiting to be consumed
+	 * @return the asynchronous video
+	 */
+	public static AsyncXuggleVideo<MBFImage> colour(XuggleVideo video, int queueSize) {
+		return new AsyncXuggleVideo<MBFImage>(video, new MBFImage(1, 1, ColourSpace.RGB), queueSize);
+	}
+
+	/**
+	 * Create an {@link AsyncXuggleVideo} that decodes the intensity of each
+	 * frame into an {@link FImage}, without creating the colour planes.
+	 *
+	 * @param video
+	 *            the video to decode
+	 * @param queueSize
+	 *            the maximum number of decoded frames waiting to be consumed
+	 * @return the asynchronous video
+	 */
+	public static AsyncXuggleVideo<FImage> greyscale(XuggleVideo video, int queueSize) {
+		return new AsyncXuggleVideo<FImage>(video, new FImage(1, 1), queueSize);
+	}
+
+	private IMAGE acquire() throws InterruptedException {
+		IMAGE img = free.poll();
+
+		if (img == null) {
+			if (allocated.getAndIncrement() < poolSize)
+				return prototype.newInstance(video.getWidth(), video.getHeight());
+
+			img = free.take();
+		}
+
+		return img;
+	}
+
+	private void recycle(DecodedFrame<IMAGE> frame) {
+		if (frame != null && frame.image != null)
+			free.offer(frame.image);
+	}
+
+	private synchronized void startDecoder() {
+		if (decoder != null)
+			return;
+
+		running = true;
+		decoder = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					while (running) {
+						final IMAGE img = acquire();
+
+						if (!running || !video.readFrameInto(img)) {
+							free.offer(img);
+							break;
+						}
+
+						ready.put(new DecodedFrame<IMAGE>(img, video.getTimeStamp(), video.getCurrentFrameIndex()));
+					}
+
+					if (running)
+						ready.put(end);
+				} catch (final InterruptedException e) {
+					// stopped
+				}
+			}
+		}, "AsyncXuggleVideo");
+		decoder.setDaemon(true);
+		decoder.start();
+	}
+
+	private synchronized void stopDecoder() {
+		if (decoder == null)
+			return;
+
+		running = false;
+		decoder.interrupt();
+		try {
+			decoder.join();
+		} catch (final InterruptedException e) {
+			// ignore
+		}
+		decoder = null;
+
+		recycle(peeked);
+		peeked = null;
+
+		DecodedFrame<IMAGE> f;
+		while ((f = ready.poll()) != null)
+			recycle(f);
+	}
+
+	private DecodedFrame<IMAGE> takeFrame() {
+		if (peeked != null) {
+			final DecodedFrame<IMAGE> f = peeked;
+			peeked = null;
+			return f;
+		}
+
+		startDecoder();
+		try {
+			return ready.take();
+		} catch (final InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public synchronized IMAGE getNextFrame() {
+		final DecodedFrame<IMAGE> next = takeFrame();
+
+		if (next == end) {
+			// leave the end marker in place for subsequent calls
+			peeked = end;
+			return null;
+		}
+
+		recycle(current);
+		current = next;
+		currentFrame = next.index;
+
+		return current.image;
+	}
+
+	@Override
+	public synchronized IMAGE getCurrentFrame() {
+		if (current == null)
+			return getNextFrame();
+
+		return current.image;
+	}
+
+	@Override
+	public synchronized boolean hasNextFrame() {
+		if (peeked == null)
+			peeked = takeFrame();
+
+		return peeked != end;
+	}
+
+	@Override
+	public int getWidth() {
+		return video.getWidth();
+	}
+
+	@Override
+	public int getHeight() {
+		return video.getHeight();
+	}
+
+	@Override
+	public synchronized long getTimeStamp() {
+		return current == null ? 0 : current.timestamp;
+	}
+
+	@Override
+	public double getFPS() {
+		return video.getFPS();
+	}
+
+	@Override
+	public long countFrames() {
+		return video.countFrames();
+	}
+
+	@Override
+	public synchronized int getCurrentFrameIndex() {
+		return currentFrame;
+	}
+
+	@Override
+	public synchronized void setCurrentFrameIndex(long newFrame) {
+		seek(newFrame / getFPS());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The background decoder is stopped whilst the underlying video seeks, and
+	 * any frames that had already been decoded are discarded.
+	 */
+	@Override
+	public synchronized void seek(double timestamp) {
+		stopDecoder();
+		video.seek(timestamp);
+
+		// XuggleVideo leaves the frame at the seek position in its own buffer
+		final MBFImage frame = video.getCurrentFrame();
+		recycle(current);
+		current = null;
+
+		if (frame != null) {
+			try {
+				final IMAGE img = acquire();
+				XuggleVideo.copyFrame(frame, img);
+				current = new DecodedFrame<IMAGE>(img, video.getTimeStamp(), video.getCurrentFrameIndex());
+				currentFrame = current.index;
+			} catch (final InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void reset() {
+		stopDecoder();
+		recycle(current);
+		current = null;
+		currentFrame = 0;
+		video.reset();
+	}
+
+	@Override
+	public synchronized void close() {
+		stopDecoder();
+		video.close();
+	}
+}
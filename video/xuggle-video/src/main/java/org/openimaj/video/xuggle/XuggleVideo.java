@@ -43,6 +43,8 @@ import java.net.URL;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.log4j.Logger;
+import org.openimaj.image.FImage;
+import org.openimaj.image.Image;
 import org.openimaj.image.ImageUtilities;
 import org.openimaj.image.MBFImage;
 import org.openimaj.image.colour.ColourSpace;
@@ -90,6 +92,12 @@ import com.xuggle.xuggler.video.ConverterFactory;
  * contrast to setting the {@link VideoDisplay} end action (using
  * {@link VideoDisplay#setEndAction(org.openimaj.video.VideoDisplay.EndAction)}
  * where the looping will reset all timestamps when the video loops.
+ * <p>
+ * Frames can also be decoded directly into a buffer provided by the caller
+ * using {@link #readFrameInto(Image)}. Decoding into an {@link FImage} fills
+ * the image with the intensity of the frame without creating the colour
+ * planes. {@link AsyncXuggleVideo} uses this to decode frames on a background
+ * thread into a pool of reusable buffers.
  *
  * @author David Dupplaw (dpd@ecs.soton.ac.uk)
  * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
@@ -158,6 +166,12 @@ public class XuggleVideo extends Video<MBFImage> {
 	/** Whether the next frame is a key frame or not */
 	public boolean nextFrameIsKeyFrame = false;
 
+	/**
+	 * The image that {@link #readFrameInto(Image)} is currently decoding into
+	 * (if null frames are decoded into the internal frame buffer)
+	 */
+	private Image<?, ?> decodeTarget = null;
+
 	/**
 	 * This implements the Xuggle MediaTool listener that will be called every
 	 * time a video picture has been decoded from the stream. This class creates
@@ -180,7 +194,11 @@ public class XuggleVideo extends Video<MBFImage> {
 		public void onVideoPicture(final IVideoPictureEvent event) {
 			// event.getPicture().getTimeStamp();
 			if (event.getStreamIndex() == XuggleVideo.this.streamIndex) {
-				XuggleVideo.this.currentMBFImage = ((MBFImageWrapper) event.getImage()).img;
+				final MBFImageWrapper wrapper = (MBFImageWrapper) event.getImage();
+				if (XuggleVideo.this.decodeTarget != null)
+					wrapper.decodeInto(XuggleVideo.this.decodeTarget);
+				else
+					XuggleVideo.this.currentMBFImage = wrapper.decode();
 				XuggleVideo.this.currentFrameIsKeyFrame = event.getMediaData().isKeyFrame();
 				XuggleVideo.this.timestamp = (long) ((event.getPicture().getTimeStamp()
 						* event.getPicture().getTimeBase().getDouble()) * 1000)
@@ -191,7 +209,10 @@ public class XuggleVideo extends Video<MBFImage> {
 	}
 
 	/**
-	 * Wrapper that created an MBFImage from a BufferedImage.
+	 * Wrapper that created an MBFImage from a BufferedImage. The wrapper holds
+	 * the raw BGR bytes of the picture, which are converted when the frame is
+	 * consumed, either into the wrapper's own {@link MBFImage} or into an
+	 * image provided by the caller.
 	 *
 	 * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
 	 *
@@ -199,15 +220,71 @@ public class XuggleVideo extends Video<MBFImage> {
 	 */
 	protected static final class MBFImageWrapper extends BufferedImage {
 		MBFImage img;
+		byte[] buffer;
+		int pictureWidth;
+		int pictureHeight;
 
 		public MBFImageWrapper(final MBFImage img) {
 			super(1, 1, BufferedImage.TYPE_INT_RGB);
 			this.img = img;
 		}
+
+		/**
+		 * Convert the picture into the wrapper's own frame buffer.
+		 *
+		 * @return the frame buffer
+		 */
+		MBFImage decode() {
+			if (this.img == null)
+				this.img = new MBFImage(this.pictureWidth, this.pictureHeight, ColourSpace.RGB);
+
+			this.decodeInto(this.img);
+			return this.img;
+		}
+
+		/**
+		 * Convert the picture into the given image. An {@link FImage} target
+		 * receives the intensity of the picture.
+		 *
+		 * @param target
+		 *            the target image
+		 */
+		void decodeInto(final Image<?, ?> target) {
+			final int w = this.pictureWidth;
+			final int h = this.pictureHeight;
+
+			if (target instanceof FImage) {
+				final float[][] pix = ((FImage) target).pixels;
+				for (int y = 0, i = 0; y < h; y++) {
+					for (int x = 0; x < w; x++, i += 3) {
+						pix[y][x] = 0.299f * ImageUtilities.BYTE_TO_FLOAT_LUT[(this.buffer[i + 2] & 0xFF)] +
+								0.587f * ImageUtilities.BYTE_TO_FLOAT_LUT[(this.buffer[i + 1] & 0xFF)] +
+								0.114f * ImageUtilities.BYTE_TO_FLOAT_LUT[(this.buffer[i] & 0xFF)];
+					}
+				}
+				return;
+			}
+
+			final MBFImage frame = (MBFImage) target;
+			final float[][] r = frame.bands.get(0).pixels;
+			final float[][] g = frame.bands.get(1).pixels;
+			final float[][] b = frame.bands.get(2).pixels;
+
+			for (int y = 0, i = 0; y < h; y++) {
+				for (int x = 0; x < w; x++, i += 3) {
+					b[y][x] = ImageUtilities.BYTE_TO_FLOAT_LUT[(this.buffer[i] & 0xFF)];
+					g[y][x] = ImageUtilities.BYTE_TO_FLOAT_LUT[(this.buffer[i + 1] & 0xFF)];
+					r[y][x] = ImageUtilities.BYTE_TO_FLOAT_LUT[(this.buffer[i + 2] & 0xFF)];
+				}
+			}
+		}
 	}
 
 	/**
-	 * Converter for converting IVideoPictures directly to MBFImages.
+	 * Converter for converting IVideoPictures directly to MBFImages. The
+	 * conversion of the pixels into floating point is deferred until the
+	 * frame is consumed (see {@link MBFImageWrapper}), so that the frame can
+	 * be converted directly into a caller's buffer.
 	 *
 	 * @author Jonathon Hare (jsh2@ecs.soton.ac.uk)
 	 *
@@ -223,7 +300,6 @@ public class XuggleVideo extends Video<MBFImage> {
 		{
 			super(pictureType, pictureWidth, pictureHeight, imageWidth, imageHeight);
 
-			this.bimg.img = new MBFImage(imageWidth, imageHeight, ColourSpace.RGB);
 			this.buffer = new byte[imageWidth * imageHeight * 3];
 		}
 
@@ -245,18 +321,10 @@ public class XuggleVideo extends Video<MBFImage> {
 				final int w = picture.getWidth();
 				final int h = picture.getHeight();
 
-				final float[][] r = this.bimg.img.bands.get(0).pixels;
-				final float[][] g = this.bimg.img.bands.get(1).pixels;
-				final float[][] b = this.bimg.img.bands.get(2).pixels;
-
 				picture.getDataCached().get(0, this.buffer, 0, this.buffer.length);
-				for (int y = 0, i = 0; y < h; y++) {
-					for (int x = 0; x < w; x++, i += 3) {
-						b[y][x] = ImageUtilities.BYTE_TO_FLOAT_LUT[(this.buffer[i] & 0xFF)];
-						g[y][x] = ImageUtilities.BYTE_TO_FLOAT_LUT[(this.buffer[i + 1] & 0xFF)];
-						r[y][x] = ImageUtilities.BYTE_TO_FLOAT_LUT[(this.buffer[i + 2] & 0xFF)];
-					}
-				}
+				this.bimg.buffer = this.buffer;
+				this.bimg.pictureWidth = w;
+				this.bimg.pictureHeight = h;
 
 				return this.bimg;
 			} finally {
@@ -446,14 +514,49 @@ public class XuggleVideo extends Video<MBFImage> {
 		// If nextFrame wasn't null, we can just write into it as must be
 		// pointing to the current frame buffer
 
+		if (!this.decodePackets(null))
+			return null;
+
+		if (preserveCurrent) {
+			// Swap the current values into the next-frame values
+			this.nextFrameIsKeyFrame = this.currentFrameIsKeyFrame;
+			this.currentFrameIsKeyFrame = currentKeyFrameFlag;
+			this.nextFrameTimestamp = this.timestamp;
+			this.timestamp = currentTimestamp;
+
+			// Return the next frame
+			if (this.nextFrame != null)
+				return this.nextFrame;
+			return this.currentMBFImage;
+		}
+		// Not preserving anything, so just return the frame
+		else
+			return this.currentMBFImage;
+	}
+
+	/**
+	 * Read packets from the stream until a new frame has been decoded. If the
+	 * target is not null, the frame is decoded into the target image rather
+	 * than the internal frame buffer.
+	 *
+	 * @param target
+	 *            the image to decode into; can be null
+	 * @return true if a frame was decoded; false otherwise
+	 */
+	private boolean decodePackets(final Image<?, ?> target) {
 		IError e = null;
 		boolean tryAgain = false;
 		do {
 			tryAgain = false;
 
-			// Read packets until we have a new frame.
-			while ((e = this.reader.readPacket()) == null && !this.currentFrameUpdated)
-				;
+			this.decodeTarget = target;
+			try {
+				// Read packets until we have a new frame.
+				while ((e = this.reader.readPacket()) == null && !this.currentFrameUpdated)
+					;
+			} finally {
+				this.decodeTarget = null;
+			}
 
 			if (e != null && e.getType() == IError.Type.ERROR_EOF && this.loop) {
 				// We're looping, so we update the timestamp offset.
@@ -466,27 +569,83 @@ public class XuggleVideo extends Video<MBFImage> {
 		// Check if we're at the end of the file
 		if (!this.currentFrameUpdated || e != null) {
 			// Logger.error( "Got video demux error: "+e.getType() );
-			return null;
+			return false;
 		}
 
 		// We've read a frame so we're done looping
 		this.currentFrameUpdated = false;
+		return true;
+	}
 
-		if (preserveCurrent) {
-			// Swap the current values into the next-frame values
-			this.nextFrameIsKeyFrame = this.currentFrameIsKeyFrame;
-			this.currentFrameIsKeyFrame = currentKeyFrameFlag;
-			this.nextFrameTimestamp = this.timestamp;
-			this.timestamp = currentTimestamp;
+	/**
+	 * Decode the next frame of the video directly into the given image rather
+	 * than into the internal frame buffer. The image must have the same size
+	 * as the video, and must either be an RGB {@link MBFImage} or an
+	 * {@link FImage}. In the latter case the image is filled with the
+	 * intensity of the frame (as computed by
+	 * {@link org.openimaj.image.colour.Transforms#calculateIntensityNTSC(MBFImage)}
+	 * ) without the colour planes being created.
+	 * <p>
+	 * The timestamp, key frame flag and frame index of the video are updated,
+	 * but the frame returned by {@link #getCurrentFrame()} is not.
+	 *
+	 * @param target
+	 *            the image to decode into
+	 * @return true if a frame was decoded; false if the end of the video was
+	 *         reached
+	 */
+	public synchronized boolean readFrameInto(final Image<?, ?> target) {
+		if (!(target instanceof FImage) && !(target instanceof MBFImage))
+			throw new IllegalArgumentException("Frames can only be decoded into FImages or MBFImages");
 
-			// Return the next frame
-			if (this.nextFrame != null)
-				return this.nextFrame;
-			return this.currentMBFImage;
+		if (this.nextFrame != null) {
+			// A frame has already been pre-read by hasNextFrame()
+			copyFrame(this.nextFrame, target);
+			this.timestamp = this.nextFrameTimestamp;
+			this.currentFrameIsKeyFrame = this.nextFrameIsKeyFrame;
+			this.nextFrame = null;
+		} else {
+			if (this.reader == null || !this.decodePackets(target))
+				return false;
 		}
-		// Not preserving anything, so just return the frame
-		else
-			return this.currentMBFImage;
+
+		this.currentFrame++;
+		return true;
+	}
+
+	/**
+	 * Copy a decoded frame into the given {@link MBFImage} or {@link FImage}
+	 * (in which case the intensity is computed).
+	 *
+	 * @param frame
+	 *            the frame
+	 * @param target
+	 *            the target image
+	 */
+	static void copyFrame(final MBFImage frame, final Image<?, ?> target) {
+		if (target instanceof MBFImage) {
+			((MBFImage) target).internalCopy(frame);
+		} else {
+			final float[][] r = frame.bands.get(0).pixels;
+			final float[][] g = frame.bands.get(1).pixels;
+			final float[][] b = frame.bands.get(2).pixels;
+			final float[][] pix = ((FImage) target).pixels;
+			final int w = frame.getWidth();
+			final int h = frame.getHeight();
+
+			for (int y = 0; y < h; y++)
+				for (int x = 0; x < w; x++)
+					pix[y][x] = 0.299f * r[y][x] + 0.587f * g[y][x] + 0.114f * b[y][x];
+		}
+	}
+
+	/**
+	 * Returns whether the most recently decoded frame is a key frame.
+	 *
+	 * @return true if the current frame is a key frame; false otherwise.
+	 */
+	public synchronized boolean isKeyFrame() {
+		return this.currentFrameIsKeyFrame;
 	}
 
 	/**